@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.binary;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BINARY_SPECIALIZED_SERIALIZERS;
+
+/**
+ * Compares marshalling of a fixed-shape value with reflective field accessors and specialized serializers.
+ */
+@State(Scope.Benchmark)
+public class JmhBinaryMarshallerBenchmark extends JmhAbstractBenchmark {
+    /** Whether serializers specialized for the class schema are used. */
+    @Param({"false", "true"})
+    private boolean specialized;
+
+    /** Node. */
+    private Ignite node;
+
+    /** Binary facade. */
+    private IgniteBinary binary;
+
+    /** Value to marshal. */
+    private Value val;
+
+    /** Marshalled value. */
+    private BinaryObject binVal;
+
+    /**
+     * Setup routine.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        // Descriptors read the property when a class is registered.
+        System.setProperty(IGNITE_BINARY_SPECIALIZED_SERIALIZERS, String.valueOf(specialized));
+
+        node = Ignition.start(new IgniteConfiguration()
+            .setIgniteInstanceName("node")
+            .setDiscoverySpi(new TcpDiscoverySpi()
+                .setIpFinder(new TcpDiscoveryVmIpFinder(true))));
+
+        binary = node.binary();
+
+        val = new Value(ThreadLocalRandom.current().nextLong());
+
+        binVal = binary.toBinary(val);
+    }
+
+    /**
+     * Tear down routine.
+     */
+    @TearDown
+    public void tearDown() {
+        Ignition.stopAll(true);
+
+        System.clearProperty(IGNITE_BINARY_SPECIALIZED_SERIALIZERS);
+    }
+
+    /**
+     * Test marshalling.
+     */
+    @Benchmark
+    public BinaryObject marshal() {
+        return binary.toBinary(val);
+    }
+
+    /**
+     * Test unmarshalling.
+     */
+    @Benchmark
+    public Value unmarshal() {
+        return binVal.deserialize();
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(1)
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .benchmarks(JmhBinaryMarshallerBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms4g", "-Xmx4g")
+            .profilers(GCProfiler.class)
+            .run();
+    }
+
+    /**
+     * Fixed-shape value with primitive fields.
+     */
+    public static class Value {
+        /** */
+        private final long id;
+
+        /** */
+        private final int cnt;
+
+        /** */
+        private final long ts;
+
+        /** */
+        private final double price;
+
+        /** */
+        private final short type;
+
+        /** */
+        private final boolean active;
+
+        /** */
+        private final float ratio;
+
+        /** */
+        private final String name;
+
+        /**
+         * @param id ID.
+         */
+        public Value(long id) {
+            this.id = id;
+
+            cnt = (int)id;
+            ts = System.currentTimeMillis();
+            price = id * 0.01;
+            type = (short)id;
+            active = (id & 1) == 0;
+            ratio = (float)(id * 0.5);
+            name = "value-" + id;
+        }
+    }
+}
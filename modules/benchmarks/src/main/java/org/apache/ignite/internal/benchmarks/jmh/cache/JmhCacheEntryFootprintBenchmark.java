@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.benchmarks.model.IntValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CACHE_ENTRY_LOCK_STRIPES;
+
+/**
+ * Measures heap retained by on-heap cache entries and put/get throughput with own and shared entry locks.
+ * Retained bytes per entry are reported by {@link EntryFootprintProfiler} as {@code entry.footprint}, bytes
+ * allocated per operation are reported by {@link GCProfiler} as {@code gc.alloc.rate.norm}.
+ */
+@SuppressWarnings("unchecked")
+public class JmhCacheEntryFootprintBenchmark extends JmhCacheAbstractBenchmark {
+    /** Heap retained by a cache entry, measured when the cache is populated. */
+    private static volatile long bytesPerEntry;
+
+    /** {@inheritDoc} */
+    @Override public void setup() throws Exception {
+        super.setup();
+
+        long usedBefore = usedHeap();
+
+        try (IgniteDataStreamer<Integer, IntValue> dataLdr = node.dataStreamer(cache.getName())) {
+            for (int i = 0; i < CNT; i++)
+                dataLdr.addData(i, new IntValue(i));
+        }
+
+        bytesPerEntry = (usedHeap() - usedBefore) / CNT;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected CacheConfiguration cacheConfiguration() {
+        CacheConfiguration cacheCfg = super.cacheConfiguration();
+
+        // Keep entries on heap to measure their footprint.
+        cacheCfg.setOnheapCacheEnabled(true);
+
+        return cacheCfg;
+    }
+
+    /**
+     * Test PUT operation.
+     *
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public void put() throws Exception {
+        int key = ThreadLocalRandom.current().nextInt(CNT);
+
+        cache.put(key, new IntValue(key));
+    }
+
+    /**
+     * Test GET operation.
+     *
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public Object get() throws Exception {
+        int key = ThreadLocalRandom.current().nextInt(CNT);
+
+        return cache.get(key);
+    }
+
+    /**
+     * @return Used heap after garbage collection.
+     */
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++)
+            System.gc();
+
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        // Entries of transactional caches always have own locks.
+        for (String benchmark : new String[] {"put", "get"}) {
+            run(benchmark, CacheAtomicityMode.ATOMIC, 0);
+            run(benchmark, CacheAtomicityMode.ATOMIC, 1024);
+        }
+    }
+
+    /**
+     * Run benchmark.
+     *
+     * @param benchmark Benchmark to run.
+     * @param atomicityMode Atomicity mode.
+     * @param entryLockStripes Number of shared entry locks, {@code 0} for own lock of each entry.
+     * @throws Exception If failed.
+     */
+    private static void run(String benchmark, CacheAtomicityMode atomicityMode, int entryLockStripes)
+        throws Exception {
+        String simpleClsName = JmhCacheEntryFootprintBenchmark.class.getSimpleName();
+
+        String output = simpleClsName + "-" + benchmark +
+            "-" + atomicityMode +
+            "-" + entryLockStripes + "-stripes";
+
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(4)
+            .warmupIterations(10)
+            .measurementIterations(20)
+            .benchmarks(simpleClsName + "." + benchmark)
+            .output(output + ".jmh.log")
+            .profilers(GCProfiler.class, EntryFootprintProfiler.class)
+            .jvmArguments(
+                "-Xms4g",
+                "-Xmx4g",
+                JmhIdeBenchmarkRunner.createProperty(IGNITE_CACHE_ENTRY_LOCK_STRIPES, entryLockStripes),
+                JmhIdeBenchmarkRunner.createProperty(PROP_ATOMICITY_MODE, atomicityMode),
+                JmhIdeBenchmarkRunner.createProperty(PROP_DATA_NODES, 1))
+            .run();
+    }
+
+    /**
+     * Reports heap retained by a cache entry as a secondary result of each iteration.
+     */
+    public static class EntryFootprintProfiler implements InternalProfiler {
+        /** {@inheritDoc} */
+        @Override public String getDescription() {
+            return "Heap retained by an on-heap cache entry";
+        }
+
+        /** {@inheritDoc} */
+        @Override public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+            IterationParams iterationParams, IterationResult res) {
+            return Collections.singletonList(
+                new ScalarResult("entry.footprint", bytesPerEntry, "B/entry", AggregationPolicy.AVG));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.IoUringFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.WriteBatchFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.logger.NullLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks checkpoint-like page writes to a partition file: {@code RandomAccessFileIO} versus io_uring writes
+ * waiting for each page and io_uring write batches, which keep many pages of a thread in flight.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 3)
+public class JmhIoUringFileIOBenchmark {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Pages written by each thread. */
+    private static final int THREAD_PAGES = 1024;
+
+    /** Maximal count of threads. */
+    private static final int MAX_THREADS = 16;
+
+    /** Pages written by a benchmark operation, as a checkpoint writer writes a chunk of pages. */
+    private static final int CHUNK_PAGES = 128;
+
+    /** File IO mode. */
+    @Param({"RANDOM_ACCESS", "IO_URING", "IO_URING_BATCH"})
+    private IoMode mode;
+
+    /** Directory. */
+    private File dir;
+
+    /** File IO factory. */
+    private FileIOFactory factory;
+
+    /** File IO. */
+    private FileIO io;
+
+    /** Thread indexes. */
+    private final AtomicInteger threadIdx = new AtomicInteger();
+
+    /**
+     * Setup.
+     *
+     * @throws IOException If failed.
+     */
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("io-uring-benchmark").toFile();
+
+        factory = mode == IoMode.RANDOM_ACCESS ? new RandomAccessFileIOFactory() :
+            new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE, new RandomAccessFileIOFactory());
+
+        if (factory instanceof IoUringFileIOFactory && !((IoUringFileIOFactory)factory).isIoUringAvailable())
+            throw new IllegalStateException("io_uring is not available");
+
+        io = factory.create(new File(dir, "part-0.bin"));
+
+        ByteBuffer page = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+        for (int i = 0; i < THREAD_PAGES * MAX_THREADS; i++) {
+            page.clear();
+
+            io.writeFully(page, (long)i * PAGE_SIZE);
+        }
+
+        io.force();
+    }
+
+    /**
+     * Tear down.
+     *
+     * @throws Exception If failed.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        io.close();
+
+        if (factory instanceof AutoCloseable)
+            ((AutoCloseable)factory).close();
+
+        U.delete(dir);
+
+        threadIdx.set(0);
+    }
+
+    /**
+     * Writes a chunk of random pages of the thread's own range, as checkpoint threads write different pages, and
+     * waits for the writes to complete.
+     *
+     * @param writer Writer state.
+     * @throws IOException If failed.
+     */
+    @Benchmark
+    public void writeChunk(Writer writer) throws IOException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        if (mode == IoMode.IO_URING_BATCH) {
+            try (WriteBatchFileIOFactory.WriteBatch ignored = ((WriteBatchFileIOFactory)factory).startWriteBatch()) {
+                for (int i = 0; i < CHUNK_PAGES; i++)
+                    writePage(writer, rnd.nextInt(THREAD_PAGES));
+            }
+        }
+        else {
+            for (int i = 0; i < CHUNK_PAGES; i++)
+                writePage(writer, rnd.nextInt(THREAD_PAGES));
+        }
+    }
+
+    /**
+     * @param writer Writer state.
+     * @param pageIdx Index of the thread page.
+     * @throws IOException If failed.
+     */
+    private void writePage(Writer writer, int pageIdx) throws IOException {
+        writer.page.clear();
+        writer.page.putLong(0, writer.firstPage + pageIdx);
+
+        io.writeFully(writer.page, (writer.firstPage + pageIdx) * PAGE_SIZE);
+    }
+
+    /**
+     * File IO mode.
+     */
+    public enum IoMode {
+        /** {@code RandomAccessFileIO}. */
+        RANDOM_ACCESS,
+
+        /** io_uring, each write waits for its completion. */
+        IO_URING,
+
+        /** io_uring write batches. */
+        IO_URING_BATCH
+    }
+
+    /**
+     * Writer state.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        /** Page buffer, reused for all the writes as the checkpoint writer reuses its thread local buffer. */
+        private ByteBuffer page;
+
+        /** First page of the thread. */
+        private long firstPage;
+
+        /**
+         * @param bench Benchmark.
+         */
+        @Setup(Level.Iteration)
+        public void setup(JmhIoUringFileIOBenchmark bench) {
+            page = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+            firstPage = (long)(bench.threadIdx.getAndIncrement() % MAX_THREADS) * THREAD_PAGES;
+        }
+    }
+
+    /**
+     *
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(JmhIoUringFileIOBenchmark.class.getSimpleName())
+            .build();
+
+        new Runner(options).run();
+    }
+}
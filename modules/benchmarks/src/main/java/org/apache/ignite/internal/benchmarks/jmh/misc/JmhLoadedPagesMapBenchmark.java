@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.misc;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.FullPageIdTable;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.LoadedPagesMap;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.OptimisticReadWriteLock;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.RobinHoodBackwardShiftHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks lookup of loaded pages in a page memory segment: {@link LoadedPagesMap} guarded by the segment read
+ * lock versus optimistic lookup validated by the {@link OptimisticReadWriteLock} version.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(Threads.MAX)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 3)
+public class JmhLoadedPagesMapBenchmark {
+    /** Pages count. */
+    private static final int PAGES_CNT = 64 * 1024;
+
+    /** Cache group ID. */
+    private static final int GRP_ID = 1;
+
+    /** Use Robin Hood backward shift map instead of the full page ID table. */
+    @Param({"false", "true"})
+    private boolean backwardShiftMap;
+
+    /** Direct memory provider. */
+    private DirectMemoryProvider provider;
+
+    /** Loaded pages map. */
+    private LoadedPagesMap map;
+
+    /** Segment lock. */
+    private OptimisticReadWriteLock lock;
+
+    /**
+     * Setup.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        long memSize = backwardShiftMap
+            ? RobinHoodBackwardShiftHashMap.requiredMemory(PAGES_CNT)
+            : FullPageIdTable.requiredMemory(PAGES_CNT);
+
+        provider = new UnsafeMemoryProvider(null);
+        provider.initialize(new long[] {memSize});
+
+        DirectMemoryRegion region = provider.nextRegion();
+
+        map = backwardShiftMap
+            ? new RobinHoodBackwardShiftHashMap(region.address(), memSize)
+            : new FullPageIdTable(region.address(), memSize, true);
+
+        for (int i = 0; i < PAGES_CNT; i++)
+            map.put(GRP_ID, pageId(i), i, 1);
+
+        lock = new OptimisticReadWriteLock();
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /**
+     * Lookup under the segment read lock.
+     */
+    @Benchmark
+    public long lockedGet() {
+        long pageId = pageId(ThreadLocalRandom.current().nextInt(PAGES_CNT));
+
+        lock.readLock().lock();
+
+        try {
+            return map.get(GRP_ID, pageId, 1, -1, -1);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Optimistic lookup with a fallback to the read lock.
+     */
+    @Benchmark
+    public long optimisticGet() {
+        long pageId = pageId(ThreadLocalRandom.current().nextInt(PAGES_CNT));
+
+        long stamp = lock.tryOptimisticRead();
+
+        long res = map.get(GRP_ID, pageId, 1, -1, -1);
+
+        if (lock.validate(stamp))
+            return res;
+
+        lock.readLock().lock();
+
+        try {
+            return map.get(GRP_ID, pageId, 1, -1, -1);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param idx Page index.
+     * @return Page ID.
+     */
+    private static long pageId(int idx) {
+        return PageIdUtils.pageId(0, PageIdAllocator.FLAG_DATA, idx);
+    }
+
+    /**
+     *
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(JmhLoadedPagesMapBenchmark.class.getSimpleName())
+            .build();
+
+        new Runner(options).run();
+    }
+}
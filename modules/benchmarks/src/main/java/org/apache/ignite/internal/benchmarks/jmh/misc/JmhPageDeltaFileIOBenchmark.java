@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.PageDeltaFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks concurrent checkpoint-like page writes to a partition file: plain writes of whole pages versus
+ * {@code PageDeltaFileIO}, which reads each page before the write and logs only the changed bytes.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 3)
+public class JmhPageDeltaFileIOBenchmark {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Pages written by each thread. */
+    private static final int THREAD_PAGES = 256;
+
+    /** Maximal count of threads. */
+    private static final int MAX_THREADS = 16;
+
+    /** Size of delta log which triggers compaction. */
+    private static final long MAX_LOG_SIZE = 16L * 1024 * 1024;
+
+    /** Write through the page deltas IO. */
+    @Param({"false", "true"})
+    private boolean deltas;
+
+    /** Count of bytes changed in a page by a write, big changes are written as whole pages by the deltas IO. */
+    @Param({"16", "2048"})
+    private int changedBytes;
+
+    /** Directory. */
+    private File dir;
+
+    /** File IO. */
+    private FileIO io;
+
+    /** Thread indexes. */
+    private final AtomicInteger threadIdx = new AtomicInteger();
+
+    /**
+     * Setup.
+     *
+     * @throws IOException If failed.
+     */
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("page-deltas-benchmark").toFile();
+
+        FileIOFactory factory = new RandomAccessFileIOFactory();
+
+        if (deltas)
+            factory = new PageDeltaFileIOFactory(factory, PAGE_SIZE, MAX_LOG_SIZE);
+
+        io = factory.create(new File(dir, "part-0.bin"));
+
+        ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE);
+
+        // Zero pages, the same as the initial images kept by the writers.
+        for (int i = 0; i < THREAD_PAGES * MAX_THREADS; i++) {
+            page.clear();
+
+            io.writeFully(page, (long)i * PAGE_SIZE);
+        }
+
+        io.force();
+    }
+
+    /**
+     * Tear down.
+     *
+     * @throws IOException If failed.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        io.close();
+
+        U.delete(dir);
+
+        threadIdx.set(0);
+    }
+
+    /**
+     * Changes and writes a page of the thread's own range, as checkpoint threads write different pages. The file is
+     * synced after each {@link #THREAD_PAGES} writes of the thread, as at the end of a checkpoint.
+     *
+     * @param writer Writer state.
+     * @return Written bytes.
+     * @throws IOException If failed.
+     */
+    @Benchmark
+    public int writePage(Writer writer) throws IOException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        int pageIdx = rnd.nextInt(THREAD_PAGES);
+
+        byte[] page = writer.pages[pageIdx];
+
+        int off = rnd.nextInt(PAGE_SIZE - changedBytes);
+
+        for (int i = off; i < off + changedBytes; i++)
+            page[i]++;
+
+        int written = io.writeFully(ByteBuffer.wrap(page), (writer.firstPage + pageIdx) * PAGE_SIZE);
+
+        if (++writer.writes % THREAD_PAGES == 0)
+            io.force();
+
+        return written;
+    }
+
+    /**
+     * Writer state.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        /** Current images of the thread pages. */
+        private byte[][] pages;
+
+        /** First page of the thread. */
+        private long firstPage;
+
+        /** Count of writes. */
+        private long writes;
+
+        /**
+         * @param bench Benchmark.
+         */
+        @Setup(Level.Iteration)
+        public void setup(JmhPageDeltaFileIOBenchmark bench) {
+            pages = new byte[THREAD_PAGES][PAGE_SIZE];
+            firstPage = (long)(bench.threadIdx.getAndIncrement() % MAX_THREADS) * THREAD_PAGES;
+            writes = 0;
+        }
+    }
+
+    /**
+     *
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(JmhPageDeltaFileIOBenchmark.class.getSimpleName())
+            .build();
+
+        new Runner(options).run();
+    }
+}
@@ -36,6 +36,9 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
     /** */
     private static final long DFLT_QUERY_MEMORY_QUOTA = 0L;
 
+    /** */
+    private static final boolean DFLT_SPILLING_ENABLED = false;
+
     /** */
     private boolean isDflt;
 
@@ -45,6 +48,9 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
     /** */
     private long qryMemoryQuota = DFLT_QUERY_MEMORY_QUOTA;
 
+    /** */
+    private boolean spillingEnabled = DFLT_SPILLING_ENABLED;
+
     /** {@inheritDoc} */
     @Override public String engineName() {
         return ENGINE_NAME;
@@ -108,4 +114,28 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
 
         return this;
     }
+
+    /**
+     * Gets flag indicating whether execution nodes are allowed to spill intermediate results to disk when memory
+     * quota is exceeded.
+     *
+     * @return {@code True} if spilling to disk is enabled.
+     */
+    public boolean isSpillingEnabled() {
+        return spillingEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether execution nodes are allowed to spill intermediate results to disk when memory
+     * quota is exceeded. If enabled, sort, hash aggregate and table spool nodes switch to external mode (store rows
+     * in temporary files inside the node work directory) instead of failing the query.
+     *
+     * @param spillingEnabled {@code True} to enable spilling to disk.
+     * @return {@code this} for chaining.
+     */
+    public CalciteQueryEngineConfiguration setSpillingEnabled(boolean spillingEnabled) {
+        this.spillingEnabled = spillingEnabled;
+
+        return this;
+    }
 }
@@ -64,6 +64,8 @@ import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionService
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionServiceImpl;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistry;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistryImpl;
+import org.apache.ignite.internal.processors.query.calcite.exec.QueryResultCache;
+import org.apache.ignite.internal.processors.query.calcite.exec.QueryResultCacheImpl;
 import org.apache.ignite.internal.processors.query.calcite.exec.QueryTaskExecutor;
 import org.apache.ignite.internal.processors.query.calcite.exec.QueryTaskExecutorImpl;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.RexExecutorImpl;
@@ -80,6 +82,7 @@ import org.apache.ignite.internal.processors.query.calcite.prepare.FieldsMetadat
 import org.apache.ignite.internal.processors.query.calcite.prepare.IgniteConvertletTable;
 import org.apache.ignite.internal.processors.query.calcite.prepare.IgniteTypeCoercion;
 import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepPlan;
+import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepQueryPlan;
 import org.apache.ignite.internal.processors.query.calcite.prepare.PrepareServiceImpl;
 import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlan;
 import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlanCache;
@@ -132,6 +135,9 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
                 HintStrategyTable.builder()
                     .hintStrategy("DISABLE_RULE", (hint, rel) -> true)
                     .hintStrategy("EXPAND_DISTINCT_AGG", (hint, rel) -> rel instanceof Aggregate)
+                    .hintStrategy("SCAN_PARALLELISM", (hint, rel) -> true)
+                    // RESULT_CACHE hint processed by SQL node, but to avoid warnings should be also in HintStrategyTable.
+                    .hintStrategy("RESULT_CACHE", (hint, rel) -> true)
                     // QUERY_ENGINE hint preprocessed by regexp, but to avoid warnings should be also in HintStrategyTable.
                     .hintStrategy("QUERY_ENGINE", (hint, rel) -> true)
                     .build()
@@ -171,6 +177,9 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
     /** */
     private final QueryPlanCache qryPlanCache;
 
+    /** */
+    private final QueryResultCache qryResCache;
+
     /** */
     private final QueryTaskExecutor taskExecutor;
 
@@ -219,6 +228,7 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
         failureProcessor = ctx.failure();
         schemaHolder = new SchemaHolderImpl(ctx);
         qryPlanCache = new QueryPlanCacheImpl(ctx);
+        qryResCache = new QueryResultCacheImpl(ctx);
         mailboxRegistry = new MailboxRegistryImpl(ctx);
         taskExecutor = new QueryTaskExecutorImpl(ctx);
         executionSvc = new ExecutionServiceImpl<>(ctx, ArrayRowHandler.INSTANCE);
@@ -255,6 +265,13 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
         return qryPlanCache;
     }
 
+    /**
+     * @return Query result cache.
+     */
+    public QueryResultCache queryResultCache() {
+        return qryResCache;
+    }
+
     /**
      * @return Task executor.
      */
@@ -325,6 +342,7 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
             taskExecutor,
             mappingSvc,
             qryPlanCache,
+            qryResCache,
             exchangeSvc,
             qryReg
         );
@@ -347,6 +365,7 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
                 taskExecutor,
                 mappingSvc,
                 qryPlanCache,
+                qryResCache,
                 exchangeSvc
             );
         }
@@ -359,7 +378,15 @@ public class CalciteQueryProcessor extends GridProcessorAdapter implements Query
         String sql,
         Object... params
     ) throws IgniteSQLException {
-        return parseAndProcessQuery(qryCtx, executionSvc::executePlan, schemaName, sql, params);
+        return parseAndProcessQuery(qryCtx, this::executePlan, schemaName, sql, params);
+    }
+
+    /** */
+    private FieldsQueryCursor<List<?>> executePlan(RootQuery<Object[]> qry, QueryPlan plan) {
+        if (plan.type() == QueryPlan.Type.QUERY && ((MultiStepQueryPlan)plan).resultCacheIds() != null)
+            return qryResCache.execute(qry, (MultiStepQueryPlan)plan, executionSvc::executePlan);
+
+        return executionSvc.executePlan(qry, plan);
     }
 
     /** {@inheritDoc} */
@@ -50,6 +50,17 @@ public interface ExchangeService extends Service {
      */
     void acknowledge(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId) throws IgniteCheckedException;
 
+    /**
+     * Sends a runtime join filter to a source of the exchange.
+     * @param nodeId Target node ID.
+     * @param qryId Query ID.
+     * @param fragmentId Target fragment ID.
+     * @param exchangeId Exchange ID.
+     * @param filter Runtime join filter.
+     */
+    void sendRuntimeFilter(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, RuntimeJoinFilter filter)
+        throws IgniteCheckedException;
+
     /**
      * Sends cancel request.
      * @param nodeId Target node ID.
@@ -90,4 +101,22 @@ public interface ExchangeService extends Service {
      * Callback after the last batch of the query fragment from the node is processed.
      */
     void onInboundExchangeFinished(UUID nodeId, UUID qryId, long exchangeId);
+
+    /**
+     * Callback after an outbox is closed.
+     *
+     * @param qryId Query ID.
+     * @param exchangeId Exchange ID.
+     * @param stallTime Time in nanoseconds the outbox was waiting for acknowledgements from target inboxes.
+     */
+    void onOutboxClosed(UUID qryId, long exchangeId, long stallTime);
+
+    /**
+     * Callback after an inbox is closed.
+     *
+     * @param qryId Query ID.
+     * @param exchangeId Exchange ID.
+     * @param stallTime Time in nanoseconds the inbox was waiting for data from source outboxes.
+     */
+    void onInboxClosed(UUID qryId, long exchangeId, long stallTime);
 }
@@ -26,6 +26,9 @@ import com.google.common.collect.ImmutableMap;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.processors.query.RunningQuery;
 import org.apache.ignite.internal.processors.query.calcite.CalciteQueryProcessor;
 import org.apache.ignite.internal.processors.query.calcite.Query;
@@ -40,19 +43,47 @@ import org.apache.ignite.internal.processors.query.calcite.message.MessageType;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchAcknowledgeMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryCloseMessage;
+import org.apache.ignite.internal.processors.query.calcite.message.RuntimeFilterMessage;
 import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentDescription;
 import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.util.AbstractService;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 
 /**
  *
  */
 public class ExchangeServiceImpl extends AbstractService implements ExchangeService {
+    /** Name of the exchange metrics registry. */
+    public static final String EXCHANGE_METRICS = metricName("sql", "calcite", "exchange");
+
+    /** Bounds of exchange stall time histograms in milliseconds. */
+    private static final long[] STALL_TIME_BOUNDS = new long[] {1, 10, 100, 1_000, 10_000};
+
     /** */
     private final UUID locaNodeId;
 
+    /** */
+    private final LongAdderMetric batchesSent;
+
+    /** */
+    private final LongAdderMetric rowsSent;
+
+    /** */
+    private final LongAdderMetric outboxStallTime;
+
+    /** */
+    private final LongAdderMetric inboxStallTime;
+
+    /** */
+    private final HistogramMetricImpl outboxStallTimeHist;
+
+    /** */
+    private final HistogramMetricImpl inboxStallTimeHist;
+
     /** */
     private QueryTaskExecutor taskExecutor;
 
@@ -72,6 +103,19 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         super(ctx);
 
         locaNodeId = ctx.localNodeId();
+
+        MetricRegistry mreg = ctx.metric().registry(EXCHANGE_METRICS);
+
+        batchesSent = mreg.longAdderMetric("BatchesSent", "Count of data batches sent to remote fragments.");
+        rowsSent = mreg.longAdderMetric("RowsSent", "Count of rows sent to remote fragments.");
+        outboxStallTime = mreg.longAdderMetric("OutboxStallTime",
+            "Total time in milliseconds outboxes were waiting for acknowledgements from target inboxes.");
+        inboxStallTime = mreg.longAdderMetric("InboxStallTime",
+            "Total time in milliseconds inboxes were waiting for data from source outboxes.");
+        outboxStallTimeHist = mreg.histogram("OutboxStallTimeHistogram", STALL_TIME_BOUNDS,
+            "Time in milliseconds an outbox was waiting for acknowledgements from target inboxes per exchange.");
+        inboxStallTimeHist = mreg.histogram("InboxStallTimeHistogram", STALL_TIME_BOUNDS,
+            "Time in milliseconds an inbox was waiting for data from source outboxes per exchange.");
     }
 
     /**
@@ -126,6 +170,9 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         boolean last, List<Row> rows) throws IgniteCheckedException {
         messageService().send(nodeId, new QueryBatchMessage(qryId, fragmentId, exchangeId, batchId, last, Commons.cast(rows)));
 
+        batchesSent.increment();
+        rowsSent.add(rows.size());
+
         if (batchId == 0) {
             Query<?> qry = (Query<?>)qryRegistry.query(qryId);
 
@@ -140,6 +187,12 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         messageService().send(nodeId, new QueryBatchAcknowledgeMessage(qryId, fragmentId, exchangeId, batchId));
     }
 
+    /** {@inheritDoc} */
+    @Override public void sendRuntimeFilter(UUID nodeId, UUID qryId, long fragmentId, long exchangeId,
+        RuntimeJoinFilter filter) throws IgniteCheckedException {
+        messageService().send(nodeId, new RuntimeFilterMessage(qryId, fragmentId, exchangeId, filter));
+    }
+
     /** {@inheritDoc} */
     @Override public void closeQuery(UUID nodeId, UUID qryId) throws IgniteCheckedException {
         messageService().send(nodeId, new QueryCloseMessage(qryId));
@@ -174,6 +227,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         messageService().register((n, m) -> onMessage(n, (QueryBatchAcknowledgeMessage)m), MessageType.QUERY_ACKNOWLEDGE_MESSAGE);
         messageService().register((n, m) -> onMessage(n, (QueryBatchMessage)m), MessageType.QUERY_BATCH_MESSAGE);
         messageService().register((n, m) -> onMessage(n, (QueryCloseMessage)m), MessageType.QUERY_CLOSE_MESSAGE);
+        messageService().register((n, m) -> onMessage(n, (RuntimeFilterMessage)m), MessageType.QUERY_RUNTIME_FILTER_MESSAGE);
     }
 
     /** {@inheritDoc} */
@@ -197,6 +251,32 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
             qry.onInboundExchangeFinished(nodeId, exchangeId);
     }
 
+    /** {@inheritDoc} */
+    @Override public void onOutboxClosed(UUID qryId, long exchangeId, long stallTime) {
+        long stallTimeMs = U.nanosToMillis(stallTime);
+
+        outboxStallTime.add(stallTimeMs);
+        outboxStallTimeHist.value(stallTimeMs);
+
+        if (stallTimeMs > 0 && log.isDebugEnabled()) {
+            log.debug("Outbox closed [queryId=" + qryId + ", exchangeId=" + exchangeId +
+                ", stallTime=" + stallTimeMs + "ms]");
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onInboxClosed(UUID qryId, long exchangeId, long stallTime) {
+        long stallTimeMs = U.nanosToMillis(stallTime);
+
+        inboxStallTime.add(stallTimeMs);
+        inboxStallTimeHist.value(stallTimeMs);
+
+        if (stallTimeMs > 0 && log.isDebugEnabled()) {
+            log.debug("Inbox closed [queryId=" + qryId + ", exchangeId=" + exchangeId +
+                ", stallTime=" + stallTimeMs + "ms]");
+        }
+    }
+
     /** */
     protected void onMessage(UUID nodeId, InboxCloseMessage msg) {
         Collection<Inbox<?>> inboxes = mailboxRegistry().inboxes(msg.queryId(), msg.fragmentId(), msg.exchangeId());
@@ -253,6 +333,29 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         }
     }
 
+    /** */
+    protected void onMessage(UUID nodeId, RuntimeFilterMessage msg) {
+        Outbox<?> outbox = mailboxRegistry().outbox(msg.queryId(), msg.exchangeId());
+
+        if (outbox != null) {
+            try {
+                outbox.onRuntimeFilter(nodeId, msg.filter());
+            }
+            catch (Throwable e) {
+                outbox.onError(e);
+
+                throw new IgniteException("Unexpected exception", e);
+            }
+        }
+        else if (log.isDebugEnabled()) {
+            log.debug("Stale runtime filter message received: [" +
+                "nodeId=" + nodeId + ", " +
+                "queryId=" + msg.queryId() + ", " +
+                "fragmentId=" + msg.fragmentId() + ", " +
+                "exchangeId=" + msg.exchangeId() + "]");
+        }
+    }
+
     /** */
     protected void onMessage(UUID nodeId, QueryBatchMessage msg) {
         Inbox<?> inbox = mailboxRegistry().inbox(msg.queryId(), msg.exchangeId());
@@ -313,6 +416,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
                 null),
             null,
             NoOpMemoryTracker.INSTANCE,
+            null,
             ImmutableMap.of());
     }
 }
@@ -48,6 +48,7 @@ import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
 import org.apache.ignite.internal.util.lang.RunnableX;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.checkRange;
 
@@ -97,6 +98,9 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
     /** */
     private final MemoryTracker qryMemoryTracker;
 
+    /** Storage to spill intermediate results to, {@code null} if spilling to disk is disabled. */
+    private final SpillStorage spillStorage;
+
     /** */
     private Object[] correlations = new Object[16];
 
@@ -104,6 +108,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
      * @param qctx Parent base query context.
      * @param qryId Query ID.
      * @param fragmentDesc Partitions information.
+     * @param spillStorage Storage to spill intermediate results to, {@code null} if spilling to disk is disabled.
      * @param params Parameters.
      */
     @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
@@ -117,6 +122,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         FragmentDescription fragmentDesc,
         RowHandler<Row> handler,
         MemoryTracker qryMemoryTracker,
+        @Nullable SpillStorage spillStorage,
         Map<String, Object> params
     ) {
         super(qctx);
@@ -129,6 +135,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         this.fragmentDesc = fragmentDesc;
         this.handler = handler;
         this.qryMemoryTracker = qryMemoryTracker;
+        this.spillStorage = spillStorage;
         this.params = params;
 
         baseDataContext = new BaseDataContext(qctx.typeFactory());
@@ -304,6 +311,31 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         });
     }
 
+    /**
+     * Executes a query task, which runs in parallel with the fragment tasks, in a thread chosen by the task index.
+     * Such a task must not touch a state of the fragment nodes, except the state designed for concurrent access.
+     *
+     * @param taskIdx Index of the parallel task.
+     * @param task Query task.
+     * @param onError Error handler.
+     */
+    public void executeParallel(int taskIdx, RunnableX task, Consumer<Throwable> onError) {
+        if (isCancelled())
+            return;
+
+        executor.execute(qryId, (fragmentId() << 16) + taskIdx + 1, () -> {
+            try {
+                if (!isCancelled())
+                    task.run();
+            }
+            catch (Throwable e) {
+                onError.accept(e);
+
+                throw new IgniteException("Unexpected exception", e);
+            }
+        });
+    }
+
     /**
      * Sets cancel flag, returns {@code true} if flag was changed by this call.
      *
@@ -336,6 +368,13 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
             return new ExecutionNodeMemoryTracker<R>(qryMemoryTracker, rowOverhead);
     }
 
+    /**
+     * @return Storage to spill intermediate results to, {@code null} if spilling to disk is disabled.
+     */
+    public @Nullable SpillStorage spillStorage() {
+        return spillStorage;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean equals(Object o) {
         if (this == o)
@@ -17,11 +17,13 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -81,6 +83,7 @@ import org.apache.ignite.internal.processors.query.calcite.prepare.Fragment;
 import org.apache.ignite.internal.processors.query.calcite.prepare.FragmentPlan;
 import org.apache.ignite.internal.processors.query.calcite.prepare.MappingQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepPlan;
+import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepQueryPlan;
 import org.apache.ignite.internal.processors.query.calcite.prepare.PrepareServiceImpl;
 import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlan;
 import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlanCache;
@@ -94,6 +97,8 @@ import org.apache.ignite.internal.processors.query.calcite.util.ListFieldsQueryC
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.Marshaller;
+import org.apache.ignite.marshaller.MarshallerUtils;
 import org.jetbrains.annotations.Nullable;
 
 import static java.util.Collections.singletonList;
@@ -105,6 +110,9 @@ import static org.apache.ignite.internal.processors.query.calcite.externalize.Re
  */
 @SuppressWarnings("TypeMayBeWeakened")
 public class ExecutionServiceImpl<Row> extends AbstractService implements ExecutionService<Row> {
+    /** Name of the work directory subfolder to spill query intermediate results to. */
+    public static final String SPILL_DIR_NAME = "calcite_spill";
+
     /** */
     private final DiscoveryEventListener discoLsnr;
 
@@ -123,6 +131,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
     /** */
     private QueryPlanCache qryPlanCache;
 
+    /** */
+    private QueryResultCache qryResCache;
+
     /** */
     private SchemaHolder schemaHolder;
 
@@ -168,6 +179,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
     /** */
     private MemoryTracker memoryTracker;
 
+    /** Storage to spill intermediate results to, {@code null} if spilling to disk is disabled. */
+    private SpillStorage spillStorage;
+
     /**
      * @param ctx Kernal.
      */
@@ -206,6 +220,20 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         return qryPlanCache;
     }
 
+    /**
+     * @param qryResCache Query result cache.
+     */
+    public void queryResultCache(QueryResultCache qryResCache) {
+        this.qryResCache = qryResCache;
+    }
+
+    /**
+     * @return Query result cache.
+     */
+    public QueryResultCache queryResultCache() {
+        return qryResCache;
+    }
+
     /**
      * @param schemaHolder Schema holder.
      */
@@ -396,6 +424,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
             Commons.lookupComponent(ctx, CalciteQueryProcessor.class));
 
         queryPlanCache(proc.queryPlanCache());
+        queryResultCache(proc.queryResultCache());
         schemaHolder(proc.schemaHolder());
         taskExecutor(proc.taskExecutor());
         failureProcessor(proc.failureProcessor());
@@ -414,6 +443,26 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         memoryTracker = cfg.getGlobalMemoryQuota() > 0 ? new GlobalMemoryTracker(cfg.getGlobalMemoryQuota()) :
             NoOpMemoryTracker.INSTANCE;
 
+        if (cfg.isSpillingEnabled()) {
+            File spillDir;
+
+            try {
+                spillDir = U.resolveWorkDirectory(ctx.config().getWorkDirectory(),
+                    SPILL_DIR_NAME + File.separatorChar + U.maskForFileName(ctx.localNodeId().toString()), true);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException("Failed to resolve directory to spill query intermediate results", e);
+            }
+
+            @SuppressWarnings("deprecation")
+            Marshaller marsh = ctx.config().getMarshaller();
+
+            if (marsh == null) // Stubbed context doesn't have a marshaller
+                marsh = MarshallerUtils.jdkMarshaller(ctx.igniteInstanceName());
+
+            spillStorage = new SpillStorage(spillDir, marsh, U.resolveClassLoader(ctx.config()));
+        }
+
         init();
     }
 
@@ -433,6 +482,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         eventManager().removeDiscoveryEventListener(discoLsnr, EventType.EVT_NODE_FAILED, EventType.EVT_NODE_LEFT);
 
         iteratorsHolder().tearDown();
+
+        if (spillStorage != null)
+            U.delete(spillStorage.directory());
     }
 
     /** */
@@ -572,8 +624,18 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
             fragmentDesc,
             handler,
             qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
+            spillStorage,
             Commons.parametersMap(qry.parameters()));
 
+        Set<Integer> resCacheIdsSet = plan instanceof MultiStepQueryPlan ?
+            ((MultiStepQueryPlan)plan).resultCacheIds() : null;
+
+        int[] resCacheIds = resCacheIdsSet != null ? U.toIntArray(resCacheIdsSet) : null;
+
+        // Updates must be tracked before the data is read.
+        if (resCacheIds != null)
+            queryResultCache().trackUpdates(locNodeId, resCacheIds);
+
         Node<Row> node = new LogicalRelImplementor<>(ectx, partitionService(), mailboxRegistry(),
             exchangeService(), failureProcessor()).go(fragment.root());
 
@@ -609,7 +671,8 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
                             fragmentDesc,
                             fragmentsPerNode.get(nodeId).intValue(),
                             qry.parameters(),
-                            parametersMarshalled
+                            parametersMarshalled,
+                            resCacheIds
                         );
 
                         messageService().send(nodeId, req);
@@ -701,6 +764,10 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
 
             assert qryPlan.type() == QueryPlan.Type.FRAGMENT;
 
+            // Updates must be tracked before the data is read.
+            if (msg.resultCacheIds() != null)
+                queryResultCache().trackUpdates(nodeId, msg.resultCacheIds());
+
             ExecutionContext<Row> ectx = new ExecutionContext<>(
                 qctx,
                 taskExecutor(),
@@ -711,6 +778,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
                 msg.fragmentDescription(),
                 handler,
                 qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
+                spillStorage,
                 Commons.parametersMap(msg.parameters())
             );
 
@@ -27,16 +27,23 @@ import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.core.Intersect;
+import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.core.Minus;
 import org.apache.calcite.rel.core.Spool;
+import org.apache.calcite.rel.core.Window;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexWindowBound;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.ExpressionFactory;
@@ -48,6 +55,7 @@ import org.apache.ignite.internal.processors.query.calcite.exec.rel.CollectNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.CorrelatedNestedLoopJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.FilterNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashAggregateNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Inbox;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.IndexSpoolNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.IntersectNode;
@@ -58,12 +66,14 @@ import org.apache.ignite.internal.processors.query.calcite.exec.rel.ModifyNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.NestedLoopJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Node;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Outbox;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ParallelScanNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ProjectNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ScanNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortAggregateNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.TableSpoolNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.UnionAllNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.WindowNode;
 import org.apache.ignite.internal.processors.query.calcite.metadata.AffinityService;
 import org.apache.ignite.internal.processors.query.calcite.metadata.ColocationGroup;
 import org.apache.ignite.internal.processors.query.calcite.prepare.bounds.SearchBounds;
@@ -72,6 +82,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.IgniteCorrelatedN
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteExchange;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteFilter;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashIndexSpool;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexBound;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexCount;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
@@ -92,6 +103,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTableSpool;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTrimExchange;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteUnionAll;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteValues;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteWindow;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteColocatedHashAggregate;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteColocatedSortAggregate;
 import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteMapHashAggregate;
@@ -101,6 +113,7 @@ import org.apache.ignite.internal.processors.query.calcite.rel.agg.IgniteReduceS
 import org.apache.ignite.internal.processors.query.calcite.rel.set.IgniteSetOp;
 import org.apache.ignite.internal.processors.query.calcite.rule.LogicalScanConverterRule;
 import org.apache.ignite.internal.processors.query.calcite.schema.CacheTableDescriptor;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteIndex;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.trait.Destination;
@@ -110,8 +123,10 @@ import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactor
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.calcite.util.RexUtils;
 import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.calcite.rel.RelDistribution.Type.HASH_DISTRIBUTED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER;
 import static org.apache.ignite.internal.processors.query.calcite.util.TypeUtils.combinedRowType;
 
 /**
@@ -289,6 +304,44 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         return node;
     }
 
+    /** {@inheritDoc} */
+    @Override public Node<Row> visit(IgniteHashJoin rel) {
+        RelDataType outType = rel.getRowType();
+        RelDataType leftType = rel.getLeft().getRowType();
+        RelDataType rightType = rel.getRight().getRowType();
+        JoinRelType joinType = rel.getJoinType();
+        JoinInfo joinInfo = rel.analyzeCondition();
+
+        BiPredicate<Row, Row> nonEquiCond = null;
+
+        // Equi conditions are checked by the hash lookup, only the rest of the condition is checked for matched rows.
+        if (!joinInfo.isEqui()) {
+            RelDataType rowType = combinedRowType(ctx.getTypeFactory(), leftType, rightType);
+
+            nonEquiCond = expressionFactory.biPredicate(joinInfo.getRemaining(rel.getCluster().getRexBuilder()),
+                rowType);
+        }
+
+        HashJoinNode<Row> node = HashJoinNode.create(ctx, outType, leftType, rightType, joinType, joinInfo.leftKeys,
+            joinInfo.rightKeys, nonEquiCond);
+
+        Node<Row> leftInput = visit(rel.getLeft());
+        Node<Row> rightInput = visit(rel.getRight());
+
+        node.register(F.asList(leftInput, rightInput));
+
+        // Left rows without a match are dropped by these join types, so they may be filtered out by the sources
+        // of the left exchange before they are sent.
+        boolean filterLeft = joinType == JoinRelType.INNER || joinType == JoinRelType.SEMI
+            || joinType == JoinRelType.RIGHT;
+
+        if (filterLeft && leftInput instanceof Inbox
+            && IgniteSystemProperties.getBoolean(IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER, true))
+            node.runtimeFilterConsumer(((Inbox<Row>)leftInput)::sendRuntimeFilter);
+
+        return node;
+    }
+
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteIndexScan rel) {
         RexNode condition = rel.condition();
@@ -484,11 +537,57 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
 
         ColocationGroup group = ctx.group(rel.sourceId());
 
+        if (rel.parallelism() > 1 && tbl instanceof IgniteCacheTable) {
+            Node<Row> node = parallelScan(rel, ((IgniteCacheTable)tbl).descriptor(), group, rowType);
+
+            if (node != null)
+                return node;
+        }
+
         Iterable<Row> rowsIter = tbl.scan(ctx, group, filters, prj, requiredColunms);
 
         return new ScanNode<>(ctx, rowType, rowsIter);
     }
 
+    /**
+     * Splits local partitions of a partitioned cache between sub-scans, executed in parallel.
+     *
+     * @return Parallel scan node or {@code null} if the scan can't be split.
+     */
+    private @Nullable Node<Row> parallelScan(
+        IgniteTableScan rel,
+        CacheTableDescriptor desc,
+        ColocationGroup group,
+        RelDataType rowType
+    ) {
+        if (!desc.cacheContext().isPartitioned() || !group.nodeIds().contains(ctx.localNodeId()))
+            return null;
+
+        int[] parts = group.partitions(ctx.localNodeId());
+
+        int cnt = Math.min(rel.parallelism(), parts.length);
+
+        if (cnt < 2)
+            return null;
+
+        List<Iterable<Row>> scans = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            int[] subParts = new int[(parts.length - i + cnt - 1) / cnt];
+
+            for (int j = 0; j < subParts.length; j++)
+                subParts[j] = parts[i + j * cnt];
+
+            // Predicates have an internal state, so each of concurrent sub-scans needs its own expressions.
+            Predicate<Row> filters = rel.condition() == null ? null : expressionFactory.predicate(rel.condition(), rowType);
+            Function<Row, Row> prj = rel.projects() == null ? null : expressionFactory.project(rel.projects(), rowType);
+
+            scans.add(new TableScan<>(ctx, desc, subParts, filters, prj, rel.requiredColumns()));
+        }
+
+        return new ParallelScanNode<>(ctx, rowType, scans);
+    }
+
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteValues rel) {
         List<RexLiteral> vals = Commons.flat(Commons.cast(rel.getTuples()));
@@ -830,6 +929,58 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         return node;
     }
 
+    /** {@inheritDoc} */
+    @Override public Node<Row> visit(IgniteWindow rel) {
+        Window.Group grp = rel.getGroup();
+
+        RelDataType inputType = rel.getInput().getRowType();
+        List<AggregateCall> calls = grp.getAggregateCalls(rel);
+        List<RexLiteral> constants = rel.getConstants();
+
+        // Constants referenced by window functions are appended to the input row passed to accumulators.
+        RelDataType accInputType = inputType;
+        Row constRow = null;
+
+        if (!constants.isEmpty()) {
+            RelDataTypeFactory.Builder builder = ctx.getTypeFactory().builder().addAll(inputType.getFieldList());
+
+            for (int i = 0; i < constants.size(); i++)
+                builder.add("$c" + i, constants.get(i).getType());
+
+            accInputType = builder.uniquify().build();
+            constRow = expressionFactory.rowSource(new ArrayList<>(constants)).get();
+        }
+
+        Supplier<List<AccumulatorWrapper<Row>>> accFactory = expressionFactory.accumulatorsFactory(
+            AggregateType.SINGLE,
+            calls.stream().filter(call -> !WindowNode.isRanking(call)).collect(Collectors.toList()),
+            accInputType
+        );
+
+        RowFactory<Row> rowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(),
+            Commons.transform(calls, AggregateCall::getType));
+
+        WindowNode<Row> node = new WindowNode<>(
+            ctx,
+            rel.getRowType(),
+            expressionFactory.comparator(TraitUtils.createCollation(grp.keys.asList())),
+            expressionFactory.comparator(grp.orderKeys),
+            grp.isRows,
+            frameOffset(grp.lowerBound),
+            frameOffset(grp.upperBound),
+            calls,
+            accFactory,
+            constRow,
+            rowFactory
+        );
+
+        Node<Row> input = visit(rel.getInput());
+
+        node.register(input);
+
+        return node;
+    }
+
     /** {@inheritDoc} */
     @Override public Node<Row> visit(IgniteRel rel) {
         return rel.accept(this);
@@ -845,6 +996,24 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         return visit((IgniteRel)rel);
     }
 
+    /**
+     * @param bound Window frame bound.
+     * @return Bound offset relative to the current row or {@code null} if the bound is unbounded.
+     */
+    private static Integer frameOffset(RexWindowBound bound) {
+        if (bound.isUnbounded())
+            return null;
+
+        if (bound.isCurrentRow())
+            return 0;
+
+        assert bound.getOffset() instanceof RexLiteral : bound;
+
+        int offset = ((RexLiteral)bound.getOffset()).getValueAs(Integer.class);
+
+        return bound.isPreceding() ? -offset : offset;
+    }
+
     /** */
     public <T extends Node<Row>> T go(IgniteRel rel) {
         return (T)visit(rel);
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.internal.processors.query.calcite.RootQuery;
+import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepQueryPlan;
+import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlan;
+import org.apache.ignite.internal.processors.query.calcite.util.Service;
+
+/**
+ * Cache of query results, enabled per query by the {@code RESULT_CACHE} hint.
+ */
+public interface QueryResultCache extends Service {
+    /**
+     * Returns cached result of the query if data of the caches, the result depends on, isn't changed since the result
+     * was cached for the current security subject. Otherwise, executes the query and caches its result, once the
+     * result is fully fetched.
+     *
+     * @param qry Query.
+     * @param plan Query plan with not {@code null} {@link MultiStepQueryPlan#resultCacheIds()}.
+     * @param executor Query executor.
+     * @return Query cursor.
+     */
+    FieldsQueryCursor<List<?>> execute(
+        RootQuery<Object[]> qry,
+        MultiStepQueryPlan plan,
+        BiFunction<RootQuery<Object[]>, QueryPlan, FieldsQueryCursor<List<?>>> executor
+    );
+
+    /**
+     * Requests the local node to notify the given node about the next update of any of the caches. Must be called
+     * before a query fragment, which result is going to be cached, reads the data.
+     *
+     * @param nodeId ID of the node, caching the query result.
+     * @param cacheIds IDs of the caches.
+     */
+    void trackUpdates(UUID nodeId, int[] cacheIds);
+
+    /**
+     * Clear cache.
+     */
+    void clear();
+}
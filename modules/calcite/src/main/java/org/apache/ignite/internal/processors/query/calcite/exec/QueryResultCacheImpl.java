@@ -0,0 +1,617 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.managers.eventstorage.DiscoveryEventListener;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
+import org.apache.ignite.internal.processors.cache.query.QueryCursorEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.GridQueryFieldMetadata;
+import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
+import org.apache.ignite.internal.processors.query.QueryField;
+import org.apache.ignite.internal.processors.query.calcite.CalciteQueryProcessor;
+import org.apache.ignite.internal.processors.query.calcite.QueryRegistry;
+import org.apache.ignite.internal.processors.query.calcite.RootQuery;
+import org.apache.ignite.internal.processors.query.calcite.message.MessageService;
+import org.apache.ignite.internal.processors.query.calcite.message.MessageType;
+import org.apache.ignite.internal.processors.query.calcite.message.ResultCacheInvalidateMessage;
+import org.apache.ignite.internal.processors.query.calcite.prepare.MultiStepQueryPlan;
+import org.apache.ignite.internal.processors.query.calcite.prepare.QueryPlan;
+import org.apache.ignite.internal.processors.query.calcite.util.AbstractService;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.apache.ignite.internal.processors.query.calcite.util.ListFieldsQueryCursor;
+import org.apache.ignite.internal.processors.query.schema.AbstractSchemaChangeListener;
+import org.apache.ignite.internal.processors.security.SecurityUtils;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteInClosure;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Query result cache.
+ * <p>
+ * Cached result is valid while the caches, the result depends on, are not updated. Before a fragment of a query,
+ * which result is going to be cached, reads the data, the node running the fragment is requested to notify the query
+ * initiator about the next update of the caches (see {@link #trackUpdates(UUID, int[])}). The request is piggybacked
+ * on the fragment start request. On an update of a tracked cache the data node sends a single
+ * {@link ResultCacheInvalidateMessage} to each tracking node and forgets them, the tracking node increments
+ * the invalidation version of the cache. A cached result is served only while invalidation versions of its caches and
+ * the topology version are the same as before the execution of the query, so cache hits don't need any network
+ * interaction.
+ * <p>
+ * Updates are reported by the nodes applying them. Updates applied on the query initiator invalidate results
+ * synchronously, otherwise a result may be served from the cache until the invalidation message is delivered.
+ * <p>
+ * Results are cached per security subject. Only results consisting of immutable or copyable values are cached, and
+ * mutable values are copied both when the result is cached and when it is served from the cache.
+ */
+public class QueryResultCacheImpl extends AbstractService implements QueryResultCache {
+    /** Name of the result cache metrics registry. */
+    public static final String RESULT_CACHE_METRICS = metricName("sql", "calcite", "resultCache");
+
+    /** */
+    private static final int CACHE_SIZE = 256;
+
+    /** Maximal count of rows of a cached result. Bigger results are not cached. */
+    static final int MAX_ROWS = 10_000;
+
+    /** Classes of immutable values, which may be shared by cached results and query cursors. */
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = new HashSet<>(Arrays.asList(
+        String.class, Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        Character.class, BigDecimal.class, BigInteger.class, UUID.class, LocalDate.class, LocalTime.class,
+        LocalDateTime.class, Instant.class, Duration.class, Period.class));
+
+    /** Marker of a value, which can't be cached. */
+    private static final Object NOT_CACHEABLE = new Object();
+
+    /** */
+    private final GridKernalContext ctx;
+
+    /** */
+    private final LongAdderMetric hits;
+
+    /** */
+    private final LongAdderMetric misses;
+
+    /** */
+    private final LongAdderMetric invalidations;
+
+    /** Invalidation versions by cache ID. */
+    private final ConcurrentMap<Integer, Long> versions = new ConcurrentHashMap<>();
+
+    /** Nodes to notify about the next update of the local data by cache ID. */
+    private final ConcurrentMap<Integer, Set<UUID>> trackers = new ConcurrentHashMap<>();
+
+    /** */
+    private final IgniteInClosure<GridCacheContext<?, ?>> updLsnr = this::onTableUpdated;
+
+    /** */
+    private final DiscoveryEventListener discoLsnr = (evt, discoCache) -> onNodeLeft(evt.eventNode().id());
+
+    /** */
+    private QueryRegistry qryReg;
+
+    /** */
+    private MessageService msgSvc;
+
+    /** */
+    private volatile Map<ResultKey, CachedResult> cache;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public QueryResultCacheImpl(GridKernalContext ctx) {
+        super(ctx);
+
+        this.ctx = ctx;
+
+        cache = new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+
+        MetricRegistry mreg = ctx.metric().registry(RESULT_CACHE_METRICS);
+
+        hits = mreg.longAdderMetric("Hits", "Count of queries which results were taken from the result cache.");
+        misses = mreg.longAdderMetric("Misses", "Count of queries with result cache hint which were executed.");
+        invalidations = mreg.longAdderMetric("Invalidations",
+            "Count of received notifications about updates of caches, cached results depend on.");
+
+        ctx.internalSubscriptionProcessor().registerSchemaChangeListener(new SchemaListener());
+    }
+
+    /**
+     * @param qryReg Query registry.
+     */
+    public void queryRegistry(QueryRegistry qryReg) {
+        this.qryReg = qryReg;
+    }
+
+    /**
+     * @param msgSvc Message service.
+     */
+    public void messageService(MessageService msgSvc) {
+        this.msgSvc = msgSvc;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onStart(GridKernalContext ctx) {
+        CalciteQueryProcessor proc = Objects.requireNonNull(Commons.lookupComponent(ctx, CalciteQueryProcessor.class));
+
+        queryRegistry(proc.queryRegistry());
+        messageService(proc.messageService());
+
+        init();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void init() {
+        msgSvc.register((n, m) -> invalidate(((ResultCacheInvalidateMessage)m).cacheId()),
+            MessageType.QUERY_RESULT_CACHE_INVALIDATE_MESSAGE);
+
+        ctx.query().registerTableUpdateListener(updLsnr);
+
+        ctx.event().addDiscoveryEventListener(discoLsnr, EventType.EVT_NODE_FAILED, EventType.EVT_NODE_LEFT);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void tearDown() {
+        ctx.event().removeDiscoveryEventListener(discoLsnr, EventType.EVT_NODE_FAILED, EventType.EVT_NODE_LEFT);
+
+        ctx.query().unregisterTableUpdateListener(updLsnr);
+
+        trackers.clear();
+
+        clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public FieldsQueryCursor<List<?>> execute(
+        RootQuery<Object[]> qry,
+        MultiStepQueryPlan plan,
+        BiFunction<RootQuery<Object[]>, QueryPlan, FieldsQueryCursor<List<?>>> executor
+    ) {
+        assert plan.resultCacheIds() != null;
+
+        // Taken before the execution, so any update reported after the data is read makes the result stale.
+        ResultVersion ver = version(plan.resultCacheIds());
+
+        ResultKey key = new ResultKey(SecurityUtils.securitySubjectId(ctx), qry.context().schemaName(), qry.sql(),
+            qry.parameters());
+
+        Map<ResultKey, CachedResult> cache = this.cache;
+
+        CachedResult res = cache.get(key);
+
+        if (res != null && res.ver.equals(ver)) {
+            hits.increment();
+
+            qryReg.unregister(qry.id());
+
+            return new ListFieldsQueryCursor<>(res.fieldsMeta, new CopyingIterator(res.rows.iterator()), true);
+        }
+
+        misses.increment();
+
+        FieldsQueryCursor<List<?>> cur = executor.apply(qry, plan);
+
+        List<GridQueryFieldMetadata> fieldsMeta = ((QueryCursorEx<List<?>>)cur).fieldsMeta();
+
+        Iterator<List<?>> it = new CachingIterator(cur.iterator(),
+            rows -> cache.put(key, new CachedResult(ver, fieldsMeta, rows)));
+
+        return new ListFieldsQueryCursor<>(fieldsMeta, it, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void trackUpdates(UUID nodeId, int[] cacheIds) {
+        for (int cacheId : cacheIds) {
+            // Set is modified under the map lock only, so a concurrent update either sees the node or happens before.
+            trackers.compute(cacheId, (id, nodes) -> {
+                if (nodes == null)
+                    nodes = new HashSet<>();
+
+                nodes.add(nodeId);
+
+                return nodes;
+            });
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        cache = new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheIds IDs of caches.
+     * @return Current version of results of the caches.
+     */
+    private ResultVersion version(Set<Integer> cacheIds) {
+        Map<Integer, Long> vers = new HashMap<>();
+
+        for (Integer cacheId : cacheIds)
+            vers.put(cacheId, versions.getOrDefault(cacheId, 0L));
+
+        return new ResultVersion(ctx.cache().context().exchange().readyAffinityVersion(), vers);
+    }
+
+    /**
+     * Makes cached results, depending on the cache, stale.
+     *
+     * @param cacheId Cache ID.
+     */
+    private void invalidate(int cacheId) {
+        versions.merge(cacheId, 1L, Long::sum);
+
+        invalidations.increment();
+    }
+
+    /**
+     * Notifies nodes, tracking updates of the cache, about an update of the local data.
+     *
+     * @param cctx Context of the updated cache.
+     */
+    private void onTableUpdated(GridCacheContext<?, ?> cctx) {
+        if (trackers.isEmpty())
+            return;
+
+        Set<UUID> nodes = trackers.remove(cctx.cacheId());
+
+        if (nodes == null)
+            return;
+
+        for (UUID nodeId : nodes) {
+            if (nodeId.equals(ctx.localNodeId())) {
+                invalidate(cctx.cacheId());
+
+                continue;
+            }
+
+            try {
+                msgSvc.send(nodeId, new ResultCacheInvalidateMessage(cctx.cacheId()));
+            }
+            catch (IgniteCheckedException e) {
+                // Results of a left node are invalidated by the topology change.
+                if (msgSvc.alive(nodeId)) {
+                    U.warn(log, "Failed to notify node about an update of the cache, results cached by the node " +
+                        "may be stale [nodeId=" + nodeId + ", cache=" + cctx.name() + ", err=" + e.getMessage() + ']');
+                }
+            }
+        }
+    }
+
+    /**
+     * @param nodeId ID of the left node.
+     */
+    private void onNodeLeft(UUID nodeId) {
+        for (Integer cacheId : trackers.keySet()) {
+            trackers.computeIfPresent(cacheId, (id, nodes) -> {
+                nodes.remove(nodeId);
+
+                return nodes.isEmpty() ? null : nodes;
+            });
+        }
+    }
+
+    /**
+     * @param row Row.
+     * @return Copy of the row, which doesn't share mutable values with the given one, or {@code null} if the row
+     * contains mutable values which can't be copied.
+     */
+    static @Nullable List<?> copyRow(List<?> row) {
+        List<Object> res = new ArrayList<>(row.size());
+
+        for (Object val : row) {
+            Object copy = copyValue(val);
+
+            if (copy == NOT_CACHEABLE)
+                return null;
+
+            res.add(copy);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param val Value.
+     * @return The value if it's immutable, a deep copy of the value if it's a date or an array, or
+     * {@link #NOT_CACHEABLE} otherwise.
+     */
+    private static Object copyValue(Object val) {
+        if (val == null || IMMUTABLE_CLASSES.contains(val.getClass()) || val instanceof Enum)
+            return val;
+
+        if (val instanceof Date)
+            return ((Date)val).clone();
+
+        Class<?> cls = val.getClass();
+
+        if (!cls.isArray())
+            return NOT_CACHEABLE;
+
+        int len = Array.getLength(val);
+
+        Object copy = Array.newInstance(cls.getComponentType(), len);
+
+        if (cls.getComponentType().isPrimitive()) {
+            System.arraycopy(val, 0, copy, 0, len);
+
+            return copy;
+        }
+
+        for (int i = 0; i < len; i++) {
+            Object item = copyValue(Array.get(val, i));
+
+            if (item == NOT_CACHEABLE)
+                return NOT_CACHEABLE;
+
+            Array.set(copy, i, item);
+        }
+
+        return copy;
+    }
+
+    /** Collects copies of rows of the result and passes them to the consumer once the result is fully fetched. */
+    private static class CachingIterator implements Iterator<List<?>>, AutoCloseable {
+        /** */
+        private final Iterator<List<?>> delegate;
+
+        /** */
+        private final Consumer<List<List<?>>> onFetched;
+
+        /** Fetched rows, or {@code null} if the result can't be cached. */
+        private List<List<?>> rows = new ArrayList<>();
+
+        /** */
+        CachingIterator(Iterator<List<?>> delegate, Consumer<List<List<?>>> onFetched) {
+            this.delegate = delegate;
+            this.onFetched = onFetched;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            boolean hasNext = delegate.hasNext();
+
+            if (!hasNext && rows != null) {
+                onFetched.accept(rows);
+
+                rows = null;
+            }
+
+            return hasNext;
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<?> next() {
+            List<?> row = delegate.next();
+
+            if (rows != null) {
+                List<?> copy = rows.size() < MAX_ROWS ? copyRow(row) : null;
+
+                if (copy != null)
+                    rows.add(copy);
+                else
+                    rows = null;
+            }
+
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            rows = null;
+
+            Commons.closeQuiet(delegate);
+        }
+    }
+
+    /** Returns copies of cached rows, so the rows can't be modified by a user. */
+    private static class CopyingIterator implements Iterator<List<?>> {
+        /** */
+        private final Iterator<List<?>> delegate;
+
+        /** */
+        CopyingIterator(Iterator<List<?>> delegate) {
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<?> next() {
+            List<?> row = copyRow(delegate.next());
+
+            assert row != null;
+
+            return row;
+        }
+    }
+
+    /** */
+    private static class ResultKey {
+        /** Security subject ID or {@code null} if security is disabled. */
+        private final @Nullable UUID subjId;
+
+        /** */
+        private final String schemaName;
+
+        /** */
+        private final String sql;
+
+        /** */
+        private final Object[] params;
+
+        /** */
+        ResultKey(@Nullable UUID subjId, String schemaName, String sql, Object[] params) {
+            this.subjId = subjId;
+            this.schemaName = schemaName;
+            this.sql = sql;
+            this.params = params;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            ResultKey key = (ResultKey)o;
+
+            return Objects.equals(subjId, key.subjId) && schemaName.equals(key.schemaName) && sql.equals(key.sql) &&
+                Arrays.deepEquals(params, key.params);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            int res = Objects.hashCode(subjId);
+            res = 31 * res + schemaName.hashCode();
+            res = 31 * res + sql.hashCode();
+            res = 31 * res + Arrays.deepHashCode(params);
+            return res;
+        }
+    }
+
+    /** */
+    private static class ResultVersion {
+        /** */
+        private final AffinityTopologyVersion topVer;
+
+        /** Invalidation versions by cache ID. */
+        private final Map<Integer, Long> vers;
+
+        /** */
+        ResultVersion(AffinityTopologyVersion topVer, Map<Integer, Long> vers) {
+            this.topVer = topVer;
+            this.vers = vers;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            ResultVersion ver = (ResultVersion)o;
+
+            return topVer.equals(ver.topVer) && vers.equals(ver.vers);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return 31 * topVer.hashCode() + vers.hashCode();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(ResultVersion.class, this);
+        }
+    }
+
+    /** */
+    private static class CachedResult {
+        /** */
+        private final ResultVersion ver;
+
+        /** */
+        private final List<GridQueryFieldMetadata> fieldsMeta;
+
+        /** Rows, not shared with query cursors. */
+        private final List<List<?>> rows;
+
+        /** */
+        CachedResult(ResultVersion ver, List<GridQueryFieldMetadata> fieldsMeta, List<List<?>> rows) {
+            this.ver = ver;
+            this.fieldsMeta = fieldsMeta;
+            this.rows = rows;
+        }
+    }
+
+    /** Schema change listener. */
+    private class SchemaListener extends AbstractSchemaChangeListener {
+        /** {@inheritDoc} */
+        @Override public void onSchemaDropped(String schemaName) {
+            clear();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onSqlTypeDropped(
+            String schemaName,
+            GridQueryTypeDescriptor typeDescriptor,
+            boolean destroy
+        ) {
+            clear();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onColumnsAdded(
+            String schemaName,
+            GridQueryTypeDescriptor typeDesc,
+            GridCacheContextInfo<?, ?> cacheInfo,
+            List<QueryField> cols
+        ) {
+            clear();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onColumnsDropped(
+            String schemaName,
+            GridQueryTypeDescriptor typeDesc,
+            GridCacheContextInfo<?, ?> cacheInfo,
+            List<String> cols
+        ) {
+            clear();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.UUID;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runtime join filter. Built from the join keys of a hash join build side and applied to the probe side rows before
+ * they are sent to the join node. Consists of a bloom filter over all the key columns and min-max bounds of integral
+ * key columns. The filter may pass rows without a match on the build side, but never rejects rows with a match.
+ * Rows with NULL keys are always rejected, since condition NULL=NULL isn't satisfied.
+ */
+public class RuntimeJoinFilter {
+    /** Maximal count of distinct build side keys. A filter isn't built for bigger build sides. */
+    public static final int MAX_KEYS = 1 << 18;
+
+    /** Bloom filter bits per key, gives about 2.5% of false positives for {@link #HASH_CNT} hash functions. */
+    private static final int BITS_PER_KEY = 8;
+
+    /** Count of bloom filter hash functions. */
+    private static final int HASH_CNT = 4;
+
+    /** Key columns of the probe side rows. */
+    private final int[] keys;
+
+    /** Bloom filter bits. */
+    private final long[] bits;
+
+    /** Flags of key columns which have min-max bounds. */
+    private final boolean[] bounded;
+
+    /** Lower bounds of integral key columns. */
+    private final long[] lower;
+
+    /** Upper bounds of integral key columns. */
+    private final long[] upper;
+
+    /**
+     * @param keys Key columns of the probe side rows.
+     * @param bits Bloom filter bits.
+     * @param bounded Flags of key columns which have min-max bounds.
+     * @param lower Lower bounds of key columns.
+     * @param upper Upper bounds of key columns.
+     */
+    public RuntimeJoinFilter(int[] keys, long[] bits, boolean[] bounded, long[] lower, long[] upper) {
+        assert bits.length > 0 && Long.bitCount(bits.length) == 1;
+        assert bounded.length == keys.length && lower.length == keys.length && upper.length == keys.length;
+
+        this.keys = keys;
+        this.bits = bits;
+        this.bounded = bounded;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Builds a filter from keys of the build side.
+     *
+     * @param buildKeys Not NULL keys of the build side.
+     * @param probeKeys Key columns of the probe side rows.
+     * @return Filter or {@code null} if the filter can't be built for the keys.
+     */
+    public static @Nullable RuntimeJoinFilter build(Collection<GroupKey> buildKeys, ImmutableIntList probeKeys) {
+        if (buildKeys.size() > MAX_KEYS)
+            return null;
+
+        int keysCnt = probeKeys.size();
+
+        int bitsCnt = Math.max(Long.SIZE, Integer.highestOneBit(Math.max(1, buildKeys.size()) * BITS_PER_KEY - 1) << 1);
+
+        long[] bits = new long[bitsCnt / Long.SIZE];
+        boolean[] bounded = new boolean[keysCnt];
+        long[] lower = new long[keysCnt];
+        long[] upper = new long[keysCnt];
+
+        for (int i = 0; i < keysCnt; i++) {
+            bounded[i] = true;
+            lower[i] = Long.MAX_VALUE;
+            upper[i] = Long.MIN_VALUE;
+        }
+
+        for (GroupKey key : buildKeys) {
+            Object[] fields = key.fields();
+
+            assert fields.length == keysCnt;
+
+            for (int i = 0; i < keysCnt; i++) {
+                Object val = fields[i];
+
+                if (!supported(val))
+                    return null;
+
+                if (bounded[i]) {
+                    if (integral(val)) {
+                        long v = ((Number)val).longValue();
+
+                        lower[i] = Math.min(lower[i], v);
+                        upper[i] = Math.max(upper[i], v);
+                    }
+                    else
+                        bounded[i] = false;
+                }
+            }
+
+            set(bits, hash(fields));
+        }
+
+        return new RuntimeJoinFilter(probeKeys.toIntArray(), bits, bounded, lower, upper);
+    }
+
+    /**
+     * @param hnd Row handler.
+     * @param row Probe side row.
+     * @return {@code False} if the row definitely has no match on the build side.
+     */
+    public <Row> boolean test(RowHandler<Row> hnd, Row row) {
+        long h = 1;
+
+        for (int i = 0; i < keys.length; i++) {
+            Object val = hnd.get(keys[i], row);
+
+            if (val == null)
+                return false;
+
+            // Shouldn't happen for keys of the same type, but it's safer to pass a row than to lose a match.
+            if (!supported(val))
+                return true;
+
+            if (bounded[i] && integral(val)) {
+                long v = ((Number)val).longValue();
+
+                if (v < lower[i] || v > upper[i])
+                    return false;
+            }
+
+            h = 31 * h + hash(val);
+        }
+
+        return get(bits, mix(h));
+    }
+
+    /** @return Key columns of the probe side rows. */
+    public int[] keys() {
+        return keys;
+    }
+
+    /** @return Bloom filter bits. */
+    public long[] bits() {
+        return bits;
+    }
+
+    /** @return Flags of key columns which have min-max bounds. */
+    public boolean[] bounded() {
+        return bounded;
+    }
+
+    /** @return Lower bounds of key columns. */
+    public long[] lower() {
+        return lower;
+    }
+
+    /** @return Upper bounds of key columns. */
+    public long[] upper() {
+        return upper;
+    }
+
+    /**
+     * Only values with content based hash code, which is the same on all nodes, are supported.
+     */
+    private static boolean supported(Object val) {
+        return integral(val) || val instanceof String || val instanceof BigDecimal || val instanceof Double
+            || val instanceof Float || val instanceof Boolean || val instanceof UUID;
+    }
+
+    /** */
+    private static boolean integral(Object val) {
+        return val instanceof Integer || val instanceof Long || val instanceof Short || val instanceof Byte;
+    }
+
+    /** */
+    private static long hash(Object[] fields) {
+        long h = 1;
+
+        for (Object val : fields)
+            h = 31 * h + hash(val);
+
+        return mix(h);
+    }
+
+    /** Integral values are hashed by value to tolerate different integral types of the same key on both sides. */
+    private static long hash(Object val) {
+        return integral(val) ? ((Number)val).longValue() : val.hashCode();
+    }
+
+    /** Finalization step of MurmurHash3 64-bit. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    /** */
+    private static void set(long[] bits, long h) {
+        int mask = (bits.length << 6) - 1;
+        int h1 = (int)h;
+        int h2 = (int)(h >>> 32);
+
+        for (int i = 0; i < HASH_CNT; i++) {
+            int idx = (h1 + i * h2) & mask;
+
+            bits[idx >>> 6] |= 1L << idx;
+        }
+    }
+
+    /** */
+    private static boolean get(long[] bits, long h) {
+        int mask = (bits.length << 6) - 1;
+        int h1 = (int)h;
+        int h2 = (int)(h >>> 32);
+
+        for (int i = 0; i < HASH_CNT; i++) {
+            int idx = (h1 + i * h2) & mask;
+
+            if ((bits[idx >>> 6] & (1L << idx)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.query.calcite.message.RowBatchCodec;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Temporary file to spill rows of an execution node to disk.
+ * Rows are appended to the end of the file and can be read sequentially by any number of readers. Each reader
+ * sees only rows written before the last {@link #flush()} call.
+ * <p>
+ * Rows are written by blocks in the format of {@link RowBatchCodec}, values which have no compact representation
+ * are marshalled by the marshaller of the {@link SpillStorage}.
+ */
+public class SpillFile<Row> implements AutoCloseable {
+    /** Count of rows in a block. */
+    private static final int BLOCK_ROWS = 256;
+
+    /** */
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /** */
+    private final RowHandler<Row> hnd;
+
+    /** */
+    private final SpillStorage storage;
+
+    /** */
+    private final File file;
+
+    /** */
+    private final List<Reader> readers = new ArrayList<>();
+
+    /** */
+    private DataOutputStream out;
+
+    /** Rows of the block being written. */
+    private final List<Object> block = new ArrayList<>(BLOCK_ROWS);
+
+    /** Count of written rows. */
+    private int written;
+
+    /** Count of rows available for readers. */
+    private int flushed;
+
+    /** Factory for rows read from the file. */
+    private RowHandler.RowFactory<Row> rowFactory;
+
+    /**
+     * @param ctx Execution context.
+     */
+    public SpillFile(ExecutionContext<Row> ctx) {
+        assert ctx.spillStorage() != null;
+
+        hnd = ctx.rowHandler();
+        storage = ctx.spillStorage();
+
+        try {
+            file = File.createTempFile(ctx.queryId() + "-", ".spill", storage.directory());
+
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUF_SIZE));
+        }
+        catch (IOException e) {
+            throw new IgniteException("Failed to create file to spill rows to disk", e);
+        }
+    }
+
+    /**
+     * Appends row to the end of the file.
+     *
+     * @param row Row.
+     */
+    public void write(Row row) {
+        assert out != null;
+
+        Object[] fields = new Object[hnd.columnCount(row)];
+
+        for (int i = 0; i < fields.length; i++)
+            fields[i] = hnd.get(i, row);
+
+        block.add(fields);
+
+        written++;
+
+        if (block.size() == BLOCK_ROWS)
+            writeBlock();
+    }
+
+    /**
+     * Makes all written rows available for readers.
+     */
+    public void flush() {
+        assert out != null;
+
+        writeBlock();
+
+        try {
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new IgniteException("Failed to spill rows to disk [file=" + file + ']', e);
+        }
+
+        flushed = written;
+    }
+
+    /**
+     * Makes all written rows available for readers and closes the file for writing.
+     */
+    public void finish() {
+        flush();
+
+        U.closeQuiet(out);
+        out = null;
+    }
+
+    /**
+     * @return Count of written rows.
+     */
+    public int size() {
+        return written;
+    }
+
+    /**
+     * Opens a new reader, which iterates over rows from the beginning of the file.
+     *
+     * @return Rows iterator.
+     */
+    public Reader reader() {
+        Reader reader = new Reader();
+
+        readers.add(reader);
+
+        return reader;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        new ArrayList<>(readers).forEach(Reader::close);
+
+        U.closeQuiet(out);
+        out = null;
+
+        block.clear();
+
+        U.delete(file);
+    }
+
+    /** Writes buffered rows as a block. */
+    private void writeBlock() {
+        if (block.isEmpty())
+            return;
+
+        try {
+            byte[] bytes = RowBatchCodec.encode(block, storage, false);
+
+            assert bytes != null;
+
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        catch (IOException | IgniteCheckedException e) {
+            throw new IgniteException("Failed to spill rows to disk [file=" + file + ']', e);
+        }
+
+        block.clear();
+    }
+
+    /** */
+    private Row createRow(Object[] fields) {
+        if (rowFactory == null) {
+            Type[] types = new Type[fields.length];
+
+            Arrays.fill(types, Object.class);
+
+            rowFactory = hnd.factory(types);
+        }
+
+        return rowFactory.create(fields);
+    }
+
+    /**
+     * Sequential reader of spilled rows.
+     */
+    public class Reader implements Iterator<Row>, AutoCloseable {
+        /** */
+        private final DataInputStream in;
+
+        /** Rows of the current block. */
+        private List<Object> block = Collections.emptyList();
+
+        /** Index of the next row of the current block. */
+        private int blockIdx;
+
+        /** Count of rows read. */
+        private int read;
+
+        /** */
+        private Reader() {
+            try {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUF_SIZE));
+            }
+            catch (IOException e) {
+                throw new IgniteException("Failed to read spilled rows [file=" + file + ']', e);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            return read < flushed;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            if (blockIdx == block.size())
+                readBlock();
+
+            read++;
+
+            return createRow((Object[])block.get(blockIdx++));
+        }
+
+        /** */
+        private void readBlock() {
+            try {
+                byte[] bytes = new byte[in.readInt()];
+
+                in.readFully(bytes);
+
+                block = RowBatchCodec.decode(bytes, storage);
+                blockIdx = 0;
+            }
+            catch (IOException | IgniteCheckedException e) {
+                throw new IgniteException("Failed to read spilled rows [file=" + file + ']', e);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            U.closeQuiet(in);
+
+            readers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.File;
+import org.apache.ignite.internal.processors.query.calcite.message.MarshallingContext;
+import org.apache.ignite.marshaller.Marshaller;
+
+/**
+ * Storage of spilled intermediate query results: the directory of spill files and the marshaller of spilled values,
+ * which can't be written in the compact row format.
+ */
+public class SpillStorage implements MarshallingContext {
+    /** */
+    private final File dir;
+
+    /** */
+    private final Marshaller marsh;
+
+    /** */
+    private final ClassLoader clsLdr;
+
+    /**
+     * @param dir Directory of spill files.
+     * @param marsh Marshaller.
+     * @param clsLdr Class loader.
+     */
+    public SpillStorage(File dir, Marshaller marsh, ClassLoader clsLdr) {
+        this.dir = dir;
+        this.marsh = marsh;
+        this.clsLdr = clsLdr;
+    }
+
+    /**
+     * @return Directory of spill files.
+     */
+    public File directory() {
+        return dir;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Marshaller marshaller() {
+        return marsh;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClassLoader classLoader() {
+        return clsLdr;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.ObjectSizeCalculator;
+
+/**
+ * Adaptive flow control of the data sent by an outbox to a single target inbox.
+ * <p>
+ * Batch size starts small to deliver first rows as soon as possible, doubles on each acknowledgement and is
+ * limited by {@link #TARGET_BATCH_BYTES} according to the observed row size. The count of not acknowledged
+ * batches (credits) tracks the bandwidth-delay product of the exchange: minimal observed round-trip time divided
+ * by the interval between acknowledgements, which reflects the speed of the consumer of the target inbox.
+ */
+class ExchangeFlowControl<Row> {
+    /** Desired size of a batch in bytes. */
+    static final long TARGET_BATCH_BYTES = 64 * 1024;
+
+    /** Initial batch size. */
+    static final int MIN_BATCH_SIZE = Math.min(16, AbstractNode.IO_BATCH_SIZE);
+
+    /** Maximal batch size. */
+    static final int MAX_BATCH_SIZE = AbstractNode.IO_BATCH_SIZE * 4;
+
+    /** Minimal count of not acknowledged batches. */
+    static final int MIN_CREDITS = Math.min(2, AbstractNode.IO_BATCH_CNT);
+
+    /** Maximal count of not acknowledged batches. */
+    static final int MAX_CREDITS = AbstractNode.IO_BATCH_CNT * 4;
+
+    /** Sample row size once per this count of rows. */
+    private static final int ROW_SIZE_SAMPLE_RATE = 64;
+
+    /** */
+    private final ObjectSizeCalculator<Row> sizeCalc;
+
+    /** Send time of not acknowledged batches by {@code batchId % MAX_CREDITS}. */
+    private final long[] sendTime = new long[MAX_CREDITS];
+
+    /** */
+    private int batchSize = MIN_BATCH_SIZE;
+
+    /** */
+    private int credits = AbstractNode.IO_BATCH_CNT;
+
+    /** Rows count limit according to the row size. */
+    private int maxBatchSize = MAX_BATCH_SIZE;
+
+    /** */
+    private long rowsCnt;
+
+    /** Average row size. */
+    private double rowSize;
+
+    /** Minimal observed round-trip time. */
+    private long minRtt = Long.MAX_VALUE;
+
+    /** Average interval between acknowledgements. */
+    private double ackInterval;
+
+    /** */
+    private long lastAckTime;
+
+    /**
+     * @param sizeCalc Row size calculator.
+     */
+    ExchangeFlowControl(ObjectSizeCalculator<Row> sizeCalc) {
+        this.sizeCalc = sizeCalc;
+    }
+
+    /**
+     * @return Current batch size.
+     */
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return Current count of batches which may be sent without acknowledgement.
+     */
+    int credits() {
+        return credits;
+    }
+
+    /**
+     * @param row Row added to a batch.
+     */
+    void onRowAdded(Row row) {
+        if (rowsCnt++ % ROW_SIZE_SAMPLE_RATE != 0)
+            return;
+
+        long size = sizeCalc.sizeOf(row);
+
+        rowSize = rowSize == 0 ? size : rowSize * 0.75 + size * 0.25;
+
+        maxBatchSize = (int)Math.max(1, Math.min(MAX_BATCH_SIZE, TARGET_BATCH_BYTES / Math.max(1L, (long)rowSize)));
+
+        batchSize = Math.min(batchSize, maxBatchSize);
+    }
+
+    /**
+     * @param batchId Sent batch ID.
+     */
+    void onBatchSent(int batchId) {
+        long now = System.nanoTime();
+
+        sendTime[batchId % MAX_CREDITS] = now;
+
+        if (lastAckTime == 0)
+            lastAckTime = now;
+    }
+
+    /**
+     * @param batchId Acknowledged batch ID.
+     * @param ackedCnt Count of batches acknowledged by the acknowledgement.
+     */
+    void onAcknowledged(int batchId, int ackedCnt) {
+        long now = System.nanoTime();
+
+        // Send time is still there since there are no more than MAX_CREDITS batches in flight.
+        minRtt = Math.min(minRtt, Math.max(1L, now - sendTime[batchId % MAX_CREDITS]));
+
+        long interval = Math.max(1L, (now - lastAckTime) / Math.max(1, ackedCnt));
+
+        ackInterval = ackInterval == 0 ? interval : ackInterval * 0.75 + interval * 0.25;
+
+        lastAckTime = now;
+
+        batchSize = Math.min(batchSize << 1, maxBatchSize);
+
+        long bdp = (long)Math.ceil(minRtt / ackInterval) + 1;
+
+        credits = (int)Math.max(MIN_CREDITS, Math.min(MAX_CREDITS, bdp));
+    }
+}
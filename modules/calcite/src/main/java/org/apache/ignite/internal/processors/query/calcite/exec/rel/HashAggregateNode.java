@@ -20,6 +20,7 @@ package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -31,19 +32,38 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.Accumulator;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.RowTracker;
 import org.apache.ignite.internal.util.typedef.F;
 
 import static java.util.stream.Collectors.toCollection;
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.negate;
 
 /**
- *
+ * Hash aggregate node.
+ * If spilling to disk is enabled and memory quota is exceeded, map and single phase aggregates switch to external
+ * mode: groups collected so far are kept in memory, but all the next input rows are written to disk, partitioned
+ * by hash of the group key. After the input is finished, partitions are aggregated and emitted one by one.
+ * A partition which doesn't fit into memory is split into partitions of the next depth by other bits of the hash.
  */
 public class HashAggregateNode<Row> extends AggregateNode<Row> {
+    /** Count of group key hash bits used to choose a spill partition. */
+    private static final int SPILL_PARTITION_BITS = 4;
+
+    /** Count of partitions to spill input rows to. */
+    private static final int SPILL_PARTITIONS = 1 << SPILL_PARTITION_BITS;
+
+    /** Maximal depth of spill partitions, each depth uses its own bits of the hash. */
+    static final int MAX_SPILL_DEPTH = Integer.SIZE / SPILL_PARTITION_BITS - 1;
+
+    /** Row overhead. */
+    private final long rowOverhead;
+
     /** */
     private final ImmutableBitSet grpSet;
 
@@ -59,6 +79,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     /** */
     private boolean inLoop;
 
+    /** Input rows are spilled to disk. */
+    private boolean spilled;
+
     /**
      * @param ctx Execution context.
      */
@@ -72,6 +95,8 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     ) {
         super(ctx, rowType, type, accFactory, rowFactory, rowOverhead(type, grpSets));
 
+        rowOverhead = rowOverhead(type, grpSets);
+
         ImmutableBitSet.Builder b = ImmutableBitSet.builder();
 
         if (grpSets.size() > Byte.MAX_VALUE)
@@ -122,6 +147,16 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         waiting--;
 
+        if (spilled) {
+            for (Grouping grouping : groupings)
+                grouping.spill(row);
+
+            if (waiting == 0)
+                source().request(waiting = IN_BUFFER_SIZE);
+
+            return;
+        }
+
         boolean groupingsChanged = false;
 
         for (Grouping grouping : groupings) {
@@ -147,8 +182,23 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         // aggregations (all redundant columns are dropped by optimizer earlier), so, just calculating the size of the
         // whole row we have close to real memory consumption by row referenced objects (except service structures).
         // Also we can guess size of service structures required by grouping and use it as constant row overhead.
-        if (hasAggAccum || groupingsChanged)
-            nodeMemoryTracker.onRowAdded(row);
+        if (hasAggAccum || groupingsChanged) {
+            try {
+                nodeMemoryTracker.onRowAdded(row);
+            }
+            catch (MemoryQuotaExceededException e) {
+                // Input rows of the reduce phase contain accumulators, which can't be spilled.
+                if (type == AggregateType.REDUCE || context().spillStorage() == null)
+                    throw e;
+
+                spilled = true;
+
+                // Groups kept in memory are tracked by their keys from now on.
+                nodeMemoryTracker.reset();
+
+                groupings.forEach(Grouping::startSpilling);
+            }
+        }
 
         if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
@@ -163,6 +213,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         waiting = -1;
 
+        if (spilled)
+            groupings.forEach(Grouping::finishSpilling);
+
         flush();
     }
 
@@ -170,10 +223,18 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     @Override protected void rewindInternal() {
         requested = 0;
         waiting = 0;
+        spilled = false;
         groupings.forEach(Grouping::reset);
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        groupings.forEach(Grouping::closeSpilled);
+
+        super.closeInternal();
+    }
+
     /** */
     private void flush() throws Exception {
         if (isClosed())
@@ -244,6 +305,21 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         /** */
         private final RowHandler<Row> handler;
 
+        /** Partitions input rows are spilled to, {@code null} if input rows aren't spilled. */
+        private List<SpillPartition> spillTargets;
+
+        /** Spill partitions to aggregate, the next one is on top. {@code null} if grouping isn't spilled. */
+        private Deque<SpillPartition> spilledParts;
+
+        /** Partition which groups are being emitted. */
+        private SpillPartition loadedPart;
+
+        /** Tracker of keys of the groups kept in memory by spill partitions. */
+        private RowTracker<Object> heldTracker;
+
+        /** Tracker of rows of the spill partition being aggregated. */
+        private RowTracker<Row> partTracker;
+
         /** */
         private Grouping(byte grpId, ImmutableBitSet grpFields) {
             this.grpId = grpId;
@@ -266,9 +342,202 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         private void reset() {
             groups.clear();
 
+            closeSpilled();
+
             init();
         }
 
+        /** Splits in-memory groups by spill partitions, all the next rows will be spilled to disk. */
+        private void startSpilling() {
+            spillTargets = split(0);
+        }
+
+        /**
+         * Moves in-memory groups to new spill partitions.
+         *
+         * @param depth Depth of the partitions.
+         * @return Partitions.
+         */
+        private List<SpillPartition> split(int depth) {
+            List<SpillPartition> parts = new ArrayList<>(SPILL_PARTITIONS);
+
+            for (int i = 0; i < SPILL_PARTITIONS; i++)
+                parts.add(new SpillPartition(depth));
+
+            for (Map.Entry<GroupKey, List<AccumulatorWrapper<Row>>> e : groups.entrySet()) {
+                parts.get(partition(e.getKey(), depth)).groups.put(e.getKey(), e.getValue());
+
+                heldTracker().onRowAdded(e.getKey());
+            }
+
+            groups.clear();
+
+            return parts;
+        }
+
+        /** Writes input row to the spill partition of its group. */
+        private void spill(Row row) {
+            spill(spillTargets, row);
+        }
+
+        /** Writes row to the partition of its group. */
+        private void spill(List<SpillPartition> parts, Row row) {
+            int depth = parts.get(0).depth;
+
+            parts.get(partition(groupKey(row), depth)).write(row);
+        }
+
+        /** */
+        private void finishSpilling() {
+            spilledParts = new ArrayDeque<>();
+
+            push(spillTargets);
+
+            spillTargets = null;
+        }
+
+        /** Makes partitions available for aggregation. */
+        private void push(List<SpillPartition> parts) {
+            for (int i = parts.size() - 1; i >= 0; i--) {
+                SpillPartition part = parts.get(i);
+
+                if (part.rows != null)
+                    part.rows.finish();
+
+                if (part.rows != null || !part.groups.isEmpty())
+                    spilledParts.push(part);
+            }
+        }
+
+        /** Loads spill partitions until a non-empty one is found. */
+        private void loadNextPartition() {
+            while (groups.isEmpty() && hasSpilledPartitions()) {
+                // Groups of the previous partition are already emitted.
+                releaseLoadedPartition();
+
+                SpillPartition part = spilledParts.pop();
+
+                loadedPart = part;
+
+                groups.putAll(part.groups);
+
+                if (part.rows == null)
+                    continue;
+
+                try {
+                    SpillFile<Row>.Reader reader = part.rows.reader();
+
+                    while (reader.hasNext()) {
+                        Row row = reader.next();
+
+                        int size = groups.size();
+
+                        addOnMapper(row);
+
+                        if (hasAggAccum || groups.size() > size) {
+                            try {
+                                partTracker().onRowAdded(row);
+                            }
+                            catch (MemoryQuotaExceededException e) {
+                                if (part.depth == MAX_SPILL_DEPTH)
+                                    throw e;
+
+                                repartition(part.depth + 1, reader);
+                            }
+                        }
+                    }
+                }
+                finally {
+                    part.close();
+                }
+            }
+        }
+
+        /**
+         * Splits groups and the rest input rows of the partition being aggregated into partitions of the next depth.
+         *
+         * @param depth Depth of the new partitions.
+         * @param rest Rest input rows of the partition.
+         */
+        private void repartition(int depth, Iterator<Row> rest) {
+            // Groups stay in memory, but they are tracked by their keys as groups of the new partitions.
+            releaseLoadedPartition();
+
+            List<SpillPartition> parts = split(depth);
+
+            while (rest.hasNext())
+                spill(parts, rest.next());
+
+            push(parts);
+        }
+
+        /** Releases memory tracked for the partition being aggregated. */
+        private void releaseLoadedPartition() {
+            if (partTracker != null)
+                partTracker.reset();
+
+            if (loadedPart != null) {
+                for (GroupKey key : loadedPart.groups.keySet())
+                    heldTracker.onRowRemoved(key);
+
+                loadedPart.groups.clear();
+
+                loadedPart = null;
+            }
+        }
+
+        /** */
+        private RowTracker<Object> heldTracker() {
+            if (heldTracker == null)
+                heldTracker = context().createNodeMemoryTracker(rowOverhead);
+
+            return heldTracker;
+        }
+
+        /** */
+        private RowTracker<Row> partTracker() {
+            if (partTracker == null)
+                partTracker = context().createNodeMemoryTracker(rowOverhead);
+
+            return partTracker;
+        }
+
+        /** */
+        private boolean hasSpilledPartitions() {
+            return spilledParts != null && !spilledParts.isEmpty();
+        }
+
+        /** */
+        private void closeSpilled() {
+            if (spillTargets != null)
+                spillTargets.forEach(SpillPartition::close);
+
+            if (spilledParts != null)
+                spilledParts.forEach(SpillPartition::close);
+
+            if (heldTracker != null)
+                heldTracker.reset();
+
+            if (partTracker != null)
+                partTracker.reset();
+
+            spillTargets = null;
+            spilledParts = null;
+            loadedPart = null;
+        }
+
+        /**
+         * @param grpKey Group key.
+         * @param depth Partition depth.
+         * @return Spill partition of the group.
+         */
+        private int partition(GroupKey grpKey, int depth) {
+            // Spread the hash, since the partitions of each depth are chosen by its own bits.
+            int hash = grpKey.hashCode() * 0x9E3779B9;
+
+            return (hash >>> (depth * SPILL_PARTITION_BITS)) & (SPILL_PARTITIONS - 1);
+        }
+
         /** */
         private void add(Row row) {
             if (type == AggregateType.REDUCE)
@@ -283,6 +552,8 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
          * @return Actually sent rows number.
          */
         private List<Row> getRows(int cnt) {
+            loadNextPartition();
+
             if (F.isEmpty(groups))
                 return Collections.emptyList();
             else if (type == AggregateType.MAP)
@@ -292,13 +563,18 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         }
 
         /** */
-        private void addOnMapper(Row row) {
+        private GroupKey groupKey(Row row) {
             GroupKey.Builder b = GroupKey.builder(grpFields.cardinality());
 
             for (Integer field : grpFields)
                 b.add(handler.get(field, row));
 
-            GroupKey grpKey = b.build();
+            return b.build();
+        }
+
+        /** */
+        private void addOnMapper(Row row) {
+            GroupKey grpKey = groupKey(row);
 
             List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(grpKey, this::create);
 
@@ -397,7 +673,7 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         /** */
         private boolean isEmpty() {
-            return groups.isEmpty();
+            return groups.isEmpty() && !hasSpilledPartitions();
         }
 
         /** */
@@ -405,4 +681,38 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
             return groups.size();
         }
     }
+
+    /** Spill partition of a grouping. */
+    private class SpillPartition {
+        /** Depth of the partition. */
+        private final int depth;
+
+        /** Groups of the partition kept in memory. */
+        private final Map<GroupKey, List<AccumulatorWrapper<Row>>> groups = new HashMap<>();
+
+        /** Input rows of the partition, {@code null} if there are no rows. */
+        private SpillFile<Row> rows;
+
+        /** */
+        private SpillPartition(int depth) {
+            this.depth = depth;
+        }
+
+        /** */
+        private void write(Row row) {
+            if (rows == null)
+                rows = new SpillFile<>(context());
+
+            rows.write(row);
+        }
+
+        /** */
+        private void close() {
+            if (rows != null) {
+                rows.close();
+
+                rows = null;
+            }
+        }
+    }
 }
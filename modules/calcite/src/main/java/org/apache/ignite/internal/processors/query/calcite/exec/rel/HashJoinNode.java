@@ -0,0 +1,805 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilter;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.X;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hash join node. The right input is used as a build side: it is fully materialized into an on-heap hash table
+ * keyed by the right join keys. After that the left input is streamed through the table (probe side), so the
+ * collation of the left input is preserved for all join types except RIGHT and FULL.
+ */
+public abstract class HashJoinNode<Row> extends MemoryTrackingNode<Row> {
+    /** Special value to highlights that all row were received and we are not waiting any more. */
+    protected static final int NOT_WAITING = -1;
+
+    /**
+     * Placeholder for keys containing NULL values. Such keys never match anything, since condition NULL=NULL
+     * should not be satisfied. Rows with such keys are stored only if they can be emitted as unmatched rows.
+     */
+    private static final GroupKey NULL_KEY = new GroupKey(X.EMPTY_OBJECT_ARRAY);
+
+    /** */
+    protected final RowHandler<Row> handler;
+
+    /** Left join keys. */
+    private final ImmutableIntList leftKeys;
+
+    /** Right join keys. */
+    private final ImmutableIntList rightKeys;
+
+    /** Non-equi part of the join condition, {@code null} if the condition consists of equi-join pairs only. */
+    @Nullable protected final BiPredicate<Row, Row> nonEquiCond;
+
+    /** Build side: rows of the right input grouped by join key. */
+    protected final Map<GroupKey, RightRows<Row>> hashStore = new HashMap<>();
+
+    /** */
+    protected final Deque<Row> leftInBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
+
+    /** Consumer of the runtime filter built from the build side keys, {@code null} if the filter isn't needed. */
+    @Nullable private Consumer<RuntimeJoinFilter> runtimeFilterConsumer;
+
+    /** */
+    protected int requested;
+
+    /** */
+    protected int waitingLeft;
+
+    /** */
+    protected int waitingRight;
+
+    /** */
+    protected boolean inLoop;
+
+    /** Current left (probe) row. */
+    protected Row left;
+
+    /** Right rows matching the key of the current left row. */
+    protected RightRows<Row> rightRows;
+
+    /** Index of the next right row to check against the current left row. */
+    protected int rightIdx;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Output row type.
+     * @param leftKeys Left join keys.
+     * @param rightKeys Right join keys.
+     * @param nonEquiCond Non-equi part of the join condition.
+     */
+    private HashJoinNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys,
+        @Nullable BiPredicate<Row, Row> nonEquiCond
+    ) {
+        super(ctx, rowType, HASH_MAP_ROW_OVERHEAD);
+
+        assert !F.isEmpty(leftKeys) && leftKeys.size() == rightKeys.size();
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.nonEquiCond = nonEquiCond;
+
+        handler = ctx.rowHandler();
+    }
+
+    /**
+     * Sets a consumer of the runtime filter, which is built once the build side is materialized. The filter rejects
+     * left rows without a match, so it must be set only for join types which don't emit such rows.
+     *
+     * @param runtimeFilterConsumer Runtime filter consumer.
+     */
+    public void runtimeFilterConsumer(Consumer<RuntimeJoinFilter> runtimeFilterConsumer) {
+        this.runtimeFilterConsumer = runtimeFilterConsumer;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert !F.isEmpty(sources()) && sources().size() == 2;
+        assert rowsCnt > 0 && requested == 0;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (!inLoop)
+            context().execute(this::doJoin, this::onError);
+    }
+
+    /** */
+    private void doJoin() throws Exception {
+        checkState();
+
+        join();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        requested = 0;
+        waitingLeft = 0;
+        waitingRight = 0;
+        left = null;
+        rightRows = null;
+        rightIdx = 0;
+
+        hashStore.clear();
+        leftInBuf.clear();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        if (idx == 0)
+            return new Downstream<Row>() {
+                /** {@inheritDoc} */
+                @Override public void push(Row row) throws Exception {
+                    pushLeft(row);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void end() throws Exception {
+                    endLeft();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void onError(Throwable e) {
+                    HashJoinNode.this.onError(e);
+                }
+            };
+        else if (idx == 1)
+            return new Downstream<Row>() {
+                /** {@inheritDoc} */
+                @Override public void push(Row row) throws Exception {
+                    pushRight(row);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void end() throws Exception {
+                    endRight();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void onError(Throwable e) {
+                    HashJoinNode.this.onError(e);
+                }
+            };
+
+        throw new IndexOutOfBoundsException();
+    }
+
+    /** */
+    private void pushLeft(Row row) throws Exception {
+        assert downstream() != null;
+        assert waitingLeft > 0;
+
+        checkState();
+
+        waitingLeft--;
+
+        leftInBuf.add(row);
+
+        join();
+    }
+
+    /** */
+    private void pushRight(Row row) throws Exception {
+        assert downstream() != null;
+        assert waitingRight > 0;
+
+        checkState();
+
+        waitingRight--;
+
+        GroupKey key = key(row, rightKeys);
+
+        if (key != NULL_KEY || keepUnmatchedRight()) {
+            hashStore.computeIfAbsent(key, k -> new RightRows<>(keepUnmatchedRight())).add(row);
+
+            nodeMemoryTracker.onRowAdded(row);
+        }
+
+        if (waitingRight == 0)
+            rightSource().request(waitingRight = IN_BUFFER_SIZE);
+    }
+
+    /** */
+    private void endLeft() throws Exception {
+        assert downstream() != null;
+        assert waitingLeft > 0;
+
+        checkState();
+
+        waitingLeft = NOT_WAITING;
+
+        join();
+    }
+
+    /** */
+    private void endRight() throws Exception {
+        assert downstream() != null;
+        assert waitingRight > 0;
+
+        checkState();
+
+        waitingRight = NOT_WAITING;
+
+        publishRuntimeFilter();
+
+        join();
+    }
+
+    /** */
+    private void publishRuntimeFilter() {
+        if (runtimeFilterConsumer == null)
+            return;
+
+        List<GroupKey> keys = new ArrayList<>(hashStore.size());
+
+        for (GroupKey key : hashStore.keySet()) {
+            if (key != NULL_KEY)
+                keys.add(key);
+        }
+
+        RuntimeJoinFilter filter = RuntimeJoinFilter.build(keys, leftKeys);
+
+        if (filter != null)
+            runtimeFilterConsumer.accept(filter);
+
+        // The probe side can't be rewound, so the filter is published only once.
+        runtimeFilterConsumer = null;
+    }
+
+    /** */
+    protected Node<Row> leftSource() {
+        return sources().get(0);
+    }
+
+    /** */
+    protected Node<Row> rightSource() {
+        return sources().get(1);
+    }
+
+    /**
+     * @return {@code True} if right rows without a match should be emitted, so the build side must keep track of
+     * matched rows and must not skip rows with NULL keys.
+     */
+    protected boolean keepUnmatchedRight() {
+        return false;
+    }
+
+    /** Takes next row from the left buffer and looks up matching right rows. */
+    protected void nextLeft() {
+        left = leftInBuf.remove();
+
+        GroupKey key = key(left, leftKeys);
+
+        rightRows = key == NULL_KEY ? null : hashStore.get(key);
+        rightIdx = 0;
+    }
+
+    /** @return {@code True} if there are more right rows to check against the current left row. */
+    protected boolean hasNextRight() {
+        return rightRows != null && rightIdx < rightRows.size();
+    }
+
+    /** Tests the non-equi part of the condition for the current left row and the given right row. */
+    protected boolean matches(Row right) {
+        return nonEquiCond == null || nonEquiCond.test(left, right);
+    }
+
+    /** Requests more rows from sources if needed and finishes the node if all rows are processed. */
+    protected void requestMoreOrEnd() throws Exception {
+        if (waitingRight == 0)
+            rightSource().request(waitingRight = IN_BUFFER_SIZE);
+
+        // The probe side is requested only after the build side is completely materialized.
+        if (waitingRight == NOT_WAITING && waitingLeft == 0 && leftInBuf.isEmpty())
+            leftSource().request(waitingLeft = IN_BUFFER_SIZE);
+
+        if (requested > 0 && waitingLeft == NOT_WAITING && waitingRight == NOT_WAITING && left == null
+            && leftInBuf.isEmpty() && !hasUnmatchedRight()) {
+            requested = 0;
+            downstream().end();
+        }
+    }
+
+    /** @return {@code True} if there are right rows without a match that aren't emitted yet. */
+    protected boolean hasUnmatchedRight() {
+        return false;
+    }
+
+    /** */
+    protected abstract void join() throws Exception;
+
+    /** */
+    private GroupKey key(Row row, ImmutableIntList keys) {
+        GroupKey.Builder b = GroupKey.builder(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object val = handler.get(keys.getInt(i), row);
+
+            if (val == null)
+                return NULL_KEY;
+
+            b.add(val);
+        }
+
+        return b.build();
+    }
+
+    /** */
+    @NotNull public static <Row> HashJoinNode<Row> create(
+        ExecutionContext<Row> ctx,
+        RelDataType outputRowType,
+        RelDataType leftRowType,
+        RelDataType rightRowType,
+        JoinRelType joinType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys,
+        @Nullable BiPredicate<Row, Row> nonEquiCond
+    ) {
+        switch (joinType) {
+            case INNER:
+                return new InnerJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+            case LEFT: {
+                RowHandler.RowFactory<Row> rightRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), rightRowType);
+
+                return new LeftJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, rightRowFactory);
+            }
+
+            case RIGHT: {
+                RowHandler.RowFactory<Row> leftRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), leftRowType);
+
+                return new RightJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, leftRowFactory, null);
+            }
+
+            case FULL: {
+                RowHandler.RowFactory<Row> leftRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), leftRowType);
+                RowHandler.RowFactory<Row> rightRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), rightRowType);
+
+                return new RightJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, leftRowFactory,
+                    rightRowFactory);
+            }
+
+            case SEMI:
+                return new SemiJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+            case ANTI:
+                return new AntiJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+            default:
+                throw new IllegalStateException("Join type \"" + joinType + "\" is not supported yet");
+        }
+    }
+
+    /** Right rows with the same join key. */
+    protected static class RightRows<Row> {
+        /** */
+        private final List<Row> rows = new ArrayList<>(1);
+
+        /** Matched rows, {@code null} if matches aren't tracked. */
+        @Nullable private final BitSet matched;
+
+        /** */
+        private RightRows(boolean trackMatches) {
+            matched = trackMatches ? new BitSet() : null;
+        }
+
+        /** */
+        void add(Row row) {
+            rows.add(row);
+        }
+
+        /** */
+        Row get(int idx) {
+            return rows.get(idx);
+        }
+
+        /** */
+        int size() {
+            return rows.size();
+        }
+
+        /** */
+        void markMatched(int idx) {
+            matched.set(idx);
+        }
+
+        /** @return Index of the first not matched row starting from {@code fromIdx}, or {@code -1} if none. */
+        int nextNotMatched(int fromIdx) {
+            int idx = matched.nextClearBit(fromIdx);
+
+            return idx < rows.size() ? idx : -1;
+        }
+    }
+
+    /** */
+    private static class InnerJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private InnerJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null)
+                            nextLeft();
+
+                        while (requested > 0 && hasNextRight()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (!hasNextRight())
+                            left = null;
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMoreOrEnd();
+        }
+    }
+
+    /** */
+    private static class LeftJoin<Row> extends HashJoinNode<Row> {
+        /** Right row factory. */
+        private final RowHandler.RowFactory<Row> rightRowFactory;
+
+        /** Whether current left row was matched or not. */
+        private boolean matched;
+
+        /** */
+        private LeftJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> rightRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+
+            this.rightRowFactory = rightRowFactory;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            matched = false;
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null) {
+                            nextLeft();
+
+                            matched = false;
+                        }
+
+                        while (requested > 0 && hasNextRight()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            matched = true;
+
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (!hasNextRight()) {
+                            if (!matched && requested > 0) {
+                                requested--;
+                                matched = true;
+
+                                downstream().push(handler.concat(left, rightRowFactory.create()));
+                            }
+
+                            if (matched)
+                                left = null;
+                        }
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMoreOrEnd();
+        }
+    }
+
+    /** Right join or full outer join (if right row factory is provided). */
+    private static class RightJoin<Row> extends HashJoinNode<Row> {
+        /** Left row factory. */
+        private final RowHandler.RowFactory<Row> leftRowFactory;
+
+        /** Right row factory, {@code null} for RIGHT join. */
+        @Nullable private final RowHandler.RowFactory<Row> rightRowFactory;
+
+        /** Whether current left row was matched or not. */
+        private boolean leftMatched;
+
+        /** Iterator over the build side to emit not matched right rows. */
+        private Iterator<RightRows<Row>> unmatchedIt;
+
+        /** Right rows with not emitted unmatched rows. */
+        private RightRows<Row> unmatchedRows;
+
+        /** Index of the next unmatched row to emit. */
+        private int unmatchedIdx;
+
+        /** */
+        private RightJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> leftRowFactory,
+            @Nullable RowHandler.RowFactory<Row> rightRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+
+            this.leftRowFactory = leftRowFactory;
+            this.rightRowFactory = rightRowFactory;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            leftMatched = false;
+            unmatchedIt = null;
+            unmatchedRows = null;
+            unmatchedIdx = 0;
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean keepUnmatchedRight() {
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean hasUnmatchedRight() {
+            return unmatchedIt == null || unmatchedRows != null || unmatchedIt.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null) {
+                            nextLeft();
+
+                            leftMatched = false;
+                        }
+
+                        while (requested > 0 && hasNextRight()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            leftMatched = true;
+                            rightRows.markMatched(rightIdx - 1);
+
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (!hasNextRight()) {
+                            if (rightRowFactory != null && !leftMatched && requested > 0) {
+                                requested--;
+                                leftMatched = true;
+
+                                downstream().push(handler.concat(left, rightRowFactory.create()));
+                            }
+
+                            if (rightRowFactory == null || leftMatched)
+                                left = null;
+                        }
+                    }
+
+                    if (requested > 0 && waitingLeft == NOT_WAITING && left == null && leftInBuf.isEmpty())
+                        emitUnmatchedRight();
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMoreOrEnd();
+        }
+
+        /** */
+        private void emitUnmatchedRight() throws Exception {
+            if (unmatchedIt == null)
+                unmatchedIt = hashStore.values().iterator();
+
+            while (requested > 0 && (unmatchedRows != null || unmatchedIt.hasNext())) {
+                checkState();
+
+                if (unmatchedRows == null) {
+                    unmatchedRows = unmatchedIt.next();
+                    unmatchedIdx = 0;
+                }
+
+                int idx = unmatchedRows.nextNotMatched(unmatchedIdx);
+
+                if (idx < 0) {
+                    unmatchedRows = null;
+
+                    continue;
+                }
+
+                unmatchedIdx = idx + 1;
+
+                requested--;
+                downstream().push(handler.concat(leftRowFactory.create(), unmatchedRows.get(idx)));
+            }
+        }
+    }
+
+    /** */
+    private static class SemiJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private SemiJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && !leftInBuf.isEmpty()) {
+                        checkState();
+
+                        nextLeft();
+
+                        while (hasNextRight()) {
+                            if (!matches(rightRows.get(rightIdx++)))
+                                continue;
+
+                            requested--;
+                            downstream().push(left);
+
+                            break;
+                        }
+
+                        left = null;
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMoreOrEnd();
+        }
+    }
+
+    /** */
+    private static class AntiJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private AntiJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && !leftInBuf.isEmpty()) {
+                        checkState();
+
+                        nextLeft();
+
+                        boolean matched = false;
+
+                        while (!matched && hasNextRight())
+                            matched = matches(rightRows.get(rightIdx++));
+
+                        if (!matched) {
+                            requested--;
+                            downstream().push(left);
+                        }
+
+                        left = null;
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            requestMoreOrEnd();
+        }
+    }
+}
@@ -34,6 +34,8 @@ import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExchangeService;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistry;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilter;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -71,6 +73,12 @@ public class Inbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Singl
     /** */
     private boolean inLoop;
 
+    /** Start time of waiting for data, {@code 0} if the inbox isn't waiting. */
+    private long stallStart;
+
+    /** Total time of waiting for data in nanoseconds. */
+    private long stallTime;
+
     /**
      * @param ctx Execution context.
      * @param exchange Exchange service.
@@ -141,6 +149,10 @@ public class Inbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Singl
         super.closeInternal();
 
         registry.unregister(this);
+
+        onStallFinished();
+
+        exchange.onInboxClosed(queryId(), exchangeId, stallTime);
     }
 
     /** {@inheritDoc} */
@@ -167,6 +179,8 @@ public class Inbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Singl
      * @param rows Rows.
      */
     public void onBatchReceived(UUID src, int batchId, boolean last, List<Row> rows) throws Exception {
+        onStallFinished();
+
         Buffer buf = getOrCreateBuffer(src);
 
         boolean waitingBefore = buf.check() == State.WAITING;
@@ -201,6 +215,19 @@ public class Inbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Singl
             pushOrdered();
         else
             pushUnordered();
+
+        // Rows are requested, but there is no data from sources.
+        if (requested > 0 && stallStart == 0)
+            stallStart = System.nanoTime();
+    }
+
+    /** */
+    private void onStallFinished() {
+        if (stallStart != 0) {
+            stallTime += System.nanoTime() - stallStart;
+
+            stallStart = 0;
+        }
     }
 
     /** Checks that all corresponding buffers are in ready state. */
@@ -325,6 +352,25 @@ public class Inbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Singl
         }
     }
 
+    /**
+     * Sends a runtime join filter to all the sources of the exchange. The sources apply the filter to the rows they
+     * haven't sent yet.
+     *
+     * @param filter Runtime join filter.
+     */
+    public void sendRuntimeFilter(RuntimeJoinFilter filter) {
+        assert srcNodeIds != null;
+
+        for (UUID nodeId : srcNodeIds) {
+            try {
+                exchange.sendRuntimeFilter(nodeId, queryId(), srcFragmentId, exchangeId, filter);
+            }
+            catch (IgniteCheckedException e) {
+                U.warn(context().logger(), "Failed to send runtime filter message.", e);
+            }
+        }
+    }
+
     /** */
     private void acknowledge(UUID nodeId, int batchId) throws IgniteCheckedException {
         exchange.acknowledge(nodeId, queryId(), srcFragmentId, exchangeId, batchId);
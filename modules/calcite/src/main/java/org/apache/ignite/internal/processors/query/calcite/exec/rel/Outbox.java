@@ -31,8 +31,9 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExchangeService;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistry;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilter;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.ObjectSizeCalculator;
 import org.apache.ignite.internal.processors.query.calcite.trait.Destination;
-import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.U;
 
@@ -61,12 +62,24 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
     /** */
     private final Map<UUID, Buffer> nodeBuffers = new HashMap<>();
 
+    /** Runtime join filters by target node ID. */
+    private final Map<UUID, RuntimeJoinFilter> filters = new HashMap<>();
+
+    /** */
+    private final ObjectSizeCalculator<Row> sizeCalc = new ObjectSizeCalculator<>();
+
     /** */
     private int waiting;
 
     /** */
     private boolean exchangeFinished;
 
+    /** Start time of waiting for acknowledgements, {@code 0} if the outbox isn't waiting. */
+    private long stallStart;
+
+    /** Total time of waiting for acknowledgements in nanoseconds. */
+    private long stallTime;
+
     /**
      * @param ctx Execution context.
      * @param exchange Exchange service.
@@ -111,6 +124,18 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         nodeBuffers.get(nodeId).acknowledge(batchId);
     }
 
+    /**
+     * Callback method. Rows rejected by the filter aren't sent to the node.
+     *
+     * @param nodeId Target node ID.
+     * @param filter Runtime join filter of the target node.
+     */
+    public void onRuntimeFilter(UUID nodeId, RuntimeJoinFilter filter) throws Exception {
+        checkState();
+
+        filters.put(nodeId, filter);
+    }
+
     /** */
     public void init() {
         try {
@@ -180,6 +205,10 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         // Send cancel message for the Inbox to close Inboxes created by batch message race.
         for (UUID node : dest.targets())
             getOrCreateBuffer(node).close();
+
+        onStallFinished();
+
+        exchange.onOutboxClosed(queryId(), exchangeId, stallTime);
     }
 
     /** {@inheritDoc} */
@@ -235,14 +264,28 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         while (!inBuf.isEmpty()) {
             checkState();
 
-            Collection<Buffer> buffers = dest.targets(inBuf.peek()).stream()
+            Row row0 = inBuf.peek();
+
+            Collection<Buffer> buffers = dest.targets(row0).stream()
+                .filter(nodeId -> passRuntimeFilter(nodeId, row0))
                 .map(this::getOrCreateBuffer)
                 .collect(Collectors.toList());
 
-            assert !F.isEmpty(buffers);
+            // All the targets have no matching rows.
+            if (buffers.isEmpty()) {
+                inBuf.remove();
+
+                continue;
+            }
+
+            if (!buffers.stream().allMatch(Buffer::ready)) {
+                if (stallStart == 0)
+                    stallStart = System.nanoTime();
 
-            if (!buffers.stream().allMatch(Buffer::ready))
                 return;
+            }
+
+            onStallFinished();
 
             Row row = inBuf.remove();
 
@@ -266,6 +309,25 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         }
     }
 
+    /** */
+    private boolean passRuntimeFilter(UUID nodeId, Row row) {
+        if (filters.isEmpty())
+            return true;
+
+        RuntimeJoinFilter filter = filters.get(nodeId);
+
+        return filter == null || filter.test(context().rowHandler(), row);
+    }
+
+    /** */
+    private void onStallFinished() {
+        if (stallStart != 0) {
+            stallTime += System.nanoTime() - stallStart;
+
+            stallStart = 0;
+        }
+    }
+
     /** */
     public void onNodeLeft(UUID nodeId) {
         if (nodeId.equals(context().originatingNodeId()))
@@ -286,11 +348,14 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         /** */
         private List<Row> curr;
 
+        /** */
+        private final ExchangeFlowControl<Row> flowCtrl = new ExchangeFlowControl<>(sizeCalc);
+
         /** */
         private Buffer(UUID nodeId) {
             this.nodeId = nodeId;
 
-            curr = new ArrayList<>(IO_BATCH_SIZE);
+            curr = new ArrayList<>(flowCtrl.batchSize());
         }
 
         /**
@@ -302,7 +367,7 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
             if (hwm == Integer.MAX_VALUE)
                 return false;
 
-            return curr.size() < IO_BATCH_SIZE || hwm - lwm < IO_BATCH_CNT;
+            return curr.size() < flowCtrl.batchSize() || hwm - lwm < flowCtrl.credits();
         }
 
         /**
@@ -313,13 +378,17 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         public void add(Row row) throws IgniteCheckedException {
             assert ready();
 
-            if (curr.size() == IO_BATCH_SIZE) {
+            if (curr.size() >= flowCtrl.batchSize()) {
                 sendBatch(nodeId, ++hwm, false, curr);
 
-                curr = new ArrayList<>(IO_BATCH_SIZE);
+                flowCtrl.onBatchSent(hwm);
+
+                curr = new ArrayList<>(flowCtrl.batchSize());
             }
 
             curr.add(row);
+
+            flowCtrl.onRowAdded(row);
         }
 
         /**
@@ -344,11 +413,13 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
          * @param id batch ID.
          */
         private void acknowledge(int id) throws Exception {
-            if (lwm > id)
+            if (lwm >= id)
                 return;
 
             boolean readyBefore = ready();
 
+            flowCtrl.onAcknowledged(id, id - lwm);
+
             lwm = id;
 
             if (!readyBefore && ready())
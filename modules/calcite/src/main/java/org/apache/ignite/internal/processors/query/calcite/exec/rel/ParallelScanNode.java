@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.apache.ignite.internal.util.typedef.F;
+
+/**
+ * Scan node, which reads several sources in parallel. Each source is read by its own task, running outside of the
+ * fragment thread, rows are passed to the fragment thread by batches. Order of the rows is not preserved.
+ */
+public class ParallelScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row> {
+    /** Count of batches a source task produces before it gives the thread to other tasks. */
+    private static final int BATCHES_PER_TASK = 4;
+
+    /** Count of not consumed batches per source, after which source tasks are suspended. */
+    private static final int BATCHES_PER_SOURCE = 2;
+
+    /** */
+    private final List<Iterable<Row>> srcs;
+
+    /** Batches produced by source tasks. */
+    private final Queue<List<Row>> batches = new ConcurrentLinkedQueue<>();
+
+    /** Count of batches in {@link #batches}. */
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    /** Count of source tasks, which haven't finished yet. */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /** */
+    private final AtomicBoolean pushScheduled = new AtomicBoolean();
+
+    /** */
+    private List<SourceTask> tasks;
+
+    /** */
+    private List<Row> curr;
+
+    /** */
+    private int currIdx;
+
+    /** */
+    private int requested;
+
+    /** */
+    private boolean inLoop;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param srcs Sources.
+     */
+    public ParallelScanNode(ExecutionContext<Row> ctx, RelDataType rowType, List<Iterable<Row>> srcs) {
+        super(ctx, rowType);
+
+        assert !F.isEmpty(srcs);
+
+        this.srcs = srcs;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert rowsCnt > 0 && requested == 0 : "rowsCnt=" + rowsCnt + ", requested=" + requested;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (tasks == null)
+            startTasks();
+
+        if (!inLoop)
+            context().execute(this::push, this::onError);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void closeInternal() {
+        super.closeInternal();
+
+        stopTasks();
+
+        srcs.forEach(Commons::closeQuiet);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        stopTasks();
+
+        requested = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void register(List<Node<Row>> sources) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** */
+    private void startTasks() {
+        tasks = new ArrayList<>(srcs.size());
+
+        active.set(srcs.size());
+
+        for (int i = 0; i < srcs.size(); i++)
+            tasks.add(new SourceTask(i, srcs.get(i)));
+
+        tasks.forEach(SourceTask::schedule);
+    }
+
+    /** */
+    private void stopTasks() {
+        if (tasks == null)
+            return;
+
+        tasks.forEach(SourceTask::stop);
+
+        tasks = null;
+        curr = null;
+
+        batches.clear();
+        buffered.set(0);
+    }
+
+    /** */
+    private void push() throws Exception {
+        pushScheduled.set(false);
+
+        if (isClosed() || tasks == null)
+            return;
+
+        checkState();
+
+        inLoop = true;
+        try {
+            while (requested > 0) {
+                if (curr == null || currIdx == curr.size()) {
+                    curr = batches.poll();
+                    currIdx = 0;
+
+                    if (curr == null)
+                        break;
+
+                    buffered.decrementAndGet();
+
+                    tasks.forEach(SourceTask::resume);
+                }
+
+                checkState();
+
+                requested--;
+
+                downstream().push(curr.get(currIdx++));
+            }
+        }
+        finally {
+            inLoop = false;
+        }
+
+        // The count of active tasks must be checked before the batches, since a task adds its last batch
+        // before it finishes.
+        if (requested > 0 && active.get() == 0 && batches.isEmpty() && (curr == null || currIdx == curr.size())) {
+            requested = 0;
+
+            downstream().end();
+        }
+    }
+
+    /** Schedules rows pushing in the fragment thread. */
+    private void schedulePush() {
+        if (pushScheduled.compareAndSet(false, true))
+            context().execute(this::push, this::onError);
+    }
+
+    /** Passes an error of a source task to the fragment thread. */
+    private void onSourceError(Throwable e) {
+        context().execute(() -> onError(e), this::onError);
+    }
+
+    /** Reads a single source. */
+    private class SourceTask {
+        /** */
+        private final int idx;
+
+        /** */
+        private final Iterable<Row> src;
+
+        /** Guarded by {@code this}. */
+        private Iterator<Row> it;
+
+        /** Guarded by {@code this}. */
+        private boolean stopped;
+
+        /** */
+        private final AtomicBoolean suspended = new AtomicBoolean();
+
+        /** */
+        private SourceTask(int idx, Iterable<Row> src) {
+            this.idx = idx;
+            this.src = src;
+        }
+
+        /** */
+        private void schedule() {
+            context().executeParallel(idx, this::run, ParallelScanNode.this::onSourceError);
+        }
+
+        /** */
+        private void resume() {
+            if (suspended.compareAndSet(true, false))
+                schedule();
+        }
+
+        /** */
+        private synchronized void stop() {
+            stopped = true;
+
+            Commons.closeQuiet(it);
+            it = null;
+        }
+
+        /** */
+        private synchronized void run() {
+            if (stopped)
+                return;
+
+            if (it == null)
+                it = src.iterator();
+
+            for (int i = 0; i < BATCHES_PER_TASK; i++) {
+                if (buffered.get() >= srcs.size() * BATCHES_PER_SOURCE) {
+                    suspended.set(true);
+
+                    // Double check to not miss the consumer progress made before the task is suspended.
+                    if (buffered.get() >= srcs.size() * BATCHES_PER_SOURCE || !suspended.compareAndSet(true, false))
+                        return;
+                }
+
+                List<Row> batch = new ArrayList<>(IN_BUFFER_SIZE);
+
+                while (batch.size() < IN_BUFFER_SIZE && it.hasNext())
+                    batch.add(it.next());
+
+                if (!batch.isEmpty()) {
+                    batches.add(batch);
+                    buffered.incrementAndGet();
+                }
+
+                if (!it.hasNext()) {
+                    Commons.closeQuiet(it);
+                    it = null;
+
+                    stopped = true;
+
+                    active.decrementAndGet();
+
+                    schedulePush();
+
+                    return;
+                }
+
+                schedulePush();
+            }
+
+            // Give the thread to other tasks.
+            schedule();
+        }
+    }
+}
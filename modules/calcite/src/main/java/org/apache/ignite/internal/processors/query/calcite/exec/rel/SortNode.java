@@ -18,19 +18,31 @@ package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
 import org.apache.ignite.internal.util.GridBoundedPriorityQueue;
 import org.apache.ignite.internal.util.typedef.F;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Sort node.
+ * If spilling to disk is enabled and memory quota is exceeded, not limited sort switches to external mode: buffered
+ * rows are written to disk as sorted runs, and the final order is produced by merging all the runs. If there are more
+ * runs than {@link #MERGE_FAN_IN}, they are merged by several passes.
  */
 public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
+    /** Minimal count of rows in a spilled run. Spilling smaller runs means the quota is taken by other nodes. */
+    static final int MIN_RUN_ROWS = 256;
+
+    /** Maximal count of runs merged at once. */
+    static final int MERGE_FAN_IN = 64;
+
     /** How many rows are requested by downstream. */
     private int requested;
 
@@ -49,6 +61,15 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
     /** Reverse-ordered rows in case of limited sort. */
     private List<Row> reversed;
 
+    /** Rows comparator. */
+    private final Comparator<Row> comp;
+
+    /** Sorted runs spilled to disk, {@code null} if rows aren't spilled. */
+    private List<SpillFile<Row>> spilledRuns;
+
+    /** Merged spilled runs and in-memory rows, {@code null} if rows aren't spilled. */
+    private Iterator<Row> merged;
+
     /**
      * @param ctx Execution context.
      * @param comp Rows comparator.
@@ -68,6 +89,8 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
 
         limit = fetch == null ? -1 : fetch.get() + (offset == null ? 0 : offset.get());
 
+        this.comp = comp == null ? (Comparator<Row>)Comparator.naturalOrder() : comp;
+
         if (limit < 0)
             rows = new PriorityQueue<>(comp);
         else {
@@ -92,9 +115,18 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         if (reversed != null)
             reversed.clear();
 
+        closeSpilledRuns();
+
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        closeSpilledRuns();
+
+        super.closeInternal();
+    }
+
     /** {@inheritDoc} */
     @Override protected Downstream<Row> requestDownstream(int idx) {
         if (idx != 0)
@@ -133,7 +165,16 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         Row top = rows.peek();
 
         if (rows.add(row)) {
-            nodeMemoryTracker.onRowAdded(row);
+            try {
+                nodeMemoryTracker.onRowAdded(row);
+            }
+            catch (MemoryQuotaExceededException e) {
+                // Limited sort keeps bounded count of rows, so spilling can't help.
+                if (limit >= 0 || context().spillStorage() == null || rows.size() < MIN_RUN_ROWS)
+                    throw e;
+
+                spill();
+            }
 
             if (size == rows.size()) // Row added, but size is not changed means another (top) row is evicted.
                 nodeMemoryTracker.onRowRemoved(top);
@@ -152,9 +193,161 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
 
         waiting = -1;
 
+        if (spilledRuns != null) {
+            while (spilledRuns.size() > MERGE_FAN_IN)
+                mergePass();
+
+            merged = mergeSpilledRuns();
+        }
+
         flush();
     }
 
+    /** Writes buffered rows to disk as a sorted run and releases memory. */
+    private void spill() {
+        if (spilledRuns == null)
+            spilledRuns = new ArrayList<>();
+
+        SpillFile<Row> run = new SpillFile<>(context());
+
+        spilledRuns.add(run);
+
+        while (!rows.isEmpty())
+            run.write(rows.poll());
+
+        run.finish();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** Merges spilled runs by groups of {@link #MERGE_FAN_IN} runs into longer runs. */
+    private void mergePass() {
+        List<SpillFile<Row>> runs = spilledRuns;
+
+        spilledRuns = new ArrayList<>((runs.size() + MERGE_FAN_IN - 1) / MERGE_FAN_IN);
+
+        try {
+            for (int i = 0; i < runs.size(); i += MERGE_FAN_IN) {
+                List<SpillFile<Row>> grp = runs.subList(i, Math.min(i + MERGE_FAN_IN, runs.size()));
+
+                if (grp.size() == 1) {
+                    spilledRuns.add(grp.get(0));
+
+                    continue;
+                }
+
+                SpillFile<Row> run = new SpillFile<>(context());
+
+                spilledRuns.add(run);
+
+                List<Iterator<Row>> its = new ArrayList<>(grp.size());
+
+                for (SpillFile<Row> r : grp)
+                    its.add(r.reader());
+
+                for (Iterator<Row> it = merge(its); it.hasNext(); )
+                    run.write(it.next());
+
+                run.finish();
+
+                grp.forEach(SpillFile::close);
+            }
+        }
+        catch (RuntimeException e) {
+            // Runs which are neither merged nor moved to the new list yet.
+            runs.stream().filter(r -> !spilledRuns.contains(r)).forEach(SpillFile::close);
+
+            throw e;
+        }
+    }
+
+    /** @return Iterator over spilled runs and in-memory rows in the final order. */
+    private Iterator<Row> mergeSpilledRuns() {
+        List<Iterator<Row>> its = new ArrayList<>(spilledRuns.size() + 1);
+
+        for (SpillFile<Row> run : spilledRuns)
+            its.add(run.reader());
+
+        its.add(new Iterator<Row>() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return !rows.isEmpty();
+            }
+
+            /** {@inheritDoc} */
+            @Override public Row next() {
+                return rows.poll();
+            }
+        });
+
+        return merge(its);
+    }
+
+    /**
+     * @param its Sorted iterators.
+     * @return Iterator over rows of all the iterators in the final order.
+     */
+    private Iterator<Row> merge(List<Iterator<Row>> its) {
+        PriorityQueue<RunCursor<Row>> cursors = new PriorityQueue<>(its.size(),
+            (c1, c2) -> comp.compare(c1.cur, c2.cur));
+
+        for (Iterator<Row> it : its)
+            RunCursor.add(cursors, it);
+
+        return new Iterator<Row>() {
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            /** {@inheritDoc} */
+            @Override public Row next() {
+                RunCursor<Row> cursor = cursors.poll();
+
+                Row row = cursor.cur;
+
+                if (cursor.it.hasNext()) {
+                    cursor.cur = cursor.it.next();
+
+                    cursors.add(cursor);
+                }
+
+                return row;
+            }
+        };
+    }
+
+    /** */
+    private void closeSpilledRuns() {
+        if (spilledRuns != null) {
+            spilledRuns.forEach(SpillFile::close);
+
+            spilledRuns = null;
+        }
+
+        merged = null;
+    }
+
+    /** */
+    private boolean hasMoreRows() {
+        if (merged != null)
+            return merged.hasNext();
+
+        return reversed == null ? !rows.isEmpty() : !reversed.isEmpty();
+    }
+
+    /** */
+    private Row nextRow() {
+        if (merged != null)
+            return merged.next();
+
+        Row row = reversed == null ? rows.poll() : reversed.remove(reversed.size() - 1);
+
+        nodeMemoryTracker.onRowRemoved(row);
+
+        return row;
+    }
+
     /** */
     private void flush() throws Exception {
         if (isClosed())
@@ -185,14 +378,12 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 processed = 0;
             }
 
-            while (requested > 0 && (reversed == null ? !rows.isEmpty() : !reversed.isEmpty())) {
+            while (requested > 0 && hasMoreRows()) {
                 checkState();
 
                 requested--;
 
-                Row row = reversed == null ? rows.poll() : reversed.remove(reversed.size() - 1);
-
-                nodeMemoryTracker.onRowRemoved(row);
+                Row row = nextRow();
 
                 downstream().push(row);
 
@@ -204,15 +395,42 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 }
             }
 
-            if (reversed == null ? rows.isEmpty() : reversed.isEmpty()) {
+            if (!hasMoreRows()) {
                 if (requested > 0)
                     downstream().end();
 
                 requested = 0;
+
+                closeSpilledRuns();
             }
         }
         finally {
             inLoop = false;
         }
     }
+
+    /** Current row of a sorted run. */
+    private static class RunCursor<Row> {
+        /** */
+        private final Iterator<Row> it;
+
+        /** */
+        private Row cur;
+
+        /** */
+        private RunCursor(Iterator<Row> it) {
+            this.it = it;
+        }
+
+        /** Adds cursor to the queue if the run isn't empty. */
+        private static <Row> void add(PriorityQueue<RunCursor<Row>> cursors, Iterator<Row> it) {
+            if (it.hasNext()) {
+                RunCursor<Row> cursor = new RunCursor<>(it);
+
+                cursor.cur = it.next();
+
+                cursors.add(cursor);
+            }
+        }
+    }
 }
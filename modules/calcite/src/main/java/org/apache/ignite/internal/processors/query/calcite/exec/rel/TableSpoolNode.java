@@ -21,10 +21,14 @@ import java.util.ArrayList;
 import java.util.List;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
 import org.apache.ignite.internal.util.typedef.F;
 
 /**
  * Table spool node.
+ * If spilling to disk is enabled and memory quota is exceeded, buffered rows are moved to a file on disk. In this
+ * case rows with index less than count of spilled rows are read from the file, other rows are read from memory.
  */
 public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
     /** How many rows are requested by downstream. */
@@ -39,6 +43,15 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
     /** Rows buffer. */
     private final List<Row> rows;
 
+    /** Rows spilled to disk, {@code null} if rows aren't spilled. */
+    private SpillFile<Row> spilled;
+
+    /** Reader of spilled rows. */
+    private SpillFile<Row>.Reader reader;
+
+    /** Index of the next row to read by the reader of spilled rows. */
+    private int readerIdx;
+
     /**
      * If {@code true} this spool should emit rows as soon as it stored.
      * If {@code false} the spool have to collect all rows from underlying input.
@@ -73,6 +86,18 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
         rewindInternal();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        if (spilled != null) {
+            spilled.close();
+
+            spilled = null;
+            reader = null;
+        }
+
+        super.closeInternal();
+    }
+
     /** {@inheritDoc} */
     @Override protected Downstream<Row> requestDownstream(int idx) {
         if (idx != 0)
@@ -90,7 +115,7 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         requested += rowsCnt;
 
-        if ((waiting == -1 || rowIdx < rows.size()) && !inLoop)
+        if ((waiting == -1 || rowIdx < rowsCount()) && !inLoop)
             context().execute(this::doPush, this::onError);
         else if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
@@ -107,8 +132,8 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
         int processed = 0;
         inLoop = true;
         try {
-            while (requested > 0 && rowIdx < rows.size() && processed++ < IN_BUFFER_SIZE) {
-                downstream().push(rows.get(rowIdx));
+            while (requested > 0 && rowIdx < rowsCount() && processed++ < IN_BUFFER_SIZE) {
+                downstream().push(row(rowIdx));
 
                 rowIdx++;
                 requested--;
@@ -118,7 +143,7 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
             inLoop = false;
         }
 
-        if (rowIdx >= rows.size() && waiting == -1 && requested > 0) {
+        if (rowIdx >= rowsCount() && waiting == -1 && requested > 0) {
             requested = 0;
             downstream().end();
         }
@@ -137,12 +162,20 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         rows.add(row);
 
-        nodeMemoryTracker.onRowAdded(row);
+        try {
+            nodeMemoryTracker.onRowAdded(row);
+        }
+        catch (MemoryQuotaExceededException e) {
+            if (context().spillStorage() == null)
+                throw e;
+
+            spill();
+        }
 
         if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
 
-        if (requested > 0 && rowIdx < rows.size())
+        if (requested > 0 && rowIdx < rowsCount())
             doPush();
     }
 
@@ -157,4 +190,47 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         context().execute(this::doPush, this::onError);
     }
+
+    /** Moves buffered rows to disk and releases memory. */
+    private void spill() {
+        if (spilled == null)
+            spilled = new SpillFile<>(context());
+
+        rows.forEach(spilled::write);
+        rows.clear();
+
+        spilled.flush();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** @return Count of stored rows. */
+    private int rowsCount() {
+        return spilled == null ? rows.size() : spilled.size() + rows.size();
+    }
+
+    /** @return Row with the given index. */
+    private Row row(int idx) {
+        if (spilled == null)
+            return rows.get(idx);
+
+        if (idx >= spilled.size())
+            return rows.get(idx - spilled.size());
+
+        if (reader == null || readerIdx > idx) {
+            if (reader != null)
+                reader.close();
+
+            reader = spilled.reader();
+            readerIdx = 0;
+        }
+
+        // Rows are read sequentially in most cases, so there is nothing to skip.
+        for (; readerIdx < idx; readerIdx++)
+            reader.next();
+
+        readerIdx++;
+
+        return reader.next();
+    }
 }
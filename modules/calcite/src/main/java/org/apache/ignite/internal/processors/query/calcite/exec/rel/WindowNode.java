@@ -0,0 +1,508 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
+import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Evaluates window functions over the input sorted by partition and order keys.
+ *
+ * Frames starting at UNBOUNDED PRECEDING and ending at CURRENT ROW (the default frame and the frame of ranking
+ * functions) are evaluated incrementally: rows are emitted as soon as the current row (ROWS) or the current
+ * peer group (RANGE) is complete. Other frames require the whole partition to be buffered.
+ *
+ * Bounds of the other frames only move forward, so a buffered partition is evaluated by a sliding aggregation:
+ * the frame is split into a front part, kept as suffix aggregates of its rows, and a back part, kept as a running
+ * aggregate. Rows leave the frame from the front and enter it at the back. When the frame start passes the front
+ * part, the suffix aggregates are rebuilt from the rows of the frame. Each row is added to accumulators a constant
+ * number of times, and each frame value is a merge of two aggregates.
+ */
+public class WindowNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
+    /** Partition keys comparator, {@code null} if the input is a single partition. */
+    @Nullable private final Comparator<Row> partCmp;
+
+    /** Order keys comparator, {@code null} if all rows of the partition are peers. */
+    @Nullable private final Comparator<Row> peerCmp;
+
+    /** ROWS or RANGE frame. */
+    private final boolean rows;
+
+    /**
+     * Frame start relative to the current row (negative for PRECEDING), {@code null} for UNBOUNDED PRECEDING.
+     * For RANGE frames the only allowed offset is zero which means the current peer group.
+     */
+    @Nullable private final Integer lowerOffset;
+
+    /**
+     * Frame end relative to the current row (negative for PRECEDING), {@code null} for UNBOUNDED FOLLOWING.
+     * For RANGE frames the only allowed offset is zero which means the current peer group.
+     */
+    @Nullable private final Integer upperOffset;
+
+    /** Window function calls. */
+    private final List<AggregateCall> calls;
+
+    /** Accumulators factory for non-ranking calls. */
+    @Nullable private final Supplier<List<AccumulatorWrapper<Row>>> accFactory;
+
+    /** Window constants, appended to the input row passed to accumulators. */
+    @Nullable private final Row constants;
+
+    /** Factory of rows containing window functions results. */
+    private final RowFactory<Row> rowFactory;
+
+    /** Whether rows can be emitted without buffering the whole partition. */
+    private final boolean streaming;
+
+    /** */
+    private final Deque<Row> outBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
+
+    /** Buffered rows: current peer group in streaming mode, current partition otherwise. */
+    private final List<Row> buf = new ArrayList<>();
+
+    /** Running accumulators of the current partition (streaming mode). */
+    private List<AccumulatorWrapper<Row>> accs;
+
+    /** Count of rows of the current partition added to accumulators (streaming mode). */
+    private int rowsCnt;
+
+    /** Number of the first row of the current peer group (streaming mode). */
+    private int peerStart;
+
+    /** Number of the current peer group (streaming mode). */
+    private int peerNum;
+
+    /** */
+    private Row prevRow;
+
+    /** */
+    private int requested;
+
+    /** */
+    private int waiting;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param partCmp Partition keys comparator, {@code null} if the input is a single partition.
+     * @param peerCmp Order keys comparator, {@code null} if all rows of the partition are peers.
+     * @param rows ROWS or RANGE frame.
+     * @param lowerOffset Frame start relative to the current row, {@code null} for UNBOUNDED PRECEDING.
+     * @param upperOffset Frame end relative to the current row, {@code null} for UNBOUNDED FOLLOWING.
+     * @param calls Window function calls.
+     * @param accFactory Accumulators factory for non-ranking calls.
+     * @param constants Window constants.
+     * @param rowFactory Factory of rows containing window functions results.
+     */
+    public WindowNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        @Nullable Comparator<Row> partCmp,
+        @Nullable Comparator<Row> peerCmp,
+        boolean rows,
+        @Nullable Integer lowerOffset,
+        @Nullable Integer upperOffset,
+        List<AggregateCall> calls,
+        @Nullable Supplier<List<AccumulatorWrapper<Row>>> accFactory,
+        @Nullable Row constants,
+        RowFactory<Row> rowFactory
+    ) {
+        super(ctx, rowType);
+
+        assert rows || lowerOffset == null || lowerOffset == 0 : lowerOffset;
+        assert rows || upperOffset == null || upperOffset == 0 : upperOffset;
+
+        this.partCmp = partCmp;
+        this.peerCmp = peerCmp;
+        this.rows = rows;
+        this.lowerOffset = lowerOffset;
+        this.upperOffset = upperOffset;
+        this.calls = calls;
+        this.accFactory = accFactory;
+        this.constants = constants;
+        this.rowFactory = rowFactory;
+
+        streaming = lowerOffset == null && upperOffset != null && upperOffset == 0;
+    }
+
+    /**
+     * @param call Window function call.
+     * @return {@code True} if the function is evaluated by the node itself rather than by an accumulator.
+     */
+    public static boolean isRanking(AggregateCall call) {
+        switch (call.getAggregation().getKind()) {
+            case ROW_NUMBER:
+            case RANK:
+            case DENSE_RANK:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert !F.isEmpty(sources()) && sources().size() == 1;
+        assert rowsCnt > 0 && requested == 0;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        doPush();
+
+        if (waiting == 0 && requested > 0) {
+            waiting = IN_BUFFER_SIZE;
+
+            source().request(IN_BUFFER_SIZE);
+        }
+        else if (waiting < 0 && outBuf.isEmpty() && requested > 0) {
+            requested = 0;
+
+            downstream().end();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void push(Row row) throws Exception {
+        assert downstream() != null;
+        assert waiting > 0;
+
+        checkState();
+
+        waiting--;
+
+        if (prevRow != null && partCmp != null && partCmp.compare(prevRow, row) != 0)
+            finishPartition();
+
+        if (streaming)
+            addStreaming(row);
+        else
+            addToBuffer(row);
+
+        prevRow = row;
+
+        doPush();
+
+        if (waiting == 0 && requested > 0) {
+            waiting = IN_BUFFER_SIZE;
+
+            context().execute(() -> source().request(IN_BUFFER_SIZE), this::onError);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void end() throws Exception {
+        assert downstream() != null;
+        assert waiting > 0;
+
+        checkState();
+
+        waiting = -1;
+
+        finishPartition();
+
+        prevRow = null;
+
+        doPush();
+
+        if (outBuf.isEmpty() && requested > 0) {
+            requested = 0;
+
+            downstream().end();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        requested = 0;
+        waiting = 0;
+        prevRow = null;
+        outBuf.clear();
+
+        resetPartition();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        if (idx != 0)
+            throw new IndexOutOfBoundsException();
+
+        return this;
+    }
+
+    /** Adds a row in streaming mode, emits rows which frames are complete. */
+    private void addStreaming(Row row) {
+        if (accs == null) {
+            accs = newAccumulators();
+            peerStart = 1;
+            peerNum = 1;
+        }
+        else if (peerCmp != null && peerCmp.compare(prevRow, row) != 0) {
+            flushPeers();
+
+            peerStart = rowsCnt + 1;
+            peerNum++;
+        }
+
+        addToAccumulators(accs, row);
+
+        rowsCnt++;
+
+        if (rows) {
+            addToOutput(outRow(row, accs, rowsCnt, peerStart, peerNum));
+
+            return;
+        }
+
+        addToBuffer(row);
+    }
+
+    /** Emits rows of the current peer group in streaming mode. */
+    private void flushPeers() {
+        for (int i = 0; i < buf.size(); i++)
+            addToOutput(outRow(buf.get(i), accs, peerStart + i, peerStart, peerNum));
+
+        clearBuffer();
+    }
+
+    /** Emits the rest rows of the current partition. */
+    private void finishPartition() {
+        if (streaming)
+            flushPeers();
+        else
+            evaluatePartition();
+
+        resetPartition();
+    }
+
+    /** Evaluates window functions over the buffered partition. */
+    private void evaluatePartition() {
+        int n = buf.size();
+
+        // Peer group number of each row and bounds of each peer group.
+        int[] peerGrp = new int[n];
+        int[] grpStart = new int[n];
+        int[] grpEnd = new int[n];
+
+        int grp = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && peerCmp != null && peerCmp.compare(buf.get(i - 1), buf.get(i)) != 0) {
+                grpEnd[grp] = i - 1;
+                grpStart[++grp] = i;
+            }
+
+            peerGrp[i] = grp;
+        }
+
+        if (n > 0)
+            grpEnd[grp] = n - 1;
+
+        // Frame is [lo, hi]: suffix aggregates of rows [lo, mid) and running aggregate of rows [mid, end).
+        List<List<AccumulatorWrapper<Row>>> suffix = new ArrayList<>(Collections.nCopies(n, null));
+        List<AccumulatorWrapper<Row>> back = newAccumulators();
+        int lo = 0;
+        int mid = 0;
+        int end = 0;
+
+        for (int i = 0; i < n; i++) {
+            int g = peerGrp[i];
+
+            int hi = upperOffset == null ? n - 1 : rows ? i + upperOffset : grpEnd[g];
+
+            hi = Math.min(hi, n - 1);
+
+            for (; end <= hi; end++)
+                addToAccumulators(back, buf.get(end));
+
+            if (lowerOffset != null) {
+                int frameLo = Math.max(0, rows ? i + lowerOffset : grpStart[g]);
+
+                for (; lo < frameLo; lo++)
+                    suffix.set(lo, null);
+            }
+
+            if (lo > mid) {
+                // Frame start has passed the front part, rebuild suffix aggregates from the rows of the frame.
+                for (int j = end - 1; j >= lo; j--) {
+                    List<AccumulatorWrapper<Row>> accs0 = newAccumulators();
+
+                    addToAccumulators(accs0, buf.get(j));
+
+                    if (j + 1 < end)
+                        merge(accs0, suffix.get(j + 1));
+
+                    suffix.set(j, accs0);
+                }
+
+                mid = end;
+                back = newAccumulators();
+            }
+
+            List<AccumulatorWrapper<Row>> frameAccs;
+
+            if (lo > hi)
+                frameAccs = newAccumulators();
+            else if (lo == mid)
+                frameAccs = back;
+            else if (mid == end)
+                frameAccs = suffix.get(lo);
+            else {
+                frameAccs = newAccumulators();
+
+                merge(frameAccs, suffix.get(lo));
+                merge(frameAccs, back);
+            }
+
+            addToOutput(outRow(buf.get(i), frameAccs, i + 1, grpStart[g] + 1, g + 1));
+        }
+
+        clearBuffer();
+    }
+
+    /** */
+    private void resetPartition() {
+        clearBuffer();
+        accs = null;
+        rowsCnt = 0;
+        peerStart = 0;
+        peerNum = 0;
+    }
+
+    /** */
+    private void addToBuffer(Row row) {
+        buf.add(row);
+
+        nodeMemoryTracker.onRowAdded(row);
+    }
+
+    /** */
+    private void clearBuffer() {
+        for (int i = 0; i < buf.size(); i++)
+            nodeMemoryTracker.onRowRemoved(buf.get(i));
+
+        buf.clear();
+    }
+
+    /** */
+    private void addToOutput(Row row) {
+        outBuf.add(row);
+
+        nodeMemoryTracker.onRowAdded(row);
+    }
+
+    /** */
+    private List<AccumulatorWrapper<Row>> newAccumulators() {
+        return accFactory != null ? accFactory.get() : Collections.emptyList();
+    }
+
+    /** */
+    private void addToAccumulators(List<AccumulatorWrapper<Row>> wrappers, Row row) {
+        if (wrappers.isEmpty())
+            return;
+
+        Row accRow = constants == null ? row : context().rowHandler().concat(row, constants);
+
+        for (int i = 0; i < wrappers.size(); i++)
+            wrappers.get(i).add(accRow);
+    }
+
+    /**
+     * Merges aggregated rows of one accumulators list into another one.
+     *
+     * @param target Target accumulators.
+     * @param src Source accumulators, not changed.
+     */
+    private void merge(List<AccumulatorWrapper<Row>> target, List<AccumulatorWrapper<Row>> src) {
+        for (int i = 0; i < target.size(); i++)
+            target.get(i).apply(src.get(i).accumulator());
+    }
+
+    /**
+     * @param row Input row.
+     * @param wrappers Accumulators of the row frame.
+     * @param rowNum Number of the row in the partition.
+     * @param rank Rank of the row (number of the first row of its peer group).
+     * @param denseRank Number of the row peer group.
+     * @return Input row followed by window functions results.
+     */
+    private Row outRow(Row row, List<AccumulatorWrapper<Row>> wrappers, int rowNum, int rank, int denseRank) {
+        Object[] vals = new Object[calls.size()];
+
+        int accIdx = 0;
+
+        for (int i = 0; i < vals.length; i++) {
+            AggregateCall call = calls.get(i);
+
+            switch (call.getAggregation().getKind()) {
+                case ROW_NUMBER:
+                    vals[i] = (long)rowNum;
+
+                    break;
+
+                case RANK:
+                    vals[i] = (long)rank;
+
+                    break;
+
+                case DENSE_RANK:
+                    vals[i] = (long)denseRank;
+
+                    break;
+
+                default:
+                    vals[i] = wrappers.get(accIdx++).end();
+            }
+        }
+
+        RowHandler<Row> hnd = context().rowHandler();
+
+        return hnd.concat(row, rowFactory.create(vals));
+    }
+
+    /** */
+    private void doPush() throws Exception {
+        while (requested > 0 && !outBuf.isEmpty()) {
+            requested--;
+
+            Row row = outBuf.poll();
+
+            nodeMemoryTracker.onRowRemoved(row);
+
+            downstream().push(row);
+        }
+    }
+}
@@ -87,5 +87,6 @@ public class ExecutionNodeMemoryTracker<Row> implements RowTracker<Row> {
             qryMemoryTracker.onMemoryReleased(prevReported);
 
         allocated = 0;
+        prevReported = 0;
     }
 }
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.query.calcite.externalize;
 import java.util.List;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelInput;
+import org.apache.calcite.rex.RexWindowBound;
 import org.apache.ignite.internal.processors.query.calcite.prepare.bounds.SearchBounds;
 
 /** */
@@ -35,4 +36,10 @@ public interface RelInputEx extends RelInput {
      * @return Search bounds.
      */
     List<SearchBounds> getSearchBounds(String tag);
+
+    /**
+     * @param tag Tag.
+     * @return Window frame bound.
+     */
+    RexWindowBound getWindowBound(String tag);
 }
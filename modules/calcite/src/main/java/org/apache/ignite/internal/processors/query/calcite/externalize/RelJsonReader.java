@@ -40,6 +40,7 @@ import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexWindowBound;
 import org.apache.calcite.sql.SqlAggFunction;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.calcite.util.Pair;
@@ -291,6 +292,11 @@ public class RelJsonReader {
             return relJson.toSearchBoundList(this, (List<Map<String, Object>>)get(tag));
         }
 
+        /** {@inheritDoc} */
+        @Override public RexWindowBound getWindowBound(String tag) {
+            return relJson.toRexWindowBound(this, (Map<String, Object>)get(tag));
+        }
+
         /** {@inheritDoc} */
         @Override public RelDistribution getDistribution() {
             return relJson.toDistribution(get("distribution"));
@@ -51,10 +51,13 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
     @GridDirectTransient
     private List<Object> rows;
 
-    /** */
+    /** Rows marshalled one by one, used if rows can't be serialized by {@link RowBatchCodec}. */
     @GridDirectCollection(ValueMessage.class)
     private List<ValueMessage> mRows;
 
+    /** Rows serialized by {@link RowBatchCodec}. */
+    private byte[] rowsBytes;
+
     /** */
     public QueryBatchMessage() {
     }
@@ -109,7 +112,12 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public void prepareMarshal(MarshallingContext ctx) throws IgniteCheckedException {
-        if (mRows != null || rows == null)
+        if (mRows != null || rowsBytes != null || rows == null)
+            return;
+
+        rowsBytes = RowBatchCodec.encode(rows, ctx);
+
+        if (rowsBytes != null)
             return;
 
         mRows = new ArrayList<>(rows.size());
@@ -127,7 +135,16 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public void prepareUnmarshal(MarshallingContext ctx) throws IgniteCheckedException {
-        if (rows != null || mRows == null)
+        if (rows != null)
+            return;
+
+        if (rowsBytes != null) {
+            rows = RowBatchCodec.decode(rowsBytes, ctx);
+
+            return;
+        }
+
+        if (mRows == null)
             return;
 
         rows = new ArrayList<>(mRows.size());
@@ -189,6 +206,12 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
                 writer.incrementState();
 
+            case 6:
+                if (!writer.writeByteArray("rowsBytes", rowsBytes))
+                    return false;
+
+                writer.incrementState();
+
         }
 
         return true;
@@ -250,6 +273,14 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
                 reader.incrementState();
 
+            case 6:
+                rowsBytes = reader.readByteArray("rowsBytes");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
         }
 
         return reader.afterMessageRead(QueryBatchMessage.class);
@@ -262,6 +293,6 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public byte fieldsCount() {
-        return 6;
+        return 7;
     }
 }
@@ -49,6 +49,9 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
     /** Total count of fragments in query for this node. */
     private int totalFragmentsCnt;
 
+    /** IDs of caches, which updates must be reported to the query initiator to invalidate the query result cache. */
+    private int[] resCacheIds;
+
     /** */
     @GridDirectTransient
     private Object[] params;
@@ -66,7 +69,8 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
         FragmentDescription fragmentDesc,
         int totalFragmentsCnt,
         Object[] params,
-        @Nullable byte[] paramsBytes
+        @Nullable byte[] paramsBytes,
+        @Nullable int[] resCacheIds
     ) {
         this.qryId = qryId;
         this.schema = schema;
@@ -76,6 +80,7 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
         this.totalFragmentsCnt = totalFragmentsCnt;
         this.params = params;
         this.paramsBytes = paramsBytes; // If we already have marshalled params, use it.
+        this.resCacheIds = resCacheIds;
     }
 
     /** */
@@ -126,6 +131,15 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
         return totalFragmentsCnt;
     }
 
+    /**
+     * @return IDs of caches, which updates must be reported to the query initiator, or {@code null} if the query
+     * result isn't cached.
+     */
+    @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
+    public @Nullable int[] resultCacheIds() {
+        return resCacheIds;
+    }
+
     /**
      * @return Query parameters.
      */
@@ -189,24 +203,30 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
                 writer.incrementState();
 
             case 3:
-                if (!writer.writeString("root", root))
+                if (!writer.writeIntArray("resCacheIds", resCacheIds))
                     return false;
 
                 writer.incrementState();
 
             case 4:
-                if (!writer.writeString("schema", schema))
+                if (!writer.writeString("root", root))
                     return false;
 
                 writer.incrementState();
 
             case 5:
-                if (!writer.writeAffinityTopologyVersion("version", ver))
+                if (!writer.writeString("schema", schema))
                     return false;
 
                 writer.incrementState();
 
             case 6:
+                if (!writer.writeAffinityTopologyVersion("version", ver))
+                    return false;
+
+                writer.incrementState();
+
+            case 7:
                 if (!writer.writeInt("totalFragmentsCnt", totalFragmentsCnt))
                     return false;
 
@@ -249,7 +269,7 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 3:
-                root = reader.readString("root");
+                resCacheIds = reader.readIntArray("resCacheIds");
 
                 if (!reader.isLastRead())
                     return false;
@@ -257,7 +277,7 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 4:
-                schema = reader.readString("schema");
+                root = reader.readString("root");
 
                 if (!reader.isLastRead())
                     return false;
@@ -265,7 +285,7 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 5:
-                ver = reader.readAffinityTopologyVersion("version");
+                schema = reader.readString("schema");
 
                 if (!reader.isLastRead())
                     return false;
@@ -273,6 +293,14 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 6:
+                ver = reader.readAffinityTopologyVersion("version");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 7:
                 totalFragmentsCnt = reader.readInt("totalFragmentsCnt");
 
                 if (!reader.isLastRead())
@@ -291,6 +319,6 @@ public class QueryStartRequest implements MarshalableMessage, ExecutionContextAw
 
     /** {@inheritDoc} */
     @Override public byte fieldsCount() {
-        return 7;
+        return 8;
     }
 }
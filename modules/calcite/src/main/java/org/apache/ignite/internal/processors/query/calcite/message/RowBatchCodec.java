@@ -0,0 +1,505 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.message;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.calcite.avatica.util.ByteString;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.util.io.GridUnsafeDataInput;
+import org.apache.ignite.internal.util.io.GridUnsafeDataOutput;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION;
+
+/**
+ * Compact binary format of a batch of {@code Object[]} rows.
+ * <p>
+ * Layout: {@code flags:byte [rawLen:int] rowsCnt:int colsCnt:int colTypes:byte[colsCnt]} followed by rows,
+ * each row is a null bitmap followed by non-null column values. Column types are resolved from the batch values,
+ * primitive columns are written without any type information per value. Values of other types are marshalled
+ * with the marshaller of the {@link MarshallingContext}.
+ */
+public final class RowBatchCodec {
+    /** Compress rows data. */
+    private static final boolean COMPRESSION =
+        IgniteSystemProperties.getBoolean(IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION);
+
+    /** Minimal size of rows data to compress. */
+    static final int COMPRESSION_THRESHOLD = 4096;
+
+    /** Rows data is compressed. */
+    private static final byte FLAG_COMPRESSED = 1;
+
+    /** All values of the column are nulls. */
+    private static final byte NULL = 0;
+
+    /** */
+    private static final byte BOOLEAN = 1;
+
+    /** */
+    private static final byte BYTE = 2;
+
+    /** */
+    private static final byte SHORT = 3;
+
+    /** */
+    private static final byte INT = 4;
+
+    /** */
+    private static final byte LONG = 5;
+
+    /** */
+    private static final byte FLOAT = 6;
+
+    /** */
+    private static final byte DOUBLE = 7;
+
+    /** */
+    private static final byte STRING = 8;
+
+    /** */
+    private static final byte DECIMAL = 9;
+
+    /** */
+    private static final byte UUID_TYPE = 10;
+
+    /** */
+    private static final byte BYTES = 11;
+
+    /** Value is marshalled by the message marshaller. */
+    private static final byte OBJECT = 12;
+
+    /** Initial size of the output buffer. */
+    private static final int OUT_INIT_SIZE = 4096;
+
+    /** Maximal size of the output buffer kept by a thread, bigger buffers are released after use. */
+    static final int OUT_MAX_CACHED_SIZE = 64 * 1024;
+
+    /** Output buffer. */
+    private static final ThreadLocal<GridUnsafeDataOutput> OUT =
+        ThreadLocal.withInitial(() -> new GridUnsafeDataOutput(OUT_INIT_SIZE));
+
+    /** */
+    private RowBatchCodec() {
+        // No-op.
+    }
+
+    /**
+     * @param rows Rows.
+     * @param ctx Marshalling context.
+     * @return Serialized rows or {@code null} if rows are not {@code Object[]} of the same length.
+     */
+    static @Nullable byte[] encode(List<Object> rows, MarshallingContext ctx) throws IgniteCheckedException {
+        return encode(rows, ctx, COMPRESSION);
+    }
+
+    /**
+     * @param rows Rows.
+     * @param ctx Marshalling context.
+     * @param compress Compress rows data if its size exceeds {@link #COMPRESSION_THRESHOLD}.
+     * @return Serialized rows or {@code null} if rows are not {@code Object[]} of the same length.
+     */
+    public static @Nullable byte[] encode(
+        List<Object> rows,
+        MarshallingContext ctx,
+        boolean compress
+    ) throws IgniteCheckedException {
+        byte[] types = columnTypes(rows);
+
+        if (types == null)
+            return null;
+
+        GridUnsafeDataOutput out = OUT.get();
+
+        out.reset();
+
+        try {
+            out.writeInt(rows.size());
+            out.writeInt(types.length);
+            out.write(types);
+
+            byte[] nulls = new byte[(types.length + 7) >>> 3];
+
+            for (Object r : rows) {
+                Object[] row = (Object[])r;
+
+                Arrays.fill(nulls, (byte)0);
+
+                for (int i = 0; i < row.length; i++) {
+                    if (row[i] == null)
+                        nulls[i >>> 3] |= 1 << (i & 7);
+                }
+
+                out.write(nulls);
+
+                for (int i = 0; i < row.length; i++) {
+                    if (row[i] != null)
+                        writeValue(out, types[i], row[i], ctx);
+                }
+            }
+
+            int len = out.offset();
+            byte[] data = out.internalArray();
+
+            if (compress && len >= COMPRESSION_THRESHOLD) {
+                byte[] res = compress(data, len);
+
+                if (res != null)
+                    return res;
+            }
+
+            byte[] res = new byte[len + 1];
+
+            System.arraycopy(data, 0, res, 1, len);
+
+            return res;
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to serialize rows batch.", e);
+        }
+        finally {
+            // Don't keep a buffer grown by a batch of big rows.
+            if (out.internalArray().length > OUT_MAX_CACHED_SIZE)
+                OUT.remove();
+        }
+    }
+
+    /**
+     * @param bytes Serialized rows.
+     * @param ctx Marshalling context.
+     * @return Rows.
+     */
+    public static List<Object> decode(byte[] bytes, MarshallingContext ctx) throws IgniteCheckedException {
+        GridUnsafeDataInput in = new GridUnsafeDataInput();
+
+        try {
+            if ((bytes[0] & FLAG_COMPRESSED) != 0) {
+                int len = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) |
+                    (bytes[4] & 0xFF);
+
+                in.bytes(decompress(bytes, len), len);
+            }
+            else
+                in.bytes(bytes, 1, bytes.length);
+
+            int rowsCnt = in.readInt();
+            int colsCnt = in.readInt();
+
+            byte[] types = new byte[colsCnt];
+            byte[] nulls = new byte[(colsCnt + 7) >>> 3];
+
+            in.readFully(types);
+
+            List<Object> rows = new ArrayList<>(rowsCnt);
+
+            for (int r = 0; r < rowsCnt; r++) {
+                in.readFully(nulls);
+
+                Object[] row = new Object[colsCnt];
+
+                for (int i = 0; i < colsCnt; i++) {
+                    if ((nulls[i >>> 3] & (1 << (i & 7))) == 0)
+                        row[i] = readValue(in, types[i], ctx);
+                }
+
+                rows.add(row);
+            }
+
+            return rows;
+        }
+        catch (IOException | DataFormatException e) {
+            throw new IgniteCheckedException("Failed to deserialize rows batch.", e);
+        }
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Column types or {@code null} if rows can't be serialized by the codec.
+     */
+    private static @Nullable byte[] columnTypes(List<Object> rows) {
+        if (rows.isEmpty() || !(rows.get(0) instanceof Object[]))
+            return null;
+
+        int colsCnt = ((Object[])rows.get(0)).length;
+
+        byte[] types = new byte[colsCnt];
+
+        for (Object r : rows) {
+            if (!(r instanceof Object[]) || ((Object[])r).length != colsCnt)
+                return null;
+
+            Object[] row = (Object[])r;
+
+            for (int i = 0; i < colsCnt; i++) {
+                if (row[i] == null || types[i] == OBJECT)
+                    continue;
+
+                byte type = typeOf(row[i]);
+
+                if (types[i] == NULL)
+                    types[i] = type;
+                else if (types[i] != type)
+                    types[i] = OBJECT;
+            }
+        }
+
+        return types;
+    }
+
+    /** */
+    private static byte typeOf(Object val) {
+        Class<?> cls = val.getClass();
+
+        if (cls == Integer.class)
+            return INT;
+        else if (cls == Long.class)
+            return LONG;
+        else if (cls == String.class)
+            return STRING;
+        else if (cls == Double.class)
+            return DOUBLE;
+        else if (cls == BigDecimal.class)
+            return DECIMAL;
+        else if (cls == Boolean.class)
+            return BOOLEAN;
+        else if (cls == Float.class)
+            return FLOAT;
+        else if (cls == Short.class)
+            return SHORT;
+        else if (cls == Byte.class)
+            return BYTE;
+        else if (cls == UUID.class)
+            return UUID_TYPE;
+        else if (cls == ByteString.class)
+            return BYTES;
+
+        return OBJECT;
+    }
+
+    /** */
+    private static void writeValue(
+        GridUnsafeDataOutput out,
+        byte type,
+        Object val,
+        MarshallingContext ctx
+    ) throws IOException, IgniteCheckedException {
+        switch (type) {
+            case BOOLEAN:
+                out.writeBoolean((Boolean)val);
+
+                break;
+
+            case BYTE:
+                out.writeByte((Byte)val);
+
+                break;
+
+            case SHORT:
+                out.writeShort((Short)val);
+
+                break;
+
+            case INT:
+                out.writeInt((Integer)val);
+
+                break;
+
+            case LONG:
+                out.writeLong((Long)val);
+
+                break;
+
+            case FLOAT:
+                out.writeFloat((Float)val);
+
+                break;
+
+            case DOUBLE:
+                out.writeDouble((Double)val);
+
+                break;
+
+            case STRING:
+                out.writeUTF((String)val);
+
+                break;
+
+            case DECIMAL:
+                BigDecimal dec = (BigDecimal)val;
+
+                out.writeInt(dec.scale());
+                out.writeByteArray(dec.unscaledValue().toByteArray());
+
+                break;
+
+            case UUID_TYPE:
+                UUID uuid = (UUID)val;
+
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+
+                break;
+
+            case BYTES:
+                out.writeByteArray(((ByteString)val).getBytes());
+
+                break;
+
+            default:
+                assert type == OBJECT : type;
+
+                out.writeByteArray(ctx.marshal(val));
+        }
+    }
+
+    /** */
+    private static Object readValue(
+        GridUnsafeDataInput in,
+        byte type,
+        MarshallingContext ctx
+    ) throws IOException, IgniteCheckedException {
+        switch (type) {
+            case BOOLEAN:
+                return in.readBoolean();
+
+            case BYTE:
+                return in.readByte();
+
+            case SHORT:
+                return in.readShort();
+
+            case INT:
+                return in.readInt();
+
+            case LONG:
+                return in.readLong();
+
+            case FLOAT:
+                return in.readFloat();
+
+            case DOUBLE:
+                return in.readDouble();
+
+            case STRING:
+                return in.readUTF();
+
+            case DECIMAL:
+                int scale = in.readInt();
+
+                return new BigDecimal(new BigInteger(in.readByteArray()), scale);
+
+            case UUID_TYPE:
+                return new UUID(in.readLong(), in.readLong());
+
+            case BYTES:
+                return new ByteString(in.readByteArray());
+
+            case OBJECT:
+                return ctx.unmarshal(in.readByteArray());
+
+            default:
+                throw new IOException("Unexpected column type: " + type);
+        }
+    }
+
+    /**
+     * @param data Data.
+     * @param len Data length.
+     * @return Compressed data or {@code null} if data isn't compressible.
+     */
+    private static @Nullable byte[] compress(byte[] data, int len) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try {
+            deflater.setInput(data, 0, len);
+            deflater.finish();
+
+            // Compressed data is useless if it doesn't save at least 1/8 of the size.
+            byte[] res = new byte[5 + len - (len >>> 3)];
+
+            int off = 5;
+
+            while (!deflater.finished() && off < res.length)
+                off += deflater.deflate(res, off, res.length - off);
+
+            if (!deflater.finished())
+                return null;
+
+            res[0] = FLAG_COMPRESSED;
+            res[1] = (byte)(len >>> 24);
+            res[2] = (byte)(len >>> 16);
+            res[3] = (byte)(len >>> 8);
+            res[4] = (byte)len;
+
+            return Arrays.copyOf(res, off);
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param bytes Compressed data with the header.
+     * @param len Length of uncompressed data.
+     * @return Uncompressed data.
+     * @throws DataFormatException If compressed data is corrupted or shorter than the declared length.
+     */
+    private static byte[] decompress(byte[] bytes, int len) throws DataFormatException {
+        if (len < 0)
+            throw new DataFormatException("Invalid length of compressed rows batch: " + len);
+
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(bytes, 5, bytes.length - 5);
+
+            byte[] res = new byte[len];
+
+            int off = 0;
+
+            while (off < len && !inflater.finished()) {
+                int n = inflater.inflate(res, off, len - off);
+
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new DataFormatException("Unexpected end of compressed rows batch.");
+
+                off += n;
+            }
+
+            if (off < len) {
+                throw new DataFormatException("Compressed rows batch is truncated [expectedLen=" + len +
+                    ", actualLen=" + off + ']');
+            }
+
+            return res;
+        }
+        finally {
+            inflater.end();
+        }
+    }
+}
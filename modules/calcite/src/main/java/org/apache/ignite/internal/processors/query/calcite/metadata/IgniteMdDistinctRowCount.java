@@ -18,13 +18,18 @@
 package org.apache.ignite.internal.processors.query.calcite.metadata;
 
 import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelColumnOrigin;
 import org.apache.calcite.rel.metadata.RelMdDistinctRowCount;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
+import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
 
 /** */
 @SuppressWarnings("unused") // actually all methods are used by runtime generated classes
@@ -50,4 +55,41 @@ public class IgniteMdDistinctRowCount extends RelMdDistinctRowCount {
 
         return rowCount;
     }
+
+    /**
+     * Estimates distinct row count by number of distinct values of the columns collected by statistics.
+     * Falls back to the default estimation if some of the columns has no statistics.
+     */
+    public Double getDistinctRowCount(
+        ProjectableFilterableTableScan rel,
+        RelMetadataQuery mq,
+        ImmutableBitSet groupKey,
+        RexNode predicate
+    ) {
+        if (groupKey.cardinality() == 0)
+            return 1d;
+
+        double distinct = 1;
+
+        for (int col : groupKey) {
+            RelColumnOrigin origin = mq.getColumnOrigin(rel, col);
+
+            ColumnStatistics colStat = origin == null || origin.isDerived() ? null :
+                IgniteMdSelectivity.getColumnStatistics(mq, rel, rel.getCluster().getRexBuilder().makeInputRef(rel, col));
+
+            if (colStat == null)
+                return super.getDistinctRowCount((RelNode)rel, mq, groupKey, predicate);
+
+            distinct *= Math.max(1, colStat.distinct());
+        }
+
+        double rowCount = mq.getRowCount(rel);
+
+        Double sel = predicate == null ? null : mq.getSelectivity(rel, predicate);
+
+        if (sel != null)
+            rowCount *= sel;
+
+        return RelMdUtil.numDistinctVals(distinct, rowCount);
+    }
 }
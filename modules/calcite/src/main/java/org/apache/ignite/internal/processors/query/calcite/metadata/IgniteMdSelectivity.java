@@ -59,6 +59,7 @@ import org.apache.ignite.internal.processors.query.calcite.schema.IgniteStatisti
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.util.RexUtils;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
+import org.apache.ignite.internal.processors.query.stat.EquiDepthHistogram;
 import org.jetbrains.annotations.Nullable;
 
 /** */
@@ -287,7 +288,7 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
      *      the origins of the given operand or the is no statistics gathered
      *      for given column.
      */
-    private @Nullable ColumnStatistics getColumnStatistics(RelMetadataQuery mq, ProjectableFilterableTableScan rel, RexSlot op) {
+    static @Nullable ColumnStatistics getColumnStatistics(RelMetadataQuery mq, ProjectableFilterableTableScan rel, RexSlot op) {
         RelColumnOrigin origin;
 
         if (op instanceof RexLocalRef)
@@ -421,6 +422,28 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
             }
         }
 
+        BigDecimal[] hist = colStat.histogram();
+
+        // Histogram takes into account the distribution of values inside the range.
+        if (hist != null) {
+            switch (op.getKind()) {
+                case GREATER_THAN:
+                    return 1. - EquiDepthHistogram.lessThan(hist, val, true);
+
+                case GREATER_THAN_OR_EQUAL:
+                    return 1. - EquiDepthHistogram.lessThan(hist, val, false);
+
+                case LESS_THAN:
+                    return EquiDepthHistogram.lessThan(hist, val, false);
+
+                case LESS_THAN_OR_EQUAL:
+                    return EquiDepthHistogram.lessThan(hist, val, true);
+
+                default:
+                    return guessSelectivity(pred);
+            }
+        }
+
         // Estimate percent of selectivity by ranges.
         BigDecimal actual = BigDecimal.ZERO;
 
@@ -488,9 +511,17 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
                 return 0.;
         }
 
-        double expectedRows = ((double)(colStat.total() - colStat.nulls())) / (colStat.distinct());
+        double notNullSel = (double)(colStat.total() - colStat.nulls()) / colStat.total();
+
+        // Frequent value fills one or several whole buckets of the histogram.
+        if (colStat.histogram() != null) {
+            double freq = EquiDepthHistogram.frequency(colStat.histogram(), comparableVal);
+
+            if (freq > 0)
+                return freq * notNullSel;
+        }
 
-        return expectedRows / colStat.total();
+        return notNullSel / Math.max(1, colStat.distinct());
     }
 
     /**
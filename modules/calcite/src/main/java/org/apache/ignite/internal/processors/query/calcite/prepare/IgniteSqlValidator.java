@@ -47,6 +47,7 @@ import org.apache.calcite.sql.SqlOperatorTable;
 import org.apache.calcite.sql.SqlSelect;
 import org.apache.calcite.sql.SqlUpdate;
 import org.apache.calcite.sql.SqlUtil;
+import org.apache.calcite.sql.SqlWindow;
 import org.apache.calcite.sql.dialect.CalciteSqlDialect;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.sql.type.FamilyOperandTypeChecker;
@@ -282,6 +283,16 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
         super.validateCall(call, scope);
     }
 
+    /** {@inheritDoc} */
+    @Override public void validateWindow(SqlNode windowOrId, SqlValidatorScope scope, @Nullable SqlCall call) {
+        super.validateWindow(windowOrId, scope, call);
+
+        SqlWindow win = resolveWindow(windowOrId, scope);
+
+        if (!win.isRows() && (isFrameOffset(win.getLowerBound()) || isFrameOffset(win.getUpperBound())))
+            throw newValidationError(windowOrId, IgniteResource.INSTANCE.unsupportedRangeWindowFrame());
+    }
+
     /** {@inheritDoc} */
     @Override public String deriveAlias(SqlNode node, int ordinal) {
         if (node.isA(HUMAN_READABLE_ALIASES_FOR)) {
@@ -379,6 +390,17 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
         return isSystemFieldName(field.getName());
     }
 
+    /**
+     * @param bound Window frame bound.
+     * @return {@code True} if the bound is an offset (i.e. {@code n PRECEDING} or {@code n FOLLOWING}).
+     */
+    private static boolean isFrameOffset(@Nullable SqlNode bound) {
+        return bound != null
+            && !SqlWindow.isUnboundedPreceding(bound)
+            && !SqlWindow.isUnboundedFollowing(bound)
+            && !SqlWindow.isCurrentRow(bound);
+    }
+
     /** */
     private void validateAggregateFunction(SqlCall call, SqlAggFunction aggFunction) {
         if (!SqlKind.AGGREGATE.contains(aggFunction.kind))
@@ -401,6 +423,9 @@ public class IgniteSqlValidator extends SqlValidatorImpl {
             case GROUP_CONCAT:
             case LISTAGG:
             case STRING_AGG:
+            case ROW_NUMBER:
+            case RANK:
+            case DENSE_RANK:
                 return;
             default:
                 throw newValidationError(call,
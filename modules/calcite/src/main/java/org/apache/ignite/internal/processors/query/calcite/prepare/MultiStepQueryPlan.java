@@ -17,12 +17,16 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import java.util.Set;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Distributed query plan.
  */
 public class MultiStepQueryPlan extends AbstractMultiStepPlan {
+    /** IDs of caches the query result depends on, if the result is allowed to be cached. */
+    private final @Nullable Set<Integer> resultCacheIds;
+
     /**
      * @param fieldsMeta Fields metadata.
      */
@@ -30,8 +34,30 @@ public class MultiStepQueryPlan extends AbstractMultiStepPlan {
         QueryTemplate queryTemplate,
         FieldsMetadata fieldsMeta,
         @Nullable FieldsMetadata paramsMetadata
+    ) {
+        this(queryTemplate, fieldsMeta, paramsMetadata, null);
+    }
+
+    /**
+     * @param fieldsMeta Fields metadata.
+     * @param resultCacheIds IDs of caches the query result depends on, or {@code null} if result shouldn't be cached.
+     */
+    public MultiStepQueryPlan(
+        QueryTemplate queryTemplate,
+        FieldsMetadata fieldsMeta,
+        @Nullable FieldsMetadata paramsMetadata,
+        @Nullable Set<Integer> resultCacheIds
     ) {
         super(queryTemplate, fieldsMeta, paramsMetadata);
+
+        this.resultCacheIds = resultCacheIds;
+    }
+
+    /**
+     * @return IDs of caches the query result depends on, or {@code null} if result shouldn't be cached.
+     */
+    public @Nullable Set<Integer> resultCacheIds() {
+        return resultCacheIds;
     }
 
     /** {@inheritDoc} */
@@ -41,6 +67,6 @@ public class MultiStepQueryPlan extends AbstractMultiStepPlan {
 
     /** {@inheritDoc} */
     @Override public QueryPlan copy() {
-        return new MultiStepQueryPlan(queryTemplate, fieldsMetadata, paramsMetadata);
+        return new MultiStepQueryPlan(queryTemplate, fieldsMetadata, paramsMetadata, resultCacheIds);
     }
 }
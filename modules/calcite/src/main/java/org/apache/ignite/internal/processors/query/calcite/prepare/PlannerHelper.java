@@ -78,6 +78,8 @@ public class PlannerHelper {
 
             rel = planner.trimUnusedFields(root.withRel(rel)).rel;
 
+            rel = planner.transform(PlannerPhase.HEP_PROJECT_TO_WINDOW, rel.getTraitSet(), rel);
+
             rel = planner.transform(PlannerPhase.HEP_FILTER_PUSH_DOWN, rel.getTraitSet(), rel);
 
             rel = planner.transform(PlannerPhase.HEP_PROJECT_PUSH_DOWN, rel.getTraitSet(), rel);
@@ -103,6 +105,11 @@ public class PlannerHelper {
             if (sqlNode.isA(ImmutableSet.of(SqlKind.INSERT, SqlKind.UPDATE, SqlKind.MERGE)))
                 igniteRel = new FixDependentModifyNodeShuttle().visit(igniteRel);
 
+            int scanParallelism = HintUtils.scanParallelism(root.hints);
+
+            if (scanParallelism > 1)
+                igniteRel = new ScanParallelismShuttle(scanParallelism).visit(igniteRel);
+
             return igniteRel;
         }
         catch (Throwable ex) {
@@ -113,6 +120,24 @@ public class PlannerHelper {
         }
     }
 
+    /**
+     * Splits local partitions of table scans into the given count of sub-scans, executed in parallel.
+     */
+    private static class ScanParallelismShuttle extends IgniteRelShuttle {
+        /** */
+        private final int parallelism;
+
+        /** */
+        ScanParallelismShuttle(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteRel visit(IgniteTableScan rel) {
+            return rel.withParallelism(parallelism);
+        }
+    }
+
     /**
      * This shuttle analyzes a relational tree and inserts an eager spool node
      * just under the TableModify node in case latter depends upon a table used
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.type.RelDataType;
@@ -37,6 +38,7 @@ import org.apache.ignite.internal.processors.query.calcite.prepare.ddl.DdlSqlToC
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
 import org.apache.ignite.internal.processors.query.calcite.util.AbstractService;
+import org.apache.ignite.internal.processors.query.calcite.util.HintUtils;
 import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
 import org.apache.ignite.internal.util.typedef.T2;
 import org.jetbrains.annotations.Nullable;
@@ -154,13 +156,16 @@ public class PrepareServiceImpl extends AbstractService implements PrepareServic
         // Extract parameters meta.
         FieldsMetadata params = DynamicParamTypeExtractor.go(igniteRel);
 
+        // Collect caches the result depends on, if it's requested to be cached.
+        Set<Integer> resultCacheIds = HintUtils.isResultCacheEnabled(sqlNode) ? ResultCacheDependencyExtractor.go(igniteRel) : null;
+
         // Split query plan to query fragments.
         List<Fragment> fragments = new Splitter().go(igniteRel);
 
         QueryTemplate template = new QueryTemplate(fragments);
 
         return new MultiStepQueryPlan(template, queryFieldsMetadata(ctx, validated.dataType(), validated.origins()),
-            params);
+            params, resultCacheIds);
     }
 
     /** */
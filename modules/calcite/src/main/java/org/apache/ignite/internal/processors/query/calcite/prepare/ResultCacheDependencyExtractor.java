@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.prepare;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexBound;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexCount;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteTableScan;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTable;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collects caches, which data a query result depends on. Result of the query may be cached only if it reads
+ * nothing but cache-based tables and contains no dynamic or non-deterministic functions.
+ */
+public class ResultCacheDependencyExtractor {
+    /**
+     * @param root Query plan.
+     * @return IDs of caches read by the query or {@code null} if query result can't be cached.
+     */
+    public static @Nullable Set<Integer> go(IgniteRel root) {
+        DeterminismShuttle rexShuttle = new DeterminismShuttle();
+        TablesShuttle relShuttle = new TablesShuttle(rexShuttle);
+
+        relShuttle.visit(root);
+
+        return rexShuttle.cacheable && relShuttle.cacheable ? relShuttle.cacheIds : null;
+    }
+
+    /** */
+    private static final class DeterminismShuttle extends RexShuttle {
+        /** */
+        private boolean cacheable = true;
+
+        /** {@inheritDoc} */
+        @Override public RexNode visitCall(RexCall call) {
+            if (call.getOperator().isDynamicFunction() || !call.getOperator().isDeterministic())
+                cacheable = false;
+
+            return super.visitCall(call);
+        }
+    }
+
+    /** */
+    private static final class TablesShuttle extends IgniteRelRexNodeShuttle {
+        /** */
+        private final Set<Integer> cacheIds = new HashSet<>();
+
+        /** */
+        private boolean cacheable = true;
+
+        /** */
+        TablesShuttle(RexShuttle rexShuttle) {
+            super(rexShuttle);
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteRel visit(IgniteTableScan rel) {
+            onTable(rel.getTable());
+
+            return super.visit(rel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteRel visit(IgniteIndexScan rel) {
+            onTable(rel.getTable());
+
+            return super.visit(rel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteRel visit(IgniteIndexCount rel) {
+            onTable(rel.getTable());
+
+            return super.visit(rel);
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteRel visit(IgniteIndexBound rel) {
+            onTable(rel.getTable());
+
+            return super.visit(rel);
+        }
+
+        /** */
+        private void onTable(RelOptTable relOptTbl) {
+            IgniteTable tbl = relOptTbl.unwrap(IgniteTable.class);
+
+            // Changes of system views and other not cache-based tables can't be tracked.
+            if (tbl instanceof IgniteCacheTable)
+                cacheIds.add(((IgniteCacheTable)tbl).descriptor().cacheInfo().cacheId());
+            else
+                cacheable = false;
+        }
+    }
+}
@@ -37,6 +37,9 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
     /** */
     private final long sourceId;
 
+    /** Count of parallel sub-scans of local partitions. */
+    private final int parallelism;
+
     /**
      * Constructor used for deserialization.
      *
@@ -50,6 +53,9 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
             sourceId = ((Number)srcIdObj).longValue();
         else
             sourceId = -1;
+
+        Object parallelismObj = input.get("parallelism");
+        parallelism = parallelismObj != null ? ((Number)parallelismObj).intValue() : 1;
     }
 
     /**
@@ -83,7 +89,7 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         @Nullable RexNode cond,
         @Nullable ImmutableBitSet requiredColunms
     ) {
-        this(-1L, cluster, traits, tbl, proj, cond, requiredColunms);
+        this(-1L, cluster, traits, tbl, proj, cond, requiredColunms, 1);
     }
 
     /**
@@ -94,6 +100,7 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
      * @param proj Projects.
      * @param cond Filters.
      * @param requiredColunms Participating colunms.
+     * @param parallelism Count of parallel sub-scans of local partitions.
      */
     private IgniteTableScan(
         long sourceId,
@@ -102,10 +109,12 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         RelOptTable tbl,
         @Nullable List<RexNode> proj,
         @Nullable RexNode cond,
-        @Nullable ImmutableBitSet requiredColunms
+        @Nullable ImmutableBitSet requiredColunms,
+        int parallelism
     ) {
         super(cluster, traits, ImmutableList.of(), tbl, proj, cond, requiredColunms);
         this.sourceId = sourceId;
+        this.parallelism = parallelism;
     }
 
     /** */
@@ -113,10 +122,27 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         return sourceId;
     }
 
+    /**
+     * @return Count of parallel sub-scans of local partitions.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism Count of parallel sub-scans of local partitions.
+     * @return Table scan with the given parallelism.
+     */
+    public IgniteTableScan withParallelism(int parallelism) {
+        return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), projects, condition,
+            requiredColumns, parallelism);
+    }
+
     /** */
     @Override protected RelWriter explainTerms0(RelWriter pw) {
         return super.explainTerms0(pw)
-            .itemIf("sourceId", sourceId, sourceId != -1);
+            .itemIf("sourceId", sourceId, sourceId != -1)
+            .itemIf("parallelism", parallelism, parallelism > 1);
     }
 
     /** {@inheritDoc} */
@@ -126,11 +152,13 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
 
     /** {@inheritDoc} */
     @Override public IgniteRel clone(long sourceId) {
-        return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), projects, condition, requiredColumns);
+        return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), projects, condition, requiredColumns,
+            parallelism);
     }
 
     /** {@inheritDoc} */
     @Override public IgniteRel clone(RelOptCluster cluster, List<IgniteRel> inputs) {
-        return new IgniteTableScan(sourceId, cluster, getTraitSet(), getTable(), projects, condition, requiredColumns);
+        return new IgniteTableScan(sourceId, cluster, getTraitSet(), getTable(), projects, condition, requiredColumns,
+            parallelism);
     }
 }
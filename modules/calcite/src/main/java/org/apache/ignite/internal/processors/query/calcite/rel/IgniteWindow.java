@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.rel;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelDistribution;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelInput;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlExplainLevel;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
+import org.apache.ignite.internal.processors.query.calcite.externalize.RelInputEx;
+import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCost;
+import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCostFactory;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistribution;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitUtils;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitsAwareIgniteRel;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+
+/**
+ * Evaluates window functions of a single window group over the input sorted by partition and order keys.
+ *
+ * Input rows of a window partition are expected to be located on the same node, so the input is either
+ * a single stream, or it's hash distributed by a subset of partition keys.
+ */
+public class IgniteWindow extends Window implements TraitsAwareIgniteRel {
+    /**
+     * Constructor.
+     *
+     * @param cluster Cluster.
+     * @param traits Trait set.
+     * @param input Input relational expression.
+     * @param constants Constants referenced by window functions and frame bounds.
+     * @param rowType Row type: input fields followed by window functions results.
+     * @param group Window group.
+     */
+    public IgniteWindow(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        List<RexLiteral> constants,
+        RelDataType rowType,
+        Group group
+    ) {
+        super(cluster, traits, input, constants, rowType, ImmutableList.of(group));
+    }
+
+    /** */
+    public IgniteWindow(RelInput input) {
+        this(
+            input.getCluster(),
+            input.getTraitSet().replace(IgniteConvention.INSTANCE),
+            input.getInput(),
+            constants(input),
+            input.getRowType("rowType"),
+            group(input)
+        );
+    }
+
+    /** @return Window group. */
+    public Group getGroup() {
+        return groups.get(0);
+    }
+
+    /**
+     * @param group Window group.
+     * @return Input collation required by the window group: partition keys followed by order keys.
+     */
+    public static RelCollation windowCollation(Group group) {
+        List<RelFieldCollation> fields = new ArrayList<>();
+
+        for (int key : group.keys)
+            fields.add(TraitUtils.createFieldCollation(key));
+
+        for (RelFieldCollation field : group.orderKeys.getFieldCollations()) {
+            if (!group.keys.get(field.getFieldIndex()))
+                fields.add(field);
+        }
+
+        return RelCollations.of(fields);
+    }
+
+    /**
+     * @param group Window group.
+     * @return Input distribution required by the window group.
+     */
+    public static IgniteDistribution windowDistribution(Group group) {
+        return group.keys.isEmpty() ? IgniteDistributions.single() : IgniteDistributions.hash(group.keys.asList());
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteWindow copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new IgniteWindow(getCluster(), traitSet, sole(inputs), constants, rowType, getGroup());
+    }
+
+    /** {@inheritDoc} */
+    @Override public Window copy(List<RexLiteral> constants) {
+        return new IgniteWindow(getCluster(), getTraitSet(), getInput(), constants, rowType, getGroup());
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteRel clone(RelOptCluster cluster, List<IgniteRel> inputs) {
+        return new IgniteWindow(cluster, getTraitSet(), sole(inputs), constants, rowType, getGroup());
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T accept(IgniteRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public RelWriter explainTerms(RelWriter pw) {
+        Group grp = getGroup();
+
+        return pw.input("input", getInput())
+            .itemIf("rowType", rowType, pw.getDetailLevel() == SqlExplainLevel.ALL_ATTRIBUTES)
+            .item("partition", grp.keys)
+            .item("order", grp.orderKeys)
+            .item("rows", grp.isRows)
+            .item("lower", grp.lowerBound)
+            .item("upper", grp.upperBound)
+            .itemIf("constants", constants, !constants.isEmpty())
+            .item("aggs", grp.getAggregateCalls(this));
+    }
+
+    /** {@inheritDoc} */
+    @Override public Pair<RelTraitSet, List<RelTraitSet>> passThroughCollation(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        RelCollation required = TraitUtils.collation(nodeTraits);
+        RelCollation collation = windowCollation(getGroup());
+
+        // Window functions results can't be passed to the input.
+        if (!collation.satisfies(required) && required.satisfies(collation)
+            && ImmutableBitSet.of(required.getKeys()).nextSetBit(getInput().getRowType().getFieldCount()) < 0)
+            collation = required;
+
+        return Pair.of(nodeTraits.replace(collation), ImmutableList.of(inTraits.get(0).replace(collation)));
+    }
+
+    /** {@inheritDoc} */
+    @Override public Pair<RelTraitSet, List<RelTraitSet>> passThroughDistribution(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        IgniteDistribution distr = TraitUtils.distribution(nodeTraits);
+
+        if (distr == IgniteDistributions.single() || distr.function().correlated() || colocated(distr))
+            return Pair.of(nodeTraits, Commons.transform(inTraits, t -> t.replace(distr)));
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveCollation(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        RelCollation inCollation = TraitUtils.collation(inTraits.get(0));
+
+        if (sortedByGroup(inCollation))
+            return ImmutableList.of(Pair.of(nodeTraits.replace(inCollation), inTraits));
+
+        RelCollation collation = windowCollation(getGroup());
+
+        return ImmutableList.of(Pair.of(nodeTraits.replace(collation),
+            ImmutableList.of(inTraits.get(0).replace(collation))));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveDistribution(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        IgniteDistribution inDistribution = TraitUtils.distribution(inTraits.get(0));
+
+        if (inDistribution.satisfies(IgniteDistributions.single()))
+            return ImmutableList.of(Pair.of(nodeTraits.replace(IgniteDistributions.single()), inTraits));
+
+        if (colocated(inDistribution))
+            return ImmutableList.of(Pair.of(nodeTraits.replace(inDistribution), inTraits));
+
+        IgniteDistribution distribution = windowDistribution(getGroup());
+
+        return ImmutableList.of(Pair.of(nodeTraits.replace(distribution),
+            ImmutableList.of(inTraits.get(0).replace(distribution))));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveRewindability(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        return ImmutableList.of(Pair.of(nodeTraits.replace(TraitUtils.rewindability(inTraits.get(0))), inTraits));
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveCorrelation(
+        RelTraitSet nodeTraits,
+        List<RelTraitSet> inTraits
+    ) {
+        return ImmutableList.of(Pair.of(nodeTraits.replace(TraitUtils.correlation(inTraits.get(0))), inTraits));
+    }
+
+    /** {@inheritDoc} */
+    @Override public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        IgniteCostFactory costFactory = (IgniteCostFactory)planner.getCostFactory();
+
+        Group grp = getGroup();
+
+        double rows = mq.getRowCount(getInput());
+
+        double cpuCost = rows * (IgniteCost.ROW_PASS_THROUGH_COST + grp.aggCalls.size())
+            + rows * IgniteCost.ROW_COMPARISON_COST;
+
+        // Frames other than UNBOUNDED PRECEDING - CURRENT ROW require the whole partition to be buffered.
+        boolean streaming = grp.lowerBound.isUnbounded() && grp.upperBound.isCurrentRow();
+
+        double memory = streaming ? grp.aggCalls.size() * IgniteCost.AGG_CALL_MEM_COST
+            : rows * getInput().getRowType().getFieldCount() * IgniteCost.AVERAGE_FIELD_SIZE;
+
+        return costFactory.makeCost(rows, cpuCost, 0, memory, 0);
+    }
+
+    /**
+     * @return {@code True} if rows with equal partition keys are located on the same node for the given distribution.
+     */
+    private boolean colocated(IgniteDistribution distr) {
+        if (distr.getType() != RelDistribution.Type.HASH_DISTRIBUTED || distr.getKeys().isEmpty())
+            return false;
+
+        return getGroup().keys.contains(ImmutableBitSet.of(distr.getKeys()));
+    }
+
+    /**
+     * @return {@code True} if the collation starts with partition keys (in any order and direction),
+     * followed by order keys.
+     */
+    private boolean sortedByGroup(RelCollation collation) {
+        Group grp = getGroup();
+
+        List<RelFieldCollation> fields = collation.getFieldCollations();
+
+        int keysCnt = grp.keys.cardinality();
+
+        if (fields.size() < keysCnt)
+            return false;
+
+        if (!ImmutableBitSet.of(collation.getKeys().subList(0, keysCnt)).equals(grp.keys))
+            return false;
+
+        int idx = keysCnt;
+
+        for (RelFieldCollation field : grp.orderKeys.getFieldCollations()) {
+            if (grp.keys.get(field.getFieldIndex()))
+                continue;
+
+            if (idx >= fields.size() || !fields.get(idx++).equals(field))
+                return false;
+        }
+
+        return true;
+    }
+
+    /** */
+    private static List<RexLiteral> constants(RelInput input) {
+        List<RexNode> constants = input.getExpressionList("constants");
+
+        if (constants == null)
+            return ImmutableList.of();
+
+        return Commons.transform(constants, c -> (RexLiteral)c);
+    }
+
+    /** */
+    private static Group group(RelInput input) {
+        RelInputEx input0 = (RelInputEx)input;
+
+        List<RelDataType> types = new ArrayList<>(RelOptUtil.getFieldTypeList(input.getInput().getRowType()));
+
+        for (RexLiteral constant : constants(input))
+            types.add(constant.getType());
+
+        List<AggregateCall> calls = input.getAggregateCalls("aggs");
+        List<RexWinAggCall> aggCalls = new ArrayList<>(calls.size());
+
+        for (int i = 0; i < calls.size(); i++) {
+            AggregateCall call = calls.get(i);
+
+            List<RexNode> operands = new ArrayList<>(call.getArgList().size());
+
+            for (int arg : call.getArgList())
+                operands.add(new RexInputRef(arg, types.get(arg)));
+
+            aggCalls.add(new RexWinAggCall((SqlAggFunction)call.getAggregation(), call.getType(), operands, i,
+                call.isDistinct(), call.ignoreNulls()));
+        }
+
+        return new Group(
+            input.getBitSet("partition"),
+            input.getBoolean("rows", false),
+            input0.getWindowBound("lower"),
+            input0.getWindowBound("upper"),
+            input0.getCollation("order"),
+            aggCalls
+        );
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.PhysicalNode;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteConvention;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
+import org.apache.ignite.internal.util.typedef.F;
+
+/**
+ * Ignite Join converter.
+ */
+public class HashJoinConverterRule extends AbstractIgniteConverterRule<LogicalJoin> {
+    /** */
+    public static final RelOptRule INSTANCE = new HashJoinConverterRule();
+
+    /**
+     * Creates a converter.
+     */
+    public HashJoinConverterRule() {
+        super(LogicalJoin.class, "HashJoinConverter");
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean matches(RelOptRuleCall call) {
+        LogicalJoin join = call.rel(0);
+
+        List<Integer> leftKeys = new ArrayList<>();
+        List<Integer> rightKeys = new ArrayList<>();
+        List<Boolean> filterNulls = new ArrayList<>();
+        List<RexNode> nonEquiList = new ArrayList<>();
+
+        RelOptUtil.splitJoinCondition(join.getLeft(), join.getRight(), join.getCondition(), leftKeys, rightKeys,
+            filterNulls, nonEquiList);
+
+        if (F.isEmpty(leftKeys))
+            return false;
+
+        // Keys are compared by hash and equals, so NULL-safe comparison isn't supported and keys of
+        // different types may not match each other even if they are equal from the SQL point of view.
+        for (int i = 0; i < leftKeys.size(); i++) {
+            if (!filterNulls.get(i))
+                return false;
+
+            RelDataType leftType = join.getLeft().getRowType().getFieldList().get(leftKeys.get(i)).getType();
+            RelDataType rightType = join.getRight().getRowType().getFieldList().get(rightKeys.get(i)).getType();
+
+            if (!SqlTypeUtil.equalSansNullability(join.getCluster().getTypeFactory(), leftType, rightType))
+                return false;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected PhysicalNode convert(RelOptPlanner planner, RelMetadataQuery mq, LogicalJoin rel) {
+        RelOptCluster cluster = rel.getCluster();
+        RelTraitSet outTraits = cluster.traitSetOf(IgniteConvention.INSTANCE);
+        RelTraitSet leftInTraits = cluster.traitSetOf(IgniteConvention.INSTANCE);
+        RelTraitSet rightInTraits = cluster.traitSetOf(IgniteConvention.INSTANCE);
+        RelNode left = convert(rel.getLeft(), leftInTraits);
+        RelNode right = convert(rel.getRight(), rightInTraits);
+
+        return new IgniteHashJoin(cluster, outTraits, left, right, rel.getCondition(), rel.getVariablesSet(), rel.getJoinType());
+    }
+}
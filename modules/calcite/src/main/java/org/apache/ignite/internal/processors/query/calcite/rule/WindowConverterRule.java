@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.PhysicalNode;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Window;
+import org.apache.calcite.rel.logical.LogicalWindow;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexWindowBound;
+import org.apache.calcite.rex.RexWindowBounds;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteConvention;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteWindow;
+
+/**
+ * Converts {@link LogicalWindow} to a chain of {@link IgniteWindow} nodes, one per window group.
+ *
+ * Each window group requires its input to be sorted by partition and order keys and to be either single,
+ * or hash distributed by partition keys.
+ */
+public class WindowConverterRule extends AbstractIgniteConverterRule<LogicalWindow> {
+    /** */
+    public static final RelOptRule INSTANCE = new WindowConverterRule();
+
+    /**
+     * Creates a converter.
+     */
+    public WindowConverterRule() {
+        super(LogicalWindow.class, "WindowConverter");
+    }
+
+    /** {@inheritDoc} */
+    @Override protected PhysicalNode convert(RelOptPlanner planner, RelMetadataQuery mq, LogicalWindow window) {
+        RelOptCluster cluster = window.getCluster();
+        List<RexLiteral> constants = window.getConstants();
+        int inFieldsCnt = window.getInput().getRowType().getFieldCount();
+
+        RelNode input = window.getInput();
+        int aggsCnt = 0;
+
+        for (Window.Group grp : window.groups) {
+            Window.Group group = adjustGroup(grp, constants, inFieldsCnt, aggsCnt);
+
+            if (group == null)
+                return null;
+
+            aggsCnt += grp.aggCalls.size();
+
+            RelDataType rowType = cluster.getTypeFactory()
+                .createStructType(window.getRowType().getFieldList().subList(0, inFieldsCnt + aggsCnt));
+
+            RelTraitSet traits = cluster.traitSetOf(IgniteConvention.INSTANCE)
+                .replace(IgniteWindow.windowCollation(group))
+                .replace(IgniteWindow.windowDistribution(group));
+
+            input = new IgniteWindow(cluster, traits, convert(input, traits), constants, rowType, group);
+        }
+
+        return (PhysicalNode)input;
+    }
+
+    /**
+     * Adjusts window group to be evaluated on top of the previous groups of the same window. Results of the
+     * previous groups are appended to the input row, so references to constants are shifted by the count
+     * of the results. Frame offsets are replaced by the constant values.
+     *
+     * @return Adjusted group or {@code null} if the group isn't supported.
+     */
+    private static Window.Group adjustGroup(Window.Group grp, List<RexLiteral> constants, int inFieldsCnt, int shift) {
+        RexWindowBound lower = adjustBound(grp.lowerBound, grp.isRows, constants, inFieldsCnt);
+        RexWindowBound upper = adjustBound(grp.upperBound, grp.isRows, constants, inFieldsCnt);
+
+        if (lower == null || upper == null)
+            return null;
+
+        List<Window.RexWinAggCall> aggCalls = new ArrayList<>(grp.aggCalls.size());
+
+        for (Window.RexWinAggCall call : grp.aggCalls) {
+            List<RexNode> operands = new ArrayList<>(call.getOperands().size());
+
+            for (RexNode operand : call.getOperands()) {
+                if (!(operand instanceof RexInputRef))
+                    return null;
+
+                int idx = ((RexInputRef)operand).getIndex();
+
+                operands.add(idx < inFieldsCnt ? operand : new RexInputRef(idx + shift, operand.getType()));
+            }
+
+            aggCalls.add(new Window.RexWinAggCall((SqlAggFunction)call.getOperator(), call.getType(), operands,
+                call.ordinal, call.distinct, call.ignoreNulls));
+        }
+
+        return new Window.Group(grp.keys, grp.isRows, lower, upper, grp.orderKeys, aggCalls);
+    }
+
+    /**
+     * @return Bound with a literal offset or {@code null} if the bound offset isn't a constant non-negative integer
+     * or it's an offset of a RANGE frame.
+     */
+    private static RexWindowBound adjustBound(
+        RexWindowBound bound,
+        boolean rows,
+        List<RexLiteral> constants,
+        int inFieldsCnt
+    ) {
+        if (bound.isUnbounded() || bound.isCurrentRow())
+            return bound;
+
+        if (!rows)
+            return null;
+
+        RexNode offset = bound.getOffset();
+
+        if (offset instanceof RexInputRef && ((RexInputRef)offset).getIndex() >= inFieldsCnt)
+            offset = constants.get(((RexInputRef)offset).getIndex() - inFieldsCnt);
+
+        if (!(offset instanceof RexLiteral))
+            return null;
+
+        Integer val = ((RexLiteral)offset).getValueAs(Integer.class);
+
+        if (val == null || val < 0)
+            return null;
+
+        return bound.isPreceding() ? RexWindowBounds.preceding(offset) : RexWindowBounds.following(offset);
+    }
+}
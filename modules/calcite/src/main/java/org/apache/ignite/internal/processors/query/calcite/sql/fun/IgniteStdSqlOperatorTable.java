@@ -92,6 +92,11 @@ public class IgniteStdSqlOperatorTable extends ReflectiveSqlOperatorTable {
         register(SqlStdOperatorTable.EVERY);
         register(SqlStdOperatorTable.SOME);
 
+        // Window functions.
+        register(SqlStdOperatorTable.ROW_NUMBER);
+        register(SqlStdOperatorTable.RANK);
+        register(SqlStdOperatorTable.DENSE_RANK);
+
         // IS ... operator.
         register(SqlStdOperatorTable.IS_NULL);
         register(SqlStdOperatorTable.IS_NOT_NULL);
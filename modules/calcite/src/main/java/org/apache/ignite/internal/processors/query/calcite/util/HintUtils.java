@@ -25,6 +25,10 @@ import com.google.common.collect.ImmutableList;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.hint.RelHint;
 import org.apache.calcite.rel.logical.LogicalAggregate;
+import org.apache.calcite.sql.SqlHint;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOrderBy;
+import org.apache.calcite.sql.SqlSelect;
 import org.apache.ignite.internal.util.typedef.F;
 
 /** */
@@ -51,10 +55,48 @@ public class HintUtils {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * @param hints Hints.
+     * @return Count of parallel sub-scans of local partitions, requested by the {@code SCAN_PARALLELISM} hint,
+     * or {@code 1} if the hint is absent or malformed.
+     */
+    public static int scanParallelism(ImmutableList<RelHint> hints) {
+        int parallelism = 1;
+
+        for (RelHint hint : hints) {
+            if (!"SCAN_PARALLELISM".equals(hint.hintName) || hint.listOptions.size() != 1)
+                continue;
+
+            try {
+                parallelism = Math.max(parallelism, Integer.parseInt(hint.listOptions.get(0)));
+            }
+            catch (NumberFormatException ignore) {
+                // No-op.
+            }
+        }
+
+        return parallelism;
+    }
+
     /** */
     public static boolean isExpandDistinctAggregate(LogicalAggregate rel) {
         return rel.getHints().stream()
             .anyMatch(h -> "EXPAND_DISTINCT_AGG".equals(h.hintName))
             && rel.getAggCallList().stream().anyMatch(AggregateCall::isDistinct);
     }
+
+    /**
+     * @param sqlNode Query node.
+     * @return {@code true} if the top-level select of the query is marked by the {@code RESULT_CACHE} hint.
+     */
+    public static boolean isResultCacheEnabled(SqlNode sqlNode) {
+        if (sqlNode instanceof SqlOrderBy)
+            sqlNode = ((SqlOrderBy)sqlNode).query;
+
+        if (!(sqlNode instanceof SqlSelect) || !((SqlSelect)sqlNode).hasHints())
+            return false;
+
+        return ((SqlSelect)sqlNode).getHints().stream()
+            .anyMatch(h -> h instanceof SqlHint && "RESULT_CACHE".equals(((SqlHint)h).getName()));
+    }
 }
@@ -39,6 +39,10 @@ public interface IgniteResource {
     @Resources.BaseMessage("Illegal aggregate function. {0} is unsupported at the moment.")
     Resources.ExInst<SqlValidatorException> unsupportedAggregationFunction(String a0);
 
+    /** */
+    @Resources.BaseMessage("RANGE window frame with offset is unsupported at the moment. Use ROWS frame instead.")
+    Resources.ExInst<SqlValidatorException> unsupportedRangeWindowFrame();
+
     /** */
     @Resources.BaseMessage("Illegal value of {0}. The value must be positive and less than Integer.MAX_VALUE " +
         "(" + Integer.MAX_VALUE + ")." )
@@ -58,6 +58,17 @@ public class ListFieldsQueryCursor<Row> implements FieldsQueryCursor<List<?>>, Q
         this.it = it;
     }
 
+    /**
+     * @param fieldsMeta Fields metadata.
+     * @param it Iterator.
+     * @param isQry Whether the cursor is a query result (not DML result).
+     */
+    public ListFieldsQueryCursor(List<GridQueryFieldMetadata> fieldsMeta, Iterator<List<?>> it, boolean isQry) {
+        this.fieldsMeta = fieldsMeta;
+        this.isQry = isQry;
+        this.it = it;
+    }
+
     /** {@inheritDoc} */
     @NotNull @Override public Iterator<List<?>> iterator() {
         return it;
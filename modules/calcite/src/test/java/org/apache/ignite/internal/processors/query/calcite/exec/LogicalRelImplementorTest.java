@@ -130,6 +130,7 @@ public class LogicalRelImplementorTest extends GridCommonAbstractTest {
             null,
             ArrayRowHandler.INSTANCE,
             NoOpMemoryTracker.INSTANCE,
+            null,
             null
         ) {
             @Override public ColocationGroup group(long srcId) {
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests runtime join filter.
+ */
+public class RuntimeJoinFilterTest extends GridCommonAbstractTest {
+    /** */
+    @Test
+    public void testNoFalseNegatives() {
+        List<GroupKey> keys = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i += 2)
+            keys.add(new GroupKey(new Object[] {i, "val" + i}));
+
+        RuntimeJoinFilter filter = RuntimeJoinFilter.build(keys, ImmutableIntList.of(1, 0));
+
+        assertNotNull(filter);
+
+        int passed = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            boolean pass = filter.test(ArrayRowHandler.INSTANCE, new Object[] {"val" + i, i});
+
+            if (i % 2 == 0)
+                assertTrue("Row is rejected: " + i, pass);
+            else if (pass)
+                passed++;
+        }
+
+        // False positives rate is expected to be about 2.5%.
+        assertTrue("False positives: " + passed, passed < 500);
+    }
+
+    /** */
+    @Test
+    public void testMinMaxBounds() {
+        List<GroupKey> keys = new ArrayList<>();
+
+        for (long i = 100; i < 200; i++)
+            keys.add(new GroupKey(new Object[] {i}));
+
+        RuntimeJoinFilter filter = RuntimeJoinFilter.build(keys, ImmutableIntList.of(0));
+
+        assertFalse(filter.test(ArrayRowHandler.INSTANCE, new Object[] {99L}));
+        assertFalse(filter.test(ArrayRowHandler.INSTANCE, new Object[] {200L}));
+        assertTrue(filter.test(ArrayRowHandler.INSTANCE, new Object[] {150L}));
+    }
+
+    /** */
+    @Test
+    public void testNullsAndEmptyBuildSide() {
+        RuntimeJoinFilter filter = RuntimeJoinFilter.build(
+            Collections.singletonList(new GroupKey(new Object[] {UUID.randomUUID()})), ImmutableIntList.of(0));
+
+        assertFalse(filter.test(ArrayRowHandler.INSTANCE, new Object[] {null}));
+
+        filter = RuntimeJoinFilter.build(Collections.emptyList(), ImmutableIntList.of(0));
+
+        assertFalse(filter.test(ArrayRowHandler.INSTANCE, new Object[] {1}));
+        assertFalse(filter.test(ArrayRowHandler.INSTANCE, new Object[] {"1"}));
+    }
+
+    /** */
+    @Test
+    public void testUnsupportedKeys() {
+        assertNull(RuntimeJoinFilter.build(Collections.singletonList(new GroupKey(new Object[] {new Object()})),
+            ImmutableIntList.of(0)));
+    }
+}
@@ -116,6 +116,7 @@ public class RuntimeSortedIndexTest extends GridCommonAbstractTest {
                 null,
                 ArrayRowHandler.INSTANCE,
                 NoOpMemoryTracker.INSTANCE,
+                null,
                 null),
             RelCollations.of(ImmutableIntList.copyOf(idxCols)),
             (o1, o2) -> {
@@ -295,6 +295,7 @@ public class AbstractExecutionTest extends GridCommonAbstractTest {
             fragmentDesc,
             ArrayRowHandler.INSTANCE,
             NoOpMemoryTracker.INSTANCE,
+            null,
             ImmutableMap.of()
         );
     }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.ObjectSizeCalculator;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests adaptive exchange flow control.
+ */
+public class ExchangeFlowControlTest extends GridCommonAbstractTest {
+    /** */
+    @Test
+    public void testBatchSizeGrowth() {
+        ExchangeFlowControl<Object[]> ctrl = new ExchangeFlowControl<>(new ObjectSizeCalculator<>());
+
+        assertEquals(ExchangeFlowControl.MIN_BATCH_SIZE, ctrl.batchSize());
+
+        for (int i = 0; i < 10; i++) {
+            ctrl.onBatchSent(i);
+            ctrl.onAcknowledged(i, 1);
+        }
+
+        assertEquals(ExchangeFlowControl.MAX_BATCH_SIZE, ctrl.batchSize());
+    }
+
+    /** */
+    @Test
+    public void testBatchSizeLimitedByRowSize() {
+        ExchangeFlowControl<Object[]> ctrl = new ExchangeFlowControl<>(new ObjectSizeCalculator<>());
+
+        ctrl.onRowAdded(new Object[] {new byte[10_000]});
+
+        for (int i = 0; i < 10; i++) {
+            ctrl.onBatchSent(i);
+            ctrl.onAcknowledged(i, 1);
+        }
+
+        assertTrue("batchSize=" + ctrl.batchSize(), ctrl.batchSize() > 0);
+        assertTrue("batchSize=" + ctrl.batchSize(), ctrl.batchSize() * 10_000L <= ExchangeFlowControl.TARGET_BATCH_BYTES);
+    }
+
+    /** */
+    @Test
+    public void testCreditsFollowRoundTripTime() throws Exception {
+        ExchangeFlowControl<Object[]> ctrl = new ExchangeFlowControl<>(new ObjectSizeCalculator<>());
+
+        // High latency, fast consumer: acknowledgements arrive late, but all at once.
+        int batches = ExchangeFlowControl.MAX_CREDITS;
+
+        for (int i = 0; i < batches; i++)
+            ctrl.onBatchSent(i);
+
+        U.sleep(200);
+
+        for (int i = 0; i < batches; i++)
+            ctrl.onAcknowledged(i, 1);
+
+        assertEquals(ExchangeFlowControl.MAX_CREDITS, ctrl.credits());
+
+        // Slow consumer: round-trip time is no more than interval between acknowledgements.
+        ctrl = new ExchangeFlowControl<>(new ObjectSizeCalculator<>());
+
+        for (int i = 0; i < 5; i++) {
+            ctrl.onBatchSent(i);
+
+            U.sleep(50);
+
+            ctrl.onAcknowledged(i, 1);
+        }
+
+        assertEquals(ExchangeFlowControl.MIN_CREDITS, ctrl.credits());
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.calcite.rel.core.JoinRelType.ANTI;
+import static org.apache.calcite.rel.core.JoinRelType.FULL;
+import static org.apache.calcite.rel.core.JoinRelType.INNER;
+import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+import static org.apache.calcite.rel.core.JoinRelType.RIGHT;
+import static org.apache.calcite.rel.core.JoinRelType.SEMI;
+
+/** */
+@SuppressWarnings("TypeMayBeWeakened")
+public class HashJoinExecutionTest extends AbstractExecutionTest {
+    /** */
+    public static final Object[][] EMPTY = new Object[0][];
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    @Override public void setup() throws Exception {
+        nodesCnt = 1;
+        super.setup();
+    }
+
+    /** */
+    @Test
+    public void joinEmptyTables() {
+        for (JoinRelType joinType : F.asList(INNER, LEFT, RIGHT, FULL, SEMI, ANTI))
+            verifyJoin(EMPTY, EMPTY, joinType, null, EMPTY);
+    }
+
+    /** */
+    @Test
+    public void joinEmptyLeftTable() {
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"}
+        };
+
+        verifyJoin(EMPTY, right, INNER, null, EMPTY);
+        verifyJoin(EMPTY, right, LEFT, null, EMPTY);
+        verifyJoin(EMPTY, right, RIGHT, null, new Object[][] {
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+            {null, null, "SQL"}
+        });
+        verifyJoin(EMPTY, right, FULL, null, new Object[][] {
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+            {null, null, "SQL"}
+        });
+        verifyJoin(EMPTY, right, SEMI, null, EMPTY);
+        verifyJoin(EMPTY, right, ANTI, null, EMPTY);
+    }
+
+    /** */
+    @Test
+    public void joinEmptyRightTable() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Alexey", 2}
+        };
+
+        verifyJoin(left, EMPTY, INNER, null, EMPTY);
+        verifyJoin(left, EMPTY, LEFT, null, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", null}
+        });
+        verifyJoin(left, EMPTY, RIGHT, null, EMPTY);
+        verifyJoin(left, EMPTY, FULL, null, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", null}
+        });
+        verifyJoin(left, EMPTY, SEMI, null, EMPTY);
+        verifyJoin(left, EMPTY, ANTI, null, new Object[][] {
+            {1, "Roman"},
+            {2, "Igor"},
+            {3, "Alexey"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinManyToManyUnsorted() {
+        Object[][] left = {
+            {6, "Andrey", 4},
+            {2, "Igor", 1},
+            {4, "Alexey", 2},
+            {1, "Roman", null},
+            {5, "Ivan", 4},
+            {3, "Taras", 1}
+        };
+
+        Object[][] right = {
+            {4, "QA"},
+            {1, "Core"},
+            {3, "Arch"},
+            {2, "SQL"},
+            {1, "OLD_Core"},
+            {4, "OLD_QA"},
+        };
+
+        verifyJoin(left, right, INNER, null, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, LEFT, null, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, RIGHT, null, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {null, null, "Arch"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, FULL, null, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {null, null, "Arch"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, SEMI, null, new Object[][] {
+            {2, "Igor"},
+            {3, "Taras"},
+            {4, "Alexey"},
+            {5, "Ivan"},
+            {6, "Andrey"},
+        });
+        verifyJoin(left, right, ANTI, null, new Object[][] {
+            {1, "Roman"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinOnNullField() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", 1},
+            {4, "Ivan", 2}
+        };
+
+        Object[][] right = {
+            {null, "Core"},
+            {null, "OLD_Core"},
+            {1, "SQL"},
+            {2, "QA"}
+        };
+
+        verifyJoin(left, right, INNER, null, new Object[][] {
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+        });
+        verifyJoin(left, right, LEFT, null, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+        });
+        verifyJoin(left, right, RIGHT, null, new Object[][] {
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+        });
+        verifyJoin(left, right, FULL, null, new Object[][] {
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+        });
+        verifyJoin(left, right, SEMI, null, new Object[][] {
+            {3, "Alexey"},
+            {4, "Ivan"},
+        });
+        verifyJoin(left, right, ANTI, null, new Object[][] {
+            {1, "Roman"},
+            {2, "Igor"},
+        });
+    }
+
+    /** */
+    @Test
+    public void joinWithNonEquiCondition() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Alexey", 2}
+        };
+
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"}
+        };
+
+        // Right rows with the "OLD_" prefix never match.
+        BiPredicate<Object[], Object[]> cond = (l, r) -> !((String)r[1]).startsWith("OLD_");
+
+        verifyJoin(left, right, INNER, cond, new Object[][] {
+            {2, "Igor", "Core"},
+            {3, "Alexey", "SQL"}
+        });
+        verifyJoin(left, right, LEFT, cond, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {3, "Alexey", "SQL"}
+        });
+        verifyJoin(left, right, RIGHT, cond, new Object[][] {
+            {2, "Igor", "Core"},
+            {null, null, "OLD_Core"},
+            {3, "Alexey", "SQL"}
+        });
+        verifyJoin(left, right, FULL, cond, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {null, null, "OLD_Core"},
+            {3, "Alexey", "SQL"}
+        });
+        verifyJoin(left, right, SEMI, (l, r) -> ((String)r[1]).startsWith("OLD_"), new Object[][] {
+            {2, "Igor"}
+        });
+        verifyJoin(left, right, ANTI, (l, r) -> ((String)r[1]).startsWith("OLD_"), new Object[][] {
+            {1, "Roman"},
+            {3, "Alexey"}
+        });
+    }
+
+    /** Checks inputs larger than the node buffers. */
+    @Test
+    public void joinLargeInputs() {
+        int inBufSize = U.field(AbstractNode.class, "IN_BUFFER_SIZE");
+
+        int leftCnt = inBufSize * 5 + 1;
+        int rightCnt = inBufSize * 3 + 7;
+
+        Object[][] left = new Object[leftCnt][];
+        Object[][] right = new Object[rightCnt][];
+
+        for (int i = 0; i < leftCnt; i++)
+            left[i] = new Object[] {i, "L" + i, i % 10 == 0 ? null : i / 2};
+
+        for (int i = 0; i < rightCnt; i++)
+            right[i] = new Object[] {i, "R" + i};
+
+        List<Object[]> inner = new ArrayList<>();
+        List<Object[]> leftOuter = new ArrayList<>();
+        List<Object[]> fullOuter = new ArrayList<>();
+        List<Object[]> semi = new ArrayList<>();
+        List<Object[]> anti = new ArrayList<>();
+
+        boolean[] rightMatched = new boolean[rightCnt];
+
+        for (Object[] l : left) {
+            Integer key = (Integer)l[2];
+
+            if (key != null && key < rightCnt) {
+                rightMatched[key] = true;
+
+                Object[] row = {l[0], l[1], "R" + key};
+
+                inner.add(row);
+                leftOuter.add(row);
+                fullOuter.add(row);
+                semi.add(new Object[] {l[0], l[1]});
+            }
+            else {
+                leftOuter.add(new Object[] {l[0], l[1], null});
+                fullOuter.add(new Object[] {l[0], l[1], null});
+                anti.add(new Object[] {l[0], l[1]});
+            }
+        }
+
+        List<Object[]> rightOuter = new ArrayList<>(inner);
+
+        for (int i = 0; i < rightCnt; i++) {
+            if (!rightMatched[i]) {
+                rightOuter.add(new Object[] {null, null, "R" + i});
+                fullOuter.add(new Object[] {null, null, "R" + i});
+            }
+        }
+
+        verifyJoin(left, right, INNER, null, inner.toArray(EMPTY));
+        verifyJoin(left, right, LEFT, null, leftOuter.toArray(EMPTY));
+        verifyJoin(left, right, RIGHT, null, rightOuter.toArray(EMPTY));
+        verifyJoin(left, right, FULL, null, fullOuter.toArray(EMPTY));
+        verifyJoin(left, right, SEMI, null, semi.toArray(EMPTY));
+        verifyJoin(left, right, ANTI, null, anti.toArray(EMPTY));
+    }
+
+    /**
+     * Creates execution tree and executes it. Then compares the result of the execution with the given one
+     * regardless of the rows order.
+     *
+     * @param left Data for left table.
+     * @param right Data for right table.
+     * @param joinType Join type.
+     * @param nonEquiCond Non-equi condition.
+     * @param expRes Expected result.
+     */
+    private void verifyJoin(
+        Object[][] left,
+        Object[][] right,
+        JoinRelType joinType,
+        BiPredicate<Object[], Object[]> nonEquiCond,
+        Object[][] expRes
+    ) {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+
+        RelDataType leftType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        ScanNode<Object[]> leftNode = new ScanNode<>(ctx, leftType, Arrays.asList(left));
+
+        RelDataType rightType = TypeUtils.createRowType(ctx.getTypeFactory(), Integer.class, String.class);
+        ScanNode<Object[]> rightNode = new ScanNode<>(ctx, rightType, Arrays.asList(right));
+
+        boolean semiOrAnti = joinType == SEMI || joinType == ANTI;
+
+        RelDataType outType;
+        if (semiOrAnti)
+            outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        else {
+            outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class,
+                Integer.class, String.class);
+        }
+
+        HashJoinNode<Object[]> join = HashJoinNode.create(ctx, outType, leftType, rightType, joinType,
+            ImmutableIntList.of(2), ImmutableIntList.of(0), nonEquiCond);
+
+        join.register(F.asList(leftNode, rightNode));
+
+        RelDataType rowType;
+        ProjectNode<Object[]> project;
+        if (semiOrAnti) {
+            rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+            project = new ProjectNode<>(ctx, rowType, r -> new Object[] {r[0], r[1]});
+        }
+        else {
+            rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, String.class);
+            project = new ProjectNode<>(ctx, rowType, r -> new Object[] {r[0], r[1], r[4]});
+        }
+        project.register(join);
+
+        RootNode<Object[]> node = new RootNode<>(ctx, rowType);
+        node.register(project);
+
+        ArrayList<Object[]> rows = new ArrayList<>();
+
+        while (node.hasNext())
+            rows.add(node.next());
+
+        assertEquals(sorted(Arrays.asList(expRes)), sorted(rows));
+    }
+
+    /** */
+    private static List<String> sorted(List<Object[]> rows) {
+        return rows.stream().map(Arrays::toString).sorted().collect(Collectors.toList());
+    }
+}
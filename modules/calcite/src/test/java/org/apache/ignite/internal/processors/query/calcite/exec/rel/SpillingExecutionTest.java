@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.query.calcite.exec.ArrayRowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillStorage;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.NoOpMemoryTracker;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.QueryMemoryTracker;
+import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentDescription;
+import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.jdk.JdkMarshaller;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.jetbrains.annotations.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Tests spilling to disk of execution nodes when memory quota is exceeded.
+ */
+public class SpillingExecutionTest extends AbstractExecutionTest {
+    /** */
+    private static final long QRY_MEMORY_QUOTA = 256 * 1024L;
+
+    /** */
+    private static final int ROWS_CNT = 10_000;
+
+    /** */
+    private File spillDir;
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    @Override public void setup() throws Exception {
+        nodesCnt = 1;
+        super.setup();
+
+        spillDir = U.resolveWorkDirectory(U.defaultWorkDirectory(), "spill_test", true);
+    }
+
+    /** */
+    @After
+    public void cleanSpillDirectory() {
+        U.delete(spillDir);
+    }
+
+    /** */
+    @Test
+    public void testSortNode() throws Exception {
+        checkSortNode(ROWS_CNT);
+    }
+
+    /** Count of runs exceeds merge fan-in, so the runs are merged by several passes. */
+    @Test
+    public void testSortNodeMultiPassMerge() throws Exception {
+        checkSortNode(ROWS_CNT * 8);
+    }
+
+    /** */
+    private void checkSortNode(int rowsCnt) throws Exception {
+        checkSpilling(ctx -> {
+            RelDataType rowType = rowType(ctx);
+
+            // Rows are scanned in reverse order.
+            ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, rows(rowsCnt, i -> rowsCnt - i - 1));
+
+            SortNode<Object[]> sort = new SortNode<>(ctx, rowType, Comparator.comparingInt(r -> (Integer)r[0]));
+
+            sort.register(singletonList(scan));
+
+            return sort;
+        }, res -> {
+            assertEquals(rowsCnt, res.size());
+
+            for (int i = 0; i < rowsCnt; i++)
+                assertEquals(i, res.get(i)[0]);
+        });
+    }
+
+    /** */
+    @Test
+    public void testHashAggregateNode() throws Exception {
+        checkHashAggregateNode(ROWS_CNT);
+    }
+
+    /** Groups of a spill partition don't fit the quota, so the partition is split again. */
+    @Test
+    public void testHashAggregateNodeRepartitioning() throws Exception {
+        checkHashAggregateNode(ROWS_CNT * 4);
+    }
+
+    /** */
+    private void checkHashAggregateNode(int rowsCnt) throws Exception {
+        int grpsCnt = rowsCnt / 2;
+
+        checkSpilling(ctx -> {
+            IgniteTypeFactory tf = ctx.getTypeFactory();
+            RelDataType rowType = rowType(ctx);
+
+            // Each group consists of two rows.
+            ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, rows(rowsCnt, i -> i % grpsCnt));
+
+            AggregateCall call = AggregateCall.create(
+                SqlStdOperatorTable.COUNT,
+                false,
+                false,
+                false,
+                ImmutableIntList.of(),
+                -1,
+                RelCollations.EMPTY,
+                tf.createJavaType(long.class),
+                null);
+
+            HashAggregateNode<Object[]> agg = new HashAggregateNode<>(
+                ctx,
+                TypeUtils.createRowType(tf, int.class, long.class),
+                AggregateType.SINGLE,
+                ImmutableList.of(ImmutableBitSet.of(0)),
+                ctx.expressionFactory().accumulatorsFactory(AggregateType.SINGLE, F.asList(call), rowType),
+                ArrayRowHandler.INSTANCE.factory(Integer.class, Long.class)
+            );
+
+            agg.register(singletonList(scan));
+
+            return agg;
+        }, res -> {
+            assertEquals(grpsCnt, res.size());
+
+            res.sort(Comparator.comparingInt(r -> (Integer)r[0]));
+
+            for (int i = 0; i < grpsCnt; i++) {
+                assertEquals(i, res.get(i)[0]);
+                assertEquals(2L, res.get(i)[1]);
+            }
+        });
+    }
+
+    /** */
+    @Test
+    public void testTableSpoolNode() throws Exception {
+        for (boolean lazy : new boolean[] {true, false}) {
+            ExecutionContext<Object[]> ctx = executionContext(spillDir);
+            RelDataType rowType = rowType(ctx);
+
+            ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, rows(Function.identity()));
+
+            TableSpoolNode<Object[]> spool = new TableSpoolNode<>(ctx, rowType, lazy);
+
+            spool.register(singletonList(scan));
+
+            RootRewindable<Object[]> root = new RootRewindable<>(ctx, rowType);
+            root.register(spool);
+
+            for (int i = 0; i < 3; i++) {
+                int cnt = 0;
+
+                while (root.hasNext()) {
+                    assertEquals(cnt, root.next()[0]);
+
+                    cnt++;
+                }
+
+                assertEquals(ROWS_CNT, cnt);
+
+                root.rewind();
+            }
+
+            root.closeRewindableRoot();
+
+            assertSpillDirectoryEmpty();
+        }
+    }
+
+    /**
+     * Checks that the node fails without spilling and produces the correct result with spilling enabled.
+     *
+     * @param nodeFactory Factory of the node to check.
+     * @param resChecker Result checker.
+     */
+    private void checkSpilling(
+        Function<ExecutionContext<Object[]>, Node<Object[]>> nodeFactory,
+        Consumer<List<Object[]>> resChecker
+    ) throws Exception {
+        GridTestUtils.assertThrowsAnyCause(log, () -> execute(nodeFactory, null), IgniteException.class,
+            "Query quota exceeded");
+
+        resChecker.accept(execute(nodeFactory, spillDir));
+
+        assertSpillDirectoryEmpty();
+    }
+
+    /** */
+    private List<Object[]> execute(
+        Function<ExecutionContext<Object[]>, Node<Object[]>> nodeFactory,
+        @Nullable File spillDir
+    ) {
+        ExecutionContext<Object[]> ctx = executionContext(spillDir);
+
+        Node<Object[]> node = nodeFactory.apply(ctx);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, node.rowType());
+        root.register(node);
+
+        List<Object[]> res = new ArrayList<>();
+
+        while (root.hasNext())
+            res.add(root.next());
+
+        root.close();
+
+        return res;
+    }
+
+    /** Spill files are removed when node is closed, nodes are closed asynchronously. */
+    private void assertSpillDirectoryEmpty() throws Exception {
+        assertTrue("Spill files aren't removed: " + F.asList(spillDir.list()),
+            GridTestUtils.waitForCondition(() -> F.isEmpty(spillDir.list()), 5_000L));
+    }
+
+    /** */
+    private ExecutionContext<Object[]> executionContext(@Nullable File spillDir) {
+        UUID nodeId = F.first(nodes());
+
+        return new ExecutionContext<>(
+            BaseQueryContext.builder()
+                .logger(log)
+                .build(),
+            taskExecutor(nodeId),
+            UUID.randomUUID(),
+            nodeId,
+            nodeId,
+            AffinityTopologyVersion.NONE,
+            new FragmentDescription(0, null, null, null),
+            ArrayRowHandler.INSTANCE,
+            new QueryMemoryTracker(NoOpMemoryTracker.INSTANCE, QRY_MEMORY_QUOTA),
+            spillDir == null ? null : new SpillStorage(spillDir, new JdkMarshaller(), U.gridClassLoader()),
+            ImmutableMap.of()
+        );
+    }
+
+    /** */
+    private static RelDataType rowType(ExecutionContext<Object[]> ctx) {
+        return TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+    }
+
+    /** @return Rows with the given key and some payload to consume memory. */
+    private static List<Object[]> rows(Function<Integer, Integer> keyFunc) {
+        return rows(ROWS_CNT, keyFunc);
+    }
+
+    /** @return Rows with the given key and some payload to consume memory. */
+    private static List<Object[]> rows(int cnt, Function<Integer, Integer> keyFunc) {
+        String payload = String.join("", Collections.nCopies(100, "x"));
+
+        return IntStream.range(0, cnt)
+            .mapToObj(i -> new Object[] {keyFunc.apply(i), payload + i})
+            .collect(Collectors.toList());
+    }
+}
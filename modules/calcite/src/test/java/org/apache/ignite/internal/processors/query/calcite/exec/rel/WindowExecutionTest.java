@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ArrayRowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Window node execution test.
+ */
+public class WindowExecutionTest extends AbstractExecutionTest {
+    /** Input rows (partition, value) sorted by partition and value. */
+    private static final Object[][] INPUT = {
+        {0, 1},
+        {0, 2},
+        {0, 2},
+        {0, 3},
+        {1, 5},
+    };
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    @Override public void setup() throws Exception {
+        nodesCnt = 1;
+        super.setup();
+    }
+
+    /** Ranking functions and running sum over the default RANGE frame. */
+    @Test
+    public void testRankingAndRunningSum() {
+        List<Object[]> res = execute(false, null, 0);
+
+        assertRows(res, new long[][] {
+            {1, 1, 1, 1},
+            {2, 2, 2, 5},
+            {3, 2, 2, 5},
+            {4, 4, 3, 8},
+            {1, 1, 1, 5},
+        });
+    }
+
+    /** Ranking functions and running sum over the ROWS frame. */
+    @Test
+    public void testRunningSumRowsFrame() {
+        List<Object[]> res = execute(true, null, 0);
+
+        assertRows(res, new long[][] {
+            {1, 1, 1, 1},
+            {2, 2, 2, 3},
+            {3, 2, 2, 5},
+            {4, 4, 3, 8},
+            {1, 1, 1, 5},
+        });
+    }
+
+    /** Sliding ROWS frame: 1 PRECEDING - 1 FOLLOWING. */
+    @Test
+    public void testSlidingRowsFrame() {
+        List<Object[]> res = execute(true, -1, 1);
+
+        assertRows(res, new long[][] {
+            {1, 1, 1, 3},
+            {2, 2, 2, 5},
+            {3, 2, 2, 7},
+            {4, 4, 3, 5},
+            {1, 1, 1, 5},
+        });
+    }
+
+    /** Sliding ROWS frame which evicts rows: 2 PRECEDING - CURRENT ROW. */
+    @Test
+    public void testSlidingRowsFrameEviction() {
+        List<Object[]> res = execute(true, -2, 0);
+
+        assertRows(res, new long[][] {
+            {1, 1, 1, 1},
+            {2, 2, 2, 3},
+            {3, 2, 2, 5},
+            {4, 4, 3, 7},
+            {1, 1, 1, 5},
+        });
+    }
+
+    /** Sliding RANGE frame: CURRENT ROW - UNBOUNDED FOLLOWING. */
+    @Test
+    public void testSlidingRangeFrame() {
+        List<Object[]> res = execute(false, 0, null);
+
+        assertRows(res, new long[][] {
+            {1, 1, 1, 8},
+            {2, 2, 2, 7},
+            {3, 2, 2, 7},
+            {4, 4, 3, 3},
+            {1, 1, 1, 5},
+        });
+    }
+
+    /** Whole partition frame: UNBOUNDED PRECEDING - UNBOUNDED FOLLOWING. */
+    @Test
+    public void testWholePartitionFrame() {
+        List<Object[]> res = execute(false, null, null);
+
+        assertRows(res, new long[][] {
+            {1, 1, 1, 8},
+            {2, 2, 2, 8},
+            {3, 2, 2, 8},
+            {4, 4, 3, 8},
+            {1, 1, 1, 5},
+        });
+    }
+
+    /**
+     * Executes ROW_NUMBER, RANK, DENSE_RANK and SUM(val) over (PARTITION BY part ORDER BY val) window.
+     *
+     * @param rows {@code True} for ROWS frame, {@code false} for RANGE frame.
+     * @param lower Frame start offset, {@code null} for UNBOUNDED PRECEDING.
+     * @param upper Frame end offset, {@code null} for UNBOUNDED FOLLOWING.
+     * @return Result rows.
+     */
+    private List<Object[]> execute(boolean rows, @Nullable Integer lower, @Nullable Integer upper) {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RelDataType rowType = TypeUtils.createRowType(tf, int.class, int.class);
+        RelDataType outType = TypeUtils.createRowType(tf, int.class, int.class, long.class, long.class, long.class,
+            int.class);
+
+        ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, Arrays.asList(INPUT));
+
+        List<AggregateCall> calls = F.asList(
+            call(SqlStdOperatorTable.ROW_NUMBER, ImmutableIntList.of(), tf.createJavaType(long.class)),
+            call(SqlStdOperatorTable.RANK, ImmutableIntList.of(), tf.createJavaType(long.class)),
+            call(SqlStdOperatorTable.DENSE_RANK, ImmutableIntList.of(), tf.createJavaType(long.class)),
+            call(SqlStdOperatorTable.SUM, ImmutableIntList.of(1), tf.createJavaType(int.class))
+        );
+
+        List<AggregateCall> accCalls = calls.stream().filter(c -> !WindowNode.isRanking(c)).collect(Collectors.toList());
+
+        WindowNode<Object[]> window = new WindowNode<>(
+            ctx,
+            outType,
+            (r1, r2) -> Integer.compare((Integer)r1[0], (Integer)r2[0]),
+            (r1, r2) -> Integer.compare((Integer)r1[1], (Integer)r2[1]),
+            rows,
+            lower,
+            upper,
+            calls,
+            ctx.expressionFactory().accumulatorsFactory(AggregateType.SINGLE, accCalls, rowType),
+            null,
+            ArrayRowHandler.INSTANCE.factory(Long.class, Long.class, Long.class, Integer.class)
+        );
+        window.register(scan);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, outType);
+        root.register(window);
+
+        List<Object[]> res = new ArrayList<>();
+
+        while (root.hasNext())
+            res.add(root.next());
+
+        return res;
+    }
+
+    /** */
+    private static AggregateCall call(SqlAggFunction func, ImmutableIntList args, RelDataType type) {
+        return AggregateCall.create(
+            func,
+            false,
+            false,
+            false,
+            args,
+            -1,
+            RelCollations.EMPTY,
+            type,
+            null);
+    }
+
+    /**
+     * @param res Result rows.
+     * @param exp Expected window functions values.
+     */
+    private static void assertRows(List<Object[]> res, long[][] exp) {
+        assertEquals(INPUT.length, res.size());
+
+        for (int i = 0; i < INPUT.length; i++) {
+            Object[] row = res.get(i);
+
+            assertEquals(INPUT[i][0], row[0]);
+            assertEquals(INPUT[i][1], row[1]);
+
+            for (int j = 0; j < exp[i].length; j++)
+                assertEquals("row=" + i + ", col=" + j, exp[i][j], ((Number)row[2 + j]).longValue());
+        }
+    }
+}
@@ -112,6 +112,12 @@ public class MemoryTrackerTest extends GridCommonAbstractTest {
 
         assertEquals(0, qryTracker3.allocated());
         assertEquals(0, globalTracker.allocated());
+
+        // Node tracker should report allocations again after reset.
+        rowTracker1.onRowAdded(new Object[1]);
+
+        assertEquals(ExecutionNodeMemoryTracker.BATCH_SIZE, qryTracker1.allocated());
+        assertEquals(ExecutionNodeMemoryTracker.BATCH_SIZE, globalTracker.allocated());
     }
 
     /** */
@@ -115,6 +115,7 @@ public class AbstractBasicIntegrationTest extends GridCommonAbstractTest {
                 ((IgniteEx)ign).context(), QueryEngine.class);
 
             qryProc.queryPlanCache().clear();
+            qryProc.queryResultCache().clear();
         }
     }
 
@@ -68,7 +68,7 @@ public class IndexScanlIntegrationTest extends AbstractBasicIntegrationTest {
 
         RowCountingIndex idx = injectRowCountingIndex(grid(0), "T", "T_IDX");
 
-        String sql = "SELECT /*+ DISABLE_RULE('NestedLoopJoinConverter', 'MergeJoinConverter') */ t1.i1, t2.i1 " +
+        String sql = "SELECT /*+ DISABLE_RULE('NestedLoopJoinConverter', 'MergeJoinConverter', 'HashJoinConverter') */ t1.i1, t2.i1 " +
             "FROM t t1 " +
             "LEFT JOIN t t2 ON t1.i2 = t2.i1";
 
@@ -226,7 +226,7 @@ public class IndexScanlIntegrationTest extends AbstractBasicIntegrationTest {
         executeSql("INSERT INTO t2 VALUES (1, 1), (2, 2), (null, 3), (4, null)");
         executeSql("CREATE INDEX t2_idx ON t2(i2)");
 
-        String sql = "SELECT /*+ DISABLE_RULE('NestedLoopJoinConverter', 'MergeJoinConverter') */ i1, i3 " +
+        String sql = "SELECT /*+ DISABLE_RULE('NestedLoopJoinConverter', 'MergeJoinConverter', 'HashJoinConverter') */ i1, i3 " +
             "FROM t1 JOIN t2 ON i1 IS NOT DISTINCT FROM i2";
 
         assertQuery(sql)
@@ -237,7 +237,7 @@ public class IndexScanlIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         // Collapse expanded IS_NOT_DISTINCT_FROM.
-        sql = "SELECT /*+ DISABLE_RULE('NestedLoopJoinConverter', 'MergeJoinConverter') */ i1, i3 " +
+        sql = "SELECT /*+ DISABLE_RULE('NestedLoopJoinConverter', 'MergeJoinConverter', 'HashJoinConverter') */ i1, i3 " +
             "FROM t1 JOIN t2 ON i1 = i2 OR (i1 IS NULL AND i2 IS NULL)";
 
         assertQuery(sql)
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.query.calcite.exec.QueryResultCacheImpl;
+import org.apache.ignite.internal.processors.query.calcite.message.CalciteMessage;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Query result cache integration test.
+ */
+public class QueryResultCacheIntegrationTest extends AbstractBasicIntegrationTest {
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCommunicationSpi(new TestRecordingCommunicationSpi());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE t (id INT PRIMARY KEY, val INT)");
+
+        sql("INSERT INTO t VALUES (1, 1), (2, 2), (3, 3)");
+    }
+
+    /** */
+    @Test
+    public void testResultCachedAndInvalidatedByUpdate() {
+        String qry = "SELECT /*+ RESULT_CACHE */ id, val FROM t WHERE val > ? ORDER BY id";
+
+        long hits = hits();
+
+        assertQuery(qry).withParams(1).returns(2, 2).returns(3, 3).check();
+        assertEquals(hits, hits());
+
+        assertQuery(qry).withParams(1).returns(2, 2).returns(3, 3).check();
+        assertEquals(hits + 1, hits());
+
+        // Another parameters.
+        assertQuery(qry).withParams(2).returns(3, 3).check();
+        assertEquals(hits + 1, hits());
+
+        long invalidations = invalidations();
+
+        sql("UPDATE t SET val = 10 WHERE id = 2");
+
+        awaitInvalidation(invalidations);
+
+        assertQuery(qry).withParams(1).returns(2, 10).returns(3, 3).check();
+        assertEquals(hits + 1, hits());
+
+        assertQuery(qry).withParams(1).returns(2, 10).returns(3, 3).check();
+        assertEquals(hits + 2, hits());
+
+        invalidations = invalidations();
+
+        sql("INSERT INTO t VALUES (4, 4)");
+
+        awaitInvalidation(invalidations);
+
+        assertQuery(qry).withParams(1).returns(2, 10).returns(3, 3).returns(4, 4).check();
+        assertEquals(hits + 2, hits());
+    }
+
+    /** */
+    @Test
+    public void testJoinInvalidatedByAnyTableUpdate() {
+        sql("CREATE TABLE t2 (id INT PRIMARY KEY, name VARCHAR)");
+        sql("INSERT INTO t2 VALUES (1, 'a'), (2, 'b')");
+
+        String qry = "SELECT /*+ RESULT_CACHE */ t.id, t2.name FROM t JOIN t2 ON t.id = t2.id ORDER BY t.id";
+
+        long hits = hits();
+
+        assertQuery(qry).returns(1, "a").returns(2, "b").check();
+        assertQuery(qry).returns(1, "a").returns(2, "b").check();
+        assertEquals(hits + 1, hits());
+
+        long invalidations = invalidations();
+
+        sql("DELETE FROM t2 WHERE id = 1");
+
+        awaitInvalidation(invalidations);
+
+        assertQuery(qry).returns(2, "b").check();
+        assertEquals(hits + 1, hits());
+    }
+
+    /** */
+    @Test
+    public void testNotCachedWithoutHintOrNonDeterministic() {
+        long hits = hits();
+
+        for (int i = 0; i < 2; i++) {
+            assertQuery("SELECT id FROM t WHERE id = 1").returns(1).check();
+            assertQuery("SELECT /*+ RESULT_CACHE */ id, RAND() < 2 FROM t WHERE id = 1").returns(1, true).check();
+            assertQuery("SELECT /*+ RESULT_CACHE */ id, CURRENT_TIMESTAMP IS NOT NULL FROM t WHERE id = 1")
+                .returns(1, true).check();
+        }
+
+        assertEquals(hits, hits());
+    }
+
+    /** */
+    @Test
+    public void testCachedRowsNotShared() {
+        sql("CREATE TABLE t3 (id INT PRIMARY KEY, bin VARBINARY)");
+        sql("INSERT INTO t3 VALUES (1, x'0102')");
+
+        String qry = "SELECT /*+ RESULT_CACHE */ bin FROM t3";
+
+        long hits = hits();
+
+        for (int i = 0; i < 3; i++) {
+            List<List<?>> res = sql(qry);
+
+            byte[] bin = (byte[])res.get(0).get(0);
+
+            assertTrue(Arrays.equals(new byte[] {1, 2}, bin));
+
+            // Modification of the returned value must not affect the cached result.
+            bin[0] = 10;
+        }
+
+        assertEquals(hits + 2, hits());
+    }
+
+    /** */
+    @Test
+    public void testNoNetworkInteractionOnHit() {
+        String qry = "SELECT /*+ RESULT_CACHE */ id, val FROM t ORDER BY id";
+
+        assertQuery(qry).returns(1, 1).returns(2, 2).returns(3, 3).check();
+
+        long hits = hits();
+
+        TestRecordingCommunicationSpi spi = TestRecordingCommunicationSpi.spi(client);
+
+        spi.record((node, msg) -> msg instanceof CalciteMessage);
+
+        assertQuery(qry).returns(1, 1).returns(2, 2).returns(3, 3).check();
+        assertEquals(hits + 1, hits());
+
+        assertTrue(spi.recordedMessages(true).isEmpty());
+    }
+
+    /** */
+    private void awaitInvalidation(long invalidations) {
+        try {
+            assertTrue(GridTestUtils.waitForCondition(() -> invalidations() > invalidations, 5_000L));
+        }
+        catch (IgniteInterruptedCheckedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /** */
+    private long invalidations() {
+        return client.context().metric().registry(QueryResultCacheImpl.RESULT_CACHE_METRICS)
+            .<LongMetric>findMetric("Invalidations").value();
+    }
+
+    /** */
+    private long hits() {
+        return client.context().metric().registry(QueryResultCacheImpl.RESULT_CACHE_METRICS)
+            .<LongMetric>findMetric("Hits").value();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchMessage;
+import org.apache.ignite.internal.processors.query.calcite.message.RuntimeFilterMessage;
+import org.apache.ignite.internal.util.typedef.G;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER;
+
+/**
+ * Tests runtime join filters sent by hash joins to the sources of the probe side.
+ */
+public class RuntimeJoinFilterIntegrationTest extends AbstractBasicIntegrationTest {
+    /** Probe side rows count. */
+    private static final int ROWS_CNT = 50_000;
+
+    /** Distinct values of the probe side join key. */
+    private static final int VALS_CNT = 1_000;
+
+    /** Build side rows count, each matches {@code ROWS_CNT / VALS_CNT} probe side rows. */
+    private static final int BUILD_ROWS_CNT = 10;
+
+    /** Hash join is the only join allowed and the joined tables are not commuted. */
+    private static final String QRY = "SELECT /*+ DISABLE_RULE('CorrelatedNestedLoopJoin', 'JoinCommuteRule', " +
+        "'MergeJoinConverter', 'NestedLoopJoinConverter') */ b.id, b.val, s.name " +
+        "FROM big b JOIN small s ON b.val = s.id ORDER BY b.id";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCommunicationSpi(new TestRecordingCommunicationSpi());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE big (id INT PRIMARY KEY, val INT)");
+        sql("CREATE TABLE small (id INT PRIMARY KEY, name VARCHAR)");
+
+        sql("INSERT INTO big SELECT x, x % ? FROM TABLE(SYSTEM_RANGE(0, ?))", VALS_CNT, ROWS_CNT - 1);
+        sql("INSERT INTO small SELECT x * 7, 'name' || x FROM TABLE(SYSTEM_RANGE(0, ?))", BUILD_ROWS_CNT - 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        System.clearProperty(IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER);
+
+        super.afterTest();
+    }
+
+    /**
+     * Probe side rows of a join of partitioned tables by a non-affinity column are redistributed to the join nodes.
+     * Rows without a match are pruned by the sources, when the filter is enabled.
+     */
+    @Test
+    public void testProbeRowsPruned() {
+        startRecording();
+
+        List<List<?>> res = sql(QRY);
+
+        List<Object> filteredMsgs = stopRecording();
+
+        System.setProperty(IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER, "false");
+
+        startRecording();
+
+        List<List<?>> expRes = sql(QRY);
+
+        List<Object> msgs = stopRecording();
+
+        assertEquals(ROWS_CNT / VALS_CNT * BUILD_ROWS_CNT, expRes.size());
+        assertEquals(expRes, res);
+
+        assertTrue(filteredMsgs.stream().anyMatch(RuntimeFilterMessage.class::isInstance));
+        assertFalse(msgs.stream().anyMatch(RuntimeFilterMessage.class::isInstance));
+
+        long filteredRows = shippedRows(filteredMsgs);
+        long rows = shippedRows(msgs);
+
+        // Most of the probe side rows are sent to remote join nodes without the filter and only the rows sent before
+        // the filter arrives are sent with the filter.
+        assertTrue("Rows aren't pruned [filtered=" + filteredRows + ", notFiltered=" + rows + ']',
+            filteredRows < rows / 2);
+    }
+
+    /** */
+    @Test
+    public void testEmptyBuildSide() {
+        sql("DELETE FROM small");
+
+        startRecording();
+
+        assertQuery(QRY).resultSize(0).check();
+
+        List<Object> msgs = stopRecording();
+
+        assertTrue(msgs.stream().anyMatch(RuntimeFilterMessage.class::isInstance));
+        assertTrue(shippedRows(msgs) < ROWS_CNT / 2);
+    }
+
+    /** */
+    private void startRecording() {
+        for (Ignite ignite : G.allGrids())
+            TestRecordingCommunicationSpi.spi(ignite).record(QueryBatchMessage.class, RuntimeFilterMessage.class);
+    }
+
+    /** */
+    private List<Object> stopRecording() {
+        List<Object> msgs = new ArrayList<>();
+
+        for (Ignite ignite : G.allGrids())
+            msgs.addAll(TestRecordingCommunicationSpi.spi(ignite).recordedMessages(true));
+
+        return msgs;
+    }
+
+    /** @return Count of rows sent to remote nodes. */
+    private static long shippedRows(List<Object> msgs) {
+        return msgs.stream()
+            .filter(QueryBatchMessage.class::isInstance)
+            .mapToLong(msg -> ((QueryBatchMessage)msg).rows().size())
+            .sum();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.util.List;
+import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.junit.Test;
+
+/**
+ * Tests parallel scan of local partitions requested by the {@code SCAN_PARALLELISM} hint.
+ */
+public class ScanParallelismIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    private static final int ROWS_CNT = 10_000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE t (id INT PRIMARY KEY, val INT)");
+
+        sql("INSERT INTO t SELECT x, x % 10 FROM TABLE(SYSTEM_RANGE(0, ?))", ROWS_CNT - 1);
+    }
+
+    /** */
+    @Test
+    public void testParallelScan() {
+        assertQuery("SELECT /*+ SCAN_PARALLELISM(4) */ COUNT(*), SUM(id) FROM t WHERE val < 5")
+            .matches(QueryChecker.containsSubPlan("parallelism=[4]"))
+            .returns((long)ROWS_CNT / 2, 24_985_000L)
+            .check();
+
+        List<List<?>> res = sql("SELECT /*+ SCAN_PARALLELISM(8) */ id, val FROM t");
+
+        assertEquals(ROWS_CNT, res.size());
+
+        assertEquals(ROWS_CNT, res.stream().map(r -> r.get(0)).distinct().count());
+    }
+
+    /** */
+    @Test
+    public void testParallelScanWithLimit() {
+        assertQuery("SELECT /*+ SCAN_PARALLELISM(4) */ COUNT(*) FROM (SELECT id FROM t LIMIT 10)")
+            .returns(10L)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testParallelScanCorrelated() {
+        assertQuery("SELECT /*+ SCAN_PARALLELISM(4) */ COUNT(*) FROM t t1 " +
+            "WHERE t1.id < 10 AND EXISTS (SELECT 1 FROM t t2 WHERE t2.val = t1.val AND t2.id > 9990)")
+            .returns(9L)
+            .check();
+    }
+}
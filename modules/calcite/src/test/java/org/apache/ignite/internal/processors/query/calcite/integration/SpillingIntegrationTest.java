@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.io.File;
+import java.util.List;
+import org.apache.ignite.calcite.CalciteQueryEngineConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.SqlConfiguration;
+import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionServiceImpl;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Tests spilling of query intermediate results to disk when memory quota is exceeded.
+ */
+public class SpillingIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    private static final long QRY_MEMORY_QUOTA = 1_000_000L;
+
+    /** */
+    private static final int ROWS_CNT = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected int nodeCount() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setSqlConfiguration(
+            new SqlConfiguration().setQueryEnginesConfiguration(new CalciteQueryEngineConfiguration()
+                .setQueryMemoryQuota(QRY_MEMORY_QUOTA).setSpillingEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE tbl (id INT, b VARBINARY) WITH TEMPLATE=REPLICATED");
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            sql("INSERT INTO tbl VALUES (?, ?)", ROWS_CNT - i - 1, new byte[1000]);
+    }
+
+    /** */
+    @Test
+    public void testSortNode() throws Exception {
+        List<List<?>> res = sql("SELECT id, b FROM tbl ORDER BY id");
+
+        assertEquals(ROWS_CNT, res.size());
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            assertEquals(i, res.get(i).get(0));
+
+        assertSpillFilesRemoved();
+    }
+
+    /** */
+    @Test
+    public void testHashAggregateNode() throws Exception {
+        assertQuery("SELECT id, ANY_VALUE(b) FROM tbl GROUP BY id")
+            .matches(QueryChecker.containsSubPlan("IgniteColocatedHashAggregate"))
+            .resultSize(ROWS_CNT)
+            .check();
+
+        assertSpillFilesRemoved();
+    }
+
+    /** */
+    private void assertSpillFilesRemoved() throws Exception {
+        File spillRoot = U.resolveWorkDirectory(U.defaultWorkDirectory(), ExecutionServiceImpl.SPILL_DIR_NAME, false);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            File[] nodeDirs = spillRoot.listFiles();
+
+            if (nodeDirs == null)
+                return true;
+
+            for (File nodeDir : nodeDirs) {
+                String[] files = nodeDir.list();
+
+                if (files != null && files.length > 0)
+                    return false;
+            }
+
+            return true;
+        }, 5_000L));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.junit.Test;
+
+/**
+ * Window functions (OVER clause) integration test.
+ */
+public class WindowFunctionsIntegrationTest extends AbstractBasicIntegrationTest {
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE t (id INT PRIMARY KEY, grp INT, val INT)");
+
+        sql("INSERT INTO t VALUES (1, 0, 1), (2, 0, 2), (3, 0, 2), (4, 0, 3), (5, 1, 5)");
+    }
+
+    /** */
+    @Test
+    public void testRankingFunctions() {
+        assertQuery("SELECT id, ROW_NUMBER() OVER w, RANK() OVER w, DENSE_RANK() OVER w FROM t " +
+            "WINDOW w AS (PARTITION BY grp ORDER BY val, id) ORDER BY id")
+            .matches(QueryChecker.containsSubPlan("IgniteWindow"))
+            .returns(1, 1L, 1L, 1L)
+            .returns(2, 2L, 2L, 2L)
+            .returns(3, 3L, 3L, 3L)
+            .returns(4, 4L, 4L, 4L)
+            .returns(5, 1L, 1L, 1L)
+            .check();
+
+        assertQuery("SELECT id, ROW_NUMBER() OVER (PARTITION BY grp ORDER BY val, id), " +
+            "RANK() OVER (PARTITION BY grp ORDER BY val), DENSE_RANK() OVER (PARTITION BY grp ORDER BY val) " +
+            "FROM t ORDER BY id")
+            .returns(1, 1L, 1L, 1L)
+            .returns(2, 2L, 2L, 2L)
+            .returns(3, 3L, 2L, 2L)
+            .returns(4, 4L, 4L, 3L)
+            .returns(5, 1L, 1L, 1L)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testAggregates() {
+        // Running sum over the default RANGE frame: peers share the value.
+        assertQuery("SELECT id, SUM(val) OVER (PARTITION BY grp ORDER BY val), COUNT(*) OVER (PARTITION BY grp ORDER BY val) " +
+            "FROM t ORDER BY id")
+            .returns(1, 1L, 1L)
+            .returns(2, 5L, 3L)
+            .returns(3, 5L, 3L)
+            .returns(4, 8L, 4L)
+            .returns(5, 5L, 1L)
+            .check();
+
+        // Whole partition frame.
+        assertQuery("SELECT id, MAX(val) OVER (PARTITION BY grp), MIN(val) OVER () FROM t ORDER BY id")
+            .returns(1, 3, 1)
+            .returns(2, 3, 1)
+            .returns(3, 3, 1)
+            .returns(4, 3, 1)
+            .returns(5, 5, 1)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testRowsFrame() {
+        assertQuery("SELECT id, SUM(val) OVER (PARTITION BY grp ORDER BY id ROWS BETWEEN 1 PRECEDING AND 1 FOLLOWING) " +
+            "FROM t ORDER BY id")
+            .returns(1, 3L)
+            .returns(2, 5L)
+            .returns(3, 7L)
+            .returns(4, 5L)
+            .returns(5, 5L)
+            .check();
+
+        assertQuery("SELECT id, COUNT(*) OVER (ORDER BY id ROWS BETWEEN UNBOUNDED PRECEDING AND 2 PRECEDING) " +
+            "FROM t ORDER BY id")
+            .returns(1, 0L)
+            .returns(2, 0L)
+            .returns(3, 1L)
+            .returns(4, 2L)
+            .returns(5, 3L)
+            .check();
+    }
+
+    /** */
+    @Test
+    public void testRangeFrameWithOffset() {
+        assertThrows("SELECT SUM(val) OVER (ORDER BY id RANGE BETWEEN 1 PRECEDING AND CURRENT ROW) FROM t",
+            IgniteSQLException.class, "RANGE window frame with offset is unsupported");
+    }
+}
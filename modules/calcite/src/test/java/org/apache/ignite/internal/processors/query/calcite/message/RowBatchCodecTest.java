@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.message;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.apache.calcite.avatica.util.ByteString;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.util.io.GridUnsafeDataOutput;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.marshaller.Marshaller;
+import org.apache.ignite.marshaller.jdk.JdkMarshaller;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests rows batch serialization.
+ */
+public class RowBatchCodecTest extends GridCommonAbstractTest {
+    /** */
+    private final MarshallingContext ctx = new MarshallingContext() {
+        /** */
+        private final Marshaller marsh = new JdkMarshaller();
+
+        @Override public Marshaller marshaller() {
+            return marsh;
+        }
+
+        @Override public ClassLoader classLoader() {
+            return getClass().getClassLoader();
+        }
+    };
+
+    /** */
+    @Test
+    public void testAllTypes() throws Exception {
+        List<Object> rows = new ArrayList<>();
+
+        rows.add(new Object[] {
+            true, (byte)1, (short)2, 3, 4L, 5f, 6d, "str", new BigDecimal("-7.89"), UUID.randomUUID(),
+            new ByteString(new byte[] {1, 2, 3}), LocalDate.now(), null
+        });
+
+        rows.add(new Object[] {
+            null, null, null, null, null, null, null, "str\u00e9\u4e2d\u0000", BigDecimal.ZERO, null, null, null, null
+        });
+
+        rows.add(new Object[] {
+            false, Byte.MIN_VALUE, Short.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Float.NaN, Double.MIN_VALUE, "",
+            new BigDecimal("123456789012345678901234567890.1"), null, new ByteString(new byte[0]), null, null
+        });
+
+        checkRoundTrip(rows, false);
+    }
+
+    /** */
+    @Test
+    public void testMixedColumnTypes() throws Exception {
+        List<Object> rows = Arrays.<Object>asList(
+            new Object[] {1, "a"},
+            new Object[] {2L, 1},
+            new Object[] {null, LocalDate.now()}
+        );
+
+        checkRoundTrip(rows, false);
+    }
+
+    /** */
+    @Test
+    public void testCompression() throws Exception {
+        List<Object> rows = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+            rows.add(new Object[] {i, "value" + (i % 10), i % 3 == 0 ? null : (long)i});
+
+        byte[] plain = RowBatchCodec.encode(rows, ctx, false);
+        byte[] compressed = RowBatchCodec.encode(rows, ctx, true);
+
+        assertNotNull(plain);
+        assertNotNull(compressed);
+        assertTrue(plain.length > RowBatchCodec.COMPRESSION_THRESHOLD);
+        assertTrue("plain=" + plain.length + ", compressed=" + compressed.length, compressed.length < plain.length);
+
+        checkRoundTrip(rows, true);
+    }
+
+    /** */
+    @Test
+    public void testTruncatedCompressedData() throws Exception {
+        List<Object> rows = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+            rows.add(new Object[] {i, "value" + (i % 10)});
+
+        byte[] bytes = RowBatchCodec.encode(rows, ctx, true);
+
+        assertNotNull(bytes);
+
+        // Declared length exceeds the length of the compressed data.
+        byte[] longerLen = bytes.clone();
+
+        ByteBuffer.wrap(longerLen, 1, 4).putInt(ByteBuffer.wrap(bytes, 1, 4).getInt() + 1);
+
+        GridTestUtils.assertThrows(log, () -> RowBatchCodec.decode(longerLen, ctx), IgniteCheckedException.class,
+            "Failed to deserialize rows batch");
+
+        // Compressed data is cut.
+        byte[] cut = Arrays.copyOf(bytes, bytes.length / 2);
+
+        GridTestUtils.assertThrows(log, () -> RowBatchCodec.decode(cut, ctx), IgniteCheckedException.class,
+            "Failed to deserialize rows batch");
+    }
+
+    /** */
+    @Test
+    public void testBigBatchBufferReleased() throws Exception {
+        ThreadLocal<GridUnsafeDataOutput> out = GridTestUtils.getFieldValue(RowBatchCodec.class, "OUT");
+
+        List<Object> smallRows = F.asList(new Object[] {1, "a"});
+
+        checkRoundTrip(smallRows, false);
+
+        GridUnsafeDataOutput smallBuf = out.get();
+
+        checkRoundTrip(smallRows, false);
+
+        assertSame(smallBuf, out.get());
+
+        List<Object> bigRows = new ArrayList<>();
+
+        char[] chars = new char[RowBatchCodec.OUT_MAX_CACHED_SIZE / 50];
+
+        Arrays.fill(chars, 'x');
+
+        for (int i = 0; i < 100; i++)
+            bigRows.add(new Object[] {i, new String(chars)});
+
+        checkRoundTrip(bigRows, false);
+
+        assertTrue(out.get().internalArray().length <= RowBatchCodec.OUT_MAX_CACHED_SIZE);
+    }
+
+    /** */
+    @Test
+    public void testUnsupportedRows() throws Exception {
+        assertNull(RowBatchCodec.encode(F.asList(), ctx, false));
+        assertNull(RowBatchCodec.encode(Arrays.<Object>asList(new Object[] {1}, new Object[] {1, 2}), ctx, false));
+        assertNull(RowBatchCodec.encode(F.asList((Object)new int[] {1}), ctx, false));
+    }
+
+    /** */
+    private void checkRoundTrip(List<Object> rows, boolean compress) throws Exception {
+        byte[] bytes = RowBatchCodec.encode(rows, ctx, compress);
+
+        assertNotNull(bytes);
+
+        List<Object> res = RowBatchCodec.decode(bytes, ctx);
+
+        assertEquals(rows.size(), res.size());
+
+        for (int i = 0; i < rows.size(); i++)
+            assertEqualsArraysAware(rows.get(i), res.get(i));
+    }
+}
@@ -256,22 +256,22 @@ public class CorrelatedSubqueryPlannerTest extends AbstractPlannerTest {
 
         // Affinity distribution.
         String sql = "SELECT a FROM ta1 WHERE EXISTS (SELECT a FROM ta2 WHERE ta2.b = ta1.a)";
-        assertPlan(sql, schema, colocatedPredicate);
+        assertPlan(sql, schema, colocatedPredicate, "HashJoinConverter");
 
         // Hash distribution on two columns.
         sql = "SELECT a FROM th1 WHERE EXISTS (SELECT a FROM th2 WHERE th2.b = th1.a AND th2.c = th1.b)";
-        assertPlan(sql, schema, colocatedPredicate);
+        assertPlan(sql, schema, colocatedPredicate, "HashJoinConverter");
 
         sql = "SELECT a FROM th1 WHERE EXISTS (SELECT a FROM th3 WHERE th3.a = th1.a AND th3.c = th1.b)";
-        assertPlan(sql, schema, colocatedPredicate);
+        assertPlan(sql, schema, colocatedPredicate, "HashJoinConverter");
 
         // Additional AND condition in filter.
         sql = "SELECT a FROM th1 WHERE EXISTS (SELECT a FROM th2 WHERE th2.b = th1.a AND th2.c = th1.b AND th2.a = 1)";
-        assertPlan(sql, schema, colocatedPredicate);
+        assertPlan(sql, schema, colocatedPredicate, "HashJoinConverter");
 
         // Aggregate with affinity distribution.
         sql = "SELECT (SELECT sum(a) FROM ta2 WHERE ta2.b = ta1.a) FROM ta1";
-        assertPlan(sql, schema, colocatedPredicate);
+        assertPlan(sql, schema, colocatedPredicate, "HashJoinConverter");
 
         // Aggregate with set op with hash distribution on two columns.
         sql = "SELECT (SELECT sum(a) FROM (" +
@@ -279,7 +279,7 @@ public class CorrelatedSubqueryPlannerTest extends AbstractPlannerTest {
             "   INTERSECT " +
             "   SELECT a FROM th3 WHERE th3.a = th1.a AND th3.c = th1.b" +
             ")) FROM th1";
-        assertPlan(sql, schema, colocatedPredicate);
+        assertPlan(sql, schema, colocatedPredicate, "HashJoinConverter");
 
         // Condition on not colocated column.
         sql = "SELECT a FROM ta1 WHERE EXISTS (SELECT a FROM ta2 WHERE ta2.a = ta1.a)";
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.planner;
+
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteCorrelatedNestedLoopJoin;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteMergeJoin;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteNestedLoopJoin;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.junit.Test;
+
+/**
+ * Hash join planner test.
+ */
+public class HashJoinPlannerTest extends AbstractPlannerTest {
+    /** Rules to disable to get hash join only. */
+    private static final String[] DISABLED_RULES = {
+        "NestedLoopJoinConverter",
+        "CorrelatedNestedLoopJoin",
+        "MergeJoinConverter",
+        "JoinCommuteRule"
+    };
+
+    /** */
+    private static final int TBL_SIZE = 100_000;
+
+    /** Checks that equi-join of unsorted inputs is converted to hash join for all outer join types. */
+    @Test
+    public void testHashJoinOnUnsortedInputs() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("T1", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class),
+            createTable("T2", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+        );
+
+        for (String joinType : new String[] {"INNER", "LEFT", "RIGHT", "FULL"}) {
+            String sql = "select * from t1 " + joinType + " join t2 on t1.id = t2.id";
+
+            assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)
+                .and(j -> j.getJoinType() == JoinRelType.valueOf(joinType))
+                .and(input(0, isTableScan("T1")))
+                .and(input(1, isTableScan("T2")))), DISABLED_RULES);
+        }
+    }
+
+    /** Checks that hash join is used for semi and anti joins. */
+    @Test
+    public void testSemiAndAntiHashJoin() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("T1", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class),
+            createTable("T2", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+        );
+
+        assertPlan("select * from t1 where exists (select * from t2 where t1.id = t2.id)", schema,
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class).and(j -> j.getJoinType() == JoinRelType.SEMI)),
+            DISABLED_RULES);
+
+        assertPlan("select * from t1 where not exists (select * from t2 where t1.id = t2.id)", schema,
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class).and(j -> j.getJoinType() == JoinRelType.ANTI)),
+            DISABLED_RULES);
+    }
+
+    /** Checks that hash join supports a non-equi part of the condition. */
+    @Test
+    public void testHashJoinWithNonEquiCondition() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("T1", IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class),
+            createTable("T2", IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+        );
+
+        String sql = "select * from t1 join t2 on t1.id = t2.id and t1.val > t2.val";
+
+        assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)), DISABLED_RULES);
+    }
+
+    /** Checks that hash join is chosen by cost over other joins of large unsorted inputs. */
+    @Test
+    public void testHashJoinChosenByCost() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("T1", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class),
+            createTable("T2", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+        );
+
+        // Merge join requires sorting of both inputs, nested loop joins compare each pair of rows.
+        assertPlan("select * from t1 join t2 on t1.id = t2.id", schema,
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class))
+                .and(nodeOrAnyChild(isInstanceOf(IgniteMergeJoin.class)).negate())
+                .and(nodeOrAnyChild(isInstanceOf(IgniteNestedLoopJoin.class)).negate())
+                .and(nodeOrAnyChild(isInstanceOf(IgniteCorrelatedNestedLoopJoin.class)).negate()));
+    }
+
+    /** Checks that merge join is chosen by cost over hash join of inputs sorted by the join keys. */
+    @Test
+    public void testMergeJoinChosenByCostForSortedInputs() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("T1", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+                .addIndex("T1_ID", 0),
+            createTable("T2", TBL_SIZE, IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+                .addIndex("T2_ID", 0)
+        );
+
+        // Merge join reads sorted inputs without a hash table.
+        assertPlan("select * from t1 join t2 on t1.id = t2.id", schema,
+            nodeOrAnyChild(isInstanceOf(IgniteMergeJoin.class))
+                .and(nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate()),
+            "NestedLoopJoinConverter", "CorrelatedNestedLoopJoin");
+    }
+
+    /** Checks that hash join isn't used without equi-join pairs. */
+    @Test
+    public void testNoHashJoinWithoutEquiCondition() throws Exception {
+        IgniteSchema schema = createSchema(
+            createTable("T1", IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class),
+            createTable("T2", IgniteDistributions.single(), "ID", Integer.class, "VAL", String.class)
+        );
+
+        String sql = "select * from t1 join t2 on t1.id > t2.id";
+
+        assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate()
+            .and(nodeOrAnyChild(isInstanceOf(IgniteNestedLoopJoin.class))), "CorrelatedNestedLoopJoin");
+    }
+}
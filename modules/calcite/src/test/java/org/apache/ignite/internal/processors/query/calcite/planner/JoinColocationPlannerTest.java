@@ -62,7 +62,7 @@ public class JoinColocationPlannerTest extends AbstractPlannerTest {
             "from TEST_TBL t1 " +
             "join TEST_TBL t2 on t1.id = t2.id";
 
-        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "CorrelatedNestedLoopJoin");
+        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "HashJoinConverter", "CorrelatedNestedLoopJoin");
 
         IgniteMergeJoin join = findFirstNode(phys, byClass(IgniteMergeJoin.class));
 
@@ -95,7 +95,7 @@ public class JoinColocationPlannerTest extends AbstractPlannerTest {
             "from TEST_TBL t1 " +
             "join TEST_TBL t2 on t1.id1 = t2.id1 and t1.id2 = t2.id2";
 
-        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "CorrelatedNestedLoopJoin");
+        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "HashJoinConverter", "CorrelatedNestedLoopJoin");
 
         IgniteMergeJoin join = findFirstNode(phys, byClass(IgniteMergeJoin.class));
 
@@ -140,7 +140,7 @@ public class JoinColocationPlannerTest extends AbstractPlannerTest {
             "from COMPLEX_TBL t1 " +
             "join SIMPLE_TBL t2 on t1.id1 = t2.id";
 
-        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "CorrelatedNestedLoopJoin");
+        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "HashJoinConverter", "CorrelatedNestedLoopJoin");
 
         IgniteMergeJoin join = findFirstNode(phys, byClass(IgniteMergeJoin.class));
 
@@ -189,7 +189,7 @@ public class JoinColocationPlannerTest extends AbstractPlannerTest {
             "from COMPLEX_TBL_DIRECT t1 " +
             "join COMPLEX_TBL_INDIRECT t2 on t1.id1 = t2.id1 and t1.id2 = t2.id2";
 
-        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "CorrelatedNestedLoopJoin");
+        RelNode phys = physicalPlan(sql, schema, "NestedLoopJoinConverter", "HashJoinConverter", "CorrelatedNestedLoopJoin");
 
         IgniteMergeJoin exchange = findFirstNode(phys, node -> node instanceof IgniteExchange
             && ((IgniteRel)node).distribution().function().affinity());
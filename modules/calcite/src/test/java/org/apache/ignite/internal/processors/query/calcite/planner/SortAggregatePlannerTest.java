@@ -94,6 +94,7 @@ public class SortAggregatePlannerTest extends AbstractAggregatePlannerTest {
             publicSchema,
             F.concat(HASH_AGG_RULES,
                 "NestedLoopJoinConverter",
+                "HashJoinConverter",
                 "CorrelatedNestedLoopJoin",
                 "CorrelateToNestedLoopRule"
             )
@@ -17,12 +17,15 @@
 
 package org.apache.ignite.testsuites;
 
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilterTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeSortedIndexTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ContinuousExecutionTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ExchangeFlowControlTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashAggregateExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashAggregateSingleGroupExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashIndexSpoolExecutionTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.HashJoinExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.IntersectExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.LimitExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.MergeJoinExecutionTest;
@@ -30,7 +33,9 @@ import org.apache.ignite.internal.processors.query.calcite.exec.rel.MinusExecuti
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.NestedLoopJoinExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortAggregateExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortedIndexSpoolExecutionTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.SpillingExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.TableSpoolExecutionTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.WindowExecutionTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -43,6 +48,7 @@ import org.junit.runners.Suite;
     ContinuousExecutionTest.class,
     MergeJoinExecutionTest.class,
     NestedLoopJoinExecutionTest.class,
+    HashJoinExecutionTest.class,
     TableSpoolExecutionTest.class,
     SortedIndexSpoolExecutionTest.class,
     HashIndexSpoolExecutionTest.class,
@@ -52,7 +58,11 @@ import org.junit.runners.Suite;
     MinusExecutionTest.class,
     IntersectExecutionTest.class,
     RuntimeSortedIndexTest.class,
+    RuntimeJoinFilterTest.class,
     LimitExecutionTest.class,
+    SpillingExecutionTest.class,
+    WindowExecutionTest.class,
+    ExchangeFlowControlTest.class,
 })
 public class ExecutionTestSuite {
 }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.nio.ByteBuffer;
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.apache.ignite.configuration.DiskPageCompression;
+
+/**
+ * Provider of Zstd and LZ4 block compression codecs.
+ */
+public class BlockCodecProviderImpl implements BlockCodecProvider {
+    /** {@inheritDoc} */
+    @Override public BlockCodec codec(DiskPageCompression compression, int level) {
+        switch (compression) {
+            case ZSTD:
+                return new ZstdCodec(level);
+
+            case LZ4:
+                return new Lz4Codec(level);
+        }
+
+        throw new IllegalArgumentException("Unsupported block compression: " + compression);
+    }
+
+    /** */
+    private static class ZstdCodec implements BlockCodec {
+        /** */
+        private final int level;
+
+        /**
+         * @param level Compression level.
+         */
+        ZstdCodec(int level) {
+            this.level = level;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int maxCompressedLength(int len) {
+            return (int)Zstd.compressBound(len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void compress(ByteBuffer src, ByteBuffer dst) {
+            Zstd.compress(dst, src, level);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void decompress(ByteBuffer src, ByteBuffer dst) {
+            Zstd.decompress(dst, src);
+        }
+    }
+
+    /** */
+    private static class Lz4Codec implements BlockCodec {
+        /** Decompressor which validates its input, blocks have no checksums unlike pages. */
+        private static final LZ4SafeDecompressor DECOMPRESSOR = CompressionProcessorImpl.Lz4.factory.safeDecompressor();
+
+        /** */
+        private final LZ4Compressor compressor;
+
+        /**
+         * @param level Compression level.
+         */
+        Lz4Codec(int level) {
+            compressor = CompressionProcessorImpl.Lz4.getCompressor(level);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int maxCompressedLength(int len) {
+            return compressor.maxCompressedLength(len);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void compress(ByteBuffer src, ByteBuffer dst) {
+            compressor.compress(src, dst);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void decompress(ByteBuffer src, ByteBuffer dst) {
+            DECOMPRESSOR.decompress(src, dst);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Random;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedOutputStream;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.junit.Test;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.compress.CompressionProcessor.getDefaultCompressionLevel;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests block compressed files reading and writing.
+ */
+public class BlockCompressedFileIOTest {
+    /** */
+    private static final int BLOCK_SIZE = 4096;
+
+    /** Offset of the first block header: magic, version, algorithm, block size and data size. */
+    private static final int FIRST_BLOCK_OFFSET = 18;
+
+    /** */
+    @Test
+    public void testZstd() throws Exception {
+        doTest(DiskPageCompression.ZSTD);
+    }
+
+    /** */
+    @Test
+    public void testLz4() throws Exception {
+        doTest(DiskPageCompression.LZ4);
+    }
+
+    /**
+     * Checks that corrupted block sizes and truncated files are detected instead of being trusted.
+     */
+    @Test
+    public void testCorruptedFile() throws Exception {
+        byte[] data = data();
+
+        File file = Files.createTempFile("test_block_compressed_", ".bin").toFile();
+
+        try {
+            // Uncompressed size bigger than the block size.
+            write(file, data);
+            putInt(file, FIRST_BLOCK_OFFSET, BLOCK_SIZE + 1);
+            assertCorrupted(file, false);
+
+            // Negative uncompressed size.
+            write(file, data);
+            putInt(file, FIRST_BLOCK_OFFSET, -1);
+            assertCorrupted(file, false);
+
+            // Compressed size beyond the end of file, both for reading and skipping of the block.
+            write(file, data);
+            putInt(file, FIRST_BLOCK_OFFSET + Integer.BYTES, (int)file.length());
+            assertCorrupted(file, false);
+            assertCorrupted(file, true);
+
+            // Compressed size smaller than the actual one.
+            write(file, data);
+
+            try (FileChannel ch = FileChannel.open(file.toPath(), WRITE, READ)) {
+                ByteBuffer len = ByteBuffer.allocate(Integer.BYTES);
+
+                ch.read(len, FIRST_BLOCK_OFFSET + Integer.BYTES);
+
+                putInt(file, FIRST_BLOCK_OFFSET + Integer.BYTES, len.getInt(0) / 2);
+            }
+
+            assertCorrupted(file, false);
+
+            // Missing last block.
+            write(file, data);
+
+            try (FileChannel ch = FileChannel.open(file.toPath(), WRITE)) {
+                ch.truncate(FIRST_BLOCK_OFFSET);
+            }
+
+            assertCorrupted(file, false);
+        }
+        finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     */
+    private void doTest(DiskPageCompression compression) throws Exception {
+        byte[] data = data();
+
+        File file = Files.createTempFile("test_block_compressed_", ".bin").toFile();
+
+        try {
+            assertFalse(BlockCompressedFileIO.isBlockCompressed(file));
+
+            try (OutputStream out = new BlockCompressedOutputStream(file, compression,
+                getDefaultCompressionLevel(compression), BLOCK_SIZE)) {
+                out.write(data, 0, 100);
+                out.write(data[100]);
+                out.write(data, 101, data.length - 101);
+            }
+
+            assertTrue(BlockCompressedFileIO.isBlockCompressed(file));
+            assertTrue(file.length() < data.length);
+
+            // Sequential read.
+            try (FileIO io = new BlockCompressedFileIO(file)) {
+                assertEquals(data.length, io.size());
+
+                ByteBuffer buf = ByteBuffer.allocate(data.length);
+
+                while (io.read(buf) > 0) {
+                    // No-op.
+                }
+
+                assertArrayEquals(data, buf.array());
+                assertEquals(data.length, io.position());
+            }
+
+            // Skip inside a block, whole blocks and read the rest.
+            try (FileIO io = new BlockCompressedFileIO(file)) {
+                ByteBuffer buf = ByteBuffer.allocate(10);
+
+                io.position(10);
+                io.readFully(buf);
+
+                assertArrayEquals(slice(data, 10, 10), buf.array());
+
+                int pos = BLOCK_SIZE * 2 + 100;
+
+                io.position(pos);
+
+                buf = ByteBuffer.allocateDirect(data.length - pos);
+
+                io.readFully(buf);
+
+                buf.flip();
+
+                byte[] rest = new byte[buf.remaining()];
+
+                buf.get(rest);
+
+                assertArrayEquals(slice(data, pos, data.length - pos), rest);
+                assertEquals(-1, io.read(ByteBuffer.allocate(1)));
+            }
+        }
+        finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    /**
+     * Reads the whole file or skips to its end and checks that corruption is detected.
+     *
+     * @param file File.
+     * @param skip Skip the data instead of reading.
+     */
+    private static void assertCorrupted(File file, boolean skip) throws Exception {
+        try (FileIO io = new BlockCompressedFileIO(file)) {
+            if (skip)
+                io.position(io.size());
+            else {
+                ByteBuffer buf = ByteBuffer.allocate((int)io.size());
+
+                while (io.read(buf) > 0) {
+                    // No-op.
+                }
+            }
+
+            fail("Corruption is not detected: " + file);
+        }
+        catch (IOException e) {
+            assertTrue(String.valueOf(e), e.getCause() instanceof IgniteCheckedException);
+            assertTrue(e.getMessage(), e.getCause().getMessage().startsWith("Block compressed file is corrupted"));
+        }
+    }
+
+    /**
+     * @return Compressible data of several blocks.
+     */
+    private static byte[] data() {
+        byte[] data = new byte[BLOCK_SIZE * 7 / 2];
+
+        Random rnd = new Random(0);
+
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte)rnd.nextInt(8);
+
+        return data;
+    }
+
+    /**
+     * @param file File.
+     * @param data Data to write.
+     */
+    private static void write(File file, byte[] data) throws IOException {
+        try (OutputStream out = new BlockCompressedOutputStream(file, DiskPageCompression.LZ4,
+            getDefaultCompressionLevel(DiskPageCompression.LZ4), BLOCK_SIZE)) {
+            out.write(data);
+        }
+    }
+
+    /**
+     * @param file File.
+     * @param pos Position.
+     * @param val Value to write.
+     */
+    private static void putInt(File file, long pos, int val) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(Integer.BYTES).putInt(0, val);
+
+            ch.write(buf, pos);
+        }
+    }
+
+    /** */
+    private static byte[] slice(byte[] arr, int off, int len) {
+        byte[] res = new byte[len];
+
+        System.arraycopy(arr, off, res, 0, len);
+
+        return res;
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalRecover
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.EncryptedSnapshotTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.PlainSnapshotTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotCompressionBasicTest;
+import org.apache.ignite.internal.processors.compress.BlockCompressedFileIOTest;
 import org.apache.ignite.internal.processors.compress.CompressionConfigurationTest;
 import org.apache.ignite.internal.processors.compress.CompressionProcessorTest;
 import org.apache.ignite.internal.processors.compress.DiskPageCompressionConfigValidationTest;
@@ -53,6 +54,7 @@ public class IgnitePdsCompressionTestSuite {
         suite.add(CompressionConfigurationTest.class);
         suite.add(CompressionProcessorTest.class);
         suite.add(FileSystemUtilsTest.class);
+        suite.add(BlockCompressedFileIOTest.class);
         suite.add(DiskPageCompressionIntegrationTest.class);
         suite.add(DiskPageCompressionConfigValidationTest.class);
         suite.add(DiskPageCompressionIntegrationAsyncTest.class);
@@ -69,6 +69,7 @@ import static org.apache.ignite.internal.processors.affinity.AffinityAssignment.
 import static org.apache.ignite.internal.processors.affinity.GridAffinityAssignmentCache.DFLT_AFFINITY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.affinity.GridAffinityAssignmentCache.DFLT_PART_DISTRIBUTION_WARN_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.CacheAffinitySharedManager.DFLT_CLIENT_CACHE_CHANGE_MESSAGE_TIMEOUT;
+import static org.apache.ignite.internal.processors.cache.CacheGroupContext.DFLT_CACHE_ENTRY_LOCK_STRIPES;
 import static org.apache.ignite.internal.processors.cache.CacheObjectsReleaseFuture.DFLT_IGNITE_PARTITION_RELEASE_FUTURE_WARN_LIMIT;
 import static org.apache.ignite.internal.processors.cache.GridCacheAdapter.DFLT_CACHE_RETRIES_COUNT;
 import static org.apache.ignite.internal.processors.cache.GridCacheAdapter.DFLT_CACHE_START_SIZE;
@@ -102,6 +103,7 @@ import static org.apache.ignite.internal.processors.cache.persistence.diagnostic
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.FullPageIdTable.DFLT_LONG_LONG_HASH_MAP_LOAD_FACTOR;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_PDS_READ_AHEAD_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy.DFLT_THROTTLE_LOG_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT;
@@ -581,6 +583,17 @@ public final class IgniteSystemProperties {
         type = Long.class, defaults = "" + DFLT_CACHE_REMOVE_ENTRIES_TTL)
     public static final String IGNITE_CACHE_REMOVED_ENTRIES_TTL = "IGNITE_CACHE_REMOVED_ENTRIES_TTL";
 
+    /**
+     * Number of locks shared by on-heap cache entries of an atomic cache group. If positive, entries don't allocate
+     * own locks and use one of the shared locks chosen by key hash instead, which makes on-heap entries more compact.
+     * Rounded up to the power of two. Entries of transactional caches and near cache entries always have own locks.
+     */
+    @SystemProperty(value = "Number of locks shared by on-heap cache entries of an atomic cache group. If positive, " +
+        "entries use shared locks chosen by key hash instead of own locks. 0 means each entry has own lock. " +
+        "Entries of transactional caches and near cache entries always have own locks",
+        type = Integer.class, defaults = "" + DFLT_CACHE_ENTRY_LOCK_STRIPES)
+    public static final String IGNITE_CACHE_ENTRY_LOCK_STRIPES = "IGNITE_CACHE_ENTRY_LOCK_STRIPES";
+
     /**
      * Comma separated list of addresses in format "10.100.22.100:45000,10.100.22.101:45000".
      * Makes sense only for {@link org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder}.
@@ -1033,6 +1046,14 @@ public final class IgniteSystemProperties {
         "By default, the natural order is used")
     public static final String IGNITE_BINARY_SORT_OBJECT_FIELDS = "IGNITE_BINARY_SORT_OBJECT_FIELDS";
 
+    /**
+     * When set to {@code true} BinaryMarshaller serializes fields of reflectively serialized classes with a serializer
+     * specialized for the class schema at the class registration. Binary layout of objects is not affected.
+     */
+    @SystemProperty("Enables serializers of binary classes specialized for the class schema at the class " +
+        "registration instead of the per field reflective accessors. Binary layout of objects is not affected")
+    public static final String IGNITE_BINARY_SPECIALIZED_SERIALIZERS = "IGNITE_BINARY_SPECIALIZED_SERIALIZERS";
+
     /**
      * Whether Ignite can access unaligned memory addresses.
      * <p>
@@ -1338,6 +1359,15 @@ public final class IgniteSystemProperties {
         "this mode", defaults = "true")
     public static final String IGNITE_DIRECT_IO_ENABLED = "IGNITE_DIRECT_IO_ENABLED";
 
+    /**
+     * When set to {@code true}, page store files are written through Linux io_uring instead of direct IO. io_uring is
+     * used only if JAR file with direct IO feature is available in classpath and the kernel supports it.
+     * Default is {@code false}.
+     */
+    @SystemProperty("Enables io_uring for page store files. io_uring is used only if JAR file with direct IO " +
+        "feature is available in classpath and the kernel supports it")
+    public static final String IGNITE_IO_URING_ENABLED = "IGNITE_IO_URING_ENABLED";
+
     /**
      * When set to {@code true}, warnings that are intended for development environments and not for production
      * (such as coding mistakes in code using Ignite) will not be logged.
@@ -1381,6 +1411,17 @@ public final class IgniteSystemProperties {
         "deletion'", defaults = "" + DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP)
     public static final String IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP = "IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP";
 
+    /**
+     * Number of pages read ahead from a partition file in a single operation when sequential reads of the partition
+     * pages are detected (e.g. by full scans or rebalancing). Read-ahead is used only with page replacement modes
+     * supporting low priority page loading (all but {@code RANDOM_LRU}). Default is {@code 0} (disabled).
+     */
+    @SystemProperty(value = "Number of pages read ahead from a partition file in a single operation when " +
+        "sequential reads of the partition pages are detected. Requires page replacement mode other than " +
+        "RANDOM_LRU. Zero disables read-ahead", type = Integer.class,
+        defaults = "" + DFLT_PDS_READ_AHEAD_PAGES)
+    public static final String IGNITE_PDS_READ_AHEAD_PAGES = "IGNITE_PDS_READ_AHEAD_PAGES";
+
     /**
      * Property for setup percentage of archive size for checkpoint trigger. Default value is 0.25
      */
@@ -2058,6 +2099,22 @@ public final class IgniteSystemProperties {
         type = Integer.class)
     public static final String IGNITE_CALCITE_EXEC_IO_BATCH_CNT = "IGNITE_CALCITE_EXEC_IO_BATCH_CNT";
 
+    /**
+     * Calcite-based SQL engine. Compress serialized rows of outgoing data message if its size exceeds 4 KB.
+     */
+    @SystemProperty(value = "Calcite-based SQL engine. Compress serialized rows of outgoing data message if its size " +
+        "exceeds 4 KB")
+    public static final String IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION = "IGNITE_CALCITE_EXEC_IO_BATCH_COMPRESSION";
+
+    /**
+     * Calcite-based SQL engine. Send runtime join filters built from hash join build side keys to the sources of the
+     * probe side, so probe rows without a match aren't sent over the network. Default is {@code true}.
+     */
+    @SystemProperty(value = "Calcite-based SQL engine. Send runtime join filters built from hash join build side keys " +
+        "to the sources of the probe side, so probe rows without a match aren't sent over the network",
+        defaults = "true")
+    public static final String IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER = "IGNITE_CALCITE_EXEC_RUNTIME_JOIN_FILTER";
+
     /**
      * Calcite-based SQL engine. Pretty print serialized to JSON plan, when sending it to remote nodes.
      */
@@ -21,6 +21,7 @@ import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import org.apache.ignite.configuration.BinaryConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -55,6 +56,9 @@ public class BinaryTypeConfiguration implements Serializable {
     /** Enum names to ordinals mapping. */
     private Map<String, Integer> enumValues;
 
+    /** Fixed layout flag. */
+    private boolean fixedLayout;
+
     /**
      * Constructor.
      */
@@ -75,6 +79,7 @@ public class BinaryTypeConfiguration implements Serializable {
         serializer = other.serializer;
         enumValues = other.enumValues != null ? new LinkedHashMap<>(other.enumValues) : null;
         typeName = other.typeName;
+        fixedLayout = other.fixedLayout;
     }
 
     /**
@@ -208,6 +213,37 @@ public class BinaryTypeConfiguration implements Serializable {
         return enumValues;
     }
 
+    /**
+     * Gets whether objects of this type are written in the fixed layout.
+     *
+     * @return {@code True} if fixed layout is enabled.
+     * @see #setFixedLayout(boolean)
+     */
+    public boolean isFixedLayout() {
+        return fixedLayout;
+    }
+
+    /**
+     * Sets whether objects of this type are written in the fixed layout. It reduces the size of small objects of
+     * reflectively serialized types with primitive fields only: such objects are written without the footer with
+     * field offsets, the offsets are derived from the registered schema of the type instead. Objects of other types
+     * and objects written with custom serializers are not affected.
+     * <p>
+     * The layout requires compact footer (see {@link BinaryConfiguration#isCompactFooter()}) and is supported by
+     * Java nodes only. The configuration is rejected if the node can serve .NET or C++ applications or thin clients
+     * (see {@link IgniteConfiguration#getPlatformConfiguration()} and
+     * {@link ClientConnectorConfiguration#isThinClientEnabled()}). Objects are written in the usual layout while
+     * the cluster has nodes which don't support the fixed one, and such nodes can't join the cluster afterwards.
+     *
+     * @param fixedLayout {@code True} to enable fixed layout.
+     * @return {@code this} for chaining.
+     */
+    public BinaryTypeConfiguration setFixedLayout(boolean fixedLayout) {
+        this.fixedLayout = fixedLayout;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(BinaryTypeConfiguration.class, this, super.toString());
@@ -38,6 +38,9 @@ public class CdcConfiguration {
     /** */
     private static final boolean DFLT_KEEP_BINARY = true;
 
+    /** */
+    private static final int DFLT_WAL_RECORDS_DESERIALIZATION_PARALLELISM = 1;
+
     /** Change Data Capture consumer. */
     private CdcConsumer consumer;
 
@@ -61,6 +64,13 @@ public class CdcConfiguration {
      */
     private long checkFreq = DFLT_CHECK_FREQ;
 
+    /**
+     * Number of threads to deserialize WAL records. If greater than {@code 1}, WAL segment is read by a separate
+     * thread while records are deserialized in parallel. Records are passed to the consumer in WAL order.
+     * Default is {@code 1}: records are read and deserialized by the CDC application thread.
+     */
+    private int walRecordsDeserializationParallelism = DFLT_WAL_RECORDS_DESERIALIZATION_PARALLELISM;
+
     /** @return CDC consumer. */
     public CdcConsumer getConsumer() {
         return consumer;
@@ -124,4 +134,14 @@ public class CdcConfiguration {
     public void setCheckFrequency(long checkFreq) {
         this.checkFreq = checkFreq;
     }
+
+    /** @return Number of threads to deserialize WAL records. */
+    public int getWalRecordsDeserializationParallelism() {
+        return walRecordsDeserializationParallelism;
+    }
+
+    /** @param walRecordsDeserializationParallelism Number of threads to deserialize WAL records. */
+    public void setWalRecordsDeserializationParallelism(int walRecordsDeserializationParallelism) {
+        this.walRecordsDeserializationParallelism = walRecordsDeserializationParallelism;
+    }
 }
@@ -122,6 +122,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Default checkpoint write order. */
     public static final CheckpointWriteOrder DFLT_CHECKPOINT_WRITE_ORDER = CheckpointWriteOrder.SEQUENTIAL;
 
+    /** Default size of page deltas log of a partition file, page deltas are disabled by default. */
+    public static final long DFLT_CHECKPOINT_PAGE_DELTAS_LOG_SIZE = 0;
+
     /** Default number of checkpoints to be kept in WAL after checkpoint is finished */
     public static final int DFLT_WAL_HISTORY_SIZE = 20;
 
@@ -226,6 +229,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Checkpoint write order. */
     private CheckpointWriteOrder checkpointWriteOrder = DFLT_CHECKPOINT_WRITE_ORDER;
 
+    /** Size of page deltas log of a partition file which triggers compaction. */
+    private long checkpointPageDeltasLogSize = DFLT_CHECKPOINT_PAGE_DELTAS_LOG_SIZE;
+
     /** Number of checkpoints to keep */
     private int walHistSize = DFLT_WAL_HISTORY_SIZE;
 
@@ -325,6 +331,9 @@ public class DataStorageConfiguration implements Serializable {
      */
     private int walCompactionLevel = DFLT_WAL_COMPACTION_LEVEL;
 
+    /** Compression algorithm for WAL compaction or {@code null} to use ZIP. */
+    private DiskPageCompression walCompactionAlgorithm;
+
     /** Timeout for checkpoint read lock acquisition. */
     private Long checkpointReadLockTimeout;
 
@@ -1032,9 +1041,11 @@ public class DataStorageConfiguration implements Serializable {
      * It limits minimum time interval between WAL fsyncs. First thread that initiates WAL fsync will wait for
      * this number of nanoseconds, another threads will just wait fsync of first thread (similar to CyclicBarrier).
      * Total throughput should increase under load as total WAL fsync rate will be limited.
+     * Under concurrent load the delay is increased automatically, up to a half of the observed fsync duration,
+     * to serve more committing transactions by a single fsync. Zero value disables the waiting.
      */
     public long getWalFsyncDelayNanos() {
-        return walFsyncDelay <= 0 ? DFLT_WAL_FSYNC_DELAY : walFsyncDelay;
+        return walFsyncDelay < 0 ? DFLT_WAL_FSYNC_DELAY : walFsyncDelay;
     }
 
     /**
@@ -1042,8 +1053,13 @@ public class DataStorageConfiguration implements Serializable {
      * It limits minimum time interval between WAL fsyncs. First thread that initiates WAL fsync will wait for
      * this number of nanoseconds, another threads will just wait fsync of first thread (similar to CyclicBarrier).
      * Total throughput should increase under load as total WAL fsync rate will be limited.
+     * Under concurrent load the delay is increased automatically, up to a half of the observed fsync duration,
+     * to serve more committing transactions by a single fsync.
+     * <p>
+     * Zero value disables the waiting, so each fsync is started at once. Note that before Ignite 2.15 zero value meant
+     * the default delay. Negative value means the default delay {@link #DFLT_WAL_FSYNC_DELAY}.
      *
-     * @param walFsyncDelayNanos Wal fsync delay, in nanoseconds.
+     * @param walFsyncDelayNanos Wal fsync delay, in nanoseconds, zero to disable the waiting, negative for the default.
      * @return {@code this} for chaining.
      */
     public DataStorageConfiguration setWalFsyncDelayNanos(long walFsyncDelayNanos) {
@@ -1186,6 +1202,38 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets size of page deltas log of a partition file which triggers compaction of the log.
+     *
+     * @return Size of page deltas log in bytes, {@code 0} if page deltas are disabled.
+     * @see #setCheckpointPageDeltasLogSize(long)
+     */
+    public long getCheckpointPageDeltasLogSize() {
+        return checkpointPageDeltasLogSize;
+    }
+
+    /**
+     * Sets size of page deltas log of a partition file which triggers compaction of the log.
+     * <p>
+     * If set to a positive value, a checkpoint writes pages with only a small changed part as deltas to a log file
+     * next to the partition file instead of rewriting the whole pages. Partition reads merge pages with their deltas.
+     * Deltas are compacted into the partition file at the end of a checkpoint once the log exceeds the given size,
+     * and when the partition file is closed. Deltas are kept in memory until compaction.
+     * <p>
+     * This reduces disk write volume of update-heavy workloads at the cost of an extra read of each written page.
+     * Cache snapshots are not supported in this mode.
+     *
+     * @param checkpointPageDeltasLogSize Size of page deltas log in bytes, {@code 0} to disable page deltas.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setCheckpointPageDeltasLogSize(long checkpointPageDeltasLogSize) {
+        A.ensure(checkpointPageDeltasLogSize >= 0, "Page deltas log size must be non-negative.");
+
+        this.checkpointPageDeltasLogSize = checkpointPageDeltasLogSize;
+
+        return this;
+    }
+
     /**
      * @return Flag indicating whether WAL compaction is enabled.
      */
@@ -1219,6 +1267,31 @@ public class DataStorageConfiguration implements Serializable {
         this.walCompactionLevel = walCompactionLevel;
     }
 
+    /**
+     * Gets compression algorithm for WAL compaction.
+     *
+     * @return Compression algorithm or {@code null} if ZIP is used.
+     * @see #setWalCompactionAlgorithm(DiskPageCompression)
+     */
+    public DiskPageCompression getWalCompactionAlgorithm() {
+        return walCompactionAlgorithm;
+    }
+
+    /**
+     * Sets compression algorithm for WAL compaction. {@link DiskPageCompression#ZSTD} and
+     * {@link DiskPageCompression#LZ4} are supported, both require ignite-compress module in classpath. Segments are
+     * compressed by independent blocks with the algorithm's default level and can be read without full decompression.
+     * Otherwise, segments are compressed to ZIP with {@link #getWalCompactionLevel() compaction level}.
+     *
+     * @param walCompactionAlgorithm Compression algorithm or {@code null} to use ZIP.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalCompactionAlgorithm(DiskPageCompression walCompactionAlgorithm) {
+        this.walCompactionAlgorithm = walCompactionAlgorithm;
+
+        return this;
+    }
+
     /**
      * Returns timeout for checkpoint read lock acquisition.
      *
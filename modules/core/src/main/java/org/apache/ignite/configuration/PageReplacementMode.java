@@ -70,7 +70,24 @@ public enum PageReplacementMode {
      * This algorithm has near to zero maintenance cost and replacement policy efficiency between random-LRU and
      * segmented-LRU.
      */
-    CLOCK;
+    CLOCK,
+
+    /**
+     * Adaptive-LRU algorithm.
+     *
+     * Adaptive variation of the segmented-LRU algorithm inspired by the Adaptive Replacement Cache (ARC). Pages list is
+     * divided into the probationary segment (pages accessed once since load) and the protected segment (pages accessed
+     * at least twice), but the protected segment limit is adjusted on the fly. The algorithm remembers recently
+     * replaced pages in a ghost table. When a replaced page is loaded again, it is considered frequently accessed and
+     * the segment it was replaced from grows: the algorithm moves between recency and frequency depending on the
+     * workload.
+     *
+     * Pages loaded by large one-time scans (scan queries, index rebuild) are placed to the least recently accessed end
+     * of the probationary segment and their hits don't promote them, so scans don't flush the hot working set.
+     *
+     * This algorithm has the memory and maintenance costs of segmented-LRU plus 4 bytes per page for the ghost table.
+     */
+    ADAPTIVE_LRU;
 
     /** Enumerated values. */
     private static final PageReplacementMode[] VALS = values();
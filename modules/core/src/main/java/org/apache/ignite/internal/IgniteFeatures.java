@@ -20,6 +20,7 @@ package org.apache.ignite.internal;
 import java.util.BitSet;
 import java.util.Collection;
 import org.apache.ignite.IgniteEncryption;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.cluster.ClusterState;
 import org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi;
@@ -142,7 +143,10 @@ public enum IgniteFeatures {
     PERFORMANCE_STATISTICS(48),
 
     /** Restore cache group from the snapshot. */
-    SNAPSHOT_RESTORE_CACHE_GROUP(49);
+    SNAPSHOT_RESTORE_CACHE_GROUP(49),
+
+    /** Binary objects written in the fixed layout. See {@link BinaryTypeConfiguration#isFixedLayout()}. */
+    BINARY_FIXED_LAYOUT(50);
 
     /**
      * Unique feature identifier.
@@ -37,6 +37,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.binary.BinaryObjectException;
 import org.apache.ignite.binary.BinaryReflectiveSerializer;
 import org.apache.ignite.binary.BinarySerializer;
@@ -54,6 +55,7 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.marshaller.MarshallerExclusions;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BINARY_SPECIALIZED_SERIALIZERS;
 import static org.apache.ignite.internal.processors.query.QueryUtils.isGeometryClass;
 import static org.apache.ignite.internal.util.IgniteUtils.isLambda;
 
@@ -98,6 +100,12 @@ public class BinaryClassDescriptor {
     /** */
     private final BinaryFieldAccessor[] fields;
 
+    /** Serializer of fields specialized for the class schema, {@code null} if fields are serialized reflectively. */
+    private final BinarySpecializedFieldsSerializer fieldsSer;
+
+    /** Whether objects are written in the fixed layout. */
+    private final boolean fixedLayout;
+
     /** Write replacer. */
     private final BinaryWriteReplacer writeReplacer;
 
@@ -396,6 +404,11 @@ public class BinaryClassDescriptor {
                 throw new BinaryObjectException("Invalid mode: " + mode);
         }
 
+        fieldsSer = fields != null && IgniteSystemProperties.getBoolean(IGNITE_BINARY_SPECIALIZED_SERIALIZERS) ?
+            new BinarySpecializedFieldsSerializer(fields) : null;
+
+        fixedLayout = userType && !F.isEmpty(fields) && primitiveFields(fields) && ctx.isFixedLayout(typeId);
+
         BinaryWriteReplacer writeReplacer0 = BinaryUtils.writeReplacer(cls);
 
         Method writeReplaceMthd;
@@ -416,6 +429,19 @@ public class BinaryClassDescriptor {
         writeReplacer = writeReplacer0;
     }
 
+    /**
+     * @param fields Field accessors.
+     * @return {@code True} if all fields are primitive.
+     */
+    private static boolean primitiveFields(BinaryFieldAccessor[] fields) {
+        for (BinaryFieldAccessor field : fields) {
+            if (field.primitiveOffset() < 0)
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * Find all fields with duplicate names in the class.
      *
@@ -881,8 +907,12 @@ public class BinaryClassDescriptor {
 
                     if (preWrite(writer, obj)) {
                         try {
-                            for (BinaryFieldAccessor info : fields)
-                                info.write(obj, writer);
+                            if (fieldsSer != null)
+                                fieldsSer.write(obj, writer);
+                            else {
+                                for (BinaryFieldAccessor info : fields)
+                                    info.write(obj, writer);
+                            }
 
                             writer.schemaId(stableSchema.schemaId());
 
@@ -947,8 +977,12 @@ public class BinaryClassDescriptor {
 
                     reader.setHandle(res);
 
-                    for (BinaryFieldAccessor info : fields)
-                        info.read(res, reader);
+                    if (fieldsSer != null)
+                        fieldsSer.read(res, reader);
+                    else {
+                        for (BinaryFieldAccessor info : fields)
+                            info.read(res, reader);
+                    }
 
                     break;
 
@@ -1063,7 +1097,7 @@ public class BinaryClassDescriptor {
      * @param writer Writer.
      */
     private void postWrite(BinaryWriterExImpl writer) {
-        writer.postWrite(userType, registered);
+        writer.postWrite(userType, registered, fixedLayout && ctx.fixedLayoutEnabled());
     }
 
     /**
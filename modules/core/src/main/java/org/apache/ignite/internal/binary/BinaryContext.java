@@ -62,6 +62,7 @@ import org.apache.ignite.cache.CacheKeyConfiguration;
 import org.apache.ignite.cache.affinity.AffinityKey;
 import org.apache.ignite.cache.affinity.AffinityKeyMapped;
 import org.apache.ignite.configuration.BinaryConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.DuplicateTypeIdException;
 import org.apache.ignite.internal.UnregisteredBinaryTypeException;
@@ -159,6 +160,15 @@ public class BinaryContext {
     /** Affinity key field names. */
     private final ConcurrentMap<Integer, BinaryIdentityResolver> identities = new ConcurrentHashMap<>(0);
 
+    /** IDs of types with fixed layout. */
+    private final Set<Integer> fixedLayoutTypes = ConcurrentHashMap.newKeySet();
+
+    /** Relative field offsets of objects with fixed layout by type ID and schema ID. */
+    private final ConcurrentMap<Integer, ConcurrentMap<Integer, int[]>> fixedLayoutOffs = new ConcurrentHashMap<>(0);
+
+    /** Whether objects can be written in the fixed layout, i.e. all nodes of the cluster are able to read them. */
+    private volatile boolean fixedLayoutEnabled;
+
     /** */
     private BinaryMetadataHandler metaHnd;
 
@@ -357,6 +367,22 @@ public class BinaryContext {
         compactFooter = binaryCfg.isCompactFooter();
     }
 
+    /**
+     * Checks that objects of a type with fixed layout can't be requested by applications which can't read them.
+     *
+     * @param clsName Class name.
+     * @throws BinaryObjectException If the node serves platform applications or thin clients.
+     * @see BinaryTypeConfiguration#isFixedLayout()
+     */
+    private void validateFixedLayout(String clsName) throws BinaryObjectException {
+        ClientConnectorConfiguration cliConnCfg = igniteCfg.getClientConnectorConfiguration();
+
+        if (igniteCfg.getPlatformConfiguration() != null || cliConnCfg != null && cliConnCfg.isThinClientEnabled()) {
+            throw new BinaryObjectException("Fixed layout is supported by Java nodes only and can't be enabled if " +
+                "platform configuration is set or thin clients are enabled [typeName=" + clsName + ']');
+        }
+    }
+
     /**
      * @param globalIdMapper ID mapper.
      * @param globalSerializer Serializer.
@@ -393,12 +419,18 @@ public class BinaryContext {
 
                 BinaryInternalMapper mapper = resolveMapper(nameMapper, idMapper);
 
+                if (typeCfg.isFixedLayout())
+                    validateFixedLayout(clsName);
+
                 if (clsName.endsWith(".*")) {
                     String pkgName = clsName.substring(0, clsName.length() - 2);
 
                     for (String clsName0 : classesInPackage(pkgName)) {
                         String affField = affFields.remove(clsName0);
 
+                        if (typeCfg.isFixedLayout())
+                            fixedLayoutTypes.add(mapper.typeId(clsName0));
+
                         descs.add(clsName0, mapper, serializer, identity, affField,
                             typeCfg.isEnum(), typeCfg.getEnumValues(), true);
                     }
@@ -406,6 +438,9 @@ public class BinaryContext {
                 else {
                     String affField = affFields.remove(clsName);
 
+                    if (typeCfg.isFixedLayout())
+                        fixedLayoutTypes.add(mapper.typeId(clsName));
+
                     descs.add(clsName, mapper, serializer, identity, affField,
                         typeCfg.isEnum(), typeCfg.getEnumValues(), false);
                 }
@@ -1344,6 +1379,62 @@ public class BinaryContext {
         return compactFooter;
     }
 
+    /**
+     * @param typeId Type ID.
+     * @return Whether objects of the type should be written in the fixed layout if possible.
+     * @see BinaryUtils#FLAG_FIXED_LAYOUT
+     */
+    public boolean isFixedLayout(int typeId) {
+        return fixedLayoutTypes.contains(typeId);
+    }
+
+    /**
+     * @return Whether the fixed layout is configured for any type.
+     */
+    public boolean hasFixedLayoutTypes() {
+        return !fixedLayoutTypes.isEmpty();
+    }
+
+    /**
+     * @return Whether objects of types with fixed layout are written in this layout.
+     */
+    public boolean fixedLayoutEnabled() {
+        return fixedLayoutEnabled;
+    }
+
+    /**
+     * Enables or disables writing of objects in the fixed layout. It is disabled by default and is enabled only
+     * while all nodes of the cluster support the layout.
+     *
+     * @param fixedLayoutEnabled Whether objects of types with fixed layout are written in this layout.
+     */
+    public void fixedLayoutEnabled(boolean fixedLayoutEnabled) {
+        this.fixedLayoutEnabled = fixedLayoutEnabled;
+    }
+
+    /**
+     * @param typeId Type ID.
+     * @param schemaId Schema ID.
+     * @return Relative field offsets of objects with fixed layout in the schema order, {@code null} if not known yet.
+     */
+    @Nullable public int[] fixedLayoutOffsets(int typeId, int schemaId) {
+        ConcurrentMap<Integer, int[]> offs = fixedLayoutOffs.get(typeId);
+
+        return offs != null ? offs.get(schemaId) : null;
+    }
+
+    /**
+     * Saves relative field offsets of objects with fixed layout. The offsets depend on the field types only, which
+     * are the same for all objects of the schema.
+     *
+     * @param typeId Type ID.
+     * @param schemaId Schema ID.
+     * @param offs Relative field offsets in the schema order.
+     */
+    public void fixedLayoutOffsets(int typeId, int schemaId, int[] offs) {
+        fixedLayoutOffs.computeIfAbsent(typeId, id -> new ConcurrentHashMap<>()).putIfAbsent(schemaId, offs);
+    }
+
     /**
      * Get schema registry for type ID.
      *
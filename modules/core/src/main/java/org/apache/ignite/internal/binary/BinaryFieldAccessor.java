@@ -145,6 +145,13 @@ public abstract class BinaryFieldAccessor {
         return mode;
     }
 
+    /**
+     * @return Offset of the primitive field or {@code -1} if the field is not primitive.
+     */
+    long primitiveOffset() {
+        return -1;
+    }
+
     /**
      * Write field.
      *
@@ -223,6 +230,11 @@ public abstract class BinaryFieldAccessor {
 
             offset = GridUnsafe.objectFieldOffset(field);
         }
+
+        /** {@inheritDoc} */
+        @Override long primitiveOffset() {
+            return offset;
+        }
     }
 
     /**
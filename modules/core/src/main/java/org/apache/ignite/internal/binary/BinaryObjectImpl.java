@@ -337,7 +337,8 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
         int orderBase = start + schemaOff + fieldIdLen;
         int orderMultiplier = fieldIdLen + fieldOffLen;
 
-        return new BinarySerializedFieldComparator(this, arr, 0L, start, orderBase, orderMultiplier, fieldOffLen);
+        return new BinarySerializedFieldComparator(this, arr, 0L, start, orderBase, orderMultiplier, fieldOffLen,
+            BinaryUtils.isFixedLayout(flags) ? BinaryUtils.fixedLayoutOffsets(ctx, arr, start) : null);
     }
 
     /** {@inheritDoc} */
@@ -382,7 +383,9 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
 
         int fieldPos;
 
-        if (fieldOffLen == BinaryUtils.OFFSET_1)
+        if (BinaryUtils.isFixedLayout(flags))
+            fieldPos = start + BinaryUtils.fixedLayoutOffsets(ctx, arr, start)[order];
+        else if (fieldOffLen == BinaryUtils.OFFSET_1)
             fieldPos = start + ((int)BinaryPrimitives.readByte(arr, fieldOffsetPos) & 0xFF);
         else if (fieldOffLen == BinaryUtils.OFFSET_2)
             fieldPos = start + ((int)BinaryPrimitives.readShort(arr, fieldOffsetPos) & 0xFFFF);
@@ -528,7 +531,9 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
 
         int fieldPos;
 
-        if (fieldOffsetLen == BinaryUtils.OFFSET_1)
+        if (BinaryUtils.isFixedLayout(flags))
+            fieldPos = start + BinaryUtils.fixedLayoutOffsets(ctx, arr, start)[order];
+        else if (fieldOffsetLen == BinaryUtils.OFFSET_1)
             fieldPos = start + ((int)BinaryPrimitives.readByte(arr, fieldOffsetPos) & 0xFF);
         else if (fieldOffsetLen == BinaryUtils.OFFSET_2)
             fieldPos = start + ((int)BinaryPrimitives.readShort(arr, fieldOffsetPos) & 0xFFFF);
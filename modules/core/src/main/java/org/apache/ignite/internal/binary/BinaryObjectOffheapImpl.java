@@ -218,7 +218,8 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
         int orderBase = start + schemaOff + fieldIdLen;
         int orderMultiplier = fieldIdLen + fieldOffLen;
 
-        return new BinarySerializedFieldComparator(this, null, ptr, start, orderBase, orderMultiplier, fieldOffLen);
+        return new BinarySerializedFieldComparator(this, null, ptr, start, orderBase, orderMultiplier, fieldOffLen,
+            BinaryUtils.isFixedLayout(flags) ? BinaryUtils.fixedLayoutOffsets(ctx, ptr, start) : null);
     }
 
     /** {@inheritDoc} */
@@ -263,7 +264,9 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
 
         int fieldPos;
 
-        if (fieldOffLen == BinaryUtils.OFFSET_1)
+        if (BinaryUtils.isFixedLayout(flags))
+            fieldPos = start + BinaryUtils.fixedLayoutOffsets(ctx, ptr, start)[order];
+        else if (fieldOffLen == BinaryUtils.OFFSET_1)
             fieldPos = start + ((int)BinaryPrimitives.readByte(ptr, fieldOffsetPos) & 0xFF);
         else if (fieldOffLen == BinaryUtils.OFFSET_2)
             fieldPos = start + ((int)BinaryPrimitives.readShort(ptr, fieldOffsetPos) & 0xFFFF);
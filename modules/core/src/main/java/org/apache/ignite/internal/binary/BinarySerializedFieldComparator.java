@@ -48,6 +48,9 @@ public class BinarySerializedFieldComparator {
     /** Field offset length. */
     private final int fieldOffLen;
 
+    /** Relative field offsets of the object with fixed layout, {@code null} if offsets are stored in the footer. */
+    private final int[] fixedLayoutOffs;
+
     /** Current field order. */
     private int curFieldOrder;
 
@@ -64,9 +67,11 @@ public class BinarySerializedFieldComparator {
      * @param orderBase Order base.
      * @param orderMultiplier Order multiplier.
      * @param fieldOffLen Field offset length.
+     * @param fixedLayoutOffs Relative field offsets of the object with fixed layout, {@code null} if offsets are
+     *      stored in the footer.
      */
     public BinarySerializedFieldComparator(BinaryObjectExImpl obj, byte[] arr, long ptr, int startOff, int orderBase,
-        int orderMultiplier, int fieldOffLen) {
+        int orderMultiplier, int fieldOffLen, int[] fixedLayoutOffs) {
         assert arr != null && ptr == 0L || arr == null && ptr != 0L;
 
         this.obj = obj;
@@ -76,6 +81,7 @@ public class BinarySerializedFieldComparator {
         this.orderBase = orderBase;
         this.orderMultiplier = orderMultiplier;
         this.fieldOffLen = fieldOffLen;
+        this.fixedLayoutOffs = fixedLayoutOffs;
     }
 
     /**
@@ -88,6 +94,8 @@ public class BinarySerializedFieldComparator {
 
         if (order == BinarySchema.ORDER_NOT_FOUND)
             curFieldPos = POS_NOT_FOUND;
+        else if (fixedLayoutOffs != null)
+            curFieldPos = startOff + fixedLayoutOffs[order];
         else {
             int pos = orderBase + order * orderMultiplier;
 
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.binary;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Fields serializer of a class with a stable schema specialized at the class descriptor creation.
+ * <p>
+ * Reflective serialization calls a polymorphic {@link BinaryFieldAccessor} for each field, so the call site is
+ * megamorphic and none of the accessors can be inlined. This serializer flattens the field list into arrays of
+ * field IDs, types and offsets and handles primitive fields in a single monomorphic loop. Only non-primitive
+ * fields are delegated to their accessors. Binary layout of the written objects is the same.
+ */
+class BinarySpecializedFieldsSerializer {
+    /** Marker of a non-primitive field. */
+    private static final byte NON_PRIMITIVE = 0;
+
+    /** Field accessors. */
+    private final BinaryFieldAccessor[] fields;
+
+    /** Field IDs. */
+    private final int[] ids;
+
+    /** Field type flags for primitive fields or {@link #NON_PRIMITIVE}. */
+    private final byte[] types;
+
+    /** Offsets of primitive fields. */
+    private final long[] offsets;
+
+    /**
+     * @param fields Field accessors in the schema order.
+     */
+    BinarySpecializedFieldsSerializer(BinaryFieldAccessor[] fields) {
+        this.fields = fields;
+
+        ids = new int[fields.length];
+        types = new byte[fields.length];
+        offsets = new long[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            BinaryFieldAccessor field = fields[i];
+
+            ids[i] = field.id;
+            offsets[i] = field.primitiveOffset();
+            types[i] = offsets[i] < 0 ? NON_PRIMITIVE : primitiveType(field.mode());
+        }
+    }
+
+    /**
+     * @param mode Field write mode.
+     * @return Type flag of the primitive field.
+     */
+    private static byte primitiveType(BinaryWriteMode mode) {
+        switch (mode) {
+            case P_BYTE:
+                return GridBinaryMarshaller.BYTE;
+
+            case P_BOOLEAN:
+                return GridBinaryMarshaller.BOOLEAN;
+
+            case P_SHORT:
+                return GridBinaryMarshaller.SHORT;
+
+            case P_CHAR:
+                return GridBinaryMarshaller.CHAR;
+
+            case P_INT:
+                return GridBinaryMarshaller.INT;
+
+            case P_LONG:
+                return GridBinaryMarshaller.LONG;
+
+            case P_FLOAT:
+                return GridBinaryMarshaller.FLOAT;
+
+            case P_DOUBLE:
+                return GridBinaryMarshaller.DOUBLE;
+
+            default:
+                return NON_PRIMITIVE;
+        }
+    }
+
+    /**
+     * Writes fields of the object.
+     *
+     * @param obj Object.
+     * @param writer Writer.
+     * @throws BinaryObjectException If failed.
+     */
+    void write(Object obj, BinaryWriterExImpl writer) throws BinaryObjectException {
+        for (int i = 0; i < ids.length; i++) {
+            byte type = types[i];
+
+            if (type == NON_PRIMITIVE) {
+                fields[i].write(obj, writer);
+
+                continue;
+            }
+
+            writer.writeFieldIdNoSchemaUpdate(ids[i]);
+
+            long off = offsets[i];
+
+            switch (type) {
+                case GridBinaryMarshaller.BYTE:
+                    writer.writeByteFieldPrimitive(GridUnsafe.getByteField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.BOOLEAN:
+                    writer.writeBooleanFieldPrimitive(GridUnsafe.getBooleanField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.SHORT:
+                    writer.writeShortFieldPrimitive(GridUnsafe.getShortField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.CHAR:
+                    writer.writeCharFieldPrimitive(GridUnsafe.getCharField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.INT:
+                    writer.writeIntFieldPrimitive(GridUnsafe.getIntField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.LONG:
+                    writer.writeLongFieldPrimitive(GridUnsafe.getLongField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.FLOAT:
+                    writer.writeFloatFieldPrimitive(GridUnsafe.getFloatField(obj, off));
+
+                    break;
+
+                case GridBinaryMarshaller.DOUBLE:
+                    writer.writeDoubleFieldPrimitive(GridUnsafe.getDoubleField(obj, off));
+
+                    break;
+
+                default:
+                    assert false : "Invalid type: " + type;
+            }
+        }
+    }
+
+    /**
+     * Reads fields of the object. Fields are requested in the schema order, so the reader finds them sequentially
+     * when the object was written with the stable schema of the class.
+     *
+     * @param obj Object.
+     * @param reader Reader.
+     * @throws BinaryObjectException If failed.
+     */
+    void read(Object obj, BinaryReaderExImpl reader) throws BinaryObjectException {
+        for (int i = 0; i < ids.length; i++) {
+            byte type = types[i];
+
+            if (type == NON_PRIMITIVE) {
+                fields[i].read(obj, reader);
+
+                continue;
+            }
+
+            int id = ids[i];
+            long off = offsets[i];
+
+            try {
+                switch (type) {
+                    case GridBinaryMarshaller.BYTE:
+                        GridUnsafe.putByteField(obj, off, reader.readByte(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.BOOLEAN:
+                        GridUnsafe.putBooleanField(obj, off, reader.readBoolean(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.SHORT:
+                        GridUnsafe.putShortField(obj, off, reader.readShort(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.CHAR:
+                        GridUnsafe.putCharField(obj, off, reader.readChar(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.INT:
+                        GridUnsafe.putIntField(obj, off, reader.readInt(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.LONG:
+                        GridUnsafe.putLongField(obj, off, reader.readLong(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.FLOAT:
+                        GridUnsafe.putFloatField(obj, off, reader.readFloat(id));
+
+                        break;
+
+                    case GridBinaryMarshaller.DOUBLE:
+                        GridUnsafe.putDoubleField(obj, off, reader.readDouble(id));
+
+                        break;
+
+                    default:
+                        assert false : "Invalid type: " + type;
+                }
+            }
+            catch (Exception e) {
+                String name = fields[i].name;
+
+                if (S.includeSensitive() && !F.isEmpty(name))
+                    throw new BinaryObjectException("Failed to read field [name=" + name + ']', e);
+                else
+                    throw new BinaryObjectException("Failed to read field [id=" + id + ']', e);
+            }
+        }
+    }
+}
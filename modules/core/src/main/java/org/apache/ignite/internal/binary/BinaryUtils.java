@@ -37,6 +37,7 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -66,7 +67,9 @@ import org.apache.ignite.binary.BinaryRawWriter;
 import org.apache.ignite.binary.BinaryType;
 import org.apache.ignite.binary.Binarylizable;
 import org.apache.ignite.internal.binary.builder.BinaryLazyValue;
+import org.apache.ignite.internal.binary.streams.BinaryHeapInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
+import org.apache.ignite.internal.binary.streams.BinaryOffheapInputStream;
 import org.apache.ignite.internal.processors.cache.CacheObjectByteArrayImpl;
 import org.apache.ignite.internal.processors.cache.CacheObjectImpl;
 import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
@@ -142,6 +145,12 @@ public class BinaryUtils {
     @SuppressWarnings("unused")
     public static final short FLAG_CUSTOM_DOTNET_TYPE = 0x0040;
 
+    /**
+     * Flag: fixed layout. All fields are primitives of fixed size written in the schema order and the footer with
+     * field offsets is omitted, so offsets are derived from the schema.
+     */
+    public static final short FLAG_FIXED_LAYOUT = 0x0080;
+
     /** Offset which fits into 1 byte. */
     public static final int OFFSET_1 = 1;
 
@@ -345,6 +354,16 @@ public class BinaryUtils {
         return isFlagSet(flags, FLAG_COMPACT_FOOTER);
     }
 
+    /**
+     * Check if fixed layout flag is set.
+     *
+     * @param flags Flags.
+     * @return {@code True} if set.
+     */
+    public static boolean isFixedLayout(short flags) {
+        return isFlagSet(flags, FLAG_FIXED_LAYOUT);
+    }
+
     /**
      * Check whether particular flag is set.
      *
@@ -974,6 +993,126 @@ public class BinaryUtils {
         return res;
     }
 
+    /**
+     * Get relative field offsets of the object with fixed layout.
+     *
+     * @param ctx Binary context.
+     * @param stream Stream.
+     * @param start Object start position inside the stream.
+     * @return Relative field offsets in the schema order.
+     * @see #FLAG_FIXED_LAYOUT
+     */
+    public static int[] fixedLayoutOffsets(BinaryContext ctx, BinaryPositionReadable stream, int start) {
+        int typeId = stream.readIntPositioned(start + GridBinaryMarshaller.TYPE_ID_POS);
+        int schemaId = stream.readIntPositioned(start + GridBinaryMarshaller.SCHEMA_ID_POS);
+
+        int[] offs = ctx.fixedLayoutOffsets(typeId, schemaId);
+
+        return offs != null ? offs : computeFixedLayoutOffsets(ctx, stream, start, typeId, schemaId);
+    }
+
+    /**
+     * Get relative field offsets of the object with fixed layout.
+     *
+     * @param ctx Binary context.
+     * @param arr Array.
+     * @param start Object start position inside the array.
+     * @return Relative field offsets in the schema order.
+     * @see #FLAG_FIXED_LAYOUT
+     */
+    public static int[] fixedLayoutOffsets(BinaryContext ctx, byte[] arr, int start) {
+        int typeId = BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.TYPE_ID_POS);
+        int schemaId = BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_ID_POS);
+
+        int[] offs = ctx.fixedLayoutOffsets(typeId, schemaId);
+
+        return offs != null ? offs :
+            computeFixedLayoutOffsets(ctx, BinaryHeapInputStream.create(arr, start), start, typeId, schemaId);
+    }
+
+    /**
+     * Get relative field offsets of the object with fixed layout.
+     *
+     * @param ctx Binary context.
+     * @param ptr Pointer.
+     * @param start Object start position relative to the pointer.
+     * @return Relative field offsets in the schema order.
+     * @see #FLAG_FIXED_LAYOUT
+     */
+    public static int[] fixedLayoutOffsets(BinaryContext ctx, long ptr, int start) {
+        int typeId = BinaryPrimitives.readInt(ptr, start + GridBinaryMarshaller.TYPE_ID_POS);
+        int schemaId = BinaryPrimitives.readInt(ptr, start + GridBinaryMarshaller.SCHEMA_ID_POS);
+
+        int[] offs = ctx.fixedLayoutOffsets(typeId, schemaId);
+
+        if (offs != null)
+            return offs;
+
+        int len = BinaryPrimitives.readInt(ptr, start + GridBinaryMarshaller.TOTAL_LEN_POS);
+
+        return computeFixedLayoutOffsets(ctx, new BinaryOffheapInputStream(ptr, start + len), start, typeId, schemaId);
+    }
+
+    /**
+     * Computes relative field offsets of the object with fixed layout and saves them for other objects of the
+     * schema. Fields are written one by one up to the end of the object, so the offsets follow from the field types.
+     *
+     * @param ctx Binary context.
+     * @param stream Stream.
+     * @param start Object start position inside the stream.
+     * @param typeId Type ID.
+     * @param schemaId Schema ID.
+     * @return Relative field offsets in the schema order.
+     */
+    private static int[] computeFixedLayoutOffsets(BinaryContext ctx, BinaryPositionReadable stream, int start,
+        int typeId, int schemaId) {
+        int len = stream.readIntPositioned(start + GridBinaryMarshaller.TOTAL_LEN_POS);
+
+        int[] offs = new int[len - GridBinaryMarshaller.DFLT_HDR_LEN];
+        int cnt = 0;
+
+        for (int off = GridBinaryMarshaller.DFLT_HDR_LEN; off < len; cnt++) {
+            offs[cnt] = off;
+
+            off += fixedLayoutFieldLength(stream.readBytePositioned(start + off));
+        }
+
+        offs = Arrays.copyOf(offs, cnt);
+
+        ctx.fixedLayoutOffsets(typeId, schemaId, offs);
+
+        return offs;
+    }
+
+    /**
+     * Get length of the field of the object with fixed layout including the field type.
+     *
+     * @param type Field type.
+     * @return Field length.
+     */
+    public static int fixedLayoutFieldLength(byte type) {
+        switch (type) {
+            case GridBinaryMarshaller.BYTE:
+            case GridBinaryMarshaller.BOOLEAN:
+                return 2;
+
+            case GridBinaryMarshaller.SHORT:
+            case GridBinaryMarshaller.CHAR:
+                return 3;
+
+            case GridBinaryMarshaller.INT:
+            case GridBinaryMarshaller.FLOAT:
+                return 5;
+
+            case GridBinaryMarshaller.LONG:
+            case GridBinaryMarshaller.DOUBLE:
+                return 9;
+
+            default:
+                throw new BinaryObjectException("Unexpected field type of fixed layout object: " + type);
+        }
+    }
+
     /**
      * Merge old and new metas.
      *
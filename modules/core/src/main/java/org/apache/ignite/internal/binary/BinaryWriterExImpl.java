@@ -274,6 +274,18 @@ public class BinaryWriterExImpl implements BinaryWriter, BinaryRawWriterEx, Obje
      * @param registered Whether type is registered.
      */
     public void postWrite(boolean userType, boolean registered) {
+        postWrite(userType, registered, false);
+    }
+
+    /**
+     * Perform post-write. Fills object header.
+     *
+     * @param userType User type flag.
+     * @param registered Whether type is registered.
+     * @param fixedLayout Whether all written fields are primitives and the object can be written in the fixed layout.
+     * @see BinaryUtils#FLAG_FIXED_LAYOUT
+     */
+    public void postWrite(boolean userType, boolean registered, boolean fixedLayout) {
         short flags;
         boolean useCompactFooter;
 
@@ -300,12 +312,18 @@ public class BinaryWriterExImpl implements BinaryWriter, BinaryRawWriterEx, Obje
             // Write the schema.
             flags |= BinaryUtils.FLAG_HAS_SCHEMA;
 
-            int offsetByteCnt = schema.write(out, fieldCnt, useCompactFooter);
+            if (fixedLayout && useCompactFooter && registered && rawOffPos == 0) {
+                // Field offsets are derived from the schema, footer is not needed.
+                flags |= BinaryUtils.FLAG_FIXED_LAYOUT;
+            }
+            else {
+                int offsetByteCnt = schema.write(out, fieldCnt, useCompactFooter);
 
-            if (offsetByteCnt == BinaryUtils.OFFSET_1)
-                flags |= BinaryUtils.FLAG_OFFSET_ONE_BYTE;
-            else if (offsetByteCnt == BinaryUtils.OFFSET_2)
-                flags |= BinaryUtils.FLAG_OFFSET_TWO_BYTES;
+                if (offsetByteCnt == BinaryUtils.OFFSET_1)
+                    flags |= BinaryUtils.FLAG_OFFSET_ONE_BYTE;
+                else if (offsetByteCnt == BinaryUtils.OFFSET_2)
+                    flags |= BinaryUtils.FLAG_OFFSET_TWO_BYTES;
+            }
 
             // Write raw offset if needed.
             if (rawOffPos != 0) {
@@ -253,9 +253,11 @@ public class BinaryObjectBuilderImpl implements BinaryObjectBuilder {
 
                 int idx = 0;
 
+                boolean fixedLayout = BinaryUtils.isFixedLayout(flags);
+
                 while (reader.position() < rawPos) {
                     int fieldId = schema.fieldId(idx++);
-                    int fieldLen =
+                    int fieldLen = fixedLayout ? BinaryUtils.fixedLayoutFieldLength(reader.readByte(0)) :
                         fieldPositionAndLength(footerPos, footerEnd, rawPos, fieldIdLen, fieldOffsetLen).get2();
 
                     int postPos = reader.position() + fieldLen; // Position where reader will be placed afterwards.
@@ -507,18 +509,30 @@ public class BinaryObjectBuilderImpl implements BinaryObjectBuilder {
 
             int idx = 0;
 
-            while (footerPos + fieldIdLen < footerEnd) {
-                int fieldId = schema.fieldId(idx++);
+            if (BinaryUtils.isFixedLayout(flags)) {
+                // Fields of fixed layout object follow each other and there is no footer.
+                for (int pos = start + hdrLen; pos < rawPos; ) {
+                    int fieldLen = BinaryUtils.fixedLayoutFieldLength(reader.readBytePositioned(pos));
+
+                    readCache.put(schema.fieldId(idx++), reader.getValueQuickly(pos, fieldLen));
+
+                    pos += fieldLen;
+                }
+            }
+            else {
+                while (footerPos + fieldIdLen < footerEnd) {
+                    int fieldId = schema.fieldId(idx++);
 
-                IgniteBiTuple<Integer, Integer> posAndLen =
-                    fieldPositionAndLength(footerPos, footerEnd, rawPos, fieldIdLen, fieldOffsetLen);
+                    IgniteBiTuple<Integer, Integer> posAndLen =
+                        fieldPositionAndLength(footerPos, footerEnd, rawPos, fieldIdLen, fieldOffsetLen);
 
-                Object val = reader.getValueQuickly(posAndLen.get1(), posAndLen.get2());
+                    Object val = reader.getValueQuickly(posAndLen.get1(), posAndLen.get2());
 
-                readCache.put(fieldId, val);
+                    readCache.put(fieldId, val);
 
-                // Shift current footer position.
-                footerPos += fieldIdLen + fieldOffsetLen;
+                    // Shift current footer position.
+                    footerPos += fieldIdLen + fieldOffsetLen;
+                }
             }
 
             this.readCache = readCache;
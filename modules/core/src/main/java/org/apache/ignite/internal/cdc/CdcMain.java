@@ -487,7 +487,8 @@ public class CdcMain implements Runnable {
                 .marshallerMappingFileStoreDir(marshaller)
                 .keepBinary(cdcCfg.isKeepBinary())
                 .filesOrDirs(segment.toFile())
-                .addFilter((type, ptr) -> type == DATA_RECORD_V2);
+                .addFilter((type, ptr) -> type == DATA_RECORD_V2)
+                .parallelism(cdcCfg.getWalRecordsDeserializationParallelism());
 
         if (igniteCfg.getDataStorageConfiguration().getPageSize() != 0)
             builder.pageSize(igniteCfg.getDataStorageConfiguration().getPageSize());
@@ -21,6 +21,7 @@ import java.io.Closeable;
 import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
 
 /**
  * Persistent store of pages.
@@ -83,6 +84,25 @@ public interface PageStore extends Closeable {
      */
     public void readHeader(ByteBuffer buf) throws IgniteCheckedException;
 
+    /**
+     * Reads a range of pages with a single IO operation. While the given closure is running, {@link #read} calls
+     * for pages of the range are served from the read buffer unless the pages are rewritten concurrently.
+     *
+     * @param pageId ID of the first page of the range.
+     * @param cnt Maximum number of pages to read, the range is truncated by the end of the store.
+     * @param c Closure that accepts read-only buffer with the pages read.
+     * @return {@code True} if the pages were read and passed to the closure, {@code false} if read-ahead is not
+     *      supported by the store or the range is empty.
+     * @throws IgniteCheckedException If reading failed (IO error occurred).
+     */
+    public default boolean readAhead(
+        long pageId,
+        int cnt,
+        IgniteThrowableConsumer<ByteBuffer> c
+    ) throws IgniteCheckedException {
+        return false;
+    }
+
     /**
      * Writes a page.
      *
@@ -26,9 +26,11 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteCluster;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.affinity.AffinityFunction;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -73,6 +75,8 @@ import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.plugin.CacheTopologyValidatorProvider;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CACHE_ENTRY_LOCK_STRIPES;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
 import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
 import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL_SNAPSHOT;
 import static org.apache.ignite.cache.CacheMode.REPLICATED;
@@ -88,6 +92,9 @@ import static org.apache.ignite.internal.metric.IoStatisticsType.HASH_INDEX;
  *
  */
 public class CacheGroupContext {
+    /** @see IgniteSystemProperties#IGNITE_CACHE_ENTRY_LOCK_STRIPES */
+    public static final int DFLT_CACHE_ENTRY_LOCK_STRIPES = 0;
+
     /**
      * Unique group ID. Currently for shared group it is generated as group name hash,
      * for non-shared as cache name hash (see {@link ClusterCachesInfo#checkCacheConflict}).
@@ -131,6 +138,9 @@ public class CacheGroupContext {
     private final StripedCompositeReadWriteLock listenerLock =
         new StripedCompositeReadWriteLock(Runtime.getRuntime().availableProcessors());
 
+    /** Locks shared by entries of the atomic group, {@code null} if each entry has own lock. */
+    @Nullable private final ReentrantLock[] entryLocks;
+
     /** */
     private final IgniteLogger log;
 
@@ -259,6 +269,19 @@ public class CacheGroupContext {
 
         mvccEnabled = ccfg.getAtomicityMode() == TRANSACTIONAL_SNAPSHOT;
 
+        int entryLockStripes = getInteger(IGNITE_CACHE_ENTRY_LOCK_STRIPES, DFLT_CACHE_ENTRY_LOCK_STRIPES);
+
+        // Transactions lock entries one by one in different orders and keep the locks while locking other entries,
+        // so shared locks would add deadlocks. Atomic updates lock entries of a batch with deadlock detection.
+        if (entryLockStripes > 0 && ccfg.getAtomicityMode() == ATOMIC) {
+            entryLocks = new ReentrantLock[U.ceilPow2(Math.max(entryLockStripes, 2))];
+
+            for (int i = 0; i < entryLocks.length; i++)
+                entryLocks[i] = new ReentrantLock();
+        }
+        else
+            entryLocks = null;
+
         log = ctx.kernalContext().log(getClass());
 
         metrics = new CacheGroupMetricsImpl(this);
@@ -981,6 +1004,18 @@ public class CacheGroupContext {
         return listenerLock;
     }
 
+    /**
+     * Gets lock shared by entries of the group with the same lock stripe. Locks are shared by DHT entries of atomic
+     * caches only, see {@link LockedEntriesInfo}.
+     *
+     * @param hash Entry key hash code.
+     * @return Shared entry lock or {@code null} if each entry should have own lock.
+     * @see IgniteSystemProperties#IGNITE_CACHE_ENTRY_LOCK_STRIPES
+     */
+    @Nullable public ReentrantLock entryLock(int hash) {
+        return entryLocks == null ? null : entryLocks[U.hash(hash) & (entryLocks.length - 1)];
+    }
+
     /**
      * @param cacheId ID of cache initiated counter update.
      * @param part Partition number.
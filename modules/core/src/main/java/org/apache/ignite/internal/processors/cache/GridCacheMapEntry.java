@@ -26,7 +26,6 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import javax.cache.Cache;
@@ -180,7 +179,6 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      *         <li>8 : {@link #ver}</li>
      *         <li>8 : {@link #extras}</li>
      *         <li>8 : {@link #lock}</li>
-     *         <li>8 : {@link #listenerLock}</li>
      *         <li>8 : {@link GridMetadataAwareAdapter#data}</li>
      *     </ul></li>
      *     <li>Primitive fields:<ul>
@@ -207,7 +205,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      *     </ul></li>
      * </ul>
      */
-    private static final int SIZE_OVERHEAD = 8 * 8 /* references */ + 5 /* primitives */ + 16 /* extras */
+    private static final int SIZE_OVERHEAD = 7 * 8 /* references */ + 5 /* primitives */ + 16 /* extras */
         + 16 /* version */ + 20 /* key */ + 16 /* value */;
 
     /** Static logger to avoid re-creation. Made static for test purpose. */
@@ -240,13 +238,9 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
     @GridToStringInclude
     private GridCacheEntryExtras extras;
 
-    /** */
-    @GridToStringExclude
-    private final ReentrantLock lock = new ReentrantLock();
-
-    /** Read Lock for continuous query listener */
+    /** Entry lock, either own or shared with other entries of the cache group. */
     @GridToStringExclude
-    private final ReadWriteLock listenerLock;
+    private final ReentrantLock lock;
 
     /**
      * Flags:
@@ -276,7 +270,11 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
         this.key = key;
         this.hash = key.hashCode();
         this.cctx = cctx;
-        this.listenerLock = cctx.group().listenerLock();
+
+        // Shared locks are used only by DHT entries of atomic caches, see CacheGroupContext#entryLock(int).
+        ReentrantLock sharedLock = cctx.isNear() ? null : cctx.group().entryLock(hash);
+
+        lock = sharedLock != null ? sharedLock : new ReentrantLock();
 
         ver = cctx.shared().versions().startVersion();
     }
@@ -4760,7 +4758,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * query notified before the next cache listener update
      */
     private void lockListenerReadLock() {
-        listenerLock.readLock().lock();
+        cctx.group().listenerLock().readLock().lock();
     }
 
     /**
@@ -4769,14 +4767,28 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @see #lockListenerReadLock()
      */
     private void unlockListenerReadLock() {
-        listenerLock.readLock().unlock();
+        cctx.group().listenerLock().readLock().unlock();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the entry uses a shared lock, it is also {@code true} when another entry of the same lock stripe is locked,
+     * so assertions on it can't catch a missed lock of this entry. Shared locks are not used for transactional
+     * caches, whose logic relies on such assertions the most.
+     */
     @Override public boolean lockedByCurrentThread() {
         return lock.isHeldByCurrentThread();
     }
 
+    /**
+     * @param entry Entry.
+     * @return {@code True} if the given entry is locked by the same lock as this entry.
+     */
+    boolean sharesLockWith(GridCacheMapEntry entry) {
+        return lock == entry.lock;
+    }
+
     /** {@inheritDoc} */
     @Override public void touch() {
         context().evicts().touch(this);
@@ -126,6 +126,17 @@ public interface IgniteCacheOffheapManager {
      */
     @Nullable public CacheDataRow read(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
 
+    /**
+     * Reads rows of a batch of keys. Keys are grouped by partitions and sorted in the data tree order, so rows of
+     * neighbouring keys are found with a single tree descent.
+     *
+     * @param cctx Cache context.
+     * @param keys Keys.
+     * @return Cached rows in the order of keys, {@code null} rows for keys which are not available.
+     * @throws IgniteCheckedException If failed.
+     */
+    public List<CacheDataRow> readAll(GridCacheContext cctx, List<KeyCacheObject> keys) throws IgniteCheckedException;
+
     /**
      * @param p Partition.
      * @return Data store.
@@ -957,6 +968,15 @@ public interface IgniteCacheOffheapManager {
          */
         public CacheDataRow find(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
 
+        /**
+         * @param cctx Cache context.
+         * @param keys Keys.
+         * @return Data rows in the order of keys, {@code null} rows for keys which are not found.
+         * @throws IgniteCheckedException If failed.
+         */
+        public List<CacheDataRow> findAll(GridCacheContext cctx, List<KeyCacheObject> keys)
+            throws IgniteCheckedException;
+
         /**
          * Returns iterator over the all row versions for the given key.
          *
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -621,6 +622,54 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         return row;
     }
 
+    /** {@inheritDoc} */
+    @Override public List<CacheDataRow> readAll(GridCacheContext cctx, List<KeyCacheObject> keys)
+        throws IgniteCheckedException {
+        int size = keys.size();
+
+        // Partition in the high bits and key index in the low bits.
+        long[] order = new long[size];
+
+        for (int i = 0; i < size; i++)
+            order[i] = ((long)cctx.affinity().partition(keys.get(i)) << 32) | i;
+
+        Arrays.sort(order);
+
+        CacheDataRow[] res = new CacheDataRow[size];
+
+        for (int from = 0; from < size; ) {
+            int part = (int)(order[from] >>> 32);
+
+            int to = from + 1;
+
+            while (to < size && (int)(order[to] >>> 32) == part)
+                to++;
+
+            CacheDataStore dataStore = dataStore(part, false);
+
+            if (dataStore != null) {
+                List<KeyCacheObject> partKeys = new ArrayList<>(to - from);
+
+                for (int i = from; i < to; i++)
+                    partKeys.add(keys.get((int)order[i]));
+
+                List<CacheDataRow> rows = dataStore.findAll(cctx, partKeys);
+
+                for (int i = from; i < to; i++) {
+                    CacheDataRow row = rows.get(i - from);
+
+                    assert row == null || row.value() != null : row;
+
+                    res[(int)order[i]] = row;
+                }
+            }
+
+            from = to;
+        }
+
+        return Arrays.asList(res);
+    }
+
     /** {@inheritDoc} */
     @Nullable @Override public CacheDataRow mvccRead(GridCacheContext cctx, KeyCacheObject key, MvccSnapshot mvccSnapshot)
         throws IgniteCheckedException {
@@ -2758,6 +2807,55 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             return row;
         }
 
+        /** {@inheritDoc} */
+        @Override public List<CacheDataRow> findAll(GridCacheContext cctx, List<KeyCacheObject> keys)
+            throws IgniteCheckedException {
+            if (grp.mvccEnabled() || keys.size() == 1) {
+                List<CacheDataRow> res = new ArrayList<>(keys.size());
+
+                for (KeyCacheObject key : keys)
+                    res.add(find(cctx, key));
+
+                return res;
+            }
+
+            int cacheId = grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+            int size = keys.size();
+
+            // Sort by hash code, that is the data tree order for the same cache. Key index is in the low bits.
+            long[] order = new long[size];
+
+            for (int i = 0; i < size; i++)
+                order[i] = ((long)keys.get(i).hashCode() << 32) | i;
+
+            Arrays.sort(order);
+
+            List<SearchRow> rows = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                KeyCacheObject key = keys.get((int)order[i]);
+
+                key.valueBytes(cctx.cacheObjectContext());
+
+                rows.add(new SearchRow(cacheId, key));
+            }
+
+            List<CacheDataRow> found = dataTree.findAll(rows, null, CacheDataRowAdapter.RowData.NO_KEY);
+
+            CacheDataRow[] res = new CacheDataRow[size];
+
+            for (int i = 0; i < size; i++) {
+                CacheDataRow row = found.get(i);
+
+                afterRowFound(row, rows.get(i).key());
+
+                res[(int)order[i]] = row;
+            }
+
+            return Arrays.asList(res);
+        }
+
         /** {@inheritDoc} */
         @Override public List<IgniteBiTuple<Object, MvccVersion>> mvccFindAllVersions(
             GridCacheContext cctx,
@@ -123,7 +123,7 @@ public class LockedEntriesInfo {
 
             // Visibility guarantees provided by volatile lockedIdx field.
             for (int i = 0; i <= otherThreadLockedIdx; i++) {
-                if (otherThreadLocks[i] == entry)
+                if (sameLock(otherThreadLocks[i], entry))
                     return true;
             }
         }
@@ -131,6 +131,20 @@ public class LockedEntriesInfo {
         return false;
     }
 
+    /**
+     * @param e1 First entry.
+     * @param e2 Second entry.
+     * @return {@code True} if entries are locked by the same lock.
+     */
+    private static boolean sameLock(GridCacheEntryEx e1, GridCacheEntryEx e2) {
+        if (e1 == e2)
+            return true;
+
+        // Entries can share locks, see IgniteSystemProperties#IGNITE_CACHE_ENTRY_LOCK_STRIPES.
+        return e1 instanceof GridCacheMapEntry && e2 instanceof GridCacheMapEntry &&
+            ((GridCacheMapEntry)e1).sharesLockWith((GridCacheMapEntry)e2);
+    }
+
     /** Per-thread locked entries info. */
     private static class LockedEntries {
         /** Timestamp of lock. */
@@ -127,6 +127,9 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_SKIP_CONFIGURATION_CONSISTENCY_CHECK;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAIT_SCHEMA_UPDATE;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_JOINED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.internal.GridComponent.DiscoveryDataExchangeType.BINARY_PROC;
 import static org.apache.ignite.internal.binary.BinaryUtils.mergeMetadata;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
@@ -413,6 +416,22 @@ public class CacheObjectBinaryProcessorImpl extends GridProcessorAdapter impleme
         super.onKernalStart(active);
 
         discoveryStarted = true;
+
+        if (binaryCtx != null && binaryCtx.hasFixedLayoutTypes()) {
+            ctx.event().addDiscoveryEventListener((evt, discoCache) -> updateFixedLayoutEnabled(discoCache.allNodes()),
+                EVT_NODE_JOINED, EVT_NODE_LEFT, EVT_NODE_FAILED);
+
+            updateFixedLayoutEnabled(ctx.discovery().allNodes());
+        }
+    }
+
+    /**
+     * Enables the fixed binary layout only while all nodes are able to read it.
+     *
+     * @param nodes Cluster nodes.
+     */
+    private void updateFixedLayoutEnabled(Collection<ClusterNode> nodes) {
+        binaryCtx.fixedLayoutEnabled(IgniteFeatures.allNodesSupports(nodes, IgniteFeatures.BINARY_FIXED_LAYOUT));
     }
 
     /** {@inheritDoc} */
@@ -1498,7 +1517,13 @@ public class CacheObjectBinaryProcessorImpl extends GridProcessorAdapter impleme
     ) {
         IgniteNodeValidationResult res;
 
-        if (getBoolean(IGNITE_SKIP_CONFIGURATION_CONSISTENCY_CHECK) || !(marsh instanceof BinaryMarshaller))
+        if (!(marsh instanceof BinaryMarshaller))
+            return null;
+
+        if ((res = validateFixedLayoutSupport(rmtNode)) != null)
+            return res;
+
+        if (getBoolean(IGNITE_SKIP_CONFIGURATION_CONSISTENCY_CHECK))
             return null;
 
         if ((res = validateBinaryConfiguration(rmtNode)) != null)
@@ -1507,6 +1532,20 @@ public class CacheObjectBinaryProcessorImpl extends GridProcessorAdapter impleme
         return validateBinaryMetadata(rmtNode.id(), (Map<Integer, BinaryMetadataHolder>)discoData.joiningNodeData());
     }
 
+    /**
+     * Objects written in the fixed layout may be already stored, so nodes which can't read them can't join.
+     *
+     * @param rmtNode Joining node.
+     * @return Validation result or {@code null} if the node can join.
+     */
+    private IgniteNodeValidationResult validateFixedLayoutSupport(ClusterNode rmtNode) {
+        if (!binaryCtx.fixedLayoutEnabled() || IgniteFeatures.nodeSupports(rmtNode, IgniteFeatures.BINARY_FIXED_LAYOUT))
+            return null;
+
+        return new IgniteNodeValidationResult(rmtNode.id(), "Node doesn't support the fixed binary layout which is " +
+            "enabled in the cluster [rmtNodeId=" + rmtNode.id() + ']');
+    }
+
     /** */
     private IgniteNodeValidationResult validateBinaryConfiguration(ClusterNode rmtNode) {
         Object rmtBinaryCfg = rmtNode.attribute(IgniteNodeAttributes.ATTR_BINARY_CONFIGURATION);
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -1501,10 +1502,16 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
                 boolean success = true;
                 boolean readNoEntry = ctx.readNoEntry(expiry, false);
 
+                // Read rows of all the keys at once to share data tree lookups between neighbouring keys.
+                Iterator<CacheDataRow> rows = readNoEntry && keys.size() > 1 ?
+                    ctx.offheap().readAll(ctx, keys instanceof List ? (List<KeyCacheObject>)keys : new ArrayList<>(keys))
+                        .iterator() :
+                    null;
+
                 // Optimistically expect that all keys are available locally (avoid creation of get future).
                 for (KeyCacheObject key : keys) {
                     if (readNoEntry) {
-                        CacheDataRow row = ctx.offheap().read(ctx, key);
+                        CacheDataRow row = rows != null ? rows.next() : ctx.offheap().read(ctx, key);
 
                         if (row != null) {
                             long expireTime = row.expireTime();
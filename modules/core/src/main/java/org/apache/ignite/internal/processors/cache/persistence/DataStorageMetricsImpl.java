@@ -53,6 +53,12 @@ public class DataStorageMetricsImpl {
     /** */
     private final HitRateMetric walBuffPollSpinsNum;
 
+    /** Number of WAL fsync requests served by fsyncs. */
+    private final HitRateMetric walFsyncRequestsNum;
+
+    /** Histogram of the number of WAL fsync requests served by a single fsync. */
+    private final HistogramMetricImpl walFsyncBatchSizeHistogram;
+
     /** */
     private final AtomicLongMetric lastCpBeforeLockDuration;
 
@@ -164,6 +170,12 @@ public class DataStorageMetricsImpl {
     /** Total size of the compressed segments in bytes. */
     private final LongAdderMetric walCompressedBytes;
 
+    /** Number of WAL records read during the node recovery. */
+    private final LongAdderMetric walRecoveryRecordsRead;
+
+    /** Number of WAL records applied during the node recovery. */
+    private final LongAdderMetric walRecoveryRecordsApplied;
+
     /**
      * @param mmgr Metrics manager.
      * @param metricsEnabled Metrics enabled flag.
@@ -209,6 +221,15 @@ public class DataStorageMetricsImpl {
             rateTimeInterval,
             subInts);
 
+        walFsyncRequestsNum = mreg.hitRateMetric(
+            "WalFsyncRequestsNum",
+            "Number of WAL fsync requests served by fsyncs in FSYNC WAL mode over the last time interval.",
+            rateTimeInterval,
+            subInts);
+
+        walFsyncBatchSizeHistogram = mreg.histogram("WalFsyncBatchSizeHistogram", new long[] {1, 2, 4, 8, 16, 32, 64},
+            "Histogram of the number of WAL fsync requests served by a single fsync in FSYNC WAL mode.");
+
         lastCpBeforeLockDuration = mreg.longMetric("LastCheckpointBeforeLockDuration",
             "Duration of the checkpoint action before taken write lock in milliseconds.");
 
@@ -321,12 +342,28 @@ public class DataStorageMetricsImpl {
             "Total size of the compressed segments in bytes."
         );
 
+        walRecoveryRecordsRead = mreg.longAdderMetric(
+            "WalRecoveryRecordsRead",
+            "Number of WAL records read during the node recovery."
+        );
+
+        walRecoveryRecordsApplied = mreg.longAdderMetric(
+            "WalRecoveryRecordsApplied",
+            "Number of page updates and data entries applied from WAL during the node recovery."
+        );
+
         mreg.register(
             "walFsyncTimeAverage",
             this::walFsyncTimeAverage,
             "Average WAL fsync duration in microseconds over the last time interval."
         );
 
+        mreg.register(
+            "WalFsyncBatchSizeAverage",
+            this::walFsyncBatchSizeAverage,
+            "Average number of WAL fsync requests served by a single fsync over the last time interval."
+        );
+
         mreg.register("DirtyPages", this::dirtyPages, "Total dirty pages for the next checkpoint.");
 
         mreg.register("PagesRead", this::pagesRead, "The number of read pages from last restart.");
@@ -377,6 +414,21 @@ public class DataStorageMetricsImpl {
         return (float)walFsyncTimeDuration.value() / numRate;
     }
 
+    /**
+     * @return Average number of WAL fsync requests served by a single fsync over the last time interval.
+     */
+    private float walFsyncBatchSizeAverage() {
+        if (!metricsEnabled)
+            return 0;
+
+        long numRate = walFsyncTimeNum.value();
+
+        if (numRate == 0)
+            return 0;
+
+        return (float)walFsyncRequestsNum.value() / numRate;
+    }
+
     /** @return Total size in bytes for storage wal files. */
     private long walTotalSize() {
         if (!metricsEnabled)
@@ -758,6 +810,37 @@ public class DataStorageMetricsImpl {
         walFsyncTimeNum.increment();
     }
 
+    /**
+     * Callback on reading of a WAL record during the node recovery.
+     */
+    public void onRecoveryRecordRead() {
+        if (!metricsEnabled)
+            return;
+
+        walRecoveryRecordsRead.increment();
+    }
+
+    /**
+     * Callback on applying of a page update or a data entry from WAL during the node recovery.
+     */
+    public void onRecoveryRecordApplied() {
+        if (!metricsEnabled)
+            return;
+
+        walRecoveryRecordsApplied.increment();
+    }
+
+    /**
+     * @param batchSize Number of WAL fsync requests served by a single fsync.
+     */
+    public void onFsyncBatch(int batchSize) {
+        if (!metricsEnabled)
+            return;
+
+        walFsyncRequestsNum.add(batchSize);
+        walFsyncBatchSizeHistogram.value(batchSize);
+    }
+
     /**
      * @param num Number.
      */
@@ -70,6 +70,7 @@ import org.apache.ignite.internal.mem.DirectMemoryRegion;
 import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
@@ -295,6 +296,12 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** Default checkpoint deviation from the configured frequency in percentage. */
     private static final int DEFAULT_CHECKPOINT_DEVIATION = 40;
 
+    /** Interval of logging of WAL recovery progress, in milliseconds. */
+    private static final long RECOVERY_PROGRESS_LOG_INTERVAL = 10_000L;
+
+    /** Number of read WAL records between checks of the need to log recovery progress. */
+    private static final int RECOVERY_PROGRESS_CHECK_RECORDS = 4096;
+
     /** */
     private FilePageStoreManager storeMgr;
 
@@ -2185,19 +2192,35 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         AtomicLong applied = new AtomicLong();
 
+        long read = 0;
+
+        long lastProgressLog = start;
+
+        restoreBinaryState.startPrefetch();
+
         try {
-            while (restoreBinaryState.hasNext()) {
+            WALRecord rec;
+
+            while ((rec = restoreBinaryState.next()) != null) {
                 if (applyError.get() != null)
                     break;
 
-                WALRecord rec = restoreBinaryState.next();
+                boolean needApplyBinaryUpdate = restoreBinaryState.needApplyBinaryUpdate();
 
-                if (rec == null)
-                    break;
+                dsMetrics.onRecoveryRecordRead();
+
+                if (++read % RECOVERY_PROGRESS_CHECK_RECORDS == 0 &&
+                    U.currentTimeMillis() - lastProgressLog >= RECOVERY_PROGRESS_LOG_INTERVAL) {
+                    lastProgressLog = U.currentTimeMillis();
+
+                    if (log.isInfoEnabled())
+                        log.info("Binary recovery progress [read=" + read + ", applied=" + applied +
+                            ", lastRead=" + rec.position() + ']');
+                }
 
                 switch (rec.type()) {
                     case PAGE_RECORD:
-                        if (restoreBinaryState.needApplyBinaryUpdate()) {
+                        if (needApplyBinaryUpdate) {
                             PageSnapshot pageSnapshot = (PageSnapshot)rec;
 
                             // Here we do not require tag check because we may be applying memory changes after
@@ -2208,11 +2231,13 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                             if (skipRemovedIndexUpdates(groupId, partId))
                                 break;
 
-                            stripedApplyPage((pageMem) -> {
+                            pageStripedApply((pageMem) -> {
                                     try {
                                         applyPageSnapshot(pageMem, pageSnapshot);
 
                                         applied.incrementAndGet();
+
+                                        dsMetrics.onRecoveryRecordApplied();
                                     }
                                     catch (Throwable t) {
                                         U.error(log, "Failed to apply page snapshot. rec=[" + pageSnapshot + ']');
@@ -2223,7 +2248,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                                 (IgniteCheckedException)t :
                                                 new IgniteCheckedException("Failed to apply page snapshot", t));
                                     }
-                                }, groupId, partId, exec, semaphore
+                                }, groupId, pageSnapshot.fullPageId().pageId(), exec, semaphore
                             );
                         }
 
@@ -2236,6 +2261,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                         int groupId = metaStateRecord.groupId();
                         int partId = metaStateRecord.partitionId();
 
+                        // Page updates are striped by page, so all the preceding updates of the partition must be
+                        // applied before the partition level record and the following ones after it.
+                        awaitApplyComplete(exec, applyError);
+
                         stripedApplyPage((pageMem) -> {
                             GridDhtPartitionState state = fromOrdinal(metaStateRecord.state());
 
@@ -2256,6 +2285,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                 }
                             }
                         }, groupId, partId, exec, semaphore);
+
+                        awaitApplyComplete(exec, applyError);
                     }
 
                         break;
@@ -2267,17 +2298,20 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                         int groupId = destroyRecord.groupId();
                         int partId = destroyRecord.partitionId();
 
+                        awaitApplyComplete(exec, applyError);
+
                         stripedApplyPage((pageMem) -> {
                             pageMem.invalidate(groupId, partId);
 
                             schedulePartitionDestroy(groupId, partId);
                         }, groupId, partId, exec, semaphore);
 
+                        awaitApplyComplete(exec, applyError);
                     }
                         break;
 
                     default:
-                        if (restoreBinaryState.needApplyBinaryUpdate() && rec instanceof PageDeltaRecord) {
+                        if (needApplyBinaryUpdate && rec instanceof PageDeltaRecord) {
                             PageDeltaRecord pageDelta = (PageDeltaRecord)rec;
 
                             int groupId = pageDelta.groupId();
@@ -2286,11 +2320,13 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                             if (skipRemovedIndexUpdates(groupId, partId))
                                 break;
 
-                            stripedApplyPage((pageMem) -> {
+                            pageStripedApply((pageMem) -> {
                                 try {
                                     applyPageDelta(pageMem, pageDelta, true);
 
                                     applied.incrementAndGet();
+
+                                    dsMetrics.onRecoveryRecordApplied();
                                 }
                                 catch (Throwable t) {
                                     U.error(log, "Failed to apply page delta. rec=[" + pageDelta + ']');
@@ -2301,12 +2337,14 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                             (IgniteCheckedException)t :
                                             new IgniteCheckedException("Failed to apply page delta", t));
                                 }
-                            }, groupId, partId, exec, semaphore);
+                            }, groupId, pageDelta.pageId(), exec, semaphore);
                         }
                 }
             }
         }
         finally {
+            restoreBinaryState.stopPrefetch();
+
             it.close();
 
             awaitApplyComplete(exec, applyError);
@@ -2405,6 +2443,35 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         stripedApply(() -> consumer.accept(pageMem), grpId, partId, exec, semaphore);
     }
 
+    /**
+     * Applies an update of a single page in a stripe chosen by the page, so updates of different pages of the same
+     * partition are applied in parallel while updates of the same page keep their order.
+     *
+     * @param consumer Page update.
+     * @param grpId Group Id.
+     * @param pageId Page Id.
+     * @param exec Striped executor.
+     * @param semaphore Semaphore limiting the number of concurrent tasks.
+     */
+    private void pageStripedApply(
+        Consumer<PageMemoryEx> consumer,
+        int grpId,
+        long pageId,
+        StripedExecutor exec,
+        Semaphore semaphore
+    ) throws IgniteCheckedException {
+        PageMemoryEx pageMem = getPageMemoryForCacheGroup(grpId);
+
+        if (pageMem == null)
+            return;
+
+        int stripes = exec.stripesCount();
+
+        int stripe = U.safeAbs(31 * grpId + Long.hashCode(PageIdUtils.effectivePageId(pageId))) % stripes;
+
+        stripedApply(() -> consumer.accept(pageMem), stripe, exec, semaphore);
+    }
+
     /**
      * @param run Runnable task.
      * @param grpId Group Id.
@@ -2418,16 +2485,31 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         StripedExecutor exec,
         Semaphore semaphore
     ) {
-        assert run != null;
-        assert exec != null;
-        assert semaphore != null;
-
         int stripes = exec.stripesCount();
 
         int stripe = U.stripeIdx(stripes, grpId, partId);
 
         assert stripe >= 0 && stripe <= stripes : "idx=" + stripe + ", stripes=" + stripes;
 
+        stripedApply(run, stripe, exec, semaphore);
+    }
+
+    /**
+     * @param run Runnable task.
+     * @param stripe Stripe.
+     * @param exec Striped executor.
+     * @param semaphore Semaphore limiting the number of concurrent tasks.
+     */
+    private void stripedApply(
+        Runnable run,
+        int stripe,
+        StripedExecutor exec,
+        Semaphore semaphore
+    ) {
+        assert run != null;
+        assert exec != null;
+        assert semaphore != null;
+
         try {
             semaphore.acquire();
         }
@@ -2680,13 +2762,30 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         final IgniteTxManager txManager = cctx.tm();
 
+        restoreLogicalState.startPrefetch();
+
+        long read = 0;
+
+        long lastProgressLog = start;
+
         try {
-            while (restoreLogicalState.hasNext()) {
+            while (true) {
                 WALRecord rec = restoreLogicalState.next();
 
                 if (rec == null)
                     break;
 
+                dsMetrics.onRecoveryRecordRead();
+
+                if (++read % RECOVERY_PROGRESS_CHECK_RECORDS == 0 &&
+                    U.currentTimeMillis() - lastProgressLog >= RECOVERY_PROGRESS_LOG_INTERVAL) {
+                    lastProgressLog = U.currentTimeMillis();
+
+                    if (log.isInfoEnabled())
+                        log.info("Logical recovery progress [read=" + read + ", applied=" + applied +
+                            ", lastRead=" + rec.position() + ']');
+                }
+
                 switch (rec.type()) {
                     case TX_RECORD:
                         if (restoreMeta) { // Also restore tx states.
@@ -2770,6 +2869,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                 }
 
                                 applied.incrementAndGet();
+
+                                dsMetrics.onRecoveryRecordApplied();
                             }, cacheDesc.groupId(), dataEntry.partitionId(), exec, semaphore);
                         }
 
@@ -2893,6 +2994,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             }
         }
         finally {
+            restoreLogicalState.stopPrefetch();
+
             it.close();
 
             if (!restoreMeta)
@@ -3489,6 +3592,12 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         /** Only {@link WalRecordCacheGroupAware} records satisfied this predicate will be applied. */
         private final IgnitePredicate<Integer> cacheGroupPredicate;
 
+        /** Records read ahead from {@link #iterator}, {@code null} if records are read by the restoring thread. */
+        @Nullable private RecoveryRecordsPrefetcher<IgniteBiTuple<WALPointer, WALRecord>> prefetcher;
+
+        /** Pointer of the last record taken from {@link #prefetcher}. */
+        @Nullable private WALPointer lastPrefetched;
+
         /**
          * @param status Checkpoint status.
          * @param iterator WAL iterator.
@@ -3516,10 +3625,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         @Nullable public WALRecord next() throws IgniteCheckedException {
             try {
                 for (; ; ) {
-                    if (!iterator.hasNextX())
-                        return null;
-
-                    IgniteBiTuple<WALPointer, WALRecord> tup = iterator.nextX();
+                    IgniteBiTuple<WALPointer, WALRecord> tup = nextTuple();
 
                     if (tup == null)
                         return null;
@@ -3555,6 +3661,42 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             }
         }
 
+        /**
+         * @return Next record tuple or {@code null} if there are no more records.
+         * @throws IgniteCheckedException If failed to read the record.
+         */
+        @Nullable private IgniteBiTuple<WALPointer, WALRecord> nextTuple() throws IgniteCheckedException {
+            if (prefetcher == null)
+                return iterator.hasNextX() ? iterator.nextX() : null;
+
+            IgniteBiTuple<WALPointer, WALRecord> tup = prefetcher.next();
+
+            if (tup != null)
+                lastPrefetched = tup.get1();
+
+            return tup;
+        }
+
+        /**
+         * Starts reading and deserialization of WAL records ahead by a separate thread. The thread only reads the
+         * WAL iterator: the records are filtered and the restore state is tracked by the thread calling
+         * {@link #next()}, so the state reflects the last record returned by {@link #next()}.
+         */
+        public void startPrefetch() {
+            assert prefetcher == null;
+
+            prefetcher = new RecoveryRecordsPrefetcher<>(cctx.igniteInstanceName(),
+                () -> iterator.hasNextX() ? iterator.nextX() : null);
+        }
+
+        /**
+         * Stops reading of WAL records ahead, must be called before the WAL iterator is closed.
+         */
+        public void stopPrefetch() {
+            if (prefetcher != null)
+                prefetcher.close();
+        }
+
         /**
          * Filter outs data entries from given data record that not satisfy {@link #cacheGroupPredicate}.
          *
@@ -3580,6 +3722,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         public WALPointer lastReadRecordPointer() {
             assert status.startPtr != null;
 
+            // The iterator is ahead of the restoring thread if records are prefetched.
+            if (prefetcher != null)
+                return lastPrefetched != null ? lastPrefetched : status.startPtr;
+
             return iterator.lastRead()
                 .orElseGet(() -> status.startPtr);
         }
@@ -3599,6 +3745,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
          * @throws IgniteCheckedException If CRC check fail during binary recovery state or another exception occurring.
          */
         public boolean hasNext() throws IgniteCheckedException {
+            assert prefetcher == null : "Records are prefetched";
+
             try {
                 return iterator.hasNextX();
             }
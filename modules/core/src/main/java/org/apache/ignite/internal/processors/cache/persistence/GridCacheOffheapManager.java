@@ -2789,6 +2789,17 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             return null;
         }
 
+        /** {@inheritDoc} */
+        @Override public List<CacheDataRow> findAll(GridCacheContext cctx, List<KeyCacheObject> keys)
+            throws IgniteCheckedException {
+            CacheDataStore delegate = init0(true);
+
+            if (delegate != null)
+                return delegate.findAll(cctx, keys);
+
+            return Collections.nCopies(keys.size(), null);
+        }
+
         /** {@inheritDoc} */
         @Override public CacheDataRow mvccFind(GridCacheContext cctx, KeyCacheObject key, MvccSnapshot snapshot)
             throws IgniteCheckedException {
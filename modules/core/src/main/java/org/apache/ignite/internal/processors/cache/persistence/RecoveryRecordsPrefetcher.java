@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.util.lang.IgniteThrowableSupplier;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads WAL records in a separate thread ahead of their applying during recovery, so reading and deserialization of
+ * records overlaps with applying of them. The source is called by the reader thread only, so it must not access the
+ * recovery state: the records are filtered and the state is tracked by the consuming thread.
+ *
+ * @param <T> Type of items.
+ */
+class RecoveryRecordsPrefetcher<T> implements AutoCloseable {
+    /** Number of items read ahead. */
+    static final int PREFETCH_SIZE = 1024;
+
+    /** End of items marker. */
+    private static final Object END = new Object();
+
+    /** Items source, returns {@code null} if there are no more items. */
+    private final IgniteThrowableSupplier<T> src;
+
+    /** Read items. */
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(PREFETCH_SIZE);
+
+    /** Reader thread. */
+    private final IgniteThread thread;
+
+    /** Reader error. */
+    private volatile Throwable err;
+
+    /** Stop flag. */
+    private volatile boolean stopped;
+
+    /** All the items are consumed. */
+    private boolean finished;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param src Items source, returns {@code null} if there are no more items.
+     */
+    RecoveryRecordsPrefetcher(String igniteInstanceName, IgniteThrowableSupplier<T> src) {
+        this.src = src;
+
+        thread = new IgniteThread(igniteInstanceName, "wal-recovery-prefetcher", this::body);
+
+        thread.start();
+    }
+
+    /**
+     * @return Next item or {@code null} if there are no more items.
+     * @throws IgniteCheckedException If reading failed.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable T next() throws IgniteCheckedException {
+        if (finished)
+            return null;
+
+        Object item;
+
+        try {
+            item = queue.take();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IgniteInterruptedCheckedException(e);
+        }
+
+        if (item != END)
+            return (T)item;
+
+        finished = true;
+
+        Throwable e = err;
+
+        if (e == null)
+            return null;
+
+        if (e instanceof IgniteCheckedException)
+            throw (IgniteCheckedException)e;
+
+        if (e instanceof Error)
+            throw (Error)e;
+
+        throw new IgniteCheckedException("Failed to read WAL records", e);
+    }
+
+    /**
+     * Stops reading and waits for the reader thread.
+     */
+    @Override public void close() {
+        stopped = true;
+
+        queue.clear();
+
+        U.join(thread, null);
+    }
+
+    /**
+     * Reader thread body.
+     */
+    private void body() {
+        try {
+            while (!stopped) {
+                T item = src.get();
+
+                if (item == null || !put(item))
+                    break;
+            }
+        }
+        catch (Throwable e) {
+            err = e;
+        }
+        finally {
+            put(END);
+        }
+    }
+
+    /**
+     * @param item Item.
+     * @return {@code False} if the prefetcher is stopped.
+     */
+    private boolean put(Object item) {
+        try {
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped)
+                    return false;
+            }
+
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
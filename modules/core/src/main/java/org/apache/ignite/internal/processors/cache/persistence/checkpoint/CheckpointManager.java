@@ -181,7 +181,8 @@ public class CheckpointManager {
             (pageMemEx, fullPage, buf, tag) -> pageStoreManager.write(fullPage.groupId(), fullPage.pageId(), buf, tag, true),
             persStoreMetrics,
             throttlingPolicy, threadBuf,
-            pageMemoryGroupResolver
+            pageMemoryGroupResolver,
+            pageStoreManager::getPageStoreFileIoFactory
         );
 
         checkpointerProvider = () -> new Checkpointer(
@@ -30,6 +30,7 @@ import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
+import org.apache.ignite.internal.processors.cache.persistence.file.WriteBatchFileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.CheckpointMetricsTracker;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
@@ -38,6 +39,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.util.GridConcurrentMultiPairQueue;
 import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
+import org.jetbrains.annotations.Nullable;
 import org.jsr166.ConcurrentLinkedHashMap;
 
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getType;
@@ -57,6 +59,9 @@ public class CheckpointPagesWriter implements Runnable {
     /** Collection of page IDs to write under this task. Overall pages to write may be greater than this collection. */
     private final GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> writePageIds;
 
+    /** Page memories of all regions being checkpointed. */
+    private final List<PageMemoryEx> regions;
+
     /** Page store used to write -> Count of written pages. */
     private final ConcurrentLinkedHashMap<PageStore, LongAdder> updStores;
 
@@ -87,6 +92,9 @@ public class CheckpointPagesWriter implements Runnable {
     /** Writer which able to write one page. */
     private final CheckpointPageWriter pageWriter;
 
+    /** Factory of page store files which can write pages asynchronously, {@code null} if not supported. */
+    @Nullable private final WriteBatchFileIOFactory writeBatchFactory;
+
     /** Shutdown now. */
     private final BooleanSupplier shutdownNow;
 
@@ -106,6 +114,8 @@ public class CheckpointPagesWriter implements Runnable {
      * @param pageMemoryGroupResolver Resolver of page memory by group id.
      * @param progress Checkpoint progress.
      * @param pageWriter File page store manager.
+     * @param writeBatchFactory Factory of page store files which can write pages asynchronously,
+     *      {@code null} if not supported.
      * @param shutdownNow Shutdown supplier.
      */
     CheckpointPagesWriter(
@@ -122,10 +132,12 @@ public class CheckpointPagesWriter implements Runnable {
         IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver,
         CheckpointProgressImpl progress,
         CheckpointPageWriter pageWriter,
+        @Nullable WriteBatchFileIOFactory writeBatchFactory,
         BooleanSupplier shutdownNow
     ) {
         this.tracker = tracker;
         this.writePageIds = writePageIds;
+        this.regions = writePageIds.keys();
         this.updStores = updStores;
         this.doneFut = doneFut;
         this.beforePageWrite = beforePageWrite;
@@ -137,6 +149,7 @@ public class CheckpointPagesWriter implements Runnable {
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.curCpProgress = progress;
         this.pageWriter = pageWriter;
+        this.writeBatchFactory = writeBatchFactory;
         this.shutdownNow = shutdownNow;
     }
 
@@ -147,21 +160,23 @@ public class CheckpointPagesWriter implements Runnable {
         GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> writePageIds = this.writePageIds;
 
         try {
-            GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> pagesToRetry = writePages(writePageIds);
-
-            if (pagesToRetry.isEmpty())
-                doneFut.onDone();
-            else {
-                if (log.isInfoEnabled()) {
-                    log.info(pagesToRetry.initialSize() + " checkpoint pages were not written yet due to " +
-                        "unsuccessful page write lock acquisition and will be retried");
+            // Pages are submitted without waiting for completion of each write, the batch waits for all of them.
+            try (WriteBatchFileIOFactory.WriteBatch ignored =
+                writeBatchFactory == null ? null : writeBatchFactory.startWriteBatch()) {
+                GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> pagesToRetry = writePages(writePageIds);
+
+                if (!pagesToRetry.isEmpty()) {
+                    if (log.isInfoEnabled()) {
+                        log.info(pagesToRetry.initialSize() + " checkpoint pages were not written yet due to " +
+                            "unsuccessful page write lock acquisition and will be retried");
+                    }
+
+                    while (!pagesToRetry.isEmpty())
+                        pagesToRetry = writePages(pagesToRetry);
                 }
-
-                while (!pagesToRetry.isEmpty())
-                    pagesToRetry = writePages(pagesToRetry);
-
-                doneFut.onDone();
             }
+
+            doneFut.onDone();
         }
         catch (Throwable e) {
             doneFut.onDone(e);
@@ -194,6 +209,25 @@ public class CheckpointPagesWriter implements Runnable {
 
             beforePageWrite.run();
 
+            if (throttlingEnabled) {
+                // Pages modified during the checkpoint are written first in every region, not only in the current one.
+                // It releases the checkpoint buffer before writers have to be throttled to protect it.
+                for (PageMemoryEx regionPageMem : regions) {
+                    FullPageId cpPageId;
+
+                    while (!(cpPageId = regionPageMem.pollCheckpointBufferPage()).equals(FullPageId.NULL_PAGE)) {
+                        PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(regionPageMem,
+                            pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
+
+                        snapshotMgr.beforePageWrite(cpPageId);
+
+                        tmpWriteBuf.rewind();
+
+                        regionPageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                    }
+                }
+            }
+
             FullPageId fullId = res.getValue();
 
             PageMemoryEx pageMem = res.getKey();
@@ -206,21 +240,6 @@ public class CheckpointPagesWriter implements Runnable {
                 pageStoreWriters.computeIfAbsent(pageMem, pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
 
             pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
-
-            if (throttlingEnabled) {
-                while (pageMem.isCpBufferOverflowThresholdExceeded()) {
-                    FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
-
-                    if (cpPageId.equals(FullPageId.NULL_PAGE))
-                        break;
-
-                    snapshotMgr.beforePageWrite(cpPageId);
-
-                    tmpWriteBuf.rewind();
-
-                    pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
-                }
-            }
         }
 
         return pagesToRetry.isEmpty() ?
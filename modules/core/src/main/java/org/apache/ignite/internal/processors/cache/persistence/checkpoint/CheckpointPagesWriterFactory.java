@@ -26,11 +26,14 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.WriteBatchFileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.CheckpointMetricsTracker;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
@@ -68,6 +71,9 @@ public class CheckpointPagesWriterFactory {
     /** Writer which writes pages to page store during the checkpoint. */
     private final CheckpointPagesWriter.CheckpointPageWriter checkpointPageWriter;
 
+    /** Page store file IO factory, resolved for each checkpoint as it may be replaced by plugins. */
+    private final Supplier<FileIOFactory> pageStoreIoFactory;
+
     /**
      * @param logger Logger.
      * @param snapshotMgr Snapshot manager.
@@ -76,6 +82,7 @@ public class CheckpointPagesWriterFactory {
      * @param throttlingPolicy Throttling policy.
      * @param threadBuf Thread write buffer.
      * @param pageMemoryGroupResolver Page memory resolver.
+     * @param pageStoreIoFactory Page store file IO factory, {@code null} result means an unknown factory.
      */
     CheckpointPagesWriterFactory(
         Function<Class<?>, IgniteLogger> logger,
@@ -84,7 +91,8 @@ public class CheckpointPagesWriterFactory {
         DataStorageMetricsImpl persStoreMetrics,
         PageMemoryImpl.ThrottlingPolicy throttlingPolicy,
         ThreadLocal<ByteBuffer> threadBuf,
-        IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver
+        IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver,
+        Supplier<FileIOFactory> pageStoreIoFactory
     ) {
         this.snapshotMgr = snapshotMgr;
         this.log = logger.apply(getClass());
@@ -93,6 +101,7 @@ public class CheckpointPagesWriterFactory {
         this.throttlingPolicy = throttlingPolicy;
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.checkpointPageWriter = checkpointPageWriter;
+        this.pageStoreIoFactory = pageStoreIoFactory;
     }
 
     /**
@@ -114,6 +123,8 @@ public class CheckpointPagesWriterFactory {
         CheckpointProgressImpl curCpProgress,
         BooleanSupplier shutdownNow
     ) {
+        FileIOFactory ioFactory = pageStoreIoFactory.get();
+
         return new CheckpointPagesWriter(
             tracker,
             cpPages,
@@ -128,6 +139,7 @@ public class CheckpointPagesWriterFactory {
             pageMemoryGroupResolver,
             curCpProgress,
             checkpointPageWriter,
+            ioFactory instanceof WriteBatchFileIOFactory ? (WriteBatchFileIOFactory)ioFactory : null,
             shutdownNow
         );
     }
@@ -140,7 +140,8 @@ public class LightweightCheckpointManager {
             persStoreMetrics,
             throttlingPolicy,
             threadBuf,
-            pageMemoryGroupResolver
+            pageMemoryGroupResolver,
+            () -> null
         );
 
         checkpointerProvider = () -> new Checkpointer(
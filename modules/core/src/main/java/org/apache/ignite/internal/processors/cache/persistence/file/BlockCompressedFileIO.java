@@ -0,0 +1,419 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.compress.BlockCodec;
+import org.apache.ignite.internal.processors.compress.BlockCodecs;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * {@link FileIO} that allows to work with block compressed file written by {@link BlockCompressedOutputStream}.
+ * Doesn't allow random access and setting {@link FileIO#position()} backwards.
+ * Allows sequential reads including setting {@link FileIO#position()} forward, whole blocks are skipped without
+ * decompression.
+ * <p>
+ * File starts with a header: magic number, format version, compression algorithm, block size and size of
+ * uncompressed data. Header is followed by blocks, each block is prefixed by its uncompressed and compressed sizes.
+ */
+public class BlockCompressedFileIO extends AbstractFileIO {
+    /** Magic number of block compressed files. */
+    static final int MAGIC = 0x49474243;
+
+    /** Format version. */
+    static final byte VERSION = 1;
+
+    /** File header size. */
+    static final int HEADER_SIZE = 18;
+
+    /** Offset of uncompressed data size in the header. */
+    static final int SIZE_OFFSET = 10;
+
+    /** Block header size. */
+    static final int BLOCK_HEADER_SIZE = 8;
+
+    /** */
+    private static final byte ZSTD = 1;
+
+    /** */
+    private static final byte LZ4 = 2;
+
+    /** File. */
+    private final File file;
+
+    /** File channel. */
+    private final FileChannel ch;
+
+    /** Codec. */
+    private final BlockCodec codec;
+
+    /** Size of uncompressed data. */
+    private final long size;
+
+    /** Block header buffer. */
+    private final ByteBuffer blockHdr = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+
+    /** Compressed block buffer. */
+    private final ByteBuffer compressed;
+
+    /** Uncompressed block buffer, position is the current read position inside the block. */
+    private final ByteBuffer block;
+
+    /** Uncompressed size of the block which header was read last. */
+    private int rawLen;
+
+    /** Compressed size of the block which header was read last. */
+    private int compressedLen;
+
+    /** Total bytes read counter. */
+    private long totalBytesRead;
+
+    /**
+     * @param file Block compressed file.
+     */
+    public BlockCompressedFileIO(File file) throws IOException {
+        this.file = file;
+
+        ch = FileChannel.open(file.toPath(), READ);
+
+        try {
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+
+            if (!readChannel(hdr))
+                throw new EOFException("Block compressed file header is missing: " + file);
+
+            hdr.flip();
+
+            if (hdr.getInt() != MAGIC)
+                throw new IOException("File is not block compressed: " + file);
+
+            byte ver = hdr.get();
+
+            if (ver != VERSION)
+                throw new IOException("Unsupported block compressed file version [file=" + file + ", ver=" + ver + ']');
+
+            DiskPageCompression compression = compression(hdr.get());
+
+            int blockSize = hdr.getInt();
+
+            size = hdr.getLong();
+
+            if (blockSize <= 0 || size < 0)
+                throw corrupted("invalid header [blockSize=" + blockSize + ", size=" + size + ']');
+
+            codec = BlockCodecs.codec(compression, CompressionProcessor.getDefaultCompressionLevel(compression));
+
+            compressed = ByteBuffer.allocateDirect(codec.maxCompressedLength(blockSize));
+            block = ByteBuffer.allocateDirect(blockSize);
+
+            block.limit(0);
+        }
+        catch (IOException | IgniteCheckedException | RuntimeException e) {
+            ch.close();
+
+            throw e instanceof IOException ? (IOException)e : new IOException(e);
+        }
+    }
+
+    /**
+     * @param file File.
+     * @return {@code True} if the file is block compressed.
+     */
+    public static boolean isBlockCompressed(File file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+
+            while (magic.hasRemaining()) {
+                if (ch.read(magic) < 0)
+                    return false;
+            }
+
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @return Algorithm code stored in file header.
+     */
+    static byte compressionCode(DiskPageCompression compression) {
+        switch (compression) {
+            case ZSTD:
+                return ZSTD;
+
+            case LZ4:
+                return LZ4;
+
+            default:
+                throw new IllegalArgumentException("Unsupported block compression: " + compression);
+        }
+    }
+
+    /**
+     * @param code Algorithm code stored in file header.
+     * @return Compression algorithm.
+     */
+    private static DiskPageCompression compression(byte code) throws IOException {
+        switch (code) {
+            case ZSTD:
+                return DiskPageCompression.ZSTD;
+
+            case LZ4:
+                return DiskPageCompression.LZ4;
+
+            default:
+                throw new IOException("Unknown block compression code: " + code);
+        }
+    }
+
+    /**
+     * Reads next block header. Blocks have no checksums, so the sizes are checked against the block size, the file
+     * size and the uncompressed data size from the file header.
+     *
+     * @return {@code False} if end of file is reached.
+     * @throws IOException If failed to read or the block header is corrupted.
+     */
+    private boolean nextBlockHeader() throws IOException {
+        blockHdr.clear();
+
+        if (!readChannel(blockHdr)) {
+            if (totalBytesRead != size)
+                throw corrupted("file is truncated [read=" + totalBytesRead + ", size=" + size + ']');
+
+            return false;
+        }
+
+        rawLen = blockHdr.getInt(0);
+        compressedLen = blockHdr.getInt(Integer.BYTES);
+
+        if (rawLen <= 0 || rawLen > block.capacity() || rawLen > size - totalBytesRead) {
+            throw corrupted("invalid uncompressed block size [rawLen=" + rawLen + ", blockSize=" + block.capacity() +
+                ", remaining=" + (size - totalBytesRead) + ']');
+        }
+
+        if (compressedLen <= 0 || compressedLen > compressed.capacity() || compressedLen > ch.size() - ch.position()) {
+            throw corrupted("invalid compressed block size [compressedLen=" + compressedLen +
+                ", maxCompressedLen=" + compressed.capacity() + ", remaining=" + (ch.size() - ch.position()) + ']');
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads and decompresses the block which header was read last.
+     *
+     * @throws IOException If failed to read or the block is corrupted.
+     */
+    private void loadBlock() throws IOException {
+        compressed.clear().limit(compressedLen);
+
+        if (!readChannel(compressed))
+            throw new EOFException("Unexpected end of block compressed file.");
+
+        compressed.flip();
+
+        block.clear().limit(rawLen);
+
+        try {
+            codec.decompress(compressed, block);
+        }
+        catch (RuntimeException e) {
+            throw corrupted("failed to decompress block [rawLen=" + rawLen + ", compressedLen=" + compressedLen +
+                ", err=" + e + ']');
+        }
+
+        if (block.hasRemaining())
+            throw corrupted("block is shorter than its header states [rawLen=" + rawLen + ']');
+
+        block.flip();
+    }
+
+    /**
+     * @param msg Corruption details.
+     * @return Error of a corrupted file.
+     */
+    private IOException corrupted(String msg) {
+        return new IOException(new IgniteCheckedException("Block compressed file is corrupted [file=" + file +
+            "]: " + msg));
+    }
+
+    /**
+     * @param buf Buffer to fill.
+     * @return {@code False} if end of file is reached before any byte is read.
+     */
+    private boolean readChannel(ByteBuffer buf) throws IOException {
+        int read = 0;
+
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf);
+
+            if (n < 0) {
+                if (read == 0)
+                    return false;
+
+                throw new EOFException("Unexpected end of block compressed file.");
+            }
+
+            read += n;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() throws IOException {
+        return totalBytesRead;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) throws IOException {
+        if (newPosition == totalBytesRead)
+            return;
+
+        if (newPosition < totalBytesRead)
+            throw new UnsupportedOperationException("Seeking backwards is not supported.");
+
+        while (newPosition - totalBytesRead > block.remaining()) {
+            totalBytesRead += block.remaining();
+
+            block.limit(0);
+
+            if (!nextBlockHeader())
+                throw new EOFException("Position is out of file bounds: " + newPosition);
+
+            if (newPosition - totalBytesRead >= rawLen) {
+                // Skip the whole block without decompression.
+                ch.position(ch.position() + compressedLen);
+
+                totalBytesRead += rawLen;
+            }
+            else
+                loadBlock();
+        }
+
+        block.position(block.position() + (int)(newPosition - totalBytesRead));
+
+        totalBytesRead = newPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer dstBuf) throws IOException {
+        while (!block.hasRemaining()) {
+            if (!nextBlockHeader())
+                return -1;
+
+            loadBlock();
+        }
+
+        int len = Math.min(dstBuf.remaining(), block.remaining());
+        int lim = block.limit();
+
+        block.limit(block.position() + len);
+
+        dstBuf.put(block);
+
+        block.limit(lim);
+
+        totalBytesRead += len;
+
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer dstBuf, long position) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        ch.close();
+
+        GridUnsafe.cleanDirectBuffer(compressed);
+        GridUnsafe.cleanDirectBuffer(block);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.compress.BlockCodec;
+import org.apache.ignite.internal.processors.compress.BlockCodecs;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.BLOCK_HEADER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.HEADER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.MAGIC;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.SIZE_OFFSET;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.VERSION;
+
+/**
+ * Output stream which writes data to a file by independently compressed blocks.
+ * Written file can be read in a streaming fashion by {@link BlockCompressedFileIO}.
+ */
+public class BlockCompressedOutputStream extends OutputStream {
+    /** Default block size. */
+    public static final int DFLT_BLOCK_SIZE = 1024 * 1024;
+
+    /** File channel. */
+    private final FileChannel ch;
+
+    /** Codec. */
+    private final BlockCodec codec;
+
+    /** Uncompressed block buffer. */
+    private final ByteBuffer block;
+
+    /** Compressed block buffer including block header. */
+    private final ByteBuffer compressed;
+
+    /** Size of uncompressed data. */
+    private long size;
+
+    /** */
+    private boolean closed;
+
+    /**
+     * @param file File to write.
+     * @param compression Compression algorithm.
+     * @param level Compression level.
+     * @param blockSize Block size.
+     */
+    public BlockCompressedOutputStream(
+        File file,
+        DiskPageCompression compression,
+        int level,
+        int blockSize
+    ) throws IOException {
+        try {
+            codec = BlockCodecs.codec(compression, level);
+        }
+        catch (IgniteCheckedException e) {
+            throw new IOException(e);
+        }
+
+        ch = FileChannel.open(file.toPath(), CREATE, WRITE, TRUNCATE_EXISTING);
+
+        block = ByteBuffer.allocateDirect(blockSize);
+        compressed = ByteBuffer.allocateDirect(BLOCK_HEADER_SIZE + codec.maxCompressedLength(blockSize));
+
+        ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+
+        hdr.putInt(MAGIC)
+            .put(VERSION)
+            .put(BlockCompressedFileIO.compressionCode(compression))
+            .putInt(blockSize)
+            .putLong(0L)
+            .flip();
+
+        try {
+            writeFully(hdr);
+        }
+        catch (IOException e) {
+            close0();
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(int b) throws IOException {
+        block.put((byte)b);
+
+        if (!block.hasRemaining())
+            flushBlock();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = Math.min(len, block.remaining());
+
+            block.put(b, off, n);
+
+            off += n;
+            len -= n;
+
+            if (!block.hasRemaining())
+                flushBlock();
+        }
+    }
+
+    /**
+     * Compresses and writes the current block.
+     */
+    private void flushBlock() throws IOException {
+        if (block.position() == 0)
+            return;
+
+        block.flip();
+
+        int rawLen = block.remaining();
+
+        compressed.clear().position(BLOCK_HEADER_SIZE);
+
+        codec.compress(block, compressed);
+
+        compressed.putInt(0, rawLen);
+        compressed.putInt(Integer.BYTES, compressed.position() - BLOCK_HEADER_SIZE);
+
+        compressed.flip();
+
+        writeFully(compressed);
+
+        size += rawLen;
+
+        block.clear();
+    }
+
+    /**
+     * @param buf Buffer to write.
+     */
+    private void writeFully(ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining())
+            ch.write(buf);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        if (closed)
+            return;
+
+        try {
+            flushBlock();
+
+            ByteBuffer sizeBuf = ByteBuffer.allocate(Long.BYTES);
+
+            sizeBuf.putLong(0, size);
+
+            while (sizeBuf.hasRemaining())
+                ch.write(sizeBuf, SIZE_OFFSET + sizeBuf.position());
+        }
+        finally {
+            close0();
+        }
+    }
+
+    /** */
+    private void close0() throws IOException {
+        closed = true;
+
+        try {
+            ch.close();
+        }
+        finally {
+            GridUnsafe.cleanDirectBuffer(block);
+            GridUnsafe.cleanDirectBuffer(compressed);
+        }
+    }
+}
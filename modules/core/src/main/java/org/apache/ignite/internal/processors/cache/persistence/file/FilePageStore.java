@@ -28,6 +28,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.LongConsumer;
@@ -42,6 +43,7 @@ import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSn
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteOutClosure;
 
@@ -69,6 +71,9 @@ public class FilePageStore implements PageStore {
     /** Page store file signature. */
     private static final long SIGNATURE = 0xF19AC4FE60C530B8L;
 
+    /** Buffer of the thread reading pages ahead, reused by consequent read-ahead operations of the thread. */
+    private static final ThreadLocal<ByteBuffer> READ_AHEAD_BUF = new ThreadLocal<>();
+
     /** File version. */
     public static final int VERSION = 1;
 
@@ -123,6 +128,12 @@ public class FilePageStore implements PageStore {
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /** Pages read ahead, reads of these pages are served from memory. */
+    private final AtomicReference<ReadAheadBuffer> readAheadBuf = new AtomicReference<>();
+
+    /** Counter of completed writes, used to detect pages rewritten while being read ahead. */
+    private final AtomicLong writesCnt = new AtomicLong();
+
     /**
      * @param type Type of stored pages.
      * @param pathProvider Store path.
@@ -367,6 +378,8 @@ public class FilePageStore implements PageStore {
 
             inited = false;
 
+            invalidateReadAhead();
+
             lock.writeLock().unlock();
         }
     }
@@ -416,6 +429,8 @@ public class FilePageStore implements PageStore {
 
             inited = false;
 
+            invalidateReadAhead();
+
             lock.writeLock().unlock();
         }
     }
@@ -509,7 +524,7 @@ public class FilePageStore implements PageStore {
                 ", allocated=" + allocated.get() + ", headerSize=" + headerSize() + ", cfgFile=" +
                 pathProvider.apply().toAbsolutePath();
 
-            int n = readWithFailover(pageBuf, off);
+            int n = readFromReadAhead(pageBuf, off) ? pageSize : readWithFailover(pageBuf, off);
 
             // If page was not written yet, nothing to read.
             if (n < 0) {
@@ -548,6 +563,132 @@ public class FilePageStore implements PageStore {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean readAhead(
+        long pageId,
+        int cnt,
+        IgniteThrowableConsumer<ByteBuffer> c
+    ) throws IgniteCheckedException {
+        FileIO fileIO = this.fileIO;
+
+        // Read-ahead is only a hint, so don't create the file. Encrypted pages can be decrypted only one by one.
+        if (!inited || fileIO == null || fileIO instanceof EncryptedFileIO)
+            return false;
+
+        long off = pageOffset(pageId);
+        long len = Math.min((long)cnt * pageSize, allocated.get() - off);
+
+        if (len < pageSize)
+            return false;
+
+        ByteBuffer buf = READ_AHEAD_BUF.get();
+
+        if (buf == null || buf.capacity() < len) {
+            buf = ByteBuffer.allocateDirect((int)len).order(ByteOrder.nativeOrder());
+
+            READ_AHEAD_BUF.set(buf);
+        }
+
+        buf.clear();
+        buf.limit((int)len);
+
+        try {
+            long writes = writesCnt.get();
+
+            int n = readWithFailover(buf, off);
+
+            if (n < pageSize)
+                return false;
+
+            buf.clear();
+            buf.limit(n - n % pageSize);
+
+            ReadAheadBuffer readAhead = new ReadAheadBuffer(off, buf, buf.limit());
+
+            if (writesCnt.get() != writes)
+                return false;
+
+            readAheadBuf.set(readAhead);
+
+            // Recheck: a write may have completed without seeing the buffer being installed.
+            if (writesCnt.get() != writes) {
+                readAheadBuf.compareAndSet(readAhead, null);
+
+                return false;
+            }
+
+            try {
+                c.accept(buf.asReadOnlyBuffer().order(ByteOrder.nativeOrder()));
+            }
+            finally {
+                readAheadBuf.compareAndSet(readAhead, null);
+            }
+
+            return true;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to read pages [file=" + getFileAbsolutePath() +
+                ", pageId=" + pageId + ", cnt=" + cnt + "]", e);
+        }
+    }
+
+    /**
+     * Copies page from the read-ahead buffer if the buffer contains it.
+     *
+     * @param pageBuf Page buffer to read into.
+     * @param off Page offset in the file.
+     * @return {@code True} if the page was copied.
+     */
+    private boolean readFromReadAhead(ByteBuffer pageBuf, long off) {
+        ReadAheadBuffer readAhead = readAheadBuf.get();
+
+        if (readAhead == null || !readAhead.contains(off, pageSize))
+            return false;
+
+        int pos = pageBuf.position();
+
+        ByteBuffer src = readAhead.buf.duplicate();
+
+        src.clear();
+        src.position((int)(off - readAhead.off));
+        src.limit(src.position() + pageSize);
+
+        pageBuf.put(src);
+
+        // The buffer is reused by the next read-ahead after it is uninstalled, so the copy is valid only if the
+        // buffer is still installed.
+        if (readAheadBuf.get() != readAhead) {
+            pageBuf.position(pos);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Drops read-ahead buffer if it contains the page written.
+     *
+     * @param off Offset of the page written.
+     */
+    private void onPageWritten(long off) {
+        writesCnt.incrementAndGet();
+
+        ReadAheadBuffer readAhead = readAheadBuf.get();
+
+        if (readAhead != null && readAhead.contains(off, pageSize))
+            readAheadBuf.compareAndSet(readAhead, null);
+    }
+
+    /**
+     * Drops read-ahead buffer.
+     */
+    private void invalidateReadAhead() {
+        writesCnt.incrementAndGet();
+
+        readAheadBuf.set(null);
+    }
+
     /** {@inheritDoc} */
     @Override public void readHeader(ByteBuffer buf) throws IgniteCheckedException {
         init();
@@ -747,6 +888,8 @@ public class FilePageStore implements PageStore {
 
                     fileIO.writeFully(pageBuf, off);
 
+                    onPageWritten(off);
+
                     PageIO.setCrc(pageBuf, 0);
 
                     if (interrupted)
@@ -914,4 +1057,38 @@ public class FilePageStore implements PageStore {
             }
         }
     }
+
+    /**
+     * Pages read from the file with a single read operation.
+     */
+    private static class ReadAheadBuffer {
+        /** Offset of the first page in the file. */
+        private final long off;
+
+        /** Pages. */
+        private final ByteBuffer buf;
+
+        /** Length of the pages in the buffer. */
+        private final int len;
+
+        /**
+         * @param off Offset of the first page in the file.
+         * @param buf Pages.
+         * @param len Length of the pages in the buffer.
+         */
+        private ReadAheadBuffer(long off, ByteBuffer buf, int len) {
+            this.off = off;
+            this.buf = buf;
+            this.len = len;
+        }
+
+        /**
+         * @param pageOff Page offset in the file.
+         * @param pageSize Page size.
+         * @return {@code True} if the buffer contains the whole page.
+         */
+        private boolean contains(long pageOff, int pageSize) {
+            return pageOff >= off && pageOff + pageSize <= off + len;
+        }
+    }
 }
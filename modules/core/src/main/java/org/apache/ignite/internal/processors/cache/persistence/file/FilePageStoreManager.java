@@ -610,8 +610,14 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         FileIOFactory pageStoreFileIoFactory = this.pageStoreFileIoFactory;
         FileIOFactory pageStoreV1FileIoFactory = this.pageStoreV1FileIoFactory;
 
+        if (dsCfg.getCheckpointPageDeltasLogSize() > 0) {
+            pageStoreFileIoFactory = new PageDeltaFileIOFactory(pageStoreFileIoFactory, dsCfg.getPageSize(),
+                dsCfg.getCheckpointPageDeltasLogSize());
+        }
+
         if (encrKeyProvider != null) {
-            pageStoreFileIoFactory = encryptedFileIoFactory(this.pageStoreFileIoFactory, grpId, encrKeyProvider);
+            // Deltas are computed over encrypted pages, so no plain data gets to the deltas log.
+            pageStoreFileIoFactory = encryptedFileIoFactory(pageStoreFileIoFactory, grpId, encrKeyProvider);
             pageStoreV1FileIoFactory = encryptedFileIoFactory(this.pageStoreV1FileIoFactory, grpId, encrKeyProvider);
         }
 
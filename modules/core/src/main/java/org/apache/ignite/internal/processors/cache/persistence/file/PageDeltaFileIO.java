@@ -0,0 +1,855 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Page store file IO which writes small changes of pages to a delta log instead of rewriting whole pages.
+ *
+ * A page written at a page aligned position is compared with its current image. If only a small part of the page
+ * differs, changed byte ranges are appended to the delta log file next to the page store file and kept in memory,
+ * reads merge the base page with its deltas. Deltas are compacted into the page store file on {@link #force()} once
+ * the log exceeds the configured size, on {@link #close()} and when the file is opened after a crash.
+ *
+ * Deltas are absolute byte ranges, so applying them twice gives the same page. This makes compaction idempotent and
+ * allows to interrupt it at any point: the log is truncated only after the page store file is synced. Pages written
+ * by an unfinished checkpoint may mix stale deltas with the new base image, but such pages are fully restored from
+ * WAL page snapshots by binary recovery, the same way as torn page writes.
+ *
+ * The mode trades an extra read of the page on each write for a smaller write volume. The read is skipped for pages
+ * which were last rewritten as a whole because of a big change: such pages are likely to change a lot again.
+ *
+ * Pages are guarded by striped locks, so checkpoint threads write different pages concurrently. Operations on the
+ * whole file, like compaction, hold all the stripes.
+ */
+public class PageDeltaFileIO extends FileIODecorator {
+    /** Delta log file suffix. */
+    public static final String DELTA_LOG_SUFFIX = ".delta";
+
+    /** Delta log magic number. */
+    private static final long MAGIC = 0x49474E5044454C54L;
+
+    /** Size of delta log header: magic and page size. */
+    private static final int LOG_HDR_SIZE = 12;
+
+    /** Size of record header: record length, page index and deltas length. */
+    private static final int REC_HDR_SIZE = 16;
+
+    /** Size of record CRC. */
+    private static final int REC_CRC_SIZE = 4;
+
+    /** Size of changed range header: offset and length. */
+    private static final int RANGE_HDR_SIZE = 4;
+
+    /** Deltas length of a record which drops all previous deltas of a page. */
+    private static final int RESET = -1;
+
+    /** Changed ranges separated by less bytes are merged into a single range. */
+    private static final int RANGE_GAP = 16;
+
+    /** A page is written as a delta if the delta is not bigger than this part of the page. */
+    private static final int MAX_DELTA_RATIO = 4;
+
+    /** Maximal number of deltas kept for a page, bounds the cost of merging on read. */
+    private static final int MAX_PAGE_DELTAS = 8;
+
+    /** Size of the buffer of delta log appends. */
+    private static final int LOG_BUF_SIZE = 64 * 1024;
+
+    /** Count of page lock stripes, a power of two smaller than {@link Integer#SIZE}. */
+    private static final int STRIPES = 16;
+
+    /** Mask of all the page lock stripes. */
+    private static final int ALL_STRIPES = (1 << STRIPES) - 1;
+
+    /** Maximal count of pages to rewrite as a whole without comparing, bounds the memory of the tracking. */
+    private static final int MAX_FULL_PAGES = 1024;
+
+    /** Buffers of the page being written, shared by all files since the page is compared within a single call. */
+    private static final ThreadLocal<WriteBuffers> WRITE_BUFS = new ThreadLocal<>();
+
+    /** Factory of delta log IO. */
+    private static final FileIOFactory LOG_IO_FACTORY = new RandomAccessFileIOFactory();
+
+    /** Delta log file. */
+    private final File logFile;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Size of delta log which triggers compaction. */
+    private final long maxLogSize;
+
+    /**
+     * Page lock stripes. Reads hold read locks of the pages, since pages are merged with deltas which may be changed
+     * concurrently. Stripes are always acquired in ascending order.
+     */
+    private final ReadWriteLock[] locks = new ReadWriteLock[STRIPES];
+
+    /** Deltas of pages by page index. Deltas of a page are changed under the write lock of its stripe. */
+    private final Map<Long, List<byte[]>> deltas = new ConcurrentHashMap<>();
+
+    /** Pages which were rewritten as a whole because of a big change. */
+    private final Set<Long> fullPages = ConcurrentHashMap.newKeySet();
+
+    /** Mutex of the delta log, acquired after the page locks. */
+    private final Object logMux = new Object();
+
+    /** Buffer of delta log appends. */
+    private final ByteBuffer logBuf = ByteBuffer.allocate(LOG_BUF_SIZE);
+
+    /** Record CRC. */
+    private final CRC32 crc = new CRC32();
+
+    /** Delta log IO, created on the first flush. */
+    private @Nullable FileIO logIO;
+
+    /** Size of delta log including buffered records. */
+    private long logSize;
+
+    /** Size of delta log written to the file. */
+    private long logWritten;
+
+    /**
+     * @param delegate Page store file IO.
+     * @param file Page store file.
+     * @param pageSize Page size.
+     * @param maxLogSize Size of delta log which triggers compaction.
+     * @throws IOException If failed to compact deltas left after a crash.
+     */
+    public PageDeltaFileIO(FileIO delegate, File file, int pageSize, long maxLogSize) throws IOException {
+        super(delegate);
+
+        assert pageSize % Long.BYTES == 0 : pageSize;
+
+        this.pageSize = pageSize;
+        this.maxLogSize = maxLogSize;
+
+        logFile = new File(file.getPath() + DELTA_LOG_SUFFIX);
+
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new ReentrantReadWriteLock();
+
+        if (logFile.exists()) {
+            if (delegate.size() > 0) {
+                replay();
+
+                compact();
+            }
+
+            Files.delete(logFile.toPath());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf) throws IOException {
+        long pos = delegate.position();
+
+        int n = read(destBuf, pos);
+
+        if (n > 0)
+            delegate.position(pos + n);
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+        int stripes = stripes(position, destBuf.remaining());
+
+        lock(stripes, false);
+
+        try {
+            int start = destBuf.position();
+
+            int n = delegate.read(destBuf, position);
+
+            if (n > 0 && !deltas.isEmpty())
+                applyDeltas(destBuf, start, position, n);
+
+            return n;
+        }
+        finally {
+            unlock(stripes, false);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        long pos = delegate.position();
+
+        int n = write(srcBuf, pos);
+
+        if (n > 0)
+            delegate.position(pos + n);
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        int len = srcBuf.remaining();
+        int stripes = stripes(position, len);
+
+        lock(stripes, true);
+
+        try {
+            if (len == pageSize && position % pageSize == 0 && writeDelta(srcBuf, position / pageSize))
+                return len;
+
+            invalidate(position, len);
+
+            return delegate.write(srcBuf, position);
+        }
+        finally {
+            unlock(stripes, true);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        return write(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long pos, int len) {
+        int stripes = stripes(pos, len);
+
+        lock(stripes, true);
+
+        try {
+            invalidate(pos, len);
+
+            return delegate.punchHole(pos, len);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            unlock(stripes, true);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        compactNow();
+
+        return delegate.map(sizeBytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        compactNow();
+
+        return delegate.transferTo(position, count, target);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        compactNow();
+
+        return delegate.transferFrom(src, position, count);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        FileIO logIO;
+        boolean compact;
+
+        synchronized (logMux) {
+            compact = logSize > maxLogSize;
+
+            if (!compact)
+                flushLog();
+
+            logIO = this.logIO;
+        }
+
+        // Compaction syncs the log itself, otherwise the log is synced outside of the mutex to not block writes.
+        if (compact)
+            compactNow();
+        else if (logIO != null)
+            logIO.force(true);
+
+        delegate.force(withMetadata);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        lock(ALL_STRIPES, true);
+
+        try {
+            deltas.clear();
+            fullPages.clear();
+
+            resetLog();
+
+            delegate.clear();
+        }
+        finally {
+            unlock(ALL_STRIPES, true);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        lock(ALL_STRIPES, true);
+
+        try {
+            boolean compact;
+
+            synchronized (logMux) {
+                compact = logSize > 0;
+            }
+
+            if (compact)
+                compact();
+
+            synchronized (logMux) {
+                if (logIO != null) {
+                    logIO.close();
+
+                    logIO = null;
+                }
+            }
+
+            Files.deleteIfExists(logFile.toPath());
+        }
+        finally {
+            unlock(ALL_STRIPES, true);
+
+            delegate.close();
+        }
+    }
+
+    /**
+     * Tries to write the page as a delta of its current image.
+     *
+     * @param srcBuf Page buffer.
+     * @param pageIdx Page index in the file.
+     * @return {@code True} if the page is written, {@code false} if the page should be written as a whole.
+     * @throws IOException If failed.
+     */
+    private boolean writeDelta(ByteBuffer srcBuf, long pageIdx) throws IOException {
+        List<byte[]> pageDeltas = deltas.get(pageIdx);
+
+        if (pageDeltas != null && pageDeltas.size() >= MAX_PAGE_DELTAS)
+            return false;
+
+        // The page has no deltas after its last big change, so it's rewritten as a whole without reading.
+        if (pageDeltas == null && fullPages.contains(pageIdx))
+            return false;
+
+        WriteBuffers bufs = writeBuffers();
+
+        if (!readCurrentPage(bufs.curPage, pageIdx, pageDeltas))
+            return false;
+
+        byte[] delta = diff(srcBuf, bufs);
+
+        if (delta == null) {
+            // Pages are retried once the tracking is full.
+            if (fullPages.size() >= MAX_FULL_PAGES)
+                fullPages.clear();
+
+            fullPages.add(pageIdx);
+
+            return false;
+        }
+
+        if (delta.length > 0) {
+            appendLog(pageIdx, delta);
+
+            if (pageDeltas == null)
+                deltas.put(pageIdx, pageDeltas = new ArrayList<>(2));
+
+            pageDeltas.add(delta);
+        }
+
+        srcBuf.position(srcBuf.limit());
+
+        return true;
+    }
+
+    /**
+     * Reads current image of a page.
+     *
+     * @param curPage Buffer of the page image.
+     * @param pageIdx Page index in the file.
+     * @param pageDeltas Deltas of the page.
+     * @return {@code False} if the page isn't written to the file yet.
+     * @throws IOException If failed.
+     */
+    private boolean readCurrentPage(ByteBuffer curPage, long pageIdx, @Nullable List<byte[]> pageDeltas)
+        throws IOException {
+        long pos = pageIdx * pageSize;
+
+        curPage.clear();
+
+        while (curPage.hasRemaining()) {
+            if (delegate.read(curPage, pos + curPage.position()) < 0)
+                return false;
+        }
+
+        if (pageDeltas != null) {
+            for (byte[] delta : pageDeltas)
+                apply(delta, curPage, 0, 0, pageSize);
+        }
+
+        curPage.clear();
+
+        return true;
+    }
+
+    /**
+     * Computes changed ranges of the page comparing it with its current image.
+     *
+     * @param srcBuf Page buffer.
+     * @param bufs Write buffers with the current image of the page.
+     * @return Changed ranges, empty array if the page isn't changed or {@code null} if the change is too big.
+     */
+    private @Nullable byte[] diff(ByteBuffer srcBuf, WriteBuffers bufs) {
+        ByteBuffer curPage = bufs.curPage;
+        int[] ranges = bufs.ranges;
+
+        int base = srcBuf.position();
+        int maxSize = pageSize / MAX_DELTA_RATIO;
+
+        // Compare in the same byte order, the buffers may have different ones.
+        ByteBuffer src = srcBuf.duplicate();
+
+        int cnt = 0;
+        int size = 0;
+
+        for (int i = 0; i < pageSize; i += Long.BYTES) {
+            if (src.getLong(base + i) == curPage.getLong(i))
+                continue;
+
+            if (cnt > 0 && i - ranges[cnt - 1] < RANGE_GAP)
+                ranges[cnt - 1] = i + Long.BYTES;
+            else {
+                if (cnt > 0 && (size += RANGE_HDR_SIZE + ranges[cnt - 1] - ranges[cnt - 2]) > maxSize)
+                    return null;
+
+                ranges[cnt++] = i;
+                ranges[cnt++] = i + Long.BYTES;
+            }
+        }
+
+        if (cnt > 0 && (size += RANGE_HDR_SIZE + ranges[cnt - 1] - ranges[cnt - 2]) > maxSize)
+            return null;
+
+        byte[] delta = new byte[size];
+
+        ByteBuffer buf = ByteBuffer.wrap(delta);
+
+        for (int r = 0; r < cnt; r += 2) {
+            int off = ranges[r];
+            int len = ranges[r + 1] - off;
+
+            buf.putChar((char)off);
+            buf.putChar((char)len);
+
+            for (int i = 0; i < len; i++)
+                buf.put(src.get(base + off + i));
+        }
+
+        return delta;
+    }
+
+    /**
+     * Applies deltas of pages overlapping the read range.
+     *
+     * @param buf Buffer.
+     * @param start Position of the read range in the buffer.
+     * @param pos Position of the read range in the file.
+     * @param len Length of the read range.
+     */
+    private void applyDeltas(ByteBuffer buf, int start, long pos, int len) {
+        for (long pageIdx = pos / pageSize; pageIdx <= (pos + len - 1) / pageSize; pageIdx++) {
+            List<byte[]> pageDeltas = deltas.get(pageIdx);
+
+            if (pageDeltas == null)
+                continue;
+
+            long pagePos = pageIdx * pageSize;
+
+            int from = (int)Math.max(0, pos - pagePos);
+            int to = (int)Math.min(pageSize, pos + len - pagePos);
+
+            for (byte[] delta : pageDeltas)
+                apply(delta, buf, start + (int)(pagePos - pos), from, to);
+        }
+    }
+
+    /**
+     * Applies changed ranges to a part of a page.
+     *
+     * @param delta Changed ranges.
+     * @param buf Buffer.
+     * @param pageStart Position of the page start in the buffer, may be negative if the page is read partially.
+     * @param from Start offset of the page part in the buffer.
+     * @param to End offset of the page part in the buffer.
+     */
+    private static void apply(byte[] delta, ByteBuffer buf, int pageStart, int from, int to) {
+        ByteBuffer d = ByteBuffer.wrap(delta);
+
+        while (d.hasRemaining()) {
+            int off = d.getChar();
+            int len = d.getChar();
+            int dataPos = d.position();
+
+            for (int i = Math.max(off, from); i < Math.min(off + len, to); i++)
+                buf.put(pageStart + i, delta[dataPos + i - off]);
+
+            d.position(dataPos + len);
+        }
+    }
+
+    /**
+     * Drops deltas of pages overlapping the range which is written as is. Partially overwritten pages are written
+     * to the file with their deltas first.
+     *
+     * @param pos Position of the range.
+     * @param len Length of the range.
+     * @throws IOException If failed.
+     */
+    private void invalidate(long pos, int len) throws IOException {
+        if (deltas.isEmpty() || len <= 0)
+            return;
+
+        for (long pageIdx = pos / pageSize; pageIdx <= (pos + len - 1) / pageSize; pageIdx++) {
+            List<byte[]> pageDeltas = deltas.remove(pageIdx);
+
+            if (pageDeltas == null)
+                continue;
+
+            long pagePos = pageIdx * pageSize;
+
+            if (pagePos < pos || pagePos + pageSize > pos + len)
+                writePage(pageIdx, pageDeltas);
+
+            appendLog(pageIdx, null);
+        }
+    }
+
+    /**
+     * Writes current image of a page to the file.
+     *
+     * @param pageIdx Page index in the file.
+     * @param pageDeltas Deltas of the page.
+     * @throws IOException If failed.
+     */
+    private void writePage(long pageIdx, List<byte[]> pageDeltas) throws IOException {
+        ByteBuffer curPage = writeBuffers().curPage;
+
+        boolean written = readCurrentPage(curPage, pageIdx, pageDeltas);
+
+        assert written : "Deltas of not written page [file=" + logFile + ", pageIdx=" + pageIdx + ']';
+
+        delegate.writeFully(curPage, pageIdx * pageSize);
+    }
+
+    /**
+     * @return Write buffers of the current thread for the page size of the file.
+     */
+    private WriteBuffers writeBuffers() {
+        WriteBuffers bufs = WRITE_BUFS.get();
+
+        if (bufs == null || bufs.curPage.capacity() != pageSize)
+            WRITE_BUFS.set(bufs = new WriteBuffers(pageSize));
+
+        return bufs;
+    }
+
+    /**
+     * @param pageIdx Page index in the file.
+     * @return Lock stripe of the page.
+     */
+    private static int stripe(long pageIdx) {
+        return (int)(pageIdx & (STRIPES - 1));
+    }
+
+    /**
+     * @param pos Position of a range in the file.
+     * @param len Length of the range.
+     * @return Mask of lock stripes of the pages overlapping the range.
+     */
+    private int stripes(long pos, int len) {
+        long first = pos / pageSize;
+        long last = len > 0 ? (pos + len - 1) / pageSize : first;
+
+        if (last - first >= STRIPES - 1)
+            return ALL_STRIPES;
+
+        int stripes = 0;
+
+        for (long pageIdx = first; pageIdx <= last; pageIdx++)
+            stripes |= 1 << stripe(pageIdx);
+
+        return stripes;
+    }
+
+    /**
+     * Acquires locks of the stripes in ascending order.
+     *
+     * @param stripes Mask of lock stripes.
+     * @param write Write lock flag.
+     */
+    private void lock(int stripes, boolean write) {
+        for (int i = 0; i < STRIPES; i++) {
+            if ((stripes & (1 << i)) != 0)
+                (write ? locks[i].writeLock() : locks[i].readLock()).lock();
+        }
+    }
+
+    /**
+     * Releases locks of the stripes.
+     *
+     * @param stripes Mask of lock stripes.
+     * @param write Write lock flag.
+     */
+    private void unlock(int stripes, boolean write) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            if ((stripes & (1 << i)) != 0)
+                (write ? locks[i].writeLock() : locks[i].readLock()).unlock();
+        }
+    }
+
+    /**
+     * Compacts deltas under the locks of all the pages.
+     *
+     * @throws IOException If failed.
+     */
+    private void compactNow() throws IOException {
+        lock(ALL_STRIPES, true);
+
+        try {
+            compact();
+        }
+        finally {
+            unlock(ALL_STRIPES, true);
+        }
+    }
+
+    /**
+     * Writes all pages with deltas to the file, syncs it and truncates the delta log. Must be called under the locks
+     * of all the pages.
+     *
+     * @throws IOException If failed.
+     */
+    private void compact() throws IOException {
+        if (!deltas.isEmpty()) {
+            for (Map.Entry<Long, List<byte[]>> e : deltas.entrySet())
+                writePage(e.getKey(), e.getValue());
+
+            deltas.clear();
+
+            delegate.force();
+        }
+
+        resetLog();
+    }
+
+    /**
+     * Appends a record to the delta log.
+     *
+     * @param pageIdx Page index in the file.
+     * @param delta Changed ranges or {@code null} to drop all previous deltas of the page.
+     * @throws IOException If failed.
+     */
+    private void appendLog(long pageIdx, @Nullable byte[] delta) throws IOException {
+        synchronized (logMux) {
+            appendLog0(pageIdx, delta);
+        }
+    }
+
+    /**
+     * Appends a record to the delta log under the log mutex.
+     *
+     * @param pageIdx Page index in the file.
+     * @param delta Changed ranges or {@code null} to drop all previous deltas of the page.
+     * @throws IOException If failed.
+     */
+    private void appendLog0(long pageIdx, @Nullable byte[] delta) throws IOException {
+        int recLen = REC_HDR_SIZE + (delta == null ? 0 : delta.length) + REC_CRC_SIZE;
+
+        if (logSize == 0) {
+            logBuf.putLong(MAGIC).putInt(pageSize);
+
+            logSize = LOG_HDR_SIZE;
+        }
+
+        if (logBuf.remaining() < recLen)
+            flushLog();
+
+        int recStart = logBuf.position();
+
+        logBuf.putInt(recLen).putLong(pageIdx).putInt(delta == null ? RESET : delta.length);
+
+        if (delta != null)
+            logBuf.put(delta);
+
+        crc.reset();
+        crc.update(logBuf.array(), recStart, recLen - REC_CRC_SIZE);
+
+        logBuf.putInt((int)crc.getValue());
+
+        logSize += recLen;
+    }
+
+    /**
+     * Writes buffered records to the delta log file under the log mutex.
+     *
+     * @throws IOException If failed.
+     */
+    private void flushLog() throws IOException {
+        if (logBuf.position() == 0)
+            return;
+
+        if (logIO == null)
+            logIO = LOG_IO_FACTORY.create(logFile);
+
+        logBuf.flip();
+
+        logWritten += logIO.writeFully(logBuf, logWritten);
+
+        logBuf.clear();
+
+        assert logWritten == logSize : "Delta log size mismatch [written=" + logWritten + ", size=" + logSize + ']';
+    }
+
+    /**
+     * Drops all records of the delta log.
+     *
+     * @throws IOException If failed.
+     */
+    private void resetLog() throws IOException {
+        synchronized (logMux) {
+            logBuf.clear();
+
+            logSize = 0;
+            logWritten = 0;
+
+            if (logIO != null) {
+                logIO.clear();
+
+                logIO.force(true);
+            }
+        }
+    }
+
+    /**
+     * Reads deltas from the log left after a crash. Records after the first broken one belong to an unfinished
+     * checkpoint and are ignored.
+     *
+     * @throws IOException If failed.
+     */
+    private void replay() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile.toPath())))) {
+            if (in.readLong() != MAGIC || in.readInt() != pageSize)
+                throw new IOException("Unexpected delta log header [file=" + logFile + ']');
+
+            while (true) {
+                int recLen = in.readInt();
+
+                if (recLen < REC_HDR_SIZE + REC_CRC_SIZE || recLen > REC_HDR_SIZE + pageSize + REC_CRC_SIZE)
+                    break;
+
+                byte[] rec = new byte[recLen];
+
+                ByteBuffer buf = ByteBuffer.wrap(rec).putInt(recLen);
+
+                in.readFully(rec, Integer.BYTES, recLen - Integer.BYTES);
+
+                crc.reset();
+                crc.update(rec, 0, recLen - REC_CRC_SIZE);
+
+                if (buf.getInt(recLen - REC_CRC_SIZE) != (int)crc.getValue())
+                    break;
+
+                long pageIdx = buf.getLong();
+                int deltaLen = buf.getInt();
+
+                if (deltaLen == RESET) {
+                    deltas.remove(pageIdx);
+
+                    continue;
+                }
+
+                byte[] delta = new byte[deltaLen];
+
+                buf.get(delta);
+
+                deltas.computeIfAbsent(pageIdx, k -> new ArrayList<>(2)).add(delta);
+            }
+        }
+        catch (EOFException ignore) {
+            // Torn tail of the log.
+        }
+    }
+
+    /**
+     * Buffers of the page being written.
+     */
+    private static class WriteBuffers {
+        /** Current image of the page. */
+        private final ByteBuffer curPage;
+
+        /** Bounds of changed ranges of the page. */
+        private final int[] ranges;
+
+        /**
+         * @param pageSize Page size.
+         */
+        private WriteBuffers(int pageSize) {
+            curPage = ByteBuffer.allocateDirect(pageSize);
+            ranges = new int[pageSize / Long.BYTES + 2];
+        }
+    }
+}
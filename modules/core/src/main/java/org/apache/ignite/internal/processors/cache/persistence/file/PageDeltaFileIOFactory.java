@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+
+/**
+ * Factory to produce {@link PageDeltaFileIO}.
+ */
+public class PageDeltaFileIOFactory implements FileIOFactory {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Factory to produce underlying {@code FileIO} instances. */
+    private final FileIOFactory delegate;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Size of delta log which triggers compaction. */
+    private final long maxLogSize;
+
+    /**
+     * @param delegate Underlying file factory.
+     * @param pageSize Page size.
+     * @param maxLogSize Size of delta log which triggers compaction.
+     */
+    public PageDeltaFileIOFactory(FileIOFactory delegate, int pageSize, long maxLogSize) {
+        this.delegate = delegate;
+        this.pageSize = pageSize;
+        this.maxLogSize = maxLogSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+        FileIO io = delegate.create(file, modes);
+
+        try {
+            return new PageDeltaFileIO(io, file, pageSize, maxLogSize);
+        }
+        catch (IOException e) {
+            io.close();
+
+            throw e;
+        }
+    }
+}
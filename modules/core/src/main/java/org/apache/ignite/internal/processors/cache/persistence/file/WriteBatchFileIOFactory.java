@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+
+/**
+ * {@link FileIO} factory which can write asynchronously.
+ * <p>
+ * While the current thread has a started write batch, positional writes of the thread to files of the factory may
+ * return before the data is written: the data is copied and submitted, so the caller's buffer may be reused at once.
+ * Reads, syncs and closing of the files wait for completion of the submitted writes. Errors of the writes are
+ * reported by {@link WriteBatch#close()}, so the written data must be considered durable only after it.
+ */
+public interface WriteBatchFileIOFactory extends FileIOFactory {
+    /**
+     * Starts a write batch of the current thread.
+     *
+     * @return Write batch.
+     */
+    public WriteBatch startWriteBatch();
+
+    /**
+     * Writes of a thread submitted asynchronously.
+     */
+    public interface WriteBatch extends AutoCloseable {
+        /**
+         * Waits for completion of all the writes of the batch and finishes the batch.
+         *
+         * @throws IOException If a write of the batch failed.
+         */
+        @Override public void close() throws IOException;
+    }
+}
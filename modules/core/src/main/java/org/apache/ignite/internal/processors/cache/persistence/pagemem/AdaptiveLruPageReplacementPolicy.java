@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.util.GridIntList;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.SegmentedLruPageList.NULL_IDX;
+
+/**
+ * Adaptive (ARC-like) page replacement policy implementation.
+ * <p>
+ * Loaded pages are kept in {@link SegmentedLruPageList}: probationary segment holds pages accessed once since load
+ * (recency), protected segment holds pages accessed at least twice (frequency). Unlike segmented-LRU, the protected
+ * segment limit is not fixed. Recently replaced pages are remembered in ghost table, and if a replaced page is loaded
+ * again soon, the segment the page was replaced from gets more space: the protected limit is decreased for a page
+ * replaced after a single access and increased for a frequently accessed one.
+ * <p>
+ * Ghost table is direct-mapped by page ID hash and stores only page ID fingerprints, so it is an approximation of
+ * ARC ghost lists: a collision replaces the older entry.
+ *
+ * @see PageReplacementMode#ADAPTIVE_LRU
+ */
+public class AdaptiveLruPageReplacementPolicy extends PageReplacementPolicy {
+    /** Ghost entry type of a page replaced after a single access. */
+    private static final int RECENCY_GHOST = 1;
+
+    /** Ghost entry type of a page replaced after several accesses. */
+    private static final int FREQUENCY_GHOST = 2;
+
+    /** Ghost entry type mask. */
+    private static final int GHOST_TYPE_MASK = 3;
+
+    /** Total pages count. */
+    private final int pagesCnt;
+
+    /** LRU list. */
+    private final SegmentedLruPageList lruList;
+
+    /** Flags of pages accessed more than once since load. */
+    private final ClockPageReplacementFlags frequent;
+
+    /** Pointer to ghost table, an int fingerprint with entry type per slot. */
+    private final long ghostsPtr;
+
+    /** Count of recency ghost entries. */
+    private int recencyGhosts;
+
+    /** Count of frequency ghost entries. */
+    private int frequencyGhosts;
+
+    /**
+     * @param seg Page memory segment.
+     * @param ptr Pointer to memory region.
+     * @param pagesCnt Pages count.
+     */
+    protected AdaptiveLruPageReplacementPolicy(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
+        super(seg);
+
+        this.pagesCnt = pagesCnt;
+
+        lruList = new SegmentedLruPageList(pagesCnt, ptr);
+
+        ptr += SegmentedLruPageList.requiredMemory(pagesCnt);
+
+        frequent = new ClockPageReplacementFlags(pagesCnt, ptr);
+
+        ghostsPtr = ptr + ClockPageReplacementFlags.requiredMemory(pagesCnt);
+
+        GridUnsafe.zeroMemory(ghostsPtr, ((long)pagesCnt) << 2);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHit(long relPtr) {
+        if (LowPriorityPageAccess.active())
+            return;
+
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        if (!frequent.getFlag(pageIdx))
+            frequent.setFlag(pageIdx);
+
+        lruList.moveToTail(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMiss(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        frequent.clearFlag(pageIdx);
+
+        if (LowPriorityPageAccess.active()) {
+            lruList.addToHead(pageIdx);
+
+            return;
+        }
+
+        int ghost = removeGhost(PageHeader.fullPageId(seg.absolute(relPtr)).hashCode());
+
+        if (ghost == RECENCY_GHOST)
+            adapt(-Math.max(1, frequencyGhosts / Math.max(1, recencyGhosts)));
+        else if (ghost == FREQUENCY_GHOST)
+            adapt(Math.max(1, recencyGhosts / Math.max(1, frequencyGhosts)));
+
+        // Page loaded again soon after replacement has been accessed twice in a short period.
+        lruList.addToTail(pageIdx, ghost != 0);
+
+        if (ghost != 0)
+            frequent.setFlag(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemove(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        lruList.remove(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace() throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        // Pages which can't be replaced with their protected flags in the lowest bit. They are returned to their
+        // segments after the search, so the search isn't looped over the same probationary pages.
+        GridIntList skipped = null;
+
+        try {
+            for (int i = 0; i < loadedPages.size(); i++) {
+                int headIdx = lruList.headIdx();
+
+                // Poll clears the protected flag.
+                boolean protectedPage = headIdx != NULL_IDX && lruList.protectedPage(headIdx);
+
+                int pageIdx = lruList.poll();
+
+                long relPtr = seg.relative(pageIdx);
+                long absPtr = seg.absolute(relPtr);
+
+                FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+                // Check loaded pages map for outdated page.
+                relPtr = loadedPages.get(
+                    fullId.groupId(),
+                    fullId.effectivePageId(),
+                    seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())),
+                    INVALID_REL_PTR,
+                    OUTDATED_REL_PTR
+                );
+
+                assert relPtr != INVALID_REL_PTR;
+
+                if (relPtr == OUTDATED_REL_PTR)
+                    return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+
+                if (seg.tryToRemovePage(fullId, absPtr)) {
+                    addGhost(fullId.hashCode(), frequent.getFlag(pageIdx) ? FREQUENCY_GHOST : RECENCY_GHOST);
+
+                    return relPtr;
+                }
+
+                if (skipped == null)
+                    skipped = new GridIntList();
+
+                skipped.add((pageIdx << 1) | (protectedPage ? 1 : 0));
+            }
+
+            throw seg.oomException("no pages to replace");
+        }
+        finally {
+            if (skipped != null) {
+                for (int i = 0; i < skipped.size(); i++)
+                    lruList.addToTail(skipped.get(i) >>> 1, (skipped.get(i) & 1) != 0);
+            }
+        }
+    }
+
+    /**
+     * Changes the protected segment limit.
+     *
+     * @param delta Protected pages limit change.
+     */
+    private void adapt(int delta) {
+        int limit = lruList.protectedPagesLimit() + delta;
+
+        lruList.protectedPagesLimit(Math.max(0, Math.min(pagesCnt, limit)));
+    }
+
+    /**
+     * @param hash Page ID hash.
+     * @param type Ghost entry type.
+     */
+    private void addGhost(int hash, int type) {
+        long ptr = ghostPtr(hash);
+
+        int old = GridUnsafe.getInt(ptr);
+
+        if (old != 0)
+            updateGhostsCount(old & GHOST_TYPE_MASK, -1);
+
+        GridUnsafe.putInt(ptr, (fingerprint(hash) & ~GHOST_TYPE_MASK) | type);
+
+        updateGhostsCount(type, 1);
+    }
+
+    /**
+     * @param hash Page ID hash.
+     * @return Type of the removed ghost entry or {@code 0} if the page isn't in the ghost table.
+     */
+    private int removeGhost(int hash) {
+        long ptr = ghostPtr(hash);
+
+        int entry = GridUnsafe.getInt(ptr);
+
+        if (entry == 0 || ((entry ^ fingerprint(hash)) & ~GHOST_TYPE_MASK) != 0)
+            return 0;
+
+        GridUnsafe.putInt(ptr, 0);
+
+        int type = entry & GHOST_TYPE_MASK;
+
+        updateGhostsCount(type, -1);
+
+        return type;
+    }
+
+    /**
+     * @param type Ghost entry type.
+     * @param delta Count change.
+     */
+    private void updateGhostsCount(int type, int delta) {
+        if (type == RECENCY_GHOST)
+            recencyGhosts += delta;
+        else
+            frequencyGhosts += delta;
+    }
+
+    /**
+     * @param hash Page ID hash.
+     * @return Pointer to the ghost table slot.
+     */
+    private long ghostPtr(int hash) {
+        return ghostsPtr + (((long)(U.safeAbs(hash) % pagesCnt)) << 2);
+    }
+
+    /**
+     * @param hash Page ID hash.
+     * @return Fingerprint independent of the slot index.
+     */
+    private static int fingerprint(int hash) {
+        return Integer.rotateLeft(hash * 0x9E3779B9, 16);
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    public static long requiredMemory(int pagesCnt) {
+        return SegmentedLruPageList.requiredMemory(pagesCnt) + ClockPageReplacementFlags.requiredMemory(pagesCnt) +
+            (((long)pagesCnt) << 2);
+    }
+}
@@ -47,6 +47,9 @@ public class ClockPageReplacementPolicy extends PageReplacementPolicy {
 
     /** {@inheritDoc} */
     @Override public void onHit(long relPtr) {
+        if (LowPriorityPageAccess.active())
+            return;
+
         int pageIdx = (int)seg.pageIndex(relPtr);
 
         flags.setFlag(pageIdx);
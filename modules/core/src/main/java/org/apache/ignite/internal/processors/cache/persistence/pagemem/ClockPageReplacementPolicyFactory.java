@@ -30,4 +30,9 @@ public class ClockPageReplacementPolicyFactory implements PageReplacementPolicyF
     @Override public PageReplacementPolicy create(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
         return new ClockPageReplacementPolicy(seg, ptr, pagesCnt);
     }
+
+    /** {@inheritDoc} */
+    @Override public boolean lowPriorityAccessSupported() {
+        return true;
+    }
 }
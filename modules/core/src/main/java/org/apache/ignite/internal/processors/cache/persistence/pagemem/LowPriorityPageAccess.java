@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+/**
+ * Marks page accesses of the current thread as low priority for page replacement.
+ * <p>
+ * Large one-time scans (scan queries, index rebuild) touch every page of a partition once. Page replacement policies
+ * which support the hint place pages loaded by such scans to the eviction end of the list and don't count their hits,
+ * so a scan doesn't flush the hot working set from the data region.
+ * <p>
+ * Usage:
+ * <pre>
+ * LowPriorityPageAccess.enter();
+ *
+ * try {
+ *     // Scan pages.
+ * }
+ * finally {
+ *     LowPriorityPageAccess.exit();
+ * }
+ * </pre>
+ */
+public final class LowPriorityPageAccess {
+    /** Nesting depth of low priority sections of the current thread. */
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** */
+    private LowPriorityPageAccess() {
+        // No-op.
+    }
+
+    /**
+     * Starts low priority section.
+     */
+    public static void enter() {
+        DEPTH.get()[0]++;
+    }
+
+    /**
+     * Finishes low priority section.
+     */
+    public static void exit() {
+        int[] depth = DEPTH.get();
+
+        assert depth[0] > 0;
+
+        depth[0]--;
+    }
+
+    /**
+     * @return {@code True} if page accesses of the current thread are low priority.
+     */
+    public static boolean active() {
+        return DEPTH.get()[0] > 0;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Reentrant read-write lock which additionally supports optimistic (sequence lock style) reads.
+ * <p>
+ * The lock maintains a version which is odd while the write lock is held and even otherwise. An optimistic reader
+ * obtains a stamp with {@link #tryOptimisticRead()}, reads the guarded state without locking and then checks with
+ * {@link #validate(long)} that no writer has acquired the lock in the meantime. The reader must tolerate
+ * inconsistent data until the stamp is validated: every read must terminate and must not write anything based
+ * on the data read.
+ */
+public class OptimisticReadWriteLock extends ReentrantReadWriteLock {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Stamp returned when an optimistic read is not possible. */
+    public static final long INVALID_STAMP = -1L;
+
+    /** Lock version, odd while the write lock is held. Changed by the write lock owner only. */
+    private volatile long ver;
+
+    /** Write lock. */
+    private final VersionedWriteLock writeLock = new VersionedWriteLock(this);
+
+    /** {@inheritDoc} */
+    @Override public WriteLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * @return Stamp to be validated after the optimistic read or {@link #INVALID_STAMP} if the write lock is held.
+     */
+    public long tryOptimisticRead() {
+        long v = ver;
+
+        return (v & 1) == 0 ? v : INVALID_STAMP;
+    }
+
+    /**
+     * Checks that the write lock wasn't acquired since the stamp was issued. Reads done before this call are
+     * guaranteed to be consistent if the method returns {@code true}.
+     *
+     * @param stamp Stamp obtained by {@link #tryOptimisticRead()}.
+     * @return {@code True} if no writes happened since the stamp was issued.
+     */
+    public boolean validate(long stamp) {
+        GridUnsafe.loadFence();
+
+        return stamp != INVALID_STAMP && stamp == ver;
+    }
+
+    /**
+     * Write lock which increments the version on the outermost acquire and release.
+     */
+    private static class VersionedWriteLock extends WriteLock {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final OptimisticReadWriteLock lock;
+
+        /**
+         * @param lock Outer lock.
+         */
+        VersionedWriteLock(OptimisticReadWriteLock lock) {
+            super(lock);
+
+            this.lock = lock;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void lock() {
+            super.lock();
+
+            onLocked();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void lockInterruptibly() throws InterruptedException {
+            super.lockInterruptibly();
+
+            onLocked();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryLock() {
+            if (!super.tryLock())
+                return false;
+
+            onLocked();
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            if (!super.tryLock(timeout, unit))
+                return false;
+
+            onLocked();
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void unlock() {
+            // The version is changed before the release, so the next writer sees the even value.
+            if (isHeldByCurrentThread() && getHoldCount() == 1)
+                lock.ver++;
+
+            super.unlock();
+        }
+
+        /** */
+        private void onLocked() {
+            if (getHoldCount() == 1) {
+                lock.ver++;
+
+                // Guarded state must not be changed before optimistic readers may see the odd version.
+                GridUnsafe.fullFence();
+            }
+        }
+    }
+}
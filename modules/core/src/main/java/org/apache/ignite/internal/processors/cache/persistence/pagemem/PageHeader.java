@@ -126,6 +126,16 @@ class PageHeader {
         return GridUnsafe.getInt(absPtr + PAGE_PIN_CNT_OFFSET) > 0;
     }
 
+    /**
+     * Checks that the page is not pinned, reads the pin counter with volatile semantics.
+     *
+     * @param absPtr Page pointer.
+     * @return {@code True} if the page is not pinned.
+     */
+    public static boolean isNotAcquired(long absPtr) {
+        return GridUnsafe.getIntVolatile(null, absPtr + PAGE_PIN_CNT_OFFSET) == 0;
+    }
+
     /**
      * @param absPtr Absolute pointer.
      */
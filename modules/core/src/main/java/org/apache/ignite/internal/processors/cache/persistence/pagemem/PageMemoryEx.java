@@ -174,9 +174,11 @@ public interface PageMemoryEx extends PageMemory {
     public IgniteInternalFuture<Void> clearAsync(LoadedPagesMap.KeyPredicate pred, boolean cleanDirty);
 
     /**
-     * Pull page from checkpoint buffer.
+     * Polls the earliest copied to the checkpoint buffer page which isn't written by the current checkpoint yet.
+     *
+     * @return Page ID or {@link FullPageId#NULL_PAGE} if there are no such pages.
      */
-    public FullPageId pullPageFromCpBuffer();
+    public FullPageId pollCheckpointBufferPage();
 
     /**
      * Checks if the Checkpoint Buffer is currently close to exhaustion.
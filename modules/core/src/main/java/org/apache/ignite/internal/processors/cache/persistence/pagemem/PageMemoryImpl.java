@@ -21,20 +21,20 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
@@ -100,9 +100,10 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_READ_AHEAD_PAGES;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
 import static org.apache.ignite.internal.pagemem.FullPageId.NULL_PAGE;
-import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagePool.SEGMENT_INDEX_MASK;
 import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
 
 /**
@@ -157,12 +158,18 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Try again tag. */
     public static final int TRY_AGAIN_TAG = -1;
 
+    /** Assertions enabled flag, transient page pins of optimistic lookups are counted only for the assertions. */
+    private static final boolean ASSERTION_ENABLED = PageMemoryImpl.class.desiredAssertionStatus();
+
     /** @see IgniteSystemProperties#IGNITE_DELAYED_REPLACED_PAGE_WRITE */
     public static final boolean DFLT_DELAYED_REPLACED_PAGE_WRITE = true;
 
     /** @see IgniteSystemProperties#IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP */
     public static final boolean DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP = true;
 
+    /** @see IgniteSystemProperties#IGNITE_PDS_READ_AHEAD_PAGES */
+    public static final int DFLT_PDS_READ_AHEAD_PAGES = 0;
+
     /** Tracking io. */
     private static final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
 
@@ -192,6 +199,12 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** */
     private final ExecutorService asyncRunner;
 
+    /** Detector of sequential page reads, {@code null} if read-ahead is disabled. */
+    @Nullable private final PageReadAheadTracker readAheadTracker;
+
+    /** Read-ahead executor, {@code null} if read-ahead is disabled. */
+    @Nullable private final ExecutorService readAheadExecutor;
+
     /** Page manager. */
     private final PageReadWriteManager pmPageMgr;
 
@@ -222,6 +235,12 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** */
     private PagePool checkpointPool;
 
+    /**
+     * Pages copied to the checkpoint buffer during the current checkpoint in order of copying. These pages are modified
+     * while being checkpointed, so they are written first to release the checkpoint buffer.
+     */
+    private final ConcurrentLinkedQueue<FullPageId> cpBufPages = new ConcurrentLinkedQueue<>();
+
     /** */
     private final OffheapReadWriteLock rwLock;
 
@@ -355,10 +374,43 @@ public class PageMemoryImpl implements PageMemoryEx {
             case CLOCK:
                 pageReplacementPolicyFactory = new ClockPageReplacementPolicyFactory();
 
+                break;
+            case ADAPTIVE_LRU:
+                pageReplacementPolicyFactory = new AdaptiveLruPageReplacementPolicyFactory();
+
                 break;
             default:
                 throw new IgniteException("Unexpected page replacement mode: " + pageReplacementMode);
         }
+
+        int readAheadPages = getInteger(IGNITE_PDS_READ_AHEAD_PAGES, DFLT_PDS_READ_AHEAD_PAGES);
+
+        // Pages read ahead would evict the working set if the policy can't load them with low priority.
+        if (readAheadPages > 0 && !pageReplacementPolicyFactory.lowPriorityAccessSupported()) {
+            U.warn(log, "Read-ahead of page store pages is disabled, it requires page replacement mode " +
+                "supporting low priority page access [mode=" + pageReplacementMode +
+                ", readAheadPages=" + readAheadPages + ']');
+
+            readAheadPages = 0;
+        }
+
+        if (readAheadPages > 0) {
+            readAheadTracker = new PageReadAheadTracker(readAheadPages);
+
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+            readAheadExecutor = new ThreadPoolExecutor(
+                0,
+                threads,
+                30L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                new IgniteThreadFactory(ctx.igniteInstanceName(), "page-read-ahead"));
+        }
+        else {
+            readAheadTracker = null;
+            readAheadExecutor = null;
+        }
     }
 
     /** {@inheritDoc} */
@@ -449,6 +501,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             U.shutdownNow(getClass(), asyncRunner, log);
 
+            if (readAheadExecutor != null)
+                U.shutdownNow(getClass(), readAheadExecutor, log);
+
             if (segments != null) {
                 for (Segment seg : segments)
                     seg.close();
@@ -466,14 +521,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         Segment seg = segment(grpId, pageId);
 
-        seg.readLock().lock();
-
-        try {
-            seg.releasePage(page);
-        }
-        finally {
-            seg.readLock().unlock();
-        }
+        // Pin counters are atomic, a concurrent writer may only see the page as pinned for a bit longer.
+        seg.releasePage(page);
     }
 
     /** {@inheritDoc} */
@@ -605,7 +654,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             assert PageIO.getCrc(absPtr + PAGE_OVERHEAD) == 0; //TODO GG-11480
 
-            assert !PageHeader.isAcquired(absPtr) :
+            assert seg.notAcquired(absPtr) :
                 "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
                     ", absPtr=" + U.hexLong(absPtr) + ", pinCntr=" + PageHeader.pinCount(absPtr) + ']';
 
@@ -756,6 +805,18 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         Segment seg = segment(grpId, pageId);
 
+        long optimisticRelPtr = seg.acquireLoadedPageOptimistic(grpId, pageId);
+
+        if (optimisticRelPtr != INVALID_REL_PTR) {
+            long absPtr = seg.absolute(optimisticRelPtr);
+
+            seg.pageReplacementPolicy.onHit(optimisticRelPtr);
+
+            statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
+
+            return absPtr;
+        }
+
         seg.readLock().lock();
 
         try {
@@ -823,7 +884,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 touchPage(absPtr, pageReplaced);
 
-                assert !PageHeader.isAcquired(absPtr) :
+                assert seg.notAcquired(absPtr) :
                     "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
                         ", absPtr=" + U.hexLong(absPtr) + ']';
 
@@ -881,7 +942,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 PageIO.setPageId(pageAddr, pageId);
 
-                assert !PageHeader.isAcquired(absPtr) :
+                assert seg.notAcquired(absPtr) :
                     "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
                         ", absPtr=" + U.hexLong(absPtr) + ']';
 
@@ -937,6 +998,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                     if (PageIO.isIndexPage(PageIO.getType(buf)))
                         dataRegionMetrics.cacheGrpPageMetrics(grpId).indexPages().increment();
+
+                    onPageReadFromStore(grpId, pageId);
                 }
                 catch (IgniteDataIntegrityViolationException e) {
                     U.warn(log, "Failed to read page (data integrity violation encountered, will try to " +
@@ -964,8 +1027,90 @@ public class PageMemoryImpl implements PageMemoryEx {
         }
     }
 
+    /**
+     * Schedules read-ahead of the following partition pages if pages of the partition are read sequentially.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID read from the page store.
+     */
+    private void onPageReadFromStore(int grpId, long pageId) {
+        if (readAheadTracker == null)
+            return;
+
+        int partId = PageIdUtils.partId(pageId);
+
+        int startIdx = readAheadTracker.onPageRead(grpId, partId, PageIdUtils.pageIndex(pageId));
+
+        if (startIdx < 0 || !hasFreeFrames(segment(grpId, pageId)))
+            return;
+
+        try {
+            readAheadExecutor.execute(() -> readAhead(grpId, partId, startIdx, readAheadTracker.windowSize()));
+        }
+        catch (RejectedExecutionException ignore) {
+            // Read-ahead is only a hint, skip it if all the threads are busy.
+        }
+    }
+
+    /**
+     * Reads a range of partition pages with a single IO operation and loads them to the memory with low priority,
+     * so they don't evict pages used frequently. Stops loading when a page segment runs out of free frames.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @param startIdx Index of the first page to read.
+     * @param cnt Number of pages to read.
+     */
+    private void readAhead(int grpId, int partId, int startIdx, int cnt) {
+        byte flag = partId == PageIdAllocator.INDEX_PARTITION ? PageIdAllocator.FLAG_IDX : PageIdAllocator.FLAG_DATA;
+
+        try {
+            pmPageMgr.readAhead(grpId, PageIdUtils.pageId(partId, flag, startIdx), cnt, buf -> {
+                LowPriorityPageAccess.enter();
+
+                try {
+                    for (int i = 0; (i + 1) * pageSize() <= buf.limit() && started; i++) {
+                        long pageId = buf.getLong(i * pageSize() + PageIO.PAGE_ID_OFF);
+
+                        // Skip pages which haven't been written yet.
+                        if (pageId == 0 || PageIdUtils.partId(pageId) != partId ||
+                            PageIdUtils.pageIndex(pageId) != startIdx + i)
+                            continue;
+
+                        if (!hasFreeFrames(segment(grpId, pageId)))
+                            break;
+
+                        long page = acquirePage(grpId, pageId);
+
+                        releasePage(grpId, pageId, page);
+                    }
+                }
+                finally {
+                    LowPriorityPageAccess.exit();
+                }
+            });
+        }
+        catch (IgniteCheckedException | IgniteException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to read ahead partition pages [grpId=" + grpId + ", partId=" + partId +
+                    ", startIdx=" + startIdx + ", err=" + e + ']');
+            }
+        }
+    }
+
+    /**
+     * @param seg Segment.
+     * @return {@code True} if the segment has enough free frames to load a read-ahead window without replacement.
+     */
+    private boolean hasFreeFrames(Segment seg) {
+        return seg.pool.pages() - seg.pool.size() > readAheadTracker.windowSize();
+    }
+
     /** */
     private void releaseCheckpointBufferPage(long tmpBufPtr) {
+        // Checkpoint buffer pages are never looked up optimistically.
+        assert PageHeader.isNotAcquired(checkpointPool.absolute(tmpBufPtr)) : "Release pinned checkpoint buffer page";
+
         int resCntr = checkpointPool.releaseFreePage(tmpBufPtr);
 
         if (resCntr == checkpointBufferPagesSize() / 2 && writeThrottle != null)
@@ -1160,6 +1305,8 @@ public class PageMemoryImpl implements PageMemoryEx {
             seg.resetDirtyPages();
         }
 
+        cpBufPages.clear();
+
         safeToUpdate.set(true);
 
         dataRegionMetrics.resetDirtyPages();
@@ -1187,6 +1334,8 @@ public class PageMemoryImpl implements PageMemoryEx {
                 seg.checkpointPages = null;
         }
 
+        cpBufPages.clear();
+
         if (throttlingPlc != ThrottlingPolicy.DISABLED)
             writeThrottle.onFinishCheckpoint();
     }
@@ -1262,6 +1411,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                     seg.pageReplacementPolicy.onRemove(relPtr);
 
+                    assert seg.notAcquired(seg.absolute(relPtr)) : "Release pinned page: " + fullId;
+
                     seg.pool.releaseFreePage(relPtr);
                 }
 
@@ -1457,6 +1608,9 @@ public class PageMemoryImpl implements PageMemoryEx {
                 }
             }
 
+            if (readAheadTracker != null)
+                readAheadTracker.onPartitionInvalidated(grpId, partId);
+
             return tag;
         }
     }
@@ -1473,6 +1627,9 @@ public class PageMemoryImpl implements PageMemoryEx {
                 seg.writeLock().unlock();
             }
         }
+
+        if (readAheadTracker != null)
+            readAheadTracker.onCacheGroupDestroyed(grpId);
     }
 
     /** {@inheritDoc} */
@@ -1691,6 +1848,8 @@ public class PageMemoryImpl implements PageMemoryEx {
             // info for checkpoint buffer cleaner.
             PageHeader.fullPageId(tmpAbsPtr, fullId);
 
+            cpBufPages.add(fullId);
+
             assert PageIO.getCrc(absPtr + PAGE_OVERHEAD) == 0; //TODO GG-11480
             assert PageIO.getCrc(tmpAbsPtr + PAGE_OVERHEAD) == 0; //TODO GG-11480
         }
@@ -1934,30 +2093,14 @@ public class PageMemoryImpl implements PageMemoryEx {
         return dataRegionMetrics;
     }
 
-    /**
-     * Get arbitrary page from cp buffer.
-     */
-    @Override public FullPageId pullPageFromCpBuffer() {
-        long idx = GridUnsafe.getLong(checkpointPool.lastAllocatedIdxPtr);
-
-        long lastIdx = ThreadLocalRandom.current().nextLong(idx / 2, idx);
-
-        while (--lastIdx > 1) {
-            assert (lastIdx & SEGMENT_INDEX_MASK) == 0L;
-
-            long relative = checkpointPool.relative(lastIdx);
-
-            long freePageAbsPtr = checkpointPool.absolute(relative);
-
-            FullPageId pageToReplace = PageHeader.fullPageId(freePageAbsPtr);
-
-            if (pageToReplace.pageId() == NULL_PAGE.pageId() || pageToReplace.groupId() == NULL_PAGE.groupId())
-                continue;
-
-            if (!isInCheckpoint(pageToReplace))
-                continue;
+    /** {@inheritDoc} */
+    @Override public FullPageId pollCheckpointBufferPage() {
+        FullPageId fullId;
 
-            return pageToReplace;
+        while ((fullId = cpBufPages.poll()) != null) {
+            // Skip pages which are already written by the checkpoint.
+            if (isInCheckpoint(fullId))
+                return fullId;
         }
 
         return NULL_PAGE;
@@ -1984,7 +2127,7 @@ public class PageMemoryImpl implements PageMemoryEx {
     /**
      *
      */
-    class Segment extends ReentrantReadWriteLock {
+    class Segment extends OptimisticReadWriteLock {
         /** */
         private static final long serialVersionUID = 0L;
 
@@ -2027,12 +2170,21 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** Initial partition generation. */
         private static final int INIT_PART_GENERATION = 1;
 
-        /** Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter. */
-        private final Map<GroupPartitionId, Integer> partGenerationMap = new HashMap<>();
+        /**
+         * Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter.
+         * Changed under the write lock only, concurrent to allow optimistic reads.
+         */
+        private final Map<GroupPartitionId, Integer> partGenerationMap = new ConcurrentHashMap<>();
 
         /** */
         private boolean closed;
 
+        /** Count of optimistic lookups which have pinned a page, if assertions are enabled. */
+        private final LongAdder optimisticPinsStarted = new LongAdder();
+
+        /** Count of optimistic lookups which have validated or released the pin, if assertions are enabled. */
+        private final LongAdder optimisticPinsFinished = new LongAdder();
+
         /**
          * @param region Memory region.
          * @param throttlingPlc policy determine if write throttling enabled and its type.
@@ -2132,6 +2284,76 @@ public class PageMemoryImpl implements PageMemoryEx {
             updateAtomicInt(acquiredPagesPtr, 1);
         }
 
+        /**
+         * Looks up and pins a loaded page without taking the segment lock.
+         *
+         * @param grpId Cache group ID.
+         * @param pageId Page ID.
+         * @return Relative pointer of the pinned page or {@link #INVALID_REL_PTR} if the page isn't loaded or the
+         *      lookup has raced with a segment update, the lookup should be repeated under the lock in both cases.
+         */
+        private long acquireLoadedPageOptimistic(int grpId, long pageId) {
+            long stamp = tryOptimisticRead();
+
+            if (stamp == INVALID_STAMP)
+                return INVALID_REL_PTR;
+
+            GroupPartitionId grpPart = new GroupPartitionId(grpId, PageIdUtils.partId(pageId));
+
+            Integer gen = partGenerationMap.get(grpPart);
+
+            // Loaded pages map tolerates concurrent updates: lookup terminates, but its result may be inconsistent.
+            long relPtr = loadedPages.get(
+                grpId,
+                PageIdUtils.effectivePageId(pageId),
+                gen == null ? INIT_PART_GENERATION : gen,
+                INVALID_REL_PTR,
+                INVALID_REL_PTR
+            );
+
+            // Pointer must be consistent before the page header is touched.
+            if (relPtr == INVALID_REL_PTR || !validate(stamp))
+                return INVALID_REL_PTR;
+
+            long absPtr = absolute(relPtr);
+
+            if (ASSERTION_ENABLED)
+                optimisticPinsStarted.increment();
+
+            acquirePage(absPtr);
+
+            // Either the pin is visible to a writer which has changed the segment since the lookup (it won't evict
+            // the page), or the changed version is visible here. Pages are never deallocated from the pool, so it is
+            // safe to unpin the page even if it has been replaced. Note that a writer may observe such a transient
+            // pin of a page it has just replaced or released, see notAcquired().
+            boolean valid = validate(stamp);
+
+            if (!valid)
+                releasePage(absPtr);
+
+            if (ASSERTION_ENABLED)
+                optimisticPinsFinished.increment();
+
+            return valid ? relPtr : INVALID_REL_PTR;
+        }
+
+        /**
+         * Checks that a page being allocated or released is not pinned, to be used in assertions. The pin counter is
+         * read once. A transient pin of an optimistic lookup in progress is tolerated: such a lookup fails validation
+         * and releases the pin.
+         * <p>
+         * Finished lookups are counted before the pin is read and started lookups after it. If the pin belongs to
+         * a lookup, the lookup is counted as started but not as finished, so the counts differ.
+         *
+         * @param absPtr Page absolute address.
+         * @return {@code True} if the page is not pinned or may be pinned by an optimistic lookup in progress.
+         */
+        boolean notAcquired(long absPtr) {
+            long finished = optimisticPinsFinished.sum();
+
+            return PageHeader.isNotAcquired(absPtr) || optimisticPinsStarted.sum() != finished;
+        }
+
         /**
          * @param absPtr Page absolute address to release.
          */
@@ -2610,6 +2832,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                         seg.pageReplacementPolicy.onRemove(relPtr);
 
+                        assert seg.notAcquired(absPtr) : "Release pinned page: " + PageHeader.fullPageId(absPtr);
+
                         seg.pool.releaseFreePage(relPtr);
                     }
 
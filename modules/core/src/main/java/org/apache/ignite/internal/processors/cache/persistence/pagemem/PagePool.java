@@ -184,8 +184,6 @@ public class PagePool {
     public int releaseFreePage(long relPtr) {
         long absPtr = absolute(relPtr);
 
-        assert !PageHeader.isAcquired(absPtr) : "Release pinned page: " + PageHeader.fullPageId(absPtr);
-
         int resCntr = 0;
 
         if (pagesCntr != null)
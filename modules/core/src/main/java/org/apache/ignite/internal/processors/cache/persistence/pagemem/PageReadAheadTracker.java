@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Detects sequential reads of partition pages from the page store and decides which pages to read ahead.
+ * <p>
+ * Misses of consequent pages of a partition are counted, after {@link #SEQUENTIAL_READS_THRESHOLD} consequent misses
+ * a window of pages following the last missed one is scheduled for read-ahead. Pages of the scheduled windows are
+ * expected to be loaded by read-ahead, so the next miss at the end of the windows continues the sequence and
+ * schedules the next window.
+ */
+class PageReadAheadTracker {
+    /** Number of consequent page misses to consider partition pages to be read sequentially. */
+    static final int SEQUENTIAL_READS_THRESHOLD = 4;
+
+    /** Number of pages to read ahead. */
+    private final int windowSize;
+
+    /** Read streams by cache group ID and partition ID. */
+    private final ConcurrentMap<Long, ReadStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowSize Number of pages to read ahead.
+     */
+    PageReadAheadTracker(int windowSize) {
+        assert windowSize > 0 : windowSize;
+
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @return Number of pages to read ahead.
+     */
+    int windowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Handles page read from the page store.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @param pageIdx Page index.
+     * @return Index of the first page to read ahead, {@link #windowSize()} pages starting from it should be read,
+     *      or {@code -1} if nothing should be read ahead.
+     */
+    int onPageRead(int grpId, int partId, int pageIdx) {
+        ReadStream stream = streams.computeIfAbsent(key(grpId, partId), k -> new ReadStream());
+
+        synchronized (stream) {
+            // Page of a scheduled window is loaded by read-ahead or has been requested before read-ahead loaded it.
+            if (pageIdx >= stream.readAheadStart && pageIdx < stream.readAheadEnd)
+                return -1;
+
+            if (pageIdx == stream.lastIdx + 1 || pageIdx == stream.readAheadEnd)
+                stream.seqCnt++;
+            else {
+                stream.seqCnt = 1;
+                stream.readAheadStart = -1;
+                stream.readAheadEnd = -1;
+            }
+
+            stream.lastIdx = pageIdx;
+
+            if (stream.seqCnt < SEQUENTIAL_READS_THRESHOLD)
+                return -1;
+
+            int start = pageIdx + 1;
+
+            if (stream.readAheadStart < 0)
+                stream.readAheadStart = start;
+
+            stream.readAheadEnd = start + windowSize;
+
+            return start;
+        }
+    }
+
+    /**
+     * Forgets read streams of the partition.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     */
+    void onPartitionInvalidated(int grpId, int partId) {
+        streams.remove(key(grpId, partId));
+    }
+
+    /**
+     * Forgets read streams of the cache group.
+     *
+     * @param grpId Cache group ID.
+     */
+    void onCacheGroupDestroyed(int grpId) {
+        streams.keySet().removeIf(k -> (int)(k >>> 32) == grpId);
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @return Stream key.
+     */
+    private static long key(int grpId, int partId) {
+        return ((long)grpId << 32) | (partId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Sequential reads of a partition.
+     */
+    private static class ReadStream {
+        /** Index of the last page read. */
+        private int lastIdx = -2;
+
+        /** Number of consequent pages read. */
+        private int seqCnt;
+
+        /** Index of the first page scheduled for read-ahead by the current sequence. */
+        private int readAheadStart = -1;
+
+        /** Index following the last page scheduled for read-ahead. */
+        private int readAheadEnd = -1;
+    }
+}
@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
 
 /** */
 public interface PageReadWriteManager {
@@ -35,6 +36,28 @@ public interface PageReadWriteManager {
      */
     public void read(int grpId, long pageId, ByteBuffer pageBuf, boolean keepCrc) throws IgniteCheckedException;
 
+    /**
+     * Reads a range of pages of the given cache group with a single IO operation, reads of these pages are served
+     * from memory while the given closure is running.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId ID of the first page of the range.
+     * @param cnt Maximum number of pages to read.
+     * @param c Closure that accepts read-only buffer with the pages read.
+     * @return {@code True} if the pages were read and passed to the closure, {@code false} if read-ahead is not
+     *      supported.
+     * @throws IgniteCheckedException If failed to read the pages.
+     * @see PageStore#readAhead(long, int, IgniteThrowableConsumer)
+     */
+    public default boolean readAhead(
+        int grpId,
+        long pageId,
+        int cnt,
+        IgniteThrowableConsumer<ByteBuffer> c
+    ) throws IgniteCheckedException {
+        return false;
+    }
+
     /**
      * Writes the page for the given cache ID. Cache ID may be {@code 0} if the page is a meta page.
      *
@@ -28,6 +28,7 @@ import org.apache.ignite.internal.pagemem.store.PageStoreCollection;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.internal.S;
 
@@ -77,6 +78,18 @@ public class PageReadWriteManagerImpl implements PageReadWriteManager {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean readAhead(
+        int grpId,
+        long pageId,
+        int cnt,
+        IgniteThrowableConsumer<ByteBuffer> c
+    ) throws IgniteCheckedException {
+        PageStore store = pageStores.getStore(grpId, PageIdUtils.partId(pageId));
+
+        return store.readAhead(pageId, cnt, c);
+    }
+
     /** {@inheritDoc} */
     @Override public PageStore write(
         int grpId,
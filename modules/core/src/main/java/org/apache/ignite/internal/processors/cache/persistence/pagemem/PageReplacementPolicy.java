@@ -36,7 +36,11 @@ public abstract class PageReplacementPolicy {
     /**
      * Existing page touched.
      *
-     * Note: This method can be invoked under segment write lock or segment read lock.
+     * Note: This method can be invoked under segment write lock, segment read lock or without segment lock at all
+     * by the optimistic lookup of a loaded page. The page is always pinned, so it can't be replaced concurrently,
+     * but the method can be invoked concurrently for the same page.
+     *
+     * @see LowPriorityPageAccess
      */
     public void onHit(long relPtr) {
         // No-op.
@@ -46,6 +50,8 @@ public abstract class PageReplacementPolicy {
      * New page added.
      *
      * Note: This method always invoked under segment write lock.
+     *
+     * @see LowPriorityPageAccess
      */
     public void onMiss(long relPtr) {
         // No-op.
@@ -36,4 +36,12 @@ public interface PageReplacementPolicyFactory {
      * @param pagesCnt Pages count.
      */
     public PageReplacementPolicy create(PageMemoryImpl.Segment seg, long ptr, int pagesCnt);
+
+    /**
+     * @return {@code True} if created policies keep pages accessed with low priority close to eviction.
+     * @see LowPriorityPageAccess
+     */
+    public default boolean lowPriorityAccessSupported() {
+        return false;
+    }
 }
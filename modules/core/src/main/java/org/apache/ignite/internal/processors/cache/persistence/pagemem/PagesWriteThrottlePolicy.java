@@ -57,9 +57,9 @@ import static org.apache.ignite.IgniteSystemProperties.IGNITE_THROTTLE_LOG_THRES
  * <ul>
  *     <li>{@link #wakeupThrottledThreads()} which wakes up the threads currently being throttled; in the current
  *     implementation, it is called  when Checkpoint Buffer utilization falls below 1/2.</li>
- *     <li>{@link #isCpBufferOverflowThresholdExceeded()} which is called by a checkpointer to see whether the Checkpoint Buffer is
- *     in a danger zone and, if yes, it starts to prioritize writing pages from the Checkpoint Buffer over
- *     pages from the normal checkpoint sequence.</li>
+ *     <li>{@link #isCpBufferOverflowThresholdExceeded()} which tells whether the Checkpoint Buffer is in a danger
+ *     zone, so the writers have to be throttled to protect it. The checkpointer doesn't need it: it always writes
+ *     pages copied to the Checkpoint Buffer before pages from the normal checkpoint sequence.</li>
  * </ul>
  */
 public interface PagesWriteThrottlePolicy {
@@ -45,7 +45,7 @@ public class SegmentedLruPageList {
     private int protectedPagesCnt;
 
     /** Protected pages segment limit. */
-    private final int protectedPagesLimit;
+    private int protectedPagesLimit;
 
     /** Pointer to memory region to store links. */
     private final long linksPtr;
@@ -213,6 +213,29 @@ public class SegmentedLruPageList {
         }
     }
 
+    /**
+     * Add page to the head of probationary LRU list, the page will be the first one to replace.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void addToHead(int pageIdx) {
+        if (headIdx == NULL_IDX) {
+            addToTail(pageIdx, false);
+
+            return;
+        }
+
+        assert prev(pageIdx) == NULL_IDX : prev(pageIdx);
+        assert next(pageIdx) == NULL_IDX : next(pageIdx);
+
+        link(pageIdx, headIdx);
+
+        headIdx = pageIdx;
+
+        if (probTailIdx == NULL_IDX)
+            probTailIdx = pageIdx;
+    }
+
     /**
      * Move page to the tail of protected LRU list.
      *
@@ -348,10 +371,32 @@ public class SegmentedLruPageList {
     /**
      * Gets protected pages limit.
      */
-    int protectedPagesLimit() {
+    synchronized int protectedPagesLimit() {
         return protectedPagesLimit;
     }
 
+    /**
+     * Changes protected pages limit. Least recently accessed protected pages exceeding the new limit are moved to
+     * the most recently accessed end of probationary segment.
+     *
+     * @param limit New protected pages limit.
+     */
+    public synchronized void protectedPagesLimit(int limit) {
+        assert limit >= 0 : limit;
+
+        protectedPagesLimit = limit;
+
+        while (protectedPagesCnt > protectedPagesLimit) {
+            probTailIdx = probTailIdx != NULL_IDX ? next(probTailIdx) : headIdx;
+
+            assert probTailIdx != NULL_IDX;
+
+            protectedPage(probTailIdx, false);
+
+            protectedPagesCnt--;
+        }
+    }
+
     /**
      * Memory required to service {@code pagesCnt} pages.
      *
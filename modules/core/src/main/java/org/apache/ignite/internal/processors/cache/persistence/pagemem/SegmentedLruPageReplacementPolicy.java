@@ -45,6 +45,9 @@ public class SegmentedLruPageReplacementPolicy extends PageReplacementPolicy {
 
     /** {@inheritDoc} */
     @Override public void onHit(long relPtr) {
+        if (LowPriorityPageAccess.active())
+            return;
+
         int pageIdx = (int)seg.pageIndex(relPtr);
 
         lruList.moveToTail(pageIdx);
@@ -54,7 +57,10 @@ public class SegmentedLruPageReplacementPolicy extends PageReplacementPolicy {
     @Override public void onMiss(long relPtr) {
         int pageIdx = (int)seg.pageIndex(relPtr);
 
-        lruList.addToTail(pageIdx, false);
+        if (LowPriorityPageAccess.active())
+            lruList.addToHead(pageIdx);
+        else
+            lruList.addToTail(pageIdx, false);
     }
 
     /** {@inheritDoc} */
@@ -30,4 +30,9 @@ public class SegmentedLruPageReplacementPolicyFactory implements PageReplacement
     @Override public PageReplacementPolicy create(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
         return new SegmentedLruPageReplacementPolicy(seg, ptr, pagesCnt);
     }
+
+    /** {@inheritDoc} */
+    @Override public boolean lowPriorityAccessSupported() {
+        return true;
+    }
 }
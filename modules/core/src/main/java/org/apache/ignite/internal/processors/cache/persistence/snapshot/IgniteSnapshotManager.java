@@ -1680,6 +1680,11 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                     "clusters are not allowed.");
             }
 
+            if (cctx.gridConfig().getDataStorageConfiguration().getCheckpointPageDeltasLogSize() > 0) {
+                throw new IgniteException("Create snapshot request has been rejected. Snapshots are not supported " +
+                    "if checkpoint page deltas are enabled.");
+            }
+
             if (!cctx.kernalContext().state().clusterState().state().active())
                 throw new IgniteException("Snapshot operation has been rejected. The cluster is inactive.");
 
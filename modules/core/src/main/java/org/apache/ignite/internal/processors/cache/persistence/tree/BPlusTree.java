@@ -1635,6 +1635,54 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return findOne(row, null, null);
     }
 
+    /**
+     * Finds rows for a batch of lookup rows. Lookup rows falling into the same leaf page are found under a single read
+     * lock of the page without descending from the root again, so the batch should be sorted in the tree order to
+     * make neighbouring rows share the tree descents.
+     *
+     * @param rows Lookup rows for exact match.
+     * @param c Closure filter.
+     * @param x Implementation specific argument, {@code null} always means that we need to return full detached data row.
+     * @return Found results in the order of lookup rows, {@code null} results for rows which are not found.
+     * @throws IgniteCheckedException If failed.
+     */
+    public final <R> List<R> findAll(List<? extends L> rows, TreeRowClosure<L, T> c, Object x)
+        throws IgniteCheckedException {
+        checkDestroyed();
+
+        if (rows.isEmpty())
+            return Collections.emptyList();
+
+        GetAll g = new GetAll(rows, c, x);
+
+        try {
+            while (g.pos < rows.size()) {
+                int pos = g.pos;
+
+                g.row = rows.get(pos);
+                g.lockRetriesCnt = getLockRetries();
+
+                doFind(g);
+
+                assert g.pos > pos : "Lookup row is not resolved: " + g.row;
+            }
+
+            return (List<R>)Arrays.asList(g.res);
+        }
+        catch (CorruptedDataStructureException e) {
+            throw e;
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteCheckedException("Runtime failure on lookup row: " + g.row, e);
+        }
+        catch (RuntimeException | AssertionError e) {
+            throw corruptedTreeException("Runtime failure on lookup row: " + g.row, e, grpId, g.pageId);
+        }
+        finally {
+            checkDestroyed();
+        }
+    }
+
     /**
      * @param g Get.
      * @throws IgniteCheckedException If failed.
@@ -3440,6 +3488,103 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Get entries for a batch of rows.
+     */
+    private final class GetAll extends Get {
+        /** Lookup rows. */
+        final List<? extends L> rows;
+
+        /** */
+        final TreeRowClosure<L, T> c;
+
+        /** */
+        final Object x;
+
+        /** Results. */
+        final Object[] res;
+
+        /** Index of the first lookup row which is not resolved yet. */
+        int pos;
+
+        /**
+         * @param rows Lookup rows.
+         * @param c Closure filter.
+         * @param x Implementation specific argument.
+         */
+        private GetAll(List<? extends L> rows, TreeRowClosure<L, T> c, Object x) {
+            super(rows.get(0), false);
+
+            this.rows = rows;
+            this.c = c;
+            this.x = x;
+
+            res = new Object[rows.size()];
+        }
+
+        /** {@inheritDoc} */
+        @Override boolean found(BPlusIO<L> io, long pageAddr, int idx, int lvl) throws IgniteCheckedException {
+            // Go down to the leaf to resolve neighbouring rows as well.
+            if (lvl != 0)
+                return false;
+
+            res[pos++] = rowAt(io, pageAddr, idx);
+
+            findInLeaf(io, pageAddr);
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override boolean notFound(BPlusIO<L> io, long pageAddr, int idx, int lvl) throws IgniteCheckedException {
+            if (lvl != 0)
+                return false;
+
+            res[pos++] = null;
+
+            findInLeaf(io, pageAddr);
+
+            return true;
+        }
+
+        /**
+         * Resolves the following lookup rows while they are within the bounds of the leaf page.
+         *
+         * @param io IO.
+         * @param pageAddr Leaf page address.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void findInLeaf(BPlusIO<L> io, long pageAddr) throws IgniteCheckedException {
+            int cnt = io.getCount(pageAddr);
+
+            if (cnt == 0)
+                return;
+
+            while (pos < rows.size()) {
+                L r = rows.get(pos);
+
+                // Only rows between the first and the last rows of the leaf are guaranteed to belong to it.
+                if (compare(0, io, pageAddr, 0, r) > 0 || compare(0, io, pageAddr, cnt - 1, r) < 0)
+                    return;
+
+                int idx = findInsertionPoint(0, io, pageAddr, 0, cnt, r, 0);
+
+                res[pos++] = idx >= 0 ? rowAt(io, pageAddr, idx) : null;
+            }
+        }
+
+        /**
+         * @param io IO.
+         * @param pageAddr Page address.
+         * @param idx Index of found entry.
+         * @return Result row.
+         * @throws IgniteCheckedException If failed.
+         */
+        private Object rowAt(BPlusIO<L> io, long pageAddr, int idx) throws IgniteCheckedException {
+            return c == null || c.apply(BPlusTree.this, io, pageAddr, idx) ? getRow(io, pageAddr, idx, x) : null;
+        }
+    }
+
     /**
      * Get a cursor for range.
      */
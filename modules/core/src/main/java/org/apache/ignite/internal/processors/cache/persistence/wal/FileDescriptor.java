@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.wal;
 
 import java.io.File;
 import java.io.IOException;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
@@ -147,11 +148,20 @@ public class FileDescriptor implements Comparable<FileDescriptor>, AbstractWalRe
 
     /** {@inheritDoc} */
     @Override public SegmentIO toReadOnlyIO(FileIOFactory fileIOFactory) throws IOException {
-        FileIO fileIO = isCompressed() ? new UnzipFileIO(file()) : fileIOFactory.create(file(), READ);
+        FileIO fileIO = isCompressed() ? compressedIO(file()) : fileIOFactory.create(file(), READ);
 
         return new SegmentIO(idx, fileIO);
     }
 
+    /**
+     * @param file Compressed segment file.
+     * @return Read only IO for compressed segment, either ZIP or block compressed one.
+     * @throws IOException If failed.
+     */
+    public static FileIO compressedIO(File file) throws IOException {
+        return BlockCompressedFileIO.isBlockCompressed(file) ? new BlockCompressedFileIO(file) : new UnzipFileIO(file);
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return getClass().getSimpleName() + " [file=" + (file == null ? null : file.getAbsolutePath()) + ", idx=" + idx + ']';
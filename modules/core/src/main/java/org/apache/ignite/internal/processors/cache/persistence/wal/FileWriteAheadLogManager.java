@@ -17,16 +17,15 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.wal;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.ClosedByInterruptException;
@@ -51,7 +50,6 @@ import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
@@ -86,6 +84,8 @@ import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedOutputStream;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
@@ -107,6 +107,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.Re
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactoryImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer;
+import org.apache.ignite.internal.processors.compress.BlockCodecs;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedBooleanProperty;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
@@ -405,6 +406,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** Page snapshot records compression level. */
     private int pageCompressionLevel;
 
+    /** WAL compaction algorithm or {@code null} if segments are compressed to ZIP. */
+    @Nullable private DiskPageCompression compactionAlgorithm;
+
     /**
      * Local segment sizes: absolute segment index -> size in bytes.
      * For segments from {@link #walWorkDir} and {@link #walArchiveDir}.
@@ -602,6 +606,13 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     checkCompressionLevelBounds(dsCfg.getWalPageCompressionLevel(), pageCompression) :
                     getDefaultCompressionLevel(pageCompression);
             }
+
+            if (dsCfg.isWalCompactionEnabled() && dsCfg.getWalCompactionAlgorithm() != null) {
+                compactionAlgorithm = dsCfg.getWalCompactionAlgorithm();
+
+                // Fails if the algorithm isn't supported or ignite-compress module isn't in classpath.
+                BlockCodecs.codec(compactionAlgorithm, getDefaultCompressionLevel(compactionAlgorithm));
+            }
         }
     }
 
@@ -2475,10 +2486,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     .getSerializerVersion();
             }
 
-            try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)))) {
-                zos.setLevel(dsCfg.getWalCompactionLevel());
-                zos.putNextEntry(new ZipEntry(idx + ".wal"));
-
+            try (OutputStream zos = compressedSegmentStream(idx, zip)) {
                 ByteBuffer buf = ByteBuffer.allocate(HEADER_RECORD_SIZE);
                 buf.order(ByteOrder.nativeOrder());
 
@@ -2512,6 +2520,33 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             }
         }
 
+        /**
+         * @param idx Segment absolute index.
+         * @param zip Compressed file to write.
+         * @return Stream to write segment to compressed file.
+         * @throws IOException If failed.
+         */
+        private OutputStream compressedSegmentStream(long idx, File zip) throws IOException {
+            if (compactionAlgorithm != null) {
+                return new BlockCompressedOutputStream(zip, compactionAlgorithm,
+                    getDefaultCompressionLevel(compactionAlgorithm), BlockCompressedOutputStream.DFLT_BLOCK_SIZE);
+            }
+
+            ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)));
+
+            try {
+                zos.setLevel(dsCfg.getWalCompactionLevel());
+                zos.putNextEntry(new ZipEntry(idx + ".wal"));
+            }
+            catch (IOException e) {
+                U.closeQuiet(zos);
+
+                throw e;
+            }
+
+            return zos;
+        }
+
         /**
          * @param idx Segment index.
          * @param ser Record Serializer.
@@ -2612,9 +2647,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     File unzip = new File(walArchiveDir, segmentFileName);
 
                     long currSize = 0;
-                    long reservedSize = U.uncompressedSize(zip);
-
-                    segmentAware.addSize(segmentToDecompress, reservedSize);
+                    long reservedSize = 0;
 
                     IgniteCheckedException ex = null;
 
@@ -2622,12 +2655,23 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                         if (unzip.exists())
                             throw new FileAlreadyExistsException(unzip.getAbsolutePath());
 
-                        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(new FileInputStream(zip)));
+                        try (FileIO zis = FileDescriptor.compressedIO(zip);
                              FileIO io = ioFactory.create(unzipTmp)) {
-                            zis.getNextEntry();
+                            reservedSize = zis.size();
+
+                            segmentAware.addSize(segmentToDecompress, reservedSize);
+
+                            ByteBuffer buf = ByteBuffer.wrap(arr);
+
+                            while (zis.read(buf) > 0) {
+                                buf.flip();
+
+                                io.writeFully(buf);
+
+                                buf.clear();
 
-                            while (io.writeFully(arr, 0, zis.read(arr)) > 0)
                                 updateHeartbeat();
+                            }
                         }
 
                         Files.move(unzipTmp.toPath(), unzip.toPath());
@@ -2970,7 +3014,18 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                         "[segmentIdx=" + desc.idx() + "]");
                 }
 
-                if (decompressor != null)
+                boolean blockCompressed;
+
+                try {
+                    blockCompressed = BlockCompressedFileIO.isBlockCompressed(zipFile.file());
+                }
+                catch (IOException e) {
+                    throw new IgniteCheckedException("Failed to read compressed segment [segmentIdx=" +
+                        desc.idx() + "]", e);
+                }
+
+                // Block compressed segments are read in a streaming fashion without decompression to a file.
+                if (decompressor != null && !blockCompressed)
                     decompressor.decompressFile(desc.idx()).get();
                 else
                     currDesc = zipFile;
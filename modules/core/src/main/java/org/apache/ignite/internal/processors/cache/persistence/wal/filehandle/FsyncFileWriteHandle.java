@@ -59,6 +59,15 @@ import static org.apache.ignite.internal.processors.cache.persistence.wal.serial
  */
 @SuppressWarnings("SignalWithoutCorrespondingAwait")
 class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle {
+    /** Number of fsync requests after which a group commit is done without waiting for more requests. */
+    static final int GROUP_COMMIT_TARGET_BATCH = 16;
+
+    /** Maximal group commit window, in nanoseconds. */
+    static final long GROUP_COMMIT_MAX_WINDOW = 2_000_000L;
+
+    /** Weight of a new sample in moving averages of fsync duration and requests interval, as a power of two. */
+    private static final int AVG_SHIFT = 3;
+
     /** */
     private final RecordSerializer serializer;
 
@@ -123,6 +132,18 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
     /** Switch segment record offset. */
     private int switchSegmentRecordOffset;
 
+    /** Moving average of fsync duration, in nanoseconds. Guarded by {@link #lock}. */
+    private long avgFsyncNanos;
+
+    /** Moving average of the interval between fsync requests, in nanoseconds. Guarded by {@link #lock}. */
+    private long avgRequestsIntervalNanos;
+
+    /** Time of the last fsync request. Guarded by {@link #lock}. */
+    private long lastRequestNanos;
+
+    /** Number of fsync requests since the last fsync. Guarded by {@link #lock}. */
+    private int pendingRequests;
+
     /**
      * Thread local byte buffer for saving serialized WAL records chain, see {@link FsyncFileWriteHandle#head}.
      * Introduced to decrease number of buffers allocation. Used only for record itself is shorter than {@link
@@ -566,6 +587,9 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
      * @throws IgniteInterruptedCheckedException If interrupted.
      */
     protected void fsync(WALPointer ptr, boolean stop) throws StorageException, IgniteInterruptedCheckedException {
+        // Request time is taken before the lock, which is held during a concurrent fsync.
+        long reqTime = System.nanoTime();
+
         lock.lock();
 
         try {
@@ -573,9 +597,13 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
                 if (!needFsync(ptr))
                     return;
 
-                if (fsyncDelay > 0 && !stopped()) {
+                onFsyncRequest(reqTime);
+
+                long window = groupCommitWindow(avgFsyncNanos, avgRequestsIntervalNanos, fsyncDelay, pendingRequests);
+
+                if (window > 0 && !stopped()) {
                     // Delay fsync to collect as many updates as possible: trade latency for throughput.
-                    U.await(fsync, fsyncDelay, TimeUnit.NANOSECONDS);
+                    U.await(fsync, window, TimeUnit.NANOSECONDS);
 
                     if (!needFsync(ptr))
                         return;
@@ -590,9 +618,7 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
             if (lastFsyncPos != written) {
                 assert lastFsyncPos < written; // Fsync position must be behind.
 
-                boolean metricsEnabled = metrics.metricsEnabled();
-
-                long start = metricsEnabled ? System.nanoTime() : 0;
+                long start = System.nanoTime();
 
                 try {
                     fileIO.force();
@@ -603,13 +629,17 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
 
                 lastFsyncPos = written;
 
-                if (fsyncDelay > 0)
-                    fsync.signalAll();
+                fsync.signalAll();
+
+                long duration = System.nanoTime() - start;
 
-                long end = metricsEnabled ? System.nanoTime() : 0;
+                avgFsyncNanos = avgFsyncNanos == 0 ? duration :
+                    avgFsyncNanos + ((duration - avgFsyncNanos) >> AVG_SHIFT);
 
-                if (metricsEnabled)
-                    metrics.onFsync(end - start);
+                metrics.onFsync(duration);
+                metrics.onFsyncBatch(Math.max(1, pendingRequests));
+
+                pendingRequests = 0;
             }
         }
         finally {
@@ -617,6 +647,48 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
         }
     }
 
+    /**
+     * Updates the moving average of the interval between fsync requests.
+     *
+     * @param reqTime Request time.
+     */
+    private void onFsyncRequest(long reqTime) {
+        if (lastRequestNanos != 0) {
+            long interval = Math.max(0, reqTime - lastRequestNanos);
+
+            avgRequestsIntervalNanos = avgRequestsIntervalNanos == 0 ? interval :
+                avgRequestsIntervalNanos + ((interval - avgRequestsIntervalNanos) >> AVG_SHIFT);
+        }
+
+        lastRequestNanos = Math.max(lastRequestNanos, reqTime);
+
+        pendingRequests++;
+    }
+
+    /**
+     * Calculates the time to wait for more fsync requests before the fsync. Zero fsync delay disables the waiting.
+     * If requests come rarer than fsyncs complete, the waiting only adds latency, so only the configured minimal
+     * delay is used. Otherwise the window is long enough to collect {@link #GROUP_COMMIT_TARGET_BATCH} requests, but
+     * not longer than a half of fsync and {@link #GROUP_COMMIT_MAX_WINDOW}.
+     *
+     * @param fsyncNanos Average fsync duration, in nanoseconds.
+     * @param intervalNanos Average interval between fsync requests, in nanoseconds.
+     * @param fsyncDelay Configured fsync delay, in nanoseconds.
+     * @param pendingRequests Number of requests waiting for the fsync.
+     * @return Group commit window, in nanoseconds.
+     */
+    static long groupCommitWindow(long fsyncNanos, long intervalNanos, long fsyncDelay, int pendingRequests) {
+        if (fsyncDelay == 0 || pendingRequests >= GROUP_COMMIT_TARGET_BATCH)
+            return 0;
+
+        if (fsyncNanos == 0 || intervalNanos >= fsyncNanos)
+            return fsyncDelay;
+
+        long window = Math.min(intervalNanos * GROUP_COMMIT_TARGET_BATCH, fsyncNanos / 2);
+
+        return Math.max(fsyncDelay, Math.min(window, GROUP_COMMIT_MAX_WINDOW));
+    }
+
     /**
      * @return {@code true} If this thread actually closed the segment.
      * @throws StorageException If failed.
@@ -173,13 +173,17 @@ public class IgniteWalIteratorFactory {
     ) throws IgniteCheckedException, IllegalArgumentException {
         iteratorParametersBuilder.validate();
 
+        boolean parallel = iteratorParametersBuilder.parallelism > 1;
+
+        StandaloneWalRecordsIterator iter;
+
         if (iteratorParametersBuilder.sharedCtx == null) {
             GridCacheSharedContext<?, ?> sctx = prepareSharedCtx(iteratorParametersBuilder);
 
             for (GridComponent comp : sctx.kernalContext())
                 comp.start();
 
-            return new StandaloneWalRecordsIterator(
+            iter = new StandaloneWalRecordsIterator(
                 iteratorParametersBuilder.log == null ? log : iteratorParametersBuilder.log,
                 sctx,
                 iteratorParametersBuilder.ioFactory,
@@ -189,7 +193,8 @@ public class IgniteWalIteratorFactory {
                 iteratorParametersBuilder.highBound,
                 iteratorParametersBuilder.keepBinary,
                 iteratorParametersBuilder.bufferSize,
-                iteratorParametersBuilder.strictBoundsCheck
+                iteratorParametersBuilder.strictBoundsCheck,
+                parallel
             ) {
                 @Override protected void onClose() throws IgniteCheckedException {
                     super.onClose();
@@ -200,7 +205,7 @@ public class IgniteWalIteratorFactory {
             };
         }
         else {
-            return new StandaloneWalRecordsIterator(
+            iter = new StandaloneWalRecordsIterator(
                 iteratorParametersBuilder.log == null ? log : iteratorParametersBuilder.log,
                 iteratorParametersBuilder.sharedCtx,
                 iteratorParametersBuilder.ioFactory,
@@ -210,9 +215,18 @@ public class IgniteWalIteratorFactory {
                 iteratorParametersBuilder.highBound,
                 iteratorParametersBuilder.keepBinary,
                 iteratorParametersBuilder.bufferSize,
-                iteratorParametersBuilder.strictBoundsCheck
+                iteratorParametersBuilder.strictBoundsCheck,
+                parallel
             );
         }
+
+        if (!parallel)
+            return iter;
+
+        GridCacheSharedContext<?, ?> sharedCtx = iteratorParametersBuilder.sharedCtx;
+
+        return new ParallelWalRecordsIterator(sharedCtx == null ? null : sharedCtx.igniteInstanceName(), iter,
+            iteratorParametersBuilder.parallelism);
     }
 
     /**
@@ -470,6 +484,9 @@ public class IgniteWalIteratorFactory {
         /** Use strict bounds check for WAL segments. */
         private boolean strictBoundsCheck;
 
+        /** Number of threads to deserialize records, {@code 1} means records are deserialized while reading. */
+        private int parallelism = 1;
+
         /**
          * Factory method for {@link IgniteWalIteratorFactory.IteratorParametersBuilder}.
          *
@@ -635,6 +652,20 @@ public class IgniteWalIteratorFactory {
             return this;
         }
 
+        /**
+         * Sets number of threads to deserialize records. If greater than {@code 1}, records are read by a separate
+         * thread and deserialized in parallel while keeping their order. Default is {@code 1}: records are
+         * deserialized by the iterating thread while reading.
+         *
+         * @param parallelism Number of threads to deserialize records.
+         * @return IteratorParametersBuilder Self reference.
+         */
+        public IteratorParametersBuilder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+
+            return this;
+        }
+
         /**
          * Copy current state of builder to new instance.
          *
@@ -653,7 +684,8 @@ public class IgniteWalIteratorFactory {
                 .from(lowBound)
                 .to(highBound)
                 .filter(filter)
-                .strictBoundsCheck(strictBoundsCheck);
+                .strictBoundsCheck(strictBoundsCheck)
+                .parallelism(parallelism);
         }
 
         /**
@@ -665,6 +697,8 @@ public class IgniteWalIteratorFactory {
 
             A.ensure(bufferSize >= pageSize * 2, "Buffer to small.");
 
+            A.ensure(parallelism > 0, "Parallelism must be positive.");
+
             A.ensure(sharedCtx == null || (binaryMetadataFileStoreDir == null &&
                 marshallerMappingFileStoreDir == null), "GridCacheSharedContext and binaryMetadataFileStoreDir/" +
                 "marshallerMappingFileStoreDir can't be specified in the same time");
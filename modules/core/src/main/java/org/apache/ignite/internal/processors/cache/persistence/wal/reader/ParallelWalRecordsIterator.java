@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.reader;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.thread.IgniteThread;
+import org.apache.ignite.thread.IgniteThreadPoolExecutor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * WAL iterator that reads records in a separate thread and deserializes them in a pool of threads.
+ * <p>
+ * Reader thread reads records of segments with the {@link StandaloneWalRecordsIterator} in marshalled mode, so only
+ * reading of segment files, CRC check and framing of records are performed sequentially. Deserialization and post
+ * processing of the records are performed by the pool while the records wait in the queue to be returned in the
+ * order they have been read.
+ */
+class ParallelWalRecordsIterator extends GridCloseableIteratorAdapter<IgniteBiTuple<WALPointer, WALRecord>>
+    implements WALIterator {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of records read ahead. */
+    static final int READ_AHEAD_SIZE = 1024;
+
+    /** Records reader. */
+    private final StandaloneWalRecordsIterator reader;
+
+    /** Records being deserialized in the order they have been read. */
+    private final BlockingQueue<Future<IgniteBiTuple<WALPointer, WALRecord>>> queue =
+        new ArrayBlockingQueue<>(READ_AHEAD_SIZE);
+
+    /** Deserialization pool. */
+    private final IgniteThreadPoolExecutor pool;
+
+    /** Reader thread. */
+    private final IgniteThread readerThread;
+
+    /** Reader error. */
+    private volatile Throwable err;
+
+    /** Position of the last record read by the reader when it has finished. */
+    private volatile WALPointer readerLastRead;
+
+    /** Stop flag. */
+    private volatile boolean stopped;
+
+    /** Next record. */
+    private IgniteBiTuple<WALPointer, WALRecord> next;
+
+    /** All the records are read. */
+    private boolean finished;
+
+    /** Position of the last record returned. */
+    private WALPointer lastRead;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param reader Iterator to read records in marshalled mode.
+     * @param parallelism Number of threads to deserialize records.
+     */
+    ParallelWalRecordsIterator(@Nullable String igniteInstanceName, StandaloneWalRecordsIterator reader, int parallelism) {
+        assert parallelism > 1 : parallelism;
+
+        this.reader = reader;
+
+        pool = new IgniteThreadPoolExecutor(
+            "wal-records-deserializer",
+            igniteInstanceName,
+            parallelism,
+            parallelism,
+            0,
+            new LinkedBlockingQueue<>());
+
+        readerThread = new IgniteThread(igniteInstanceName, "wal-records-reader", this::body);
+
+        readerThread.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteBiTuple<WALPointer, WALRecord> onNext() {
+        IgniteBiTuple<WALPointer, WALRecord> res = next;
+
+        next = null;
+
+        lastRead = res.get1();
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean onHasNext() throws IgniteCheckedException {
+        if (next != null)
+            return true;
+
+        if (finished)
+            return false;
+
+        Future<IgniteBiTuple<WALPointer, WALRecord>> fut;
+
+        try {
+            fut = queue.take();
+
+            next = fut.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IgniteInterruptedCheckedException(e);
+        }
+        catch (ExecutionException e) {
+            finished = true;
+
+            throw U.cast(e.getCause());
+        }
+
+        if (next != null)
+            return true;
+
+        finished = true;
+
+        if (readerLastRead != null)
+            lastRead = readerLastRead;
+
+        Throwable e = err;
+
+        if (e == null)
+            return false;
+
+        if (e instanceof IgniteCheckedException)
+            throw (IgniteCheckedException)e;
+
+        if (e instanceof Error)
+            throw (Error)e;
+
+        throw new IgniteCheckedException("Failed to read WAL records", e);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Optional<WALPointer> lastRead() {
+        return Optional.ofNullable(lastRead);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() throws IgniteCheckedException {
+        stopped = true;
+
+        queue.clear();
+
+        U.join(readerThread, null);
+
+        pool.shutdownNow();
+
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IgniteInterruptedCheckedException(e);
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reader thread body.
+     */
+    private void body() {
+        try {
+            while (!stopped && reader.hasNext()) {
+                IgniteBiTuple<WALPointer, WALRecord> rec = reader.next();
+
+                if (!put(pool.submit(() -> reader.unmarshal(rec))))
+                    break;
+            }
+
+            readerLastRead = reader.lastRead().orElse(null);
+        }
+        catch (Throwable e) {
+            err = e;
+        }
+        finally {
+            // Null record marks the end of records.
+            put(CompletableFuture.completedFuture(null));
+        }
+    }
+
+    /**
+     * @param fut Record future.
+     * @return {@code False} if the iterator is closed.
+     */
+    private boolean put(Future<IgniteBiTuple<WALPointer, WALRecord>> fut) {
+        try {
+            while (!queue.offer(fut, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped)
+                    return false;
+            }
+
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
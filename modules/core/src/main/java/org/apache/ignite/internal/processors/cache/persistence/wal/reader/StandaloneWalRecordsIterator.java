@@ -19,6 +19,8 @@ package org.apache.ignite.internal.processors.cache.persistence.wal.reader;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +31,7 @@ import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
 import org.apache.ignite.internal.pagemem.wal.record.FilteredRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledDataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.MarshalledRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataRecord;
 import org.apache.ignite.internal.pagemem.wal.record.UnwrapDataEntry;
@@ -41,6 +44,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.AbstractWalRecordsIterator;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInputImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileDescriptor;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.ReadFileHandle;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
@@ -50,7 +54,10 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.io.FileInput;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentFileInputFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SimpleSegmentFileInputFactory;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordDataSerializer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordDataV1Serializer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordDataV1Serializer.EncryptedDataEntry;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordDataV2Serializer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactoryImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.SegmentHeader;
@@ -64,6 +71,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory.IteratorParametersBuilder.DFLT_HIGH_BOUND;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.CRC_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.FILE_WAL_POINTER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.REC_TYPE_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.readSegmentHeader;
 
 /**
@@ -99,6 +109,12 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
     /** Replay to bound include */
     private final WALPointer highBound;
 
+    /**
+     * Data serializers of records read in marshalled mode by serializer version, {@code null} if records are
+     * deserialized while reading.
+     */
+    @Nullable private final RecordDataSerializer[] dataSerializers;
+
     /**
      * Creates iterator in file-by-file iteration mode. Directory
      *
@@ -109,6 +125,8 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
      * @param keepBinary Keep binary. This flag disables converting of non primitive types (BinaryObjects will be used
      * instead)
      * @param walFiles Wal files.
+     * @param marshalled If {@code true}, records are read as {@link MarshalledRecord} and should be deserialized
+     * by {@link #unmarshal(IgniteBiTuple)}, possibly in other threads.
      */
     StandaloneWalRecordsIterator(
         @NotNull IgniteLogger log,
@@ -120,12 +138,13 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         WALPointer highBound,
         boolean keepBinary,
         int initialReadBufferSize,
-        boolean strictBoundsCheck
+        boolean strictBoundsCheck,
+        boolean marshalled
     ) throws IgniteCheckedException {
         super(
             log,
             sharedCtx,
-            new RecordSerializerFactoryImpl(sharedCtx, readTypeFilter),
+            new RecordSerializerFactoryImpl(sharedCtx, readTypeFilter).marshalledMode(marshalled),
             ioFactory,
             initialReadBufferSize,
             FILE_INPUT_FACTORY
@@ -139,6 +158,10 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
 
         this.keepBinary = keepBinary;
 
+        dataSerializers = marshalled ?
+            new RecordDataSerializer[] {null, new RecordDataV1Serializer(sharedCtx), new RecordDataV2Serializer(sharedCtx)} :
+            null;
+
         walFileDescriptors = walFiles;
 
         init(walFiles);
@@ -288,6 +311,9 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         if (tup == null)
             return tup;
 
+        if (tup.get2() instanceof MarshalledRecord)
+            tup = new T2<>(tup.get1(), copyMarshalled((MarshalledRecord)tup.get2(), hnd.ser().version()));
+
         if (!checkBounds(tup.get1())) {
             if (curRec != null) {
                 WALPointer prevRecPtr = curRec.get1();
@@ -303,6 +329,68 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         return tup;
     }
 
+    /**
+     * Copies marshalled record, because its buffer is reused to read the next record.
+     *
+     * @param rec Marshalled record.
+     * @param serVer Version of serializer that has read the record.
+     * @return Copy of the record.
+     */
+    private static MarshalledRecord copyMarshalled(MarshalledRecord rec, int serVer) {
+        ByteBuffer buf = rec.buffer();
+
+        byte[] bytes = new byte[buf.remaining()];
+
+        buf.duplicate().get(bytes);
+
+        MarshalledRecord res = new SerializedRecord(rec.type(), rec.position(), bytes, serVer);
+
+        res.size(rec.size());
+
+        return res;
+    }
+
+    /**
+     * Deserializes record read in marshalled mode and performs its post processing. Can be called concurrently
+     * with iteration and with other calls of this method.
+     *
+     * @param tup Record read by this iterator.
+     * @return Deserialized record.
+     * @throws IgniteCheckedException If failed.
+     */
+    IgniteBiTuple<WALPointer, WALRecord> unmarshal(
+        IgniteBiTuple<WALPointer, WALRecord> tup
+    ) throws IgniteCheckedException {
+        if (!(tup.get2() instanceof SerializedRecord))
+            return tup;
+
+        SerializedRecord rec = (SerializedRecord)tup.get2();
+
+        ByteBuffer buf = rec.buffer().duplicate().order(ByteOrder.nativeOrder());
+
+        int len = buf.remaining();
+
+        RecordType type = RecordType.fromIndex((buf.get() & 0xFF) - 1);
+
+        // Record pointer is followed by record length since the second version of serializer.
+        int hdrSize = rec.serVer == 1 ? FILE_WAL_POINTER_SIZE : FILE_WAL_POINTER_SIZE + 4;
+
+        buf.position(buf.position() + hdrSize);
+
+        try {
+            WALRecord res = dataSerializers[rec.serVer].readRecord(type, new ByteBufferBackedDataInputImpl().buffer(buf),
+                rec.serVer == 1 ? 0 : len - REC_TYPE_SIZE - hdrSize - CRC_SIZE);
+
+            res.position(rec.position());
+            res.size(rec.size());
+
+            return new T2<>(tup.get1(), postProcessRecord(res));
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read WAL record [ptr=" + tup.get1() + ", type=" + type + ']', e);
+        }
+    }
+
     /**
      * @param ptr WAL pointer.
      * @return {@code True} If pointer between low and high bounds. {@code False} if not.
@@ -358,7 +446,7 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         GridKernalContext kernalCtx = sharedCtx.kernalContext();
         IgniteCacheObjectProcessor processor = kernalCtx.cacheObjects();
 
-        if (processor != null && (rec.type() == RecordType.DATA_RECORD
+        if (processor != null && !(rec instanceof MarshalledRecord) && (rec.type() == RecordType.DATA_RECORD
             || rec.type() == RecordType.DATA_RECORD_V2
             || rec.type() == RecordType.MVCC_DATA_RECORD)) {
             try {
@@ -525,4 +613,24 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
     ) {
         return new ReadFileHandle(fileIO, ser, in, null);
     }
+
+    /**
+     * Marshalled record with its own copy of record bytes.
+     */
+    private static class SerializedRecord extends MarshalledRecord {
+        /** Version of serializer that has read the record. */
+        private final int serVer;
+
+        /**
+         * @param type Record type.
+         * @param pos Record position.
+         * @param bytes Record bytes.
+         * @param serVer Version of serializer that has read the record.
+         */
+        private SerializedRecord(RecordType type, WALPointer pos, byte[] bytes, int serVer) {
+            super(type, pos, ByteBuffer.wrap(bytes).order(ByteOrder.nativeOrder()));
+
+            this.serVer = serVer;
+        }
+    }
 }
@@ -86,6 +86,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheA
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtUnreservedPartitionException;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.LowPriorityPageAccess;
 import org.apache.ignite.internal.processors.datastructures.DataStructuresProcessor;
 import org.apache.ignite.internal.processors.datastructures.GridSetQueryPredicate;
 import org.apache.ignite.internal.processors.datastructures.SetItemKey;
@@ -3196,9 +3197,9 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
 
             Object next0 = null;
 
-            while (it.hasNext()) {
-                CacheDataRow row = it.next();
+            CacheDataRow row;
 
+            while ((row = nextRow()) != null) {
                 KeyCacheObject key = row.key();
                 CacheObject val;
 
@@ -3317,6 +3318,22 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
             }
         }
 
+        /**
+         * Reads the next row. Pages are accessed with low priority to keep the hot data in memory.
+         *
+         * @return Next row or {@code null} if there are no more rows.
+         */
+        @Nullable private CacheDataRow nextRow() {
+            LowPriorityPageAccess.enter();
+
+            try {
+                return it.hasNext() ? it.next() : null;
+            }
+            finally {
+                LowPriorityPageAccess.exit();
+            }
+        }
+
         /** */
         @Nullable public IgniteBiPredicate<K, V> filter() {
             return intScanFilter == null ? null : intScanFilter.scanFilter;
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compression codec for independent blocks of data.
+ * All the buffers are expected to be direct, positions of the buffers are moved by the processed data.
+ */
+public interface BlockCodec {
+    /**
+     * @param len Length of data to compress.
+     * @return Maximal length of the compressed data.
+     */
+    int maxCompressedLength(int len);
+
+    /**
+     * Compresses remaining bytes of the source buffer into the destination buffer.
+     *
+     * @param src Source buffer.
+     * @param dst Destination buffer.
+     */
+    void compress(ByteBuffer src, ByteBuffer dst);
+
+    /**
+     * Decompresses remaining bytes of the source buffer into the destination buffer.
+     *
+     * @param src Source buffer.
+     * @param dst Destination buffer, remaining bytes count must be equal to the decompressed data length.
+     */
+    void decompress(ByteBuffer src, ByteBuffer dst);
+}
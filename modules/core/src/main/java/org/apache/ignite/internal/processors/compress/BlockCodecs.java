@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.IgniteComponentType;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Block compression codecs. Codecs are provided by ignite-compress module and don't require kernal context,
+ * so they can be used by standalone tools as well.
+ */
+public final class BlockCodecs {
+    /** */
+    private static final String PROVIDER_CLASS = "org.apache.ignite.internal.processors.compress.BlockCodecProviderImpl";
+
+    /** */
+    private static final BlockCodecProvider provider;
+
+    /** */
+    private static volatile Throwable err;
+
+    /** */
+    static {
+        BlockCodecProvider x = null;
+
+        try {
+            if (IgniteComponentType.COMPRESSION.inClassPath())
+                x = U.newInstance(PROVIDER_CLASS);
+        }
+        catch (Throwable e) {
+            err = e;
+        }
+
+        provider = x;
+    }
+
+    /** */
+    private BlockCodecs() {
+        // No-op.
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @return {@code True} if the algorithm can be used for block compression.
+     */
+    public static boolean supported(DiskPageCompression compression) {
+        return compression == DiskPageCompression.ZSTD || compression == DiskPageCompression.LZ4;
+    }
+
+    /**
+     * @param compression Compression algorithm, {@link DiskPageCompression#ZSTD} or {@link DiskPageCompression#LZ4}.
+     * @param level Compression level.
+     * @return Codec.
+     * @throws IgniteCheckedException If the algorithm isn't supported or ignite-compress module isn't in classpath.
+     */
+    public static BlockCodec codec(DiskPageCompression compression, int level) throws IgniteCheckedException {
+        if (!supported(compression))
+            throw new IgniteCheckedException("Block compression is not supported for " + compression + '.');
+
+        if (provider == null)
+            throw new IgniteCheckedException("Make sure that ignite-compress module is in classpath.", err);
+
+        CompressionProcessor.checkCompressionLevelBounds(level, compression);
+
+        return provider.codec(compression, level);
+    }
+}
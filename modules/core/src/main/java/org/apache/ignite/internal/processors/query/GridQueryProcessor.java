@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -233,6 +234,9 @@ public class GridQueryProcessor extends GridProcessorAdapter {
     /** IO message listener. */
     private final GridMessageListener ioLsnr;
 
+    /** Listeners of SQL tables data updates. */
+    private final List<IgniteInClosure<GridCacheContext<?, ?>>> tblUpdLsnrs = new CopyOnWriteArrayList<>();
+
     /** Schema operations. */
     private final ConcurrentHashMap<String, SchemaOperation> schemaOps = new ConcurrentHashMap<>();
 
@@ -2743,6 +2747,36 @@ public class GridQueryProcessor extends GridProcessorAdapter {
 
         if (idx != null)
             idx.store(cctx, desc, newRow, prevRow, prevRowAvailable);
+
+        onTableUpdated(cctx);
+    }
+
+    /**
+     * Registers listener of SQL tables data updates. The listener is notified on each node, which applies an update of
+     * a row (both primary and backup), from the update thread while the entry is locked, so it must be fast.
+     *
+     * @param lsnr Listener, accepting context of the updated cache.
+     */
+    public void registerTableUpdateListener(IgniteInClosure<GridCacheContext<?, ?>> lsnr) {
+        tblUpdLsnrs.add(lsnr);
+    }
+
+    /**
+     * @param lsnr Listener of SQL tables data updates.
+     */
+    public void unregisterTableUpdateListener(IgniteInClosure<GridCacheContext<?, ?>> lsnr) {
+        tblUpdLsnrs.remove(lsnr);
+    }
+
+    /**
+     * @param cctx Cache context.
+     */
+    private void onTableUpdated(GridCacheContext<?, ?> cctx) {
+        if (tblUpdLsnrs.isEmpty())
+            return;
+
+        for (IgniteInClosure<GridCacheContext<?, ?>> lsnr : tblUpdLsnrs)
+            lsnr.apply(cctx);
     }
 
     /**
@@ -3656,6 +3690,8 @@ public class GridQueryProcessor extends GridProcessorAdapter {
 
         if (indexingEnabled())
             idx.remove(cctx, desc, row);
+
+        onTableUpdated(cctx);
     }
 
     /**
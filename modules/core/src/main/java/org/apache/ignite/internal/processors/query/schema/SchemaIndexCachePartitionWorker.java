@@ -30,6 +30,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.LowPriorityPageAccess;
 import org.apache.ignite.internal.processors.query.QueryTypeDescriptorImpl;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.lang.GridCursor;
@@ -126,6 +127,9 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
         Throwable err = null;
 
+        // Rebuild touches each page of the partition once, it shouldn't flush the hot data from memory.
+        LowPriorityPageAccess.enter();
+
         try {
             processPartition();
         }
@@ -142,6 +146,8 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
                 cctx.group().metrics().addIndexBuildCountPartitionsLeft(-cnt);
         }
         finally {
+            LowPriorityPageAccess.exit();
+
             fut.onDone(wrappedClo.indexCacheStat, err);
         }
     }
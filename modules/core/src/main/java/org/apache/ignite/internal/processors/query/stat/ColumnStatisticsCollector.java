@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.binary.BinaryObjectImpl;
@@ -93,6 +94,12 @@ public class ColumnStatisticsCollector {
     /** Null values counter. */
     private long nullsCnt;
 
+    /** Reservoir sample of comparable values to build histogram. */
+    private BigDecimal[] sample;
+
+    /** Number of comparable values passed to the sample. */
+    private long sampled;
+
     /** Is column has complex type. */
     private final boolean isComparable;
 
@@ -150,9 +157,32 @@ public class ColumnStatisticsCollector {
 
             if (null == max || max.compareTo(decVal) < 0)
                 max = decVal;
+
+            addToSample(decVal);
         }
     }
 
+    /**
+     * Add value to the reservoir sample, so each value gets into the sample with the same probability.
+     *
+     * @param val Value to add.
+     */
+    private void addToSample(BigDecimal val) {
+        if (sample == null)
+            sample = new BigDecimal[EquiDepthHistogram.SAMPLE_SIZE];
+
+        if (sampled < sample.length)
+            sample[(int)sampled] = val;
+        else {
+            long idx = ThreadLocalRandom.current().nextLong(sampled + 1);
+
+            if (idx < sample.length)
+                sample[(int)idx] = val;
+        }
+
+        sampled++;
+    }
+
     /**
      * Get total column statistics.
      *
@@ -161,8 +191,18 @@ public class ColumnStatisticsCollector {
     public ColumnStatistics finish() {
         int averageSize = averageSize(size, total, nullsCnt);
 
+        BigDecimal[] hist = null;
+
+        if (sample != null) {
+            int sampleSize = (int)Math.min(sampled, sample.length);
+
+            Arrays.sort(sample, 0, sampleSize);
+
+            hist = EquiDepthHistogram.build(sample, sampleSize, min, max);
+        }
+
         return new ColumnStatistics(toDecimal(min), toDecimal(max), nullsCnt, hll.cardinality(), total, averageSize,
-            hll.toBytes(), ver, U.currentTimeMillis());
+            hll.toBytes(), ver, U.currentTimeMillis(), hist);
     }
 
     /**
@@ -264,7 +304,9 @@ public class ColumnStatisticsCollector {
         Long overrideTotal = (overrides == null) ? null : overrides.total();
         total = (overrideTotal == null) ? total : overrideTotal;
 
-        return new ColumnStatistics(min, max, nulls, distinct, total, averageSize, hll.toBytes(), ver, createdAt);
+        BigDecimal[] hist = EquiDepthHistogram.merge(partStats, min, max);
+
+        return new ColumnStatistics(min, max, nulls, distinct, total, averageSize, hll.toBytes(), ver, createdAt, hist);
     }
 
     /**
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.stat;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Utilities to build and use equi-depth histograms of column values.
+ *
+ * Histogram is represented by an array of {@code n + 1} ascending bounds of {@code n} buckets. Each bucket holds the
+ * same share of not null column values, the values are considered to be distributed uniformly inside a bucket.
+ * Frequent values occupy several adjacent buckets with equal bounds.
+ */
+public class EquiDepthHistogram {
+    /** Maximal number of histogram buckets. */
+    public static final int BUCKETS = 32;
+
+    /** Size of values sample used to build a partition histogram. */
+    public static final int SAMPLE_SIZE = 1024;
+
+    /** */
+    private EquiDepthHistogram() {
+        // No-op.
+    }
+
+    /**
+     * Builds histogram by sorted sample of column values.
+     *
+     * @param sample Sorted sample.
+     * @param size Number of values in the sample.
+     * @param min Exact minimal value of the column.
+     * @param max Exact maximal value of the column.
+     * @return Histogram bounds or {@code null} if the sample is empty.
+     */
+    public static @Nullable BigDecimal[] build(BigDecimal[] sample, int size, BigDecimal min, BigDecimal max) {
+        if (size == 0)
+            return null;
+
+        int buckets = Math.min(BUCKETS, size);
+
+        BigDecimal[] bounds = new BigDecimal[buckets + 1];
+
+        for (int i = 1; i < buckets; i++)
+            bounds[i] = sample[(int)((long)i * (size - 1) / buckets)];
+
+        bounds[0] = min;
+        bounds[buckets] = max;
+
+        return bounds;
+    }
+
+    /**
+     * Merges histograms of several column parts (partitions or nodes) into a single one.
+     *
+     * @param parts Column statistics of the parts.
+     * @param min Minimal value of the whole column.
+     * @param max Maximal value of the whole column.
+     * @return Merged histogram or {@code null} if some part with not null values has no histogram.
+     */
+    public static @Nullable BigDecimal[] merge(List<ColumnStatistics> parts, BigDecimal min, BigDecimal max) {
+        int buckets = 0;
+        int segments = 0;
+        double total = 0;
+
+        for (ColumnStatistics part : parts) {
+            long notNulls = part.total() - part.nulls();
+
+            if (notNulls <= 0)
+                continue;
+
+            BigDecimal[] hist = part.histogram();
+
+            if (hist == null)
+                return null;
+
+            buckets = Math.max(buckets, hist.length - 1);
+            segments += hist.length - 1;
+            total += notNulls;
+        }
+
+        if (buckets == 0 || min == null || max == null)
+            return null;
+
+        // Each bucket of each part is a segment with uniformly distributed mass.
+        double[] lo = new double[segments];
+        double[] hi = new double[segments];
+        double[] mass = new double[segments];
+        double[] points = new double[segments * 2];
+
+        int s = 0;
+
+        for (ColumnStatistics part : parts) {
+            long notNulls = part.total() - part.nulls();
+
+            if (notNulls <= 0)
+                continue;
+
+            BigDecimal[] hist = part.histogram();
+
+            for (int i = 0; i < hist.length - 1; i++, s++) {
+                lo[s] = hist[i].doubleValue();
+                hi[s] = hist[i + 1].doubleValue();
+                mass[s] = (double)notNulls / (hist.length - 1);
+                points[2 * s] = lo[s];
+                points[2 * s + 1] = hi[s];
+            }
+        }
+
+        Arrays.sort(points);
+
+        int pointsCnt = 0;
+
+        for (int i = 0; i < points.length; i++) {
+            if (i == 0 || points[i] != points[pointsCnt - 1])
+                points[pointsCnt++] = points[i];
+        }
+
+        // Density changes and point masses at each distinct point.
+        double[] densityDelta = new double[pointsCnt];
+        double[] pointMass = new double[pointsCnt];
+
+        for (int i = 0; i < segments; i++) {
+            int loIdx = Arrays.binarySearch(points, 0, pointsCnt, lo[i]);
+
+            if (hi[i] > lo[i]) {
+                int hiIdx = Arrays.binarySearch(points, 0, pointsCnt, hi[i]);
+                double density = mass[i] / (hi[i] - lo[i]);
+
+                densityDelta[loIdx] += density;
+                densityDelta[hiIdx] -= density;
+            }
+            else
+                pointMass[loIdx] += mass[i];
+        }
+
+        BigDecimal[] bounds = new BigDecimal[buckets + 1];
+
+        bounds[0] = min;
+        bounds[buckets] = max;
+
+        double cum = 0;
+        double density = 0;
+        int bucket = 1;
+
+        for (int i = 0; i < pointsCnt && bucket < buckets; i++) {
+            cum += pointMass[i];
+
+            while (bucket < buckets && cum >= total * bucket / buckets)
+                bounds[bucket++] = BigDecimal.valueOf(points[i]);
+
+            density += densityDelta[i];
+
+            if (i == pointsCnt - 1 || density <= 0)
+                continue;
+
+            double next = cum + density * (points[i + 1] - points[i]);
+
+            while (bucket < buckets && next >= total * bucket / buckets) {
+                double target = total * bucket / buckets;
+
+                bounds[bucket++] = BigDecimal.valueOf(points[i] + (target - cum) / density);
+            }
+
+            cum = next;
+        }
+
+        // Fill the tail and fix rounding errors of floating point computations.
+        for (int i = 1; i < buckets; i++) {
+            if (bounds[i] == null || bounds[i].compareTo(max) > 0)
+                bounds[i] = max;
+
+            if (bounds[i].compareTo(bounds[i - 1]) < 0)
+                bounds[i] = bounds[i - 1];
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Estimates share of not null values which are less than (or equal to) the specified one.
+     *
+     * @param bounds Histogram bounds.
+     * @param val Value.
+     * @param inclusive Whether to count values equal to the specified one.
+     * @return Estimated share of values in range [0, 1].
+     */
+    public static double lessThan(BigDecimal[] bounds, BigDecimal val, boolean inclusive) {
+        int buckets = bounds.length - 1;
+        double res = 0;
+
+        for (int i = 0; i < buckets; i++) {
+            BigDecimal lo = bounds[i];
+            BigDecimal hi = bounds[i + 1];
+
+            int loCmp = lo.compareTo(val);
+            int hiCmp = hi.compareTo(val);
+
+            if (hiCmp < 0)
+                res += 1;
+            else if (loCmp == 0 && hiCmp == 0)
+                res += inclusive ? 1 : 0;
+            else if (loCmp < 0)
+                res += val.subtract(lo).divide(hi.subtract(lo), MathContext.DECIMAL64).doubleValue();
+        }
+
+        return Math.min(1., res / buckets);
+    }
+
+    /**
+     * Estimates share of not null values equal to the specified one by buckets collapsed into the value.
+     *
+     * @param bounds Histogram bounds.
+     * @param val Value.
+     * @return Estimated share of values or {@code 0} if the value isn't frequent enough to fill a whole bucket.
+     */
+    public static double frequency(BigDecimal[] bounds, BigDecimal val) {
+        int buckets = bounds.length - 1;
+        int res = 0;
+
+        for (int i = 0; i < buckets; i++) {
+            if (bounds[i].compareTo(val) == 0 && bounds[i + 1].compareTo(val) == 0)
+                res++;
+        }
+
+        return (double)res / buckets;
+    }
+}
@@ -31,10 +31,12 @@ import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
 import org.apache.ignite.internal.processors.cache.GridCacheUtils;
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionsExchangeFuture;
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.PartitionsExchangeAware;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedEnumProperty;
 import org.apache.ignite.internal.processors.query.schema.management.SchemaManager;
@@ -44,6 +46,7 @@ import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
 import org.apache.ignite.internal.util.collection.IntMap;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.thread.IgniteThreadPoolExecutor;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.query.stat.StatisticsUsageState.NO_UPDATE;
 import static org.apache.ignite.internal.processors.query.stat.StatisticsUsageState.OFF;
@@ -479,17 +482,21 @@ public class IgniteStatisticsManagerImpl implements IgniteStatisticsManager {
                 // No-op/
             }
 
-            Set<Integer> tasksParts = calculateObsolescencedPartitions(cfg, statsRepos.getObsolescence(key));
-
             TableDescriptor tbl = schemaMgr.table(key.schema(), key.obj());
-            GridCacheContextInfo<?, ?> cacheInfo = tbl.cacheInfo();
 
             if (tbl == null) {
                 // Table can be removed earlier, but not already processed. Or somethink goes wrong. Try to reschedule.
                 if (log.isDebugEnabled())
                     log.debug(String.format("Got obsolescence statistics for unknown table %s", key));
+
+                continue;
             }
 
+            GridCacheContextInfo<?, ?> cacheInfo = tbl.cacheInfo();
+
+            Set<Integer> tasksParts = calculateObsolescencedPartitions(cfg, cacheInfo.cacheContext(),
+                statsRepos.getObsolescence(key));
+
             LocalStatisticsGatheringContext ctx = new LocalStatisticsGatheringContext(true,
                 tbl.type(), cacheInfo, cfg, tasksParts, null);
 
@@ -501,12 +508,18 @@ public class IgniteStatisticsManagerImpl implements IgniteStatisticsManager {
      * Calculate targets to refresh obsolescence statistics by map of dirty partitions and actual per partition
      * statistics.
      *
+     * Number of modifications is the greater of the tracked modified keys count and the difference between actual
+     * partition update counter and the one statistics was collected at. The update counter takes into account changes
+     * which weren't tracked by the obsolescence info, e.g. ones made before node restart or during rebalance.
+     *
      * @param cfg Statistics configuration
+     * @param cctx Cache context or {@code null} if cache isn't started locally.
      * @param parts  list of it's obsolescence info paritions.
      * @return Map of statistics cfg to partition to refresh statistics.
      */
     private Set<Integer> calculateObsolescencedPartitions(
         StatisticsObjectConfiguration cfg,
+        @Nullable GridCacheContext<?, ?> cctx,
         IntMap<ObjectPartitionStatisticsObsolescence> parts
     ) {
         Set<Integer> res = new HashSet<>();
@@ -514,8 +527,20 @@ public class IgniteStatisticsManagerImpl implements IgniteStatisticsManager {
         parts.forEach((k, v) -> {
             ObjectPartitionStatisticsImpl partStat = statsRepos.getLocalPartitionStatistics(cfg.key(), k);
 
-            if (partStat == null || partStat.rowCount() == 0 ||
-                (double)v.modified() * 100 / partStat.rowCount() > cfg.maxPartitionObsolescencePercent())
+            if (partStat == null || partStat.rowCount() == 0) {
+                res.add(k);
+
+                return;
+            }
+
+            long modified = v.modified();
+
+            GridDhtLocalPartition locPart = cctx == null ? null : cctx.topology().localPartition(k);
+
+            if (locPart != null)
+                modified = Math.max(modified, locPart.updateCounter() - partStat.updCnt());
+
+            if ((double)modified * 100 / partStat.rowCount() > cfg.maxPartitionObsolescencePercent())
                 res.add(k);
         });
 
@@ -55,8 +55,17 @@ public class StatisticsUtils {
         StatisticsDecimalMessage msgMin = new StatisticsDecimalMessage(stat.min());
         StatisticsDecimalMessage msgMax = new StatisticsDecimalMessage(stat.max());
 
+        StatisticsDecimalMessage[] msgHist = null;
+
+        if (stat.histogram() != null) {
+            msgHist = new StatisticsDecimalMessage[stat.histogram().length];
+
+            for (int i = 0; i < msgHist.length; i++)
+                msgHist[i] = new StatisticsDecimalMessage(stat.histogram()[i]);
+        }
+
         return new StatisticsColumnData(msgMin, msgMax, stat.nulls(), stat.distinct(),
-            stat.total(), stat.size(), stat.raw(), stat.version(), stat.createdAt());
+            stat.total(), stat.size(), stat.raw(), stat.version(), stat.createdAt(), msgHist);
     }
 
     /**
@@ -67,8 +76,17 @@ public class StatisticsUtils {
      * @return ColumnStatistics object.
      */
     public static ColumnStatistics toColumnStatistics(GridKernalContext ctx, StatisticsColumnData data) {
+        BigDecimal[] hist = null;
+
+        if (data.histogram() != null) {
+            hist = new BigDecimal[data.histogram().length];
+
+            for (int i = 0; i < hist.length; i++)
+                hist[i] = data.histogram()[i].value();
+        }
+
         return new ColumnStatistics(data.min().value(), data.max().value(), data.nulls(), data.distinct(),
-            data.total(), data.size(), data.rawData(), data.version(), data.createdAt());
+            data.total(), data.size(), data.rawData(), data.version(), data.createdAt(), hist);
     }
 
     /**
@@ -20,6 +20,7 @@ package org.apache.ignite.internal.util;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.internal.util.typedef.T2;
@@ -160,6 +161,13 @@ public class GridConcurrentMultiPairQueue<K, V> {
         return maxPos;
     }
 
+    /**
+     * @return Keys of the queue.
+     */
+    public List<K> keys() {
+        return Collections.unmodifiableList(Arrays.asList(keysArr));
+    }
+
     /** State holder. */
     public static class Result<K, V> {
         /** Current segment. */
@@ -1334,6 +1334,20 @@ public abstract class GridUnsafe {
             UNSAFE.copyMemory(srcBase, srcOff, dstBase, dstOff, len);
     }
 
+    /**
+     * Ensures that loads before the fence will not be reordered with loads and stores after the fence.
+     */
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
+    /**
+     * Ensures that loads and stores before the fence will not be reordered with loads and stores after the fence.
+     */
+    public static void fullFence() {
+        UNSAFE.fullFence();
+    }
+
     /**
      * Frees memory.
      *
@@ -0,0 +1,388 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.binary;
+
+import java.util.Arrays;
+import org.apache.ignite.binary.BinaryField;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.binary.BinaryTypeConfiguration;
+import org.apache.ignite.configuration.BinaryConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.PlatformConfiguration;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.marshaller.MarshallerContextTestImpl;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for binary objects written in the fixed layout.
+ */
+public class BinaryFixedLayoutSelfTest extends GridCommonAbstractTest {
+    /** Field names of {@link PrimitivesObject}. */
+    private static final String[] FIELDS = {"b", "bool", "s", "c", "i", "l", "f", "d"};
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFixedLayout() throws Exception {
+        BinaryMarshaller fixedMarsh = createMarshaller(true);
+        BinaryMarshaller plainMarsh = createMarshaller(false);
+
+        PrimitivesObject obj = new PrimitivesObject(1);
+
+        BinaryObjectImpl fixed = toBinary(fixedMarsh, obj);
+        BinaryObjectImpl plain = toBinary(plainMarsh, obj);
+
+        assertTrue(BinaryUtils.isFixedLayout(flags(fixed)));
+        assertFalse(BinaryUtils.isFixedLayout(flags(plain)));
+
+        // Compact footer of the plain object consists of one byte offsets.
+        assertEquals(plain.length() - FIELDS.length, fixed.length());
+
+        assertEquals(plain.hashCode(), fixed.hashCode());
+
+        assertEquals(obj, fixed.deserialize());
+        assertEquals(obj, fixedMarsh.unmarshal(fixed.array(), null));
+
+        checkFields(fixed, obj);
+
+        int[] offs = binaryContext(fixedMarsh).fixedLayoutOffsets(fixed.typeId(), fixed.schemaId());
+
+        assertNotNull(offs);
+        assertEquals(FIELDS.length, offs.length);
+        assertEquals(GridBinaryMarshaller.DFLT_HDR_LEN, offs[0]);
+
+        // Offsets are computed once per schema and other objects of the schema reuse them.
+        PrimitivesObject obj2 = new PrimitivesObject(2);
+
+        BinaryObjectImpl fixed2 = toBinary(fixedMarsh, obj2);
+
+        checkFields(fixed2, obj2);
+
+        assertSame(offs, binaryContext(fixedMarsh).fixedLayoutOffsets(fixed2.typeId(), fixed2.schemaId()));
+
+        long ptr = GridUnsafe.allocateMemory(fixed.length());
+
+        try {
+            GridUnsafe.copyHeapOffheap(fixed.array(), GridUnsafe.BYTE_ARR_OFF, ptr, fixed.length());
+
+            BinaryObjectOffheapImpl offheap = new BinaryObjectOffheapImpl(binaryContext(fixedMarsh), ptr, 0,
+                fixed.length());
+
+            checkFields(offheap, obj);
+
+            assertEquals(obj, offheap.deserialize());
+        }
+        finally {
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBuilder() throws Exception {
+        BinaryMarshaller marsh = createMarshaller(true);
+
+        PrimitivesObject obj = new PrimitivesObject(1);
+
+        BinaryObjectImpl fixed = toBinary(marsh, obj);
+
+        assertEquals(obj.l, (long)fixed.toBuilder().getField("l"));
+
+        BinaryObject updated = fixed.toBuilder().setField("i", 42).build();
+
+        obj.i = 42;
+
+        assertEquals(42, (int)updated.field("i"));
+        assertEquals(obj.l, (long)updated.field("l"));
+        assertEquals(obj, updated.deserialize());
+
+        BinaryObject copy = fixed.toBuilder().build();
+
+        assertEquals(new PrimitivesObject(1), copy.deserialize());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNotPrimitiveFields() throws Exception {
+        BinaryMarshaller marsh = createMarshaller(true);
+
+        MixedObject obj = new MixedObject();
+
+        obj.i = 1;
+        obj.str = "str";
+
+        BinaryObjectImpl bin = toBinary(marsh, obj);
+
+        assertFalse(BinaryUtils.isFixedLayout(flags(bin)));
+
+        assertEquals(1, (int)bin.field("i"));
+        assertEquals("str", bin.field("str"));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFullFooter() throws Exception {
+        BinaryMarshaller marsh = createMarshaller(true, false);
+
+        PrimitivesObject obj = new PrimitivesObject(1);
+
+        BinaryObjectImpl bin = toBinary(marsh, obj);
+
+        assertFalse(BinaryUtils.isFixedLayout(flags(bin)));
+
+        assertEquals(obj, bin.deserialize());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNotSupportedByAllNodes() throws Exception {
+        BinaryMarshaller marsh = createMarshaller(true);
+
+        binaryContext(marsh).fixedLayoutEnabled(false);
+
+        PrimitivesObject obj = new PrimitivesObject(1);
+
+        BinaryObjectImpl bin = toBinary(marsh, obj);
+
+        assertFalse(BinaryUtils.isFixedLayout(flags(bin)));
+
+        assertEquals(obj, bin.deserialize());
+
+        binaryContext(marsh).fixedLayoutEnabled(true);
+
+        assertTrue(BinaryUtils.isFixedLayout(flags(toBinary(marsh, obj))));
+    }
+
+    /**
+     * Fixed layout can't be enabled if the node serves applications which can't read it.
+     */
+    @Test
+    public void testPlatformsNotSupported() {
+        GridTestUtils.assertThrowsAnyCause(log,
+            () -> createMarshaller(true, true, new IgniteConfiguration()),
+            BinaryObjectException.class, "Fixed layout is supported by Java nodes only");
+
+        GridTestUtils.assertThrowsAnyCause(log,
+            () -> createMarshaller(true, true, new IgniteConfiguration()
+                .setClientConnectorConfiguration(null)
+                .setPlatformConfiguration(new PlatformConfiguration())),
+            BinaryObjectException.class, "Fixed layout is supported by Java nodes only");
+
+        IgniteConfiguration cfg = new IgniteConfiguration()
+            .setClientConnectorConfiguration(new ClientConnectorConfiguration().setThinClientEnabled(false));
+
+        assertNotNull(createMarshaller(true, true, cfg));
+    }
+
+    /**
+     * Checks that all fields of the binary object are read correctly.
+     *
+     * @param bin Binary object.
+     * @param obj Expected object.
+     */
+    private void checkFields(BinaryObjectExImpl bin, PrimitivesObject obj) {
+        Object[] vals = {obj.b, obj.bool, obj.s, obj.c, obj.i, obj.l, obj.f, obj.d};
+
+        for (int i = 0; i < FIELDS.length; i++) {
+            assertEquals(vals[i], bin.field(FIELDS[i]));
+
+            BinaryField field = bin.type().field(FIELDS[i]);
+
+            assertTrue(field.exists(bin));
+            assertEquals(vals[i], field.value(bin));
+        }
+
+        assertNull(bin.field("missing"));
+    }
+
+    /**
+     * @param marsh Marshaller.
+     * @param obj Object.
+     * @return Binary object.
+     * @throws Exception If failed.
+     */
+    private static BinaryObjectImpl toBinary(BinaryMarshaller marsh, Object obj) throws Exception {
+        byte[] arr = marsh.marshal(obj);
+
+        return new BinaryObjectImpl(binaryContext(marsh), arr, 0);
+    }
+
+    /**
+     * @param bin Binary object.
+     * @return Header flags.
+     */
+    private static short flags(BinaryObjectImpl bin) {
+        return BinaryPrimitives.readShort(bin.array(), bin.start() + GridBinaryMarshaller.FLAGS_POS);
+    }
+
+    /**
+     * @param fixedLayout Whether to enable fixed layout for test types.
+     * @return Binary marshaller.
+     * @throws Exception If failed.
+     */
+    private BinaryMarshaller createMarshaller(boolean fixedLayout) throws Exception {
+        return createMarshaller(fixedLayout, true);
+    }
+
+    /**
+     * @param fixedLayout Whether to enable fixed layout for test types.
+     * @param compactFooter Whether to use compact footer.
+     * @return Binary marshaller.
+     * @throws Exception If failed.
+     */
+    private BinaryMarshaller createMarshaller(boolean fixedLayout, boolean compactFooter) throws Exception {
+        BinaryMarshaller marsh = createMarshaller(fixedLayout, compactFooter,
+            new IgniteConfiguration().setClientConnectorConfiguration(null));
+
+        // All nodes support the layout.
+        binaryContext(marsh).fixedLayoutEnabled(true);
+
+        return marsh;
+    }
+
+    /**
+     * @param fixedLayout Whether to enable fixed layout for test types.
+     * @param compactFooter Whether to use compact footer.
+     * @param cfg Node configuration.
+     * @return Binary marshaller.
+     * @throws Exception If failed.
+     */
+    private BinaryMarshaller createMarshaller(boolean fixedLayout, boolean compactFooter, IgniteConfiguration cfg)
+        throws Exception {
+        BinaryContext ctx = new BinaryContext(BinaryCachingMetadataHandler.create(), cfg, new NullLogger());
+
+        BinaryMarshaller marsh = new BinaryMarshaller();
+
+        BinaryConfiguration bCfg = new BinaryConfiguration();
+
+        bCfg.setCompactFooter(compactFooter);
+
+        bCfg.setTypeConfigurations(Arrays.asList(
+            new BinaryTypeConfiguration(PrimitivesObject.class.getName()).setFixedLayout(fixedLayout),
+            new BinaryTypeConfiguration(MixedObject.class.getName()).setFixedLayout(fixedLayout)
+        ));
+
+        IgniteConfiguration iCfg = new IgniteConfiguration();
+
+        iCfg.setBinaryConfiguration(bCfg);
+
+        marsh.setContext(new MarshallerContextTestImpl(null));
+
+        marsh.setBinaryContext(ctx, iCfg);
+
+        return marsh;
+    }
+
+    /**
+     * @param marsh Marshaller.
+     * @return Binary context.
+     */
+    private static BinaryContext binaryContext(BinaryMarshaller marsh) {
+        GridBinaryMarshaller impl = U.field(marsh, "impl");
+
+        return impl.context();
+    }
+
+    /**
+     * Object with primitive fields only.
+     */
+    private static class PrimitivesObject {
+        /** */
+        private byte b;
+
+        /** */
+        private boolean bool;
+
+        /** */
+        private short s;
+
+        /** */
+        private char c;
+
+        /** */
+        private int i;
+
+        /** */
+        private long l;
+
+        /** */
+        private float f;
+
+        /** */
+        private double d;
+
+        /**
+         * @param seed Seed.
+         */
+        private PrimitivesObject(int seed) {
+            b = (byte)seed;
+            bool = seed % 2 == 1;
+            s = (short)(seed + 1);
+            c = (char)('a' + seed);
+            i = seed + 2;
+            l = seed + 3L;
+            f = seed + 4.5f;
+            d = seed + 5.5d;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            PrimitivesObject other = (PrimitivesObject)o;
+
+            return b == other.b && bool == other.bool && s == other.s && c == other.c && i == other.i &&
+                l == other.l && Float.compare(f, other.f) == 0 && Double.compare(d, other.d) == 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return i;
+        }
+    }
+
+    /**
+     * Object with a non primitive field.
+     */
+    private static class MixedObject {
+        /** */
+        private int i;
+
+        /** */
+        private String str;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CACHE_ENTRY_LOCK_STRIPES;
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+
+/**
+ * Checks cache entries using locks shared by lock stripes.
+ */
+@WithSystemProperty(key = IGNITE_CACHE_ENTRY_LOCK_STRIPES, value = "4")
+public class GridCacheEntrySharedLocksTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(DEFAULT_CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testEntriesShareLocks() throws Exception {
+        IgniteCache<Integer, Integer> cache = createCache(ATOMIC);
+
+        GridCacheAdapter<Integer, Integer> internalCache = internalCache(cache);
+
+        GridCacheMapEntry[] entries = new GridCacheMapEntry[5];
+
+        for (int i = 0; i < entries.length; i++)
+            entries[i] = (GridCacheMapEntry)internalCache.entryEx(i);
+
+        boolean shared = false;
+
+        // There are more entries than lock stripes.
+        for (int i = 0; i < entries.length && !shared; i++) {
+            for (int j = i + 1; j < entries.length && !shared; j++)
+                shared = entries[i].sharesLockWith(entries[j]);
+        }
+
+        assertTrue(shared);
+
+        entries[0].lockEntry();
+
+        try {
+            for (GridCacheMapEntry entry : entries)
+                assertEquals(entries[0].sharesLockWith(entry), entry.lockedByCurrentThread());
+        }
+        finally {
+            entries[0].unlockEntry();
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTransactionalEntriesHaveOwnLocks() throws Exception {
+        IgniteCache<Integer, Integer> cache = createCache(TRANSACTIONAL);
+
+        GridCacheAdapter<Integer, Integer> internalCache = internalCache(cache);
+
+        GridCacheMapEntry entry = (GridCacheMapEntry)internalCache.entryEx(0);
+
+        for (int i = 1; i < KEYS; i++)
+            assertFalse(entry.sharesLockWith((GridCacheMapEntry)internalCache.entryEx(i)));
+    }
+
+    /**
+     * Update of a key waits for a lock of another key of the same lock stripe, batches of keys colliding on stripes
+     * don't deadlock.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testKeysCollideOnStripe() throws Exception {
+        IgniteCache<Integer, Integer> cache = createCache(ATOMIC);
+
+        GridCacheAdapter<Integer, Integer> internalCache = internalCache(cache);
+
+        List<Integer> keys = primaryKeys(cache, KEYS);
+
+        int key1 = keys.get(0);
+
+        GridCacheMapEntry entry1 = (GridCacheMapEntry)internalCache.entryEx(key1);
+
+        int key2 = findKey(internalCache, keys, entry1, true);
+        int key3 = findKey(internalCache, keys, entry1, false);
+
+        entry1.lockEntry();
+
+        IgniteInternalFuture<?> putFut;
+
+        try {
+            putFut = GridTestUtils.runAsync(() -> cache.put(key2, 1));
+
+            assertFalse(GridTestUtils.waitForCondition(putFut::isDone, 500));
+        }
+        finally {
+            entry1.unlockEntry();
+        }
+
+        putFut.get(getTestTimeout());
+
+        assertEquals(1, (int)cache.get(key2));
+
+        // Keys of the batches are locked in different orders: the same stripe first or last.
+        Map<Integer, Integer> batch1 = new LinkedHashMap<>();
+
+        batch1.put(key1, 0);
+        batch1.put(key3, 0);
+
+        Map<Integer, Integer> batch2 = new LinkedHashMap<>();
+
+        batch2.put(key3, 0);
+        batch2.put(key2, 0);
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            Map<Integer, Integer> batch = threadIdx.getAndIncrement() % 2 == 0 ? batch1 : batch2;
+
+            for (int i = 0; i < 1000; i++)
+                cache.putAll(batch);
+        }, 4, "put-all");
+
+        assertEquals(0, (int)cache.get(key1));
+        assertEquals(0, (int)cache.get(key2));
+        assertEquals(0, (int)cache.get(key3));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentPutAllAtomic() throws Exception {
+        checkConcurrentPutAll(ATOMIC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentPutAllTransactional() throws Exception {
+        checkConcurrentPutAll(TRANSACTIONAL);
+    }
+
+    /**
+     * @param atomicityMode Atomicity mode.
+     * @throws Exception If failed.
+     */
+    private void checkConcurrentPutAll(CacheAtomicityMode atomicityMode) throws Exception {
+        IgniteCache<Integer, Integer> cache = createCache(atomicityMode);
+
+        GridTestUtils.runMultiThreaded(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            for (int i = 0; i < 1000; i++) {
+                // Atomic cache locks entries in any order, transactional cache requires sorted keys.
+                Map<Integer, Integer> batch = atomicityMode == ATOMIC ? new HashMap<>() : new TreeMap<>();
+
+                for (int j = 0; j < 10; j++)
+                    batch.put(rnd.nextInt(KEYS), i);
+
+                cache.putAll(batch);
+            }
+        }, 8, "put-all");
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i, (int)cache.get(i));
+    }
+
+    /**
+     * @param cache Cache.
+     * @param keys Keys.
+     * @param entry Entry.
+     * @param sharedLock Whether to find a key with the same lock as the entry or with another lock.
+     * @return Key of another entry with the same or another lock.
+     */
+    private static int findKey(GridCacheAdapter<Integer, Integer> cache, List<Integer> keys, GridCacheMapEntry entry,
+        boolean sharedLock) {
+        for (int key : keys) {
+            GridCacheMapEntry other = (GridCacheMapEntry)cache.entryEx(key);
+
+            if (other != entry && entry.sharesLockWith(other) == sharedLock)
+                return key;
+        }
+
+        throw new AssertionError("Key not found [sharedLock=" + sharedLock + ']');
+    }
+
+    /**
+     * @param atomicityMode Atomicity mode.
+     * @return Created cache.
+     */
+    private IgniteCache<Integer, Integer> createCache(CacheAtomicityMode atomicityMode) {
+        CacheConfiguration<Integer, Integer> ccfg = new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(atomicityMode)
+            .setBackups(1);
+
+        return grid(0).createCache(ccfg);
+    }
+}
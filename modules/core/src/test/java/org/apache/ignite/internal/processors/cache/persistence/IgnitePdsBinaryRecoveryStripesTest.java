@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Checks binary recovery, which applies page updates striped by page. The recovered WAL contains updates of the same
+ * pages interleaved with partition state records and partition destroy records, which are applied as barriers.
+ */
+public class IgnitePdsBinaryRecoveryStripesTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 2_000;
+
+    /** Fail writing of checkpoint end markers. */
+    private final AtomicBoolean failCpEnd = new AtomicBoolean();
+
+    /** Checkpoint end marker writing has failed. */
+    private final AtomicBoolean cpEndFailed = new AtomicBoolean();
+
+    /** Listener of the binary recovery start. */
+    private final LogListener binaryRecoveryLsnr =
+        LogListener.matches("Ignite node stopped in the middle of checkpoint").build();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true))
+            // No checkpoints except forced ones.
+            .setCheckpointFrequency(getTestTimeout());
+
+        if (getTestIgniteInstanceIndex(igniteInstanceName) == 0) {
+            dsCfg.setFileIOFactory(new CheckpointEndFailingFileIOFactory());
+
+            cfg.setGridLogger(new ListeningTestLogger(log, binaryRecoveryLsnr));
+        }
+
+        return cfg
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(dsCfg)
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 32)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPageUpdatesOrderWithPartitionBarriers() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, String> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        AtomicInteger round = new AtomicInteger();
+
+        cache.putAll(values(round.get()));
+
+        forceCheckpoint();
+
+        // The next checkpoint fails, so the updates below are recovered by the binary recovery.
+        failCpEnd.set(true);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        // Updates of the same pages of the partitions are logged before and after the partition state changes.
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runAsync(() -> {
+            while (!stop.get())
+                cache.putAll(values(round.incrementAndGet()));
+        });
+
+        startGrid(1);
+
+        resetBaselineTopology();
+
+        awaitPartitionMapExchange();
+
+        // Moved partitions are evicted from the first node, their state changes are logged and they are destroyed.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (GridDhtLocalPartition part : ignite.cachex(DEFAULT_CACHE_NAME).context().topology().localPartitions()) {
+                if (part.state() != OWNING)
+                    return false;
+            }
+
+            return true;
+        }, getTestTimeout()));
+
+        stop.set(true);
+
+        loadFut.get();
+
+        Map<Integer, String> expVals = values(round.incrementAndGet());
+
+        cache.putAll(expVals);
+
+        try {
+            forceCheckpoint(ignite);
+        }
+        catch (Exception ignore) {
+            // No-op.
+        }
+
+        assertTrue(GridTestUtils.waitForCondition(cpEndFailed::get, getTestTimeout()));
+
+        stopGrid(0, true);
+
+        failCpEnd.set(false);
+
+        IgniteEx restarted = startGrid(0);
+
+        assertTrue(binaryRecoveryLsnr.check());
+
+        awaitPartitionMapExchange();
+
+        assertPartitionsSame(idleVerify(restarted, DEFAULT_CACHE_NAME));
+
+        IgniteCache<Integer, String> cache0 = restarted.cache(DEFAULT_CACHE_NAME);
+
+        for (Map.Entry<Integer, String> e : expVals.entrySet())
+            assertEquals("key=" + e.getKey(), e.getValue(), cache0.get(e.getKey()));
+    }
+
+    /**
+     * @param round Update round.
+     * @return Values of all the keys, value sizes differ between rounds to change the data pages layout.
+     */
+    private static Map<Integer, String> values(int round) {
+        Map<Integer, String> vals = new TreeMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            StringBuilder sb = new StringBuilder().append(i).append('-').append(round);
+
+            for (int j = 0; j < (i + round) % 32; j++)
+                sb.append('x');
+
+            vals.put(i, sb.toString());
+        }
+
+        return vals;
+    }
+
+    /**
+     * Fails creation of checkpoint end markers if {@link #failCpEnd} is set.
+     */
+    private class CheckpointEndFailingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final FileIOFactory delegate = new RandomAccessFileIOFactory();
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            if (failCpEnd.get() && file.getName().contains("-END.bin")) {
+                cpEndFailed.set(true);
+
+                throw new IOException("Test checkpoint failure");
+            }
+
+            return delegate.create(file, modes);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link RecoveryRecordsPrefetcher}.
+ */
+public class RecoveryRecordsPrefetcherTest extends GridCommonAbstractTest {
+    /** Number of items, bigger than the prefetch size. */
+    private static final int ITEMS = RecoveryRecordsPrefetcher.PREFETCH_SIZE * 3 + 1;
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testItemsOrder() throws Exception {
+        AtomicInteger src = new AtomicInteger();
+
+        try (RecoveryRecordsPrefetcher<Integer> prefetcher = new RecoveryRecordsPrefetcher<>("test",
+            () -> src.get() < ITEMS ? src.getAndIncrement() : null)) {
+            for (int i = 0; i < ITEMS; i++)
+                assertEquals(i, (int)prefetcher.next());
+
+            assertNull(prefetcher.next());
+            assertNull(prefetcher.next());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReaderError() throws Exception {
+        AtomicInteger src = new AtomicInteger();
+
+        try (RecoveryRecordsPrefetcher<Integer> prefetcher = new RecoveryRecordsPrefetcher<>("test", () -> {
+            if (src.get() == 10)
+                throw new IgniteCheckedException("Test");
+
+            return src.getAndIncrement();
+        })) {
+            for (int i = 0; i < 10; i++)
+                assertEquals(i, (int)prefetcher.next());
+
+            GridTestUtils.assertThrows(log, prefetcher::next, IgniteCheckedException.class, "Test");
+        }
+    }
+
+    /**
+     * Checks that the prefetcher can be closed before all the items are consumed.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCloseBeforeEnd() throws Exception {
+        AtomicInteger src = new AtomicInteger();
+
+        RecoveryRecordsPrefetcher<Integer> prefetcher = new RecoveryRecordsPrefetcher<>("test", src::getAndIncrement);
+
+        assertEquals(0, (int)prefetcher.next());
+
+        prefetcher.close();
+
+        assertTrue(src.get() <= RecoveryRecordsPrefetcher.PREFETCH_SIZE + 2);
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.file.PageDeltaFileIO.DELTA_LOG_SUFFIX;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests {@link PageDeltaFileIO}.
+ */
+public class PageDeltaFileIOTest extends GridCommonAbstractTest {
+    /** */
+    private static final int PAGE_SIZE = 4096;
+
+    /** */
+    private static final int PAGES = 8;
+
+    /** */
+    private static final FileIOFactory FACTORY = new RandomAccessFileIOFactory();
+
+    /** */
+    private File dir;
+
+    /** */
+    private File file;
+
+    /** */
+    private byte[][] pages;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        dir = Files.createTempDirectory("page-deltas").toFile();
+        file = new File(dir, "part-0.bin");
+
+        pages = new byte[PAGES][PAGE_SIZE];
+
+        for (byte[] page : pages)
+            ThreadLocalRandom.current().nextBytes(page);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        U.delete(dir);
+
+        super.afterTest();
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testSmallChangeWrittenAsDelta() throws Exception {
+        try (FileIO io = create(Long.MAX_VALUE)) {
+            writePages(io);
+
+            pages[3][100] ^= 1;
+            pages[3][3000] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[3]), pageOffset(3));
+
+            io.force();
+
+            assertFalse(Arrays.equals(readBase(3), pages[3]));
+            assertTrue(logFile().length() > 0);
+
+            checkPages(io);
+        }
+
+        assertFalse(logFile().exists());
+        assertTrue(Arrays.equals(readBase(3), pages[3]));
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testLargeChangeWrittenAsWhole() throws Exception {
+        try (FileIO io = create(Long.MAX_VALUE)) {
+            writePages(io);
+
+            pages[2][10] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[2]), pageOffset(2));
+
+            ThreadLocalRandom.current().nextBytes(pages[2]);
+
+            io.writeFully(ByteBuffer.wrap(pages[2]), pageOffset(2));
+
+            assertTrue(Arrays.equals(readBase(2), pages[2]));
+
+            checkPages(io);
+        }
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testPageRewrittenAsWholeAfterLargeChange() throws Exception {
+        try (FileIO io = create(Long.MAX_VALUE)) {
+            writePages(io);
+
+            ThreadLocalRandom.current().nextBytes(pages[2]);
+
+            io.writeFully(ByteBuffer.wrap(pages[2]), pageOffset(2));
+
+            // The page isn't compared with its current image after a large change.
+            pages[2][10] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[2]), pageOffset(2));
+
+            assertTrue(Arrays.equals(readBase(2), pages[2]));
+
+            // Other pages are still written as deltas.
+            pages[3][10] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[3]), pageOffset(3));
+
+            assertFalse(Arrays.equals(readBase(3), pages[3]));
+
+            checkPages(io);
+        }
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        try (FileIO io = create(PAGE_SIZE)) {
+            writePages(io);
+
+            // Each thread changes and reads its own page, while the log is compacted by syncs.
+            AtomicInteger threadIdx = new AtomicInteger();
+
+            GridTestUtils.runMultiThreaded(() -> {
+                int idx = threadIdx.getAndIncrement();
+
+                byte[] page = pages[idx].clone();
+                ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE);
+
+                for (int i = 0; i < 1_000; i++) {
+                    page[ThreadLocalRandom.current().nextInt(PAGE_SIZE)] ^= 1;
+
+                    io.writeFully(ByteBuffer.wrap(page), pageOffset(idx));
+
+                    buf.clear();
+
+                    io.readFully(buf, pageOffset(idx));
+
+                    assertArrayEquals(page, buf.array());
+
+                    if (i % 100 == 0)
+                        io.force();
+                }
+
+                pages[idx] = page;
+
+                return null;
+            }, PAGES, "page-writer");
+
+            checkPages(io);
+        }
+
+        for (int i = 0; i < PAGES; i++)
+            assertArrayEquals("Page " + i, pages[i], readBase(i));
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testPartialReadsAndWrites() throws Exception {
+        try (FileIO io = create(Long.MAX_VALUE)) {
+            writePages(io);
+
+            for (int i = 0; i < PAGES; i++) {
+                pages[i][PAGE_SIZE - 1] ^= 1;
+
+                io.writeFully(ByteBuffer.wrap(pages[i]), pageOffset(i));
+            }
+
+            byte[] buf = new byte[PAGE_SIZE];
+
+            ByteBuffer part = ByteBuffer.wrap(buf, 0, 2);
+
+            io.readFully(part, pageOffset(5) - 1);
+
+            assertEquals(pages[4][PAGE_SIZE - 1], buf[0]);
+            assertEquals(pages[5][0], buf[1]);
+
+            // Not page aligned write must keep deltas of the overwritten page parts.
+            pages[6][0] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[6], 0, 1), pageOffset(6));
+
+            checkPages(io);
+        }
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testCompactionOnForce() throws Exception {
+        try (FileIO io = create(1)) {
+            writePages(io);
+
+            pages[1][200] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[1]), pageOffset(1));
+
+            io.force();
+
+            assertTrue(Arrays.equals(readBase(1), pages[1]));
+            assertEquals(0, logFile().length());
+
+            checkPages(io);
+        }
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testRecoveryAfterCrash() throws Exception {
+        File crashedFile = new File(dir, "part-1.bin");
+
+        try (FileIO io = create(Long.MAX_VALUE)) {
+            writePages(io);
+
+            pages[7][1] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[7]), pageOffset(7));
+
+            pages[0][0] ^= 1;
+
+            io.writeFully(ByteBuffer.wrap(pages[0]), pageOffset(0));
+
+            io.force();
+
+            // Files as they are left by a node crash.
+            Files.copy(file.toPath(), crashedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(logFile().toPath(), new File(crashedFile.getPath() + DELTA_LOG_SUFFIX).toPath());
+
+            // Broken tail of the log.
+            Files.write(new File(crashedFile.getPath() + DELTA_LOG_SUFFIX).toPath(), new byte[] {0, 0, 1},
+                StandardOpenOption.APPEND);
+        }
+
+        file = crashedFile;
+
+        assertFalse(Arrays.equals(readBase(7), pages[7]));
+
+        try (FileIO io = create(Long.MAX_VALUE)) {
+            assertFalse(logFile().exists());
+            assertTrue(Arrays.equals(readBase(7), pages[7]));
+
+            checkPages(io);
+        }
+    }
+
+    /**
+     * @param maxLogSize Size of delta log which triggers compaction.
+     * @return File IO.
+     * @throws Exception If failed.
+     */
+    private FileIO create(long maxLogSize) throws Exception {
+        return new PageDeltaFileIOFactory(FACTORY, PAGE_SIZE, maxLogSize).create(file);
+    }
+
+    /**
+     * @param io File IO.
+     * @throws Exception If failed.
+     */
+    private void writePages(FileIO io) throws Exception {
+        for (int i = 0; i < PAGES; i++)
+            io.writeFully(ByteBuffer.wrap(pages[i]), pageOffset(i));
+    }
+
+    /**
+     * @param io File IO.
+     * @throws Exception If failed.
+     */
+    private void checkPages(FileIO io) throws Exception {
+        ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+        for (int i = 0; i < PAGES; i++) {
+            buf.clear();
+
+            io.readFully(buf, pageOffset(i));
+
+            byte[] page = new byte[PAGE_SIZE];
+
+            buf.flip();
+            buf.get(page);
+
+            assertArrayEquals("Page " + i, pages[i], page);
+        }
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Page image in the base file.
+     * @throws Exception If failed.
+     */
+    private byte[] readBase(int pageIdx) throws Exception {
+        byte[] page = new byte[PAGE_SIZE];
+
+        try (FileIO io = FACTORY.create(file)) {
+            io.readFully(ByteBuffer.wrap(page), pageOffset(pageIdx));
+        }
+
+        return page;
+    }
+
+    /** */
+    private static long pageOffset(int pageIdx) {
+        return (long)pageIdx * PAGE_SIZE;
+    }
+
+    /** */
+    private File logFile() {
+        return new File(file.getPath() + DELTA_LOG_SUFFIX);
+    }
+}
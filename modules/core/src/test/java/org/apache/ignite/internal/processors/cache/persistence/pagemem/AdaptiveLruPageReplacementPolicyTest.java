@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.PAGE_OVERHEAD;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+/**
+ * Test adaptive LRU page replacement policy.
+ */
+public class AdaptiveLruPageReplacementPolicyTest extends GridCommonAbstractTest {
+    /** Pages count. */
+    private static final int PAGES_CNT = 8;
+
+    /** Initial protected pages limit. */
+    private static final int PROTECTED_LIMIT = PAGES_CNT / 2;
+
+    /** Cache group ID. */
+    private static final int GRP_ID = 1;
+
+    /** Memory provider. */
+    private static DirectMemoryProvider provider;
+
+    /** Memory region of the policy. */
+    private static DirectMemoryRegion plcRegion;
+
+    /** Memory region of the page headers. */
+    private static DirectMemoryRegion hdrsRegion;
+
+    /** Frames of the pages which can't be replaced. */
+    private final Set<Long> pinned = new HashSet<>();
+
+    /** Page memory segment. */
+    private PageMemoryImpl.Segment seg;
+
+    /** Page replacement policy. */
+    private PageReplacementPolicy plc;
+
+    /** */
+    @BeforeClass
+    public static void setUp() {
+        provider = new UnsafeMemoryProvider(log);
+        provider.initialize(new long[] {
+            AdaptiveLruPageReplacementPolicy.requiredMemory(PAGES_CNT),
+            (long)PAGES_CNT * PAGE_OVERHEAD
+        });
+
+        plcRegion = provider.nextRegion();
+        hdrsRegion = provider.nextRegion();
+    }
+
+    /** */
+    @AfterClass
+    public static void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    public void createPolicy() throws Exception {
+        pinned.clear();
+
+        LoadedPagesMap loadedPages = Mockito.mock(LoadedPagesMap.class);
+
+        Mockito.when(loadedPages.size()).thenReturn(PAGES_CNT);
+        Mockito.when(loadedPages.get(anyInt(), anyLong(), anyInt(), anyLong(), anyLong()))
+            .thenAnswer(inv -> frame(inv.<Long>getArgument(1)));
+
+        seg = Mockito.mock(PageMemoryImpl.Segment.class);
+
+        Mockito.when(seg.loadedPages()).thenReturn(loadedPages);
+        Mockito.when(seg.relative(anyLong())).thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(seg.pageIndex(anyLong())).thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(seg.absolute(anyLong())).thenAnswer(inv -> header(inv.<Long>getArgument(0)));
+        Mockito.when(seg.tryToRemovePage(any(), anyLong()))
+            .thenAnswer(inv -> !pinned.contains((inv.<Long>getArgument(1) - hdrsRegion.address()) / PAGE_OVERHEAD));
+
+        PageReplacementPolicyFactory factory = new AdaptiveLruPageReplacementPolicyFactory();
+
+        assertTrue(factory.lowPriorityAccessSupported());
+
+        plc = factory.create(seg, plcRegion.address(), PAGES_CNT);
+    }
+
+    /**
+     * Checks that reload of a page replaced after a single access shrinks the protected segment.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRecencyGhostHitShrinksProtectedSegment() throws Exception {
+        loadAll();
+
+        for (int frame = PROTECTED_LIMIT; frame < PAGES_CNT; frame++)
+            plc.onHit(frame);
+
+        assertEquals(0, plc.replace());
+
+        assertEquals(PROTECTED_LIMIT, lru().protectedPagesLimit());
+
+        // Page replaced recently is loaded again.
+        load(0, 0);
+
+        assertEquals(PROTECTED_LIMIT - 1, lru().protectedPagesLimit());
+        assertEquals(PROTECTED_LIMIT - 1, lru().protectedPagesCount());
+        assertTrue(lru().protectedPage(0));
+    }
+
+    /**
+     * Checks that reload of a page replaced after several accesses grows the protected segment.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFrequencyGhostHitGrowsProtectedSegment() throws Exception {
+        loadAll();
+
+        // Pages of frames 0 - 3 are moved back to probationary segment when the next pages are protected.
+        for (int frame = 0; frame < PAGES_CNT; frame++)
+            plc.onHit(frame);
+
+        assertFalse(lru().protectedPage(0));
+
+        assertEquals(0, plc.replace());
+
+        load(0, 0);
+
+        assertEquals(PROTECTED_LIMIT + 1, lru().protectedPagesLimit());
+        assertTrue(lru().protectedPage(0));
+    }
+
+    /**
+     * Checks that pages loaded by a low priority scan don't replace protected pages.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLowPriorityScanKeepsProtectedPages() throws Exception {
+        loadAll();
+
+        for (int frame = PROTECTED_LIMIT; frame < PAGES_CNT; frame++)
+            plc.onHit(frame);
+
+        Set<Long> replaced = new HashSet<>();
+
+        // Scan of GridCacheQueryManager or SchemaIndexCachePartitionWorker.
+        LowPriorityPageAccess.enter();
+
+        try {
+            for (int i = 0; i < PAGES_CNT * 4; i++) {
+                long frame = plc.replace();
+
+                replaced.add(frame);
+
+                load(frame, PAGES_CNT + i);
+
+                plc.onHit(frame);
+            }
+        }
+        finally {
+            LowPriorityPageAccess.exit();
+        }
+
+        // Scan pages are placed to the eviction end of the list and replace each other.
+        assertEquals(1, replaced.size());
+
+        for (int frame = PROTECTED_LIMIT; frame < PAGES_CNT; frame++) {
+            assertTrue(lru().protectedPage(frame));
+            assertEquals(pageId(frame), PageHeader.readPageId(header(frame)));
+        }
+
+        assertEquals(PROTECTED_LIMIT, lru().protectedPagesLimit());
+    }
+
+    /**
+     * Checks that a page which can't be replaced is returned to the segment it was polled from.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPinnedPageKeepsSegment() throws Exception {
+        loadAll();
+
+        for (int frame = 0; frame < PAGES_CNT; frame++)
+            plc.onHit(frame);
+
+        // Probationary pages and the least recently used protected page.
+        for (long frame = 0; frame <= PROTECTED_LIMIT; frame++)
+            pinned.add(frame);
+
+        assertEquals(PROTECTED_LIMIT + 1, plc.replace());
+
+        for (int frame = 0; frame < PROTECTED_LIMIT; frame++)
+            assertFalse(lru().protectedPage(frame));
+
+        assertTrue(lru().protectedPage(PROTECTED_LIMIT));
+
+        // Next replacement skips the pinned pages again.
+        assertEquals(PROTECTED_LIMIT + 2, plc.replace());
+    }
+
+    /**
+     * Checks nesting of low priority sections.
+     */
+    @Test
+    public void testLowPriorityAccessNesting() {
+        assertFalse(LowPriorityPageAccess.active());
+
+        LowPriorityPageAccess.enter();
+        LowPriorityPageAccess.enter();
+
+        LowPriorityPageAccess.exit();
+
+        assertTrue(LowPriorityPageAccess.active());
+
+        LowPriorityPageAccess.exit();
+
+        assertFalse(LowPriorityPageAccess.active());
+    }
+
+    /**
+     * Loads pages with the same indexes as frames to all the frames.
+     */
+    private void loadAll() {
+        for (int frame = 0; frame < PAGES_CNT; frame++)
+            load(frame, frame);
+    }
+
+    /**
+     * @param frame Frame index.
+     * @param pageIdx Page index.
+     */
+    private void load(long frame, int pageIdx) {
+        PageHeader.fullPageId(header(frame), new FullPageId(pageId(pageIdx), GRP_ID));
+
+        plc.onMiss(frame);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Page ID.
+     */
+    private static long pageId(int pageIdx) {
+        return PageIdUtils.pageId(0, PageIdAllocator.FLAG_DATA, pageIdx);
+    }
+
+    /**
+     * @param frame Frame index.
+     * @return Pointer to the page header.
+     */
+    private static long header(long frame) {
+        return hdrsRegion.address() + frame * PAGE_OVERHEAD;
+    }
+
+    /**
+     * @param pageId Page ID.
+     * @return Frame of the page.
+     */
+    private static long frame(long pageId) {
+        for (long frame = 0; frame < PAGES_CNT; frame++) {
+            if (PageHeader.readPageId(header(frame)) == pageId)
+                return frame;
+        }
+
+        return PageMemoryImpl.INVALID_REL_PTR;
+    }
+
+    /**
+     * @return LRU list of the policy.
+     */
+    private SegmentedLruPageList lru() {
+        return GridTestUtils.getFieldValue(plc, "lruList");
+    }
+}
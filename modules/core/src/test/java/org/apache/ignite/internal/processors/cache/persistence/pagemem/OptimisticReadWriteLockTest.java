@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.OptimisticReadWriteLock.INVALID_STAMP;
+
+/**
+ * Tests {@link OptimisticReadWriteLock}.
+ */
+public class OptimisticReadWriteLockTest extends GridCommonAbstractTest {
+    /** */
+    private final OptimisticReadWriteLock lock = new OptimisticReadWriteLock();
+
+    /** */
+    @Test
+    public void testStampInvalidatedByWriteLock() throws Exception {
+        long stamp = lock.tryOptimisticRead();
+
+        assertTrue(stamp != INVALID_STAMP);
+
+        lock.readLock().lock();
+        lock.readLock().unlock();
+
+        assertTrue(lock.validate(stamp));
+
+        lock.writeLock().lock();
+
+        try {
+            assertEquals(INVALID_STAMP, lock.tryOptimisticRead());
+            assertFalse(lock.validate(stamp));
+
+            // Reentrant acquire keeps the lock write locked.
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+
+            assertEquals(INVALID_STAMP, lock.tryOptimisticRead());
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+        assertFalse(lock.validate(stamp));
+
+        stamp = lock.tryOptimisticRead();
+
+        assertTrue(stamp != INVALID_STAMP);
+
+        assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+
+        lock.writeLock().unlock();
+
+        assertFalse(lock.validate(stamp));
+        assertFalse(lock.validate(INVALID_STAMP));
+    }
+
+    /**
+     * Checks that validated optimistic reads never observe a half-done update.
+     */
+    @Test
+    public void testOptimisticReadsConsistency() throws Exception {
+        AtomicLong[] vals = {new AtomicLong(), new AtomicLong()};
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        AtomicLong validated = new AtomicLong();
+
+        IgniteInternalFuture<?> writer = GridTestUtils.runAsync(() -> {
+            while (!stop.get()) {
+                lock.writeLock().lock();
+
+                try {
+                    vals[0].lazySet(vals[0].get() + 1);
+                    vals[1].lazySet(vals[1].get() + 1);
+                }
+                finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+
+        IgniteInternalFuture<?> readers = GridTestUtils.runMultiThreadedAsync(() -> {
+            while (!stop.get()) {
+                long stamp = lock.tryOptimisticRead();
+
+                long v0 = vals[0].get();
+                long v1 = vals[1].get();
+
+                if (lock.validate(stamp)) {
+                    assertEquals(v0, v1);
+
+                    validated.incrementAndGet();
+                }
+            }
+        }, 4, "optimistic-reader");
+
+        doSleep(1_000);
+
+        stop.set(true);
+
+        writer.get(getTestTimeout());
+        readers.get(getTestTimeout());
+
+        assertTrue(validated.get() > 0);
+    }
+}
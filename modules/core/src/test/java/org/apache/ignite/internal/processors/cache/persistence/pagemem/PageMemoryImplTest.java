@@ -217,6 +217,50 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
         runThrottlingEmptifyCpBufFirst(PageMemoryImpl.ThrottlingPolicy.TARGET_RATIO_BASED);
     }
 
+    /**
+     * Tests that pages copied to the checkpoint buffer are polled in order of copying and only until written.
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCheckpointBufferPagesPolledInCopyOrder() throws Exception {
+        TestPageStoreManager pageStoreMgr = new TestPageStoreManager();
+
+        PageMemoryImpl memory = createPageMemory(MAX_SIZE, PageMemoryImpl.ThrottlingPolicy.CHECKPOINT_BUFFER_ONLY,
+            pageStoreMgr, pageStoreMgr, null);
+
+        List<FullPageId> pages = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            FullPageId fullId = new FullPageId(memory.allocatePage(1, INDEX_PARTITION, FLAG_IDX), 1);
+
+            pages.add(fullId);
+
+            writePage(memory, fullId, (byte)1);
+        }
+
+        memory.beginCheckpoint(new GridFinishedFuture());
+
+        assertEquals(FullPageId.NULL_PAGE, memory.pollCheckpointBufferPage());
+
+        writePage(memory, pages.get(2), (byte)2);
+        writePage(memory, pages.get(0), (byte)2);
+        writePage(memory, pages.get(1), (byte)2);
+
+        PageStoreWriter pageStoreWriter = (fullPageId, buf, tag) ->
+            pageStoreMgr.write(fullPageId.groupId(), fullPageId.pageId(), buf, 1, false);
+
+        ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE);
+
+        // Already written page is skipped.
+        memory.checkpointWritePage(pages.get(0), buf, pageStoreWriter, null);
+
+        assertEquals(pages.get(2), memory.pollCheckpointBufferPage());
+        assertEquals(pages.get(1), memory.pollCheckpointBufferPage());
+        assertEquals(FullPageId.NULL_PAGE, memory.pollCheckpointBufferPage());
+
+        memory.finishCheckpoint();
+    }
+
     /**
      * @throws Exception if failed.
      */
@@ -346,7 +390,7 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
             memory.checkpointWritePage(cpPage, buf, pageStoreWriter, null);
 
             while (memory.isCpBufferOverflowThresholdExceeded()) {
-                FullPageId cpPageId = memory.pullPageFromCpBuffer();
+                FullPageId cpPageId = memory.pollCheckpointBufferPage();
 
                 if (cpPageId.equals(FullPageId.NULL_PAGE))
                     break;
@@ -679,8 +723,8 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
                 throttlingPlc,
                 noThrottle
             ) {
-                @Override public FullPageId pullPageFromCpBuffer() {
-                    FullPageId pageId = super.pullPageFromCpBuffer();
+                @Override public FullPageId pollCheckpointBufferPage() {
+                    FullPageId pageId = super.pollCheckpointBufferPage();
 
                     cpBufChecker.apply(pageId);
 
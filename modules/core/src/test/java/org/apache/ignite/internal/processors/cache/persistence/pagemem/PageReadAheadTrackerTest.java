@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReadAheadTracker.SEQUENTIAL_READS_THRESHOLD;
+
+/**
+ * Test detection of sequential page reads.
+ */
+public class PageReadAheadTrackerTest extends GridCommonAbstractTest {
+    /** Read-ahead window size. */
+    private static final int WINDOW = 8;
+
+    /** */
+    @Test
+    public void testSequentialReads() {
+        PageReadAheadTracker tracker = new PageReadAheadTracker(WINDOW);
+
+        int idx = 10;
+
+        for (int i = 1; i < SEQUENTIAL_READS_THRESHOLD; i++)
+            assertEquals(-1, tracker.onPageRead(1, 0, idx++));
+
+        assertEquals(idx + 1, tracker.onPageRead(1, 0, idx));
+
+        int windowStart = idx + 1;
+
+        // Pages of the window loaded by read-ahead don't break the sequence and don't schedule new windows.
+        for (int i = 0; i < WINDOW; i++)
+            assertEquals(-1, tracker.onPageRead(1, 0, windowStart + i));
+
+        // Miss right after the window schedules the next one.
+        assertEquals(windowStart + WINDOW + 1, tracker.onPageRead(1, 0, windowStart + WINDOW));
+
+        // Pages of the previous windows still don't break the sequence.
+        assertEquals(-1, tracker.onPageRead(1, 0, windowStart + 1));
+
+        assertEquals(windowStart + 2 * WINDOW + 2, tracker.onPageRead(1, 0, windowStart + 2 * WINDOW + 1));
+    }
+
+    /** */
+    @Test
+    public void testRandomReads() {
+        PageReadAheadTracker tracker = new PageReadAheadTracker(WINDOW);
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(-1, tracker.onPageRead(1, 0, (i * 7919) % 1000 * 2));
+    }
+
+    /** */
+    @Test
+    public void testPartitionsTrackedSeparately() {
+        PageReadAheadTracker tracker = new PageReadAheadTracker(WINDOW);
+
+        for (int i = 1; i < SEQUENTIAL_READS_THRESHOLD; i++) {
+            assertEquals(-1, tracker.onPageRead(1, 0, i));
+            assertEquals(-1, tracker.onPageRead(1, 1, i));
+            assertEquals(-1, tracker.onPageRead(2, 0, i));
+        }
+
+        assertEquals(SEQUENTIAL_READS_THRESHOLD + 1, tracker.onPageRead(1, 0, SEQUENTIAL_READS_THRESHOLD));
+        assertEquals(SEQUENTIAL_READS_THRESHOLD + 1, tracker.onPageRead(1, 1, SEQUENTIAL_READS_THRESHOLD));
+        assertEquals(SEQUENTIAL_READS_THRESHOLD + 1, tracker.onPageRead(2, 0, SEQUENTIAL_READS_THRESHOLD));
+    }
+
+    /** */
+    @Test
+    public void testSequenceRestart() {
+        PageReadAheadTracker tracker = new PageReadAheadTracker(WINDOW);
+
+        for (int i = 1; i < SEQUENTIAL_READS_THRESHOLD; i++)
+            assertEquals(-1, tracker.onPageRead(1, 0, i));
+
+        // Read out of sequence restarts it.
+        assertEquals(-1, tracker.onPageRead(1, 0, 100));
+
+        for (int i = 1; i < SEQUENTIAL_READS_THRESHOLD - 1; i++)
+            assertEquals(-1, tracker.onPageRead(1, 0, 100 + i));
+
+        assertEquals(100 + SEQUENTIAL_READS_THRESHOLD, tracker.onPageRead(1, 0, 100 + SEQUENTIAL_READS_THRESHOLD - 1));
+
+        // Invalidation of the partition forgets the sequence.
+        tracker.onPartitionInvalidated(1, 0);
+
+        assertEquals(-1, tracker.onPageRead(1, 0, 100 + WINDOW + SEQUENTIAL_READS_THRESHOLD + 1));
+
+        for (int i = 1; i < SEQUENTIAL_READS_THRESHOLD; i++)
+            assertEquals(-1, tracker.onPageRead(2, 0, i));
+
+        tracker.onCacheGroupDestroyed(2);
+
+        assertEquals(-1, tracker.onPageRead(2, 0, SEQUENTIAL_READS_THRESHOLD));
+    }
+}
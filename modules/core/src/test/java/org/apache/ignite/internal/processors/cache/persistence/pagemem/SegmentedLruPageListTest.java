@@ -229,6 +229,76 @@ public class SegmentedLruPageListTest extends GridCommonAbstractTest {
         assertProtectedSegment(2, 3, 4);
     }
 
+    /** */
+    @Test
+    public void testAddToHead() {
+        lru = new SegmentedLruPageList(MAX_PAGES_CNT, region.address());
+
+        addToHead(0);
+        assertProbationarySegment(0);
+        assertProtectedSegment();
+
+        addToTail(1, false);
+        addToHead(2);
+        assertProbationarySegment(2, 0, 1);
+        assertProtectedSegment();
+
+        assertEquals(2, poll());
+
+        // Start with protected page.
+        lru = new SegmentedLruPageList(MAX_PAGES_CNT, region.address());
+
+        addToTail(0, true);
+        addToHead(1);
+        assertProbationarySegment(1);
+        assertProtectedSegment(0);
+
+        addToHead(2);
+        assertProbationarySegment(2, 1);
+        assertProtectedSegment(0);
+    }
+
+    /** */
+    @Test
+    public void testChangeProtectedPagesLimit() {
+        lru = new SegmentedLruPageList(6, region.address());
+
+        addToTail(0, false);
+        addToTail(1, true);
+        addToTail(2, true);
+        addToTail(3, true);
+
+        lru.protectedPagesLimit(1);
+        checkInvariants();
+
+        assertProbationarySegment(0, 1, 2);
+        assertProtectedSegment(3);
+
+        addToTail(4, true);
+        assertProbationarySegment(0, 1, 2, 3);
+        assertProtectedSegment(4);
+
+        lru.protectedPagesLimit(0);
+        checkInvariants();
+
+        assertProbationarySegment(0, 1, 2, 3, 4);
+        assertProtectedSegment();
+
+        lru.protectedPagesLimit(6);
+
+        moveToTail(0);
+        moveToTail(1);
+        assertProbationarySegment(2, 3, 4);
+        assertProtectedSegment(0, 1);
+    }
+
+    /** */
+    private void addToHead(int pageIdx) {
+        lru.addToHead(pageIdx);
+
+        checkInvariants();
+    }
+
     /** */
     private void addToTail(int pageIdx, boolean protectedPage) {
         lru.addToTail(pageIdx, protectedPage);
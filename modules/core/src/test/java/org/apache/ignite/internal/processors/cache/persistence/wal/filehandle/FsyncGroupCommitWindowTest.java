@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.filehandle;
+
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.FsyncFileWriteHandle.GROUP_COMMIT_MAX_WINDOW;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.FsyncFileWriteHandle.GROUP_COMMIT_TARGET_BATCH;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.FsyncFileWriteHandle.groupCommitWindow;
+
+/**
+ * Tests group commit window of {@link FsyncFileWriteHandle}.
+ */
+public class FsyncGroupCommitWindowTest extends GridCommonAbstractTest {
+    /** Fsync delay. */
+    private static final long FSYNC_DELAY = 1_000L;
+
+    /** */
+    @Test
+    public void testNoStatistics() {
+        assertEquals(FSYNC_DELAY, groupCommitWindow(0, 0, FSYNC_DELAY, 1));
+        assertEquals(FSYNC_DELAY, groupCommitWindow(0, 10_000L, FSYNC_DELAY, 1));
+    }
+
+    /** Waiting only adds latency if requests come rarer than fsyncs complete. */
+    @Test
+    public void testRareRequests() {
+        assertEquals(FSYNC_DELAY, groupCommitWindow(100_000L, 100_000L, FSYNC_DELAY, 1));
+        assertEquals(FSYNC_DELAY, groupCommitWindow(100_000L, 1_000_000L, FSYNC_DELAY, 1));
+    }
+
+    /** Window is long enough to collect the target batch. */
+    @Test
+    public void testWindowFollowsRequestsInterval() {
+        long fsync = 1_000_000L;
+
+        assertEquals(GROUP_COMMIT_TARGET_BATCH * 2_000L, groupCommitWindow(fsync, 2_000L, FSYNC_DELAY, 1));
+
+        // Window grows when requests come rarer.
+        assertEquals(GROUP_COMMIT_TARGET_BATCH * 4_000L, groupCommitWindow(fsync, 4_000L, FSYNC_DELAY, 1));
+
+        // Window shrinks when requests come more often, but it is not shorter than the configured delay.
+        assertEquals(GROUP_COMMIT_TARGET_BATCH * 100L, groupCommitWindow(fsync, 100L, FSYNC_DELAY, 1));
+        assertEquals(FSYNC_DELAY, groupCommitWindow(fsync, 10L, FSYNC_DELAY, 1));
+    }
+
+    /** Collected target batch is synced without waiting. */
+    @Test
+    public void testTargetBatchCollected() {
+        long fsync = 1_000_000L;
+
+        assertTrue(groupCommitWindow(fsync, 2_000L, FSYNC_DELAY, GROUP_COMMIT_TARGET_BATCH - 1) > 0);
+
+        assertEquals(0, groupCommitWindow(fsync, 2_000L, FSYNC_DELAY, GROUP_COMMIT_TARGET_BATCH));
+        assertEquals(0, groupCommitWindow(fsync, 2_000L, FSYNC_DELAY, GROUP_COMMIT_TARGET_BATCH + 1));
+    }
+
+    /** */
+    @Test
+    public void testWindowLimits() {
+        // A half of fsync.
+        assertEquals(50_000L, groupCommitWindow(100_000L, 50_000L, FSYNC_DELAY, 1));
+
+        // Maximal window.
+        assertEquals(GROUP_COMMIT_MAX_WINDOW, groupCommitWindow(100_000_000L, 1_000_000L, FSYNC_DELAY, 1));
+        assertEquals(GROUP_COMMIT_MAX_WINDOW, groupCommitWindow(Long.MAX_VALUE / 2, 1_000_000L, FSYNC_DELAY, 1));
+    }
+
+    /** Zero fsync delay disables waiting. */
+    @Test
+    public void testZeroDelay() {
+        assertEquals(0, groupCommitWindow(0, 0, 0, 1));
+        assertEquals(0, groupCommitWindow(100_000L, 1_000_000L, 0, 1));
+        assertEquals(0, groupCommitWindow(1_000_000L, 2_000L, 0, 1));
+        assertEquals(0, groupCommitWindow(100_000_000L, 1_000_000L, 0, 1));
+    }
+}
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -269,6 +270,53 @@ public class StandaloneWalRecordsIteratorTest extends GridCommonAbstractTest {
         assertEquals("Last returned record should be before lastPointer", -1, lastRec.get1().compareTo(lastPointer));
     }
 
+    /**
+     * Checks that records deserialized in parallel are the same and returned in the same order as sequentially read.
+     *
+     * @throws Exception if test failed.
+     */
+    @Test
+    public void testParallelDeserialization() throws Exception {
+        String dir = createWalFiles(10);
+
+        List<IgniteBiTuple<WALPointer, WALRecord>> expRecs = new ArrayList<>();
+
+        WALIterator iter = createWalIterator(dir, null, null, false);
+
+        while (iter.hasNext())
+            expRecs.add(iter.next());
+
+        iter.close();
+
+        assertFalse(expRecs.isEmpty());
+
+        WALPointer expLastRead = iter.lastRead().get();
+
+        iter = new IgniteWalIteratorFactory(log).iterator(new IteratorParametersBuilder()
+            .ioFactory(new RandomAccessFileIOFactory())
+            .filesOrDirs(dir)
+            .parallelism(4));
+
+        int i = 0;
+
+        while (iter.hasNext()) {
+            IgniteBiTuple<WALPointer, WALRecord> rec = iter.next();
+
+            assertTrue(i < expRecs.size());
+
+            assertEquals(expRecs.get(i).get1(), rec.get1());
+            assertEquals(expRecs.get(i).get2().type(), rec.get2().type());
+            assertEquals(expRecs.get(i).get2().toString(), rec.get2().toString());
+
+            i++;
+        }
+
+        iter.close();
+
+        assertEquals(expRecs.size(), i);
+        assertEquals(expLastRead, iter.lastRead().get());
+    }
+
     /**
      * Check correct check bounds.
      *
@@ -2533,6 +2533,58 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         assertNoLocks();
     }
 
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testFindAll() throws IgniteCheckedException {
+        MAX_PER_PAGE = 5;
+
+        TestTree tree = createTestTree(true);
+
+        checkFindAll(tree, Arrays.asList(1L, 2L));
+
+        for (long idx = 0L; idx < 100L; idx += 2)
+            tree.put(idx);
+
+        List<Long> rows = new ArrayList<>();
+
+        for (long idx = -5L; idx < 105L; idx++)
+            rows.add(idx);
+
+        checkFindAll(tree, rows);
+
+        // Duplicates.
+        rows.addAll(new ArrayList<>(rows));
+
+        Collections.sort(rows);
+
+        checkFindAll(tree, rows);
+
+        // Not sorted rows are found as well, just with more tree descents.
+        Collections.shuffle(rows);
+
+        checkFindAll(tree, rows);
+
+        checkFindAll(tree, Collections.singletonList(42L));
+
+        assertNoLocks();
+    }
+
+    /**
+     * @param tree Tree.
+     * @param rows Lookup rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void checkFindAll(TestTree tree, List<Long> rows) throws IgniteCheckedException {
+        List<Long> res = tree.findAll(rows, null, null);
+
+        assertEquals(rows.size(), res.size());
+
+        for (int i = 0; i < rows.size(); i++)
+            assertEquals(tree.findOne(rows.get(i)), res.get(i));
+    }
+
     /**
      * @throws Exception If failed.
      */
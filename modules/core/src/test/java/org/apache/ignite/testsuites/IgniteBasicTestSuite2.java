@@ -55,9 +55,12 @@ import org.apache.ignite.internal.processors.cache.IgniteMarshallerCacheSeparate
 import org.apache.ignite.internal.processors.cache.RebalanceWithDifferentThreadPoolSizeTest;
 import org.apache.ignite.internal.processors.cache.distributed.IgniteRejectConnectOnNodeStopTest;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.LinkMapTest;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.AdaptiveLruPageReplacementPolicyTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.ClockPageReplacementFlagsTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.ExponentialBackoffTest;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.OptimisticReadWriteLockTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PagePoolTest;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReadAheadTrackerTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.ProgressSpeedCalculationTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.SegmentedLruPageListTest;
 import org.apache.ignite.internal.processors.cache.transactions.AtomicOperationsInTxTest;
@@ -127,6 +130,9 @@ import org.junit.runners.Suite;
     PagePoolTest.class,
     SegmentedLruPageListTest.class,
     ClockPageReplacementFlagsTest.class,
+    AdaptiveLruPageReplacementPolicyTest.class,
+    OptimisticReadWriteLockTest.class,
+    PageReadAheadTrackerTest.class,
     BPlusTreeSelfTest.class,
     BPlusTreeFakeReuseSelfTest.class,
     BPlusTreeReuseSelfTest.class,
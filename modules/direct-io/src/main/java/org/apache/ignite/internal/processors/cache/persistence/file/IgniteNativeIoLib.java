@@ -91,6 +91,36 @@ public class IgniteNativeIoLib {
     /** Seek option: change file position to offset */
     public static final int SEEK_CUR = 1;
 
+    /** Interrupted system call. */
+    public static final int E_INTR = 4;
+
+    /** Resource temporarily unavailable. */
+    public static final int E_AGAIN = 11;
+
+    /** Device or resource busy. */
+    public static final int E_BUSY = 16;
+
+    /** Pages may be read. */
+    public static final int PROT_READ = 0x1;
+
+    /** Pages may be written. */
+    public static final int PROT_WRITE = 0x2;
+
+    /** Share this mapping. */
+    public static final int MAP_SHARED = 0x01;
+
+    /** Populate (prefault) page tables for a mapping. */
+    public static final int MAP_POPULATE = 0x08000;
+
+    /** Value returned by mmap on error. */
+    public static final long MAP_FAILED = -1L;
+
+    /** Number of io_uring_setup system call, the same for all the architectures supported by the kernel. */
+    public static final long SYS_IO_URING_SETUP = 425;
+
+    /** Number of io_uring_enter system call, the same for all the architectures supported by the kernel. */
+    public static final long SYS_IO_URING_ENTER = 426;
+
     /** JNA library available and initialized. Always {@code false} for non linux systems. */
     private static boolean jnaAvailable;
 
@@ -412,4 +442,40 @@ public class IgniteNativeIoLib {
      * @return  On error, the value -1 is returned and errno is set to indicate the error.
      */
     public static native long lseek(int fd, long off, int whence);
+
+    /**
+     * Invokes the system call with the specified number. Unused arguments should be zeroes. See "man 2 syscall".
+     *
+     * @param num System call number.
+     * @param arg1 First argument.
+     * @param arg2 Second argument.
+     * @param arg3 Third argument.
+     * @param arg4 Fourth argument.
+     * @param arg5 Fifth argument.
+     * @param arg6 Sixth argument.
+     * @return Return value of the system call. On error, -1 is returned and errno is set appropriately.
+     */
+    public static native long syscall(long num, long arg1, long arg2, long arg3, long arg4, long arg5, long arg6);
+
+    /**
+     * Creates a new mapping in the virtual address space of the calling process. See "man 2 mmap".
+     *
+     * @param addr Hint address for the mapping, {@code 0} to let the kernel choose it.
+     * @param len Length of the mapping.
+     * @param prot Desired memory protection of the mapping.
+     * @param flags Mapping flags.
+     * @param fd File descriptor to map.
+     * @param off Offset in the file.
+     * @return Address of the mapping. On error, {@link #MAP_FAILED} is returned and errno is set appropriately.
+     */
+    public static native long mmap(long addr, long len, int prot, int flags, int fd, long off);
+
+    /**
+     * Deletes the mappings for the specified address range. See "man 2 munmap".
+     *
+     * @param addr Address of the mapping.
+     * @param len Length of the mapping.
+     * @return On success, zero is returned. On error, -1 is returned, and errno is set appropriately.
+     */
+    public static native int munmap(long addr, long len);
 }
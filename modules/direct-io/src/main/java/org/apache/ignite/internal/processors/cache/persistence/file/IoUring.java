@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import com.sun.jna.Native;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Minimal Linux io_uring submission and completion queues pair. Rings are mapped into the process memory, so
+ * preparing of operations and reaping of completions doesn't require system calls, a single
+ * {@code io_uring_enter} call submits a batch of prepared operations and optionally waits for completions.
+ *
+ * The class isn't thread safe, external synchronization is required.
+ */
+class IoUring implements AutoCloseable {
+    /** Write operation opcode ({@code IORING_OP_WRITE}). */
+    static final int OP_WRITE = 23;
+
+    /** Flag of {@code io_uring_enter} to wait for completions. */
+    private static final int ENTER_GETEVENTS = 1;
+
+    /** Kernel supports positional reads and writes with {@code IORING_OP_READ} and {@code IORING_OP_WRITE}. */
+    private static final int FEAT_RW_CUR_POS = 1 << 3;
+
+    /** Offset of the submission queue ring mapping. */
+    private static final long OFF_SQ_RING = 0L;
+
+    /** Offset of the completion queue ring mapping. */
+    private static final long OFF_CQ_RING = 0x8000000L;
+
+    /** Offset of the submission queue entries mapping. */
+    private static final long OFF_SQES = 0x10000000L;
+
+    /** Size of {@code struct io_uring_params}. */
+    private static final int PARAMS_SIZE = 120;
+
+    /** Size of {@code struct io_uring_sqe}. */
+    private static final int SQE_SIZE = 64;
+
+    /** Size of {@code struct io_uring_cqe}. */
+    private static final int CQE_SIZE = 16;
+
+    /** Ring file descriptor. */
+    private final int ringFd;
+
+    /** Submission queue ring address. */
+    private final long sqRing;
+
+    /** Submission queue ring size. */
+    private final long sqRingSize;
+
+    /** Completion queue ring address. */
+    private final long cqRing;
+
+    /** Completion queue ring size. */
+    private final long cqRingSize;
+
+    /** Submission queue entries address. */
+    private final long sqes;
+
+    /** Submission queue entries size. */
+    private final long sqesSize;
+
+    /** Address of the submission queue tail. */
+    private final long sqTail;
+
+    /** Submission queue mask. */
+    private final int sqMask;
+
+    /** Address of the submission queue indexes array. */
+    private final long sqArray;
+
+    /** Address of the completion queue head. */
+    private final long cqHead;
+
+    /** Address of the completion queue tail. */
+    private final long cqTail;
+
+    /** Completion queue mask. */
+    private final int cqMask;
+
+    /** Address of the completion queue entries. */
+    private final long cqes;
+
+    /** Local copy of the submission queue tail, the kernel never changes it. */
+    private int tail;
+
+    /**
+     * @param entries Submission queue size, should be a power of two.
+     * @throws IOException If io_uring isn't supported or can't be set up.
+     */
+    IoUring(int entries) throws IOException {
+        long params = GridUnsafe.allocateMemory(PARAMS_SIZE);
+
+        try {
+            GridUnsafe.setMemory(params, PARAMS_SIZE, (byte)0);
+
+            long fd = IgniteNativeIoLib.syscall(IgniteNativeIoLib.SYS_IO_URING_SETUP, entries, params, 0, 0, 0, 0);
+
+            if (fd < 0)
+                throw new IOException("Failed to set up io_uring: " + lastError());
+
+            ringFd = (int)fd;
+
+            try {
+                if ((GridUnsafe.getInt(params + 20) & FEAT_RW_CUR_POS) == 0)
+                    throw new IOException("Kernel doesn't support io_uring read and write operations.");
+
+                int sqEntries = GridUnsafe.getInt(params);
+                int cqEntries = GridUnsafe.getInt(params + 4);
+
+                // struct io_sqring_offsets sq_off.
+                long sqOff = params + 40;
+
+                // struct io_cqring_offsets cq_off.
+                long cqOff = params + 80;
+
+                sqRingSize = GridUnsafe.getInt(sqOff + 24) + 4L * sqEntries;
+                cqRingSize = GridUnsafe.getInt(cqOff + 20) + (long)CQE_SIZE * cqEntries;
+                sqesSize = (long)SQE_SIZE * sqEntries;
+
+                sqRing = map(sqRingSize, OFF_SQ_RING);
+                cqRing = map(cqRingSize, OFF_CQ_RING);
+                sqes = map(sqesSize, OFF_SQES);
+
+                sqTail = sqRing + GridUnsafe.getInt(sqOff + 4);
+                sqMask = GridUnsafe.getInt(sqRing + GridUnsafe.getInt(sqOff + 8));
+                sqArray = sqRing + GridUnsafe.getInt(sqOff + 24);
+
+                cqHead = cqRing + GridUnsafe.getInt(cqOff);
+                cqTail = cqRing + GridUnsafe.getInt(cqOff + 4);
+                cqMask = GridUnsafe.getInt(cqRing + GridUnsafe.getInt(cqOff + 8));
+                cqes = cqRing + GridUnsafe.getInt(cqOff + 20);
+
+                tail = GridUnsafe.getIntVolatile(null, sqTail);
+            }
+            catch (IOException e) {
+                IgniteNativeIoLib.close(ringFd);
+
+                throw e;
+            }
+        }
+        finally {
+            GridUnsafe.freeMemory(params);
+        }
+    }
+
+    /**
+     * Prepares an operation. Prepared operation is passed to the kernel by the next {@link #enter(int, int)} call.
+     * Caller is responsible for not preparing more operations than the submission queue size between the calls.
+     *
+     * @param opcode Operation code.
+     * @param fd File descriptor.
+     * @param addr Buffer address.
+     * @param len Buffer length.
+     * @param off File offset.
+     * @param userData Operation id returned with its completion.
+     */
+    void prepare(int opcode, int fd, long addr, int len, long off, long userData) {
+        int idx = tail & sqMask;
+        long sqe = sqes + (long)idx * SQE_SIZE;
+
+        GridUnsafe.setMemory(sqe, SQE_SIZE, (byte)0);
+
+        GridUnsafe.putByte(sqe, (byte)opcode);
+        GridUnsafe.putInt(sqe + 4, fd);
+        GridUnsafe.putLong(sqe + 8, off);
+        GridUnsafe.putLong(sqe + 16, addr);
+        GridUnsafe.putInt(sqe + 24, len);
+        GridUnsafe.putLong(sqe + 32, userData);
+
+        GridUnsafe.putInt(sqArray + 4L * idx, idx);
+
+        // Publishes the entry to the kernel.
+        GridUnsafe.putIntVolatile(null, sqTail, ++tail);
+    }
+
+    /**
+     * Submits prepared operations and waits for completions.
+     *
+     * @param toSubmit Number of prepared operations to submit.
+     * @param minComplete Number of completions to wait for.
+     * @return Number of submitted operations.
+     * @throws IOException If failed.
+     */
+    int enter(int toSubmit, int minComplete) throws IOException {
+        while (true) {
+            long res = IgniteNativeIoLib.syscall(IgniteNativeIoLib.SYS_IO_URING_ENTER, ringFd, toSubmit, minComplete,
+                minComplete > 0 ? ENTER_GETEVENTS : 0, 0, 0);
+
+            if (res >= 0)
+                return (int)res;
+
+            int err = Native.getLastError();
+
+            if (err == IgniteNativeIoLib.E_INTR)
+                continue;
+
+            // Completion queue is overflown or kernel is out of resources, retry after reaping completions.
+            if (err == IgniteNativeIoLib.E_AGAIN || err == IgniteNativeIoLib.E_BUSY)
+                return 0;
+
+            throw new IOException("Failed to enter io_uring: " + IgniteNativeIoLib.strerror(err));
+        }
+    }
+
+    /**
+     * Reaps all available completions.
+     *
+     * @param hnd Completion handler.
+     * @return Number of reaped completions.
+     * @throws IOException If the handler failed.
+     */
+    int reap(CompletionHandler hnd) throws IOException {
+        int head = GridUnsafe.getInt(cqHead);
+        int avail = GridUnsafe.getIntVolatile(null, cqTail);
+        int cnt = 0;
+
+        try {
+            while (head != avail) {
+                long cqe = cqes + (long)(head & cqMask) * CQE_SIZE;
+
+                long userData = GridUnsafe.getLong(cqe);
+                int res = GridUnsafe.getInt(cqe + 8);
+
+                head++;
+                cnt++;
+
+                hnd.onComplete(userData, res);
+            }
+        }
+        finally {
+            // Returns reaped entries to the kernel.
+            GridUnsafe.putIntVolatile(null, cqHead, head);
+        }
+
+        return cnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        IgniteNativeIoLib.munmap(sqes, sqesSize);
+        IgniteNativeIoLib.munmap(cqRing, cqRingSize);
+        IgniteNativeIoLib.munmap(sqRing, sqRingSize);
+
+        IgniteNativeIoLib.close(ringFd);
+    }
+
+    /**
+     * Maps a ring region into the process memory.
+     *
+     * @param size Region size.
+     * @param off Region offset.
+     * @return Region address.
+     * @throws IOException If failed.
+     */
+    private long map(long size, long off) throws IOException {
+        long addr = IgniteNativeIoLib.mmap(0, size, IgniteNativeIoLib.PROT_READ | IgniteNativeIoLib.PROT_WRITE,
+            IgniteNativeIoLib.MAP_SHARED | IgniteNativeIoLib.MAP_POPULATE, ringFd, off);
+
+        if (addr == IgniteNativeIoLib.MAP_FAILED)
+            throw new IOException("Failed to map io_uring region: " + lastError());
+
+        return addr;
+    }
+
+    /**
+     * @return Last error set by the OS as string.
+     */
+    private static String lastError() {
+        return IgniteNativeIoLib.strerror(Native.getLastError());
+    }
+
+    /**
+     * Handler of operation completions.
+     */
+    interface CompletionHandler {
+        /**
+         * @param userData Operation id passed to {@link #prepare(int, int, long, int, long, long)}.
+         * @param res Operation result, negated errno in case of error.
+         * @throws IOException If failed.
+         */
+        void onComplete(long userData, int res) throws IOException;
+    }
+}
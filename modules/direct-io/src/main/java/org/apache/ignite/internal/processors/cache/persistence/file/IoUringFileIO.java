@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.OpenOption;
+import java.util.Arrays;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.processors.compress.FileSystemUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * File IO which does positional writes through an io_uring write queue shared with other files. The caller waits for
+ * completion of its write and gets its error, unless the thread has a started write batch: then the write returns as
+ * soon as it is submitted and its error is reported by the batch. Concurrent writes of the queue files are submitted
+ * by batches. Writes longer than a page and other operations are done by regular system calls after completion of
+ * the overlapping writes in flight, memory mapping is delegated to a file IO of the backup factory.
+ *
+ * Works only for Linux.
+ */
+public class IoUringFileIO extends AbstractFileIO {
+    /** Means that the current file position should be used. */
+    private static final long FILE_POS_USE_CURRENT = -1;
+
+    /** Write queue. */
+    private final IoUringWriteQueue queue;
+
+    /** File. */
+    private final File file;
+
+    /** Thread local direct buffer to write heap buffers not bigger than a page. */
+    private final ThreadLocal<ByteBuffer> tlbPage;
+
+    /** Write batches of the threads. */
+    private final ThreadLocal<IoUringWriteBatch> threadBatch;
+
+    /** Factory of the file IO to map the file. */
+    private final FileIOFactory mapIoFactory;
+
+    /** File IO to map the file, created on demand. */
+    private FileIO mapIo;
+
+    /** File system block size. */
+    private final int fsBlockSize;
+
+    /** File descriptor. */
+    private volatile int fd;
+
+    /**
+     * @param queue Write queue.
+     * @param file File to open.
+     * @param modes Open options.
+     * @param tlbPage Thread local direct buffer of a page size.
+     * @param threadBatch Write batches of the threads.
+     * @param mapIoFactory Factory of the file IO to map the file.
+     * @param log Logger.
+     * @throws IOException If failed to open the file.
+     */
+    IoUringFileIO(
+        IoUringWriteQueue queue,
+        File file,
+        OpenOption[] modes,
+        ThreadLocal<ByteBuffer> tlbPage,
+        ThreadLocal<IoUringWriteBatch> threadBatch,
+        FileIOFactory mapIoFactory,
+        IgniteLogger log
+    ) throws IOException {
+        this.queue = queue;
+        this.file = file;
+        this.tlbPage = tlbPage;
+        this.threadBatch = threadBatch;
+        this.mapIoFactory = mapIoFactory;
+
+        int flags = AlignedBuffersDirectFileIO.setupOpenFlags(modes, log, false);
+
+        fd = IgniteNativeIoLib.open(file.getAbsolutePath(), flags, IgniteNativeIoLib.DEFAULT_OPEN_MODE);
+
+        if (fd < 0) {
+            throw new IOException("Error opening file [" + file.getAbsolutePath() + "] with flags [0x" +
+                Integer.toHexString(flags) + ": " + Arrays.asList(modes) + "], got error [" + lastError() + "]");
+        }
+
+        fsBlockSize = FileSystemUtils.getFileSystemBlockSize(fd);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return fsBlockSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return FileSystemUtils.getSparseFileSize(fd);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        try {
+            queue.awaitWritten(fd, position, len);
+        }
+        catch (IOException ignored) {
+            // Writes of the range have failed, the hole isn't punched.
+            return 0;
+        }
+
+        return (int)FileSystemUtils.punchHole(fd, position, len, fsBlockSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() throws IOException {
+        long pos = IgniteNativeIoLib.lseek(fdCheckOpened(), 0, IgniteNativeIoLib.SEEK_CUR);
+
+        if (pos < 0)
+            throw new IOException("Error getting position of file [" + file + "]: " + lastError());
+
+        return pos;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) throws IOException {
+        if (IgniteNativeIoLib.lseek(fdCheckOpened(), newPosition, IgniteNativeIoLib.SEEK_SET) < 0)
+            throw new IOException("Error setting position of file [" + file + "]: " + lastError());
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf) throws IOException {
+        return read(destBuf, FILE_POS_USE_CURRENT);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+        int len = destBuf.remaining();
+
+        if (len == 0)
+            return 0;
+
+        ByteBuffer buf = destBuf.isDirect() ? destBuf : ByteBuffer.allocateDirect(len);
+
+        long addr = GridUnsafe.bufferAddress(buf) + buf.position();
+
+        if (position == FILE_POS_USE_CURRENT)
+            queue.awaitWritten(fdCheckOpened());
+        else
+            queue.awaitWritten(fdCheckOpened(), position, len);
+
+        long rd = position == FILE_POS_USE_CURRENT
+            ? IgniteNativeIoLib.read(fdCheckOpened(), new Pointer(addr), new NativeLong(len)).longValue()
+            : IgniteNativeIoLib.pread(fdCheckOpened(), new Pointer(addr), new NativeLong(len),
+                new NativeLong(position)).longValue();
+
+        if (rd < 0)
+            throw new IOException("Error reading file [" + file + "] from position [" + position + "]: " + lastError());
+
+        // Tried to read past EOF.
+        if (rd == 0)
+            return -1;
+
+        if (buf == destBuf)
+            destBuf.position(destBuf.position() + (int)rd);
+        else {
+            buf.limit((int)rd);
+
+            destBuf.put(buf);
+        }
+
+        return (int)rd;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        queue.awaitWritten(fdCheckOpened());
+
+        return writeSync(srcBuf, FILE_POS_USE_CURRENT);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        int len = srcBuf.remaining();
+
+        if (len == 0)
+            return 0;
+
+        int fd = fdCheckOpened();
+
+        if (len > queue.slotSize()) {
+            queue.awaitWritten(fd, position, len);
+
+            return writeSync(srcBuf, position);
+        }
+
+        IoUringWriteBatch batch = threadBatch.get();
+
+        if (batch != null) {
+            queue.writeAsync(batch, file, fd, srcBuf, position);
+
+            srcBuf.position(srcBuf.position() + len);
+
+            return len;
+        }
+
+        int wr = queue.write(file, fd, srcBuf, position);
+
+        if (wr < 0) {
+            throw new IOException("Error writing file [" + file + "] to position [" + position + "]: " +
+                IgniteNativeIoLib.strerror(-wr));
+        }
+
+        srcBuf.position(srcBuf.position() + wr);
+
+        return wr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        return write(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized MappedByteBuffer map(int sizeBytes) throws IOException {
+        queue.awaitWritten(fdCheckOpened());
+
+        if (mapIo == null)
+            mapIo = mapIoFactory.create(file, READ, WRITE);
+
+        return mapIo.map(sizeBytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        int fd = fdCheckOpened();
+
+        queue.awaitWritten(fd);
+
+        if ((withMetadata ? IgniteNativeIoLib.fsync(fd) : IgniteNativeIoLib.fdatasync(fd)) < 0)
+            throw new IOException("Error fsync()'ing file [" + file + "]: " + lastError());
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        queue.awaitWritten(fdCheckOpened());
+
+        return file.length();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        int fd = fdCheckOpened();
+
+        queue.awaitWritten(fd);
+
+        if (IgniteNativeIoLib.ftruncate(fd, 0) < 0)
+            throw new IOException("Error truncating file [" + file + "]: " + lastError());
+
+        position(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        int fd = fdCheckOpened();
+
+        try {
+            // Descriptor may be reused after closing, so no writes of the file may stay in flight.
+            queue.awaitWritten(fd);
+        }
+        finally {
+            this.fd = -1;
+
+            try {
+                synchronized (this) {
+                    if (mapIo != null)
+                        mapIo.close();
+                }
+            }
+            finally {
+                if (IgniteNativeIoLib.close(fd) < 0)
+                    throw new IOException("Error closing file [" + file + "]: " + lastError());
+            }
+        }
+    }
+
+    /**
+     * @param srcBuf Source buffer.
+     * @return Source buffer if it is direct or a direct buffer with a copy of its remaining content.
+     */
+    private ByteBuffer directBuffer(ByteBuffer srcBuf) {
+        if (srcBuf.isDirect())
+            return srcBuf;
+
+        int len = srcBuf.remaining();
+
+        ByteBuffer buf = tlbPage.get();
+
+        if (len > buf.capacity())
+            buf = ByteBuffer.allocateDirect(len);
+
+        buf.clear();
+        buf.put(srcBuf.duplicate());
+        buf.flip();
+
+        return buf;
+    }
+
+    /**
+     * Writes the buffer content synchronously.
+     *
+     * @param srcBuf Source buffer.
+     * @param position File position or {@link #FILE_POS_USE_CURRENT}.
+     * @return Number of written bytes.
+     * @throws IOException If failed.
+     */
+    private int writeSync(ByteBuffer srcBuf, long position) throws IOException {
+        int len = srcBuf.remaining();
+
+        if (len == 0)
+            return 0;
+
+        ByteBuffer buf = directBuffer(srcBuf);
+
+        long addr = GridUnsafe.bufferAddress(buf) + buf.position();
+
+        long wr = position == FILE_POS_USE_CURRENT
+            ? IgniteNativeIoLib.write(fdCheckOpened(), new Pointer(addr), new NativeLong(len)).longValue()
+            : IgniteNativeIoLib.pwrite(fdCheckOpened(), new Pointer(addr), new NativeLong(len),
+                new NativeLong(position)).longValue();
+
+        if (wr < 0)
+            throw new IOException("Error writing file [" + file + "] to position [" + position + "]: " + lastError());
+
+        srcBuf.position(srcBuf.position() + (int)wr);
+
+        return (int)wr;
+    }
+
+    /**
+     * @return File descriptor.
+     * @throws IOException If the file is closed.
+     */
+    private int fdCheckOpened() throws IOException {
+        int fd = this.fd;
+
+        if (fd < 0)
+            throw new IOException("File is closed [file=" + file + "]");
+
+        return fd;
+    }
+
+    /**
+     * @return Last error set by the OS as string.
+     */
+    private static String lastError() {
+        return IgniteNativeIoLib.strerror(Native.getLastError());
+    }
+}
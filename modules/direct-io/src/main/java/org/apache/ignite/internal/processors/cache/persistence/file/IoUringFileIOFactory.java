@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.OpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Linux io_uring IO factory for page store files.<br>
+ * Positional page writes, including checkpoint ones, are done through io_uring write queues. Files are distributed
+ * among {@link #RINGS} queues, each with its own ring and lock, concurrent writes of a queue are submitted to the
+ * kernel by batches of many pages per system call, without a thread pool. Checkpoint writers start write batches
+ * (see {@link #startWriteBatch()}), so each of them keeps many pages in flight instead of waiting for every write.<br>
+ * <b>Note: </b> This type of IO not applicable for WAL or other files.<br>
+ */
+public class IoUringFileIOFactory implements WriteBatchFileIOFactory, AutoCloseable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of rings. */
+    public static final int RINGS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    /** Maximal number of writes in flight per ring. */
+    public static final int QUEUE_DEPTH = 64;
+
+    /** Logger. */
+    private final transient IgniteLogger log;
+
+    /** Backup factory for files in case io_uring is not available and for memory mapping. */
+    private final FileIOFactory backupFactory;
+
+    /** Write queues, {@code null} if io_uring is not available. */
+    private final transient IoUringWriteQueue[] queues;
+
+    /** Index of the queue for the next file. */
+    private final transient AtomicInteger nextQueue = new AtomicInteger();
+
+    /** Thread local direct buffer to write heap buffers. */
+    private final transient ThreadLocal<ByteBuffer> tlbPage;
+
+    /** Write batches of the threads. */
+    private final transient ThreadLocal<IoUringWriteBatch> threadBatch = new ThreadLocal<>();
+
+    /**
+     * @param log Logger.
+     * @param pageSize Durable memory page size.
+     * @param backupFactory Fallback factory if init failed.
+     */
+    public IoUringFileIOFactory(IgniteLogger log, int pageSize, FileIOFactory backupFactory) {
+        this.log = log;
+        this.backupFactory = backupFactory;
+
+        queues = IgniteNativeIoLib.isJnaAvailable() ? createQueues(log, pageSize) : null;
+
+        tlbPage = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(pageSize).order(ByteOrder.nativeOrder()));
+
+        if (queues != null && log.isInfoEnabled())
+            log.info("io_uring is enabled for page store files [rings=" + RINGS + ", queueDepth=" + QUEUE_DEPTH + ']');
+    }
+
+    /**
+     * @param log Logger.
+     * @param pageSize Durable memory page size, maximal size of a write done through the rings.
+     * @return Write queues or {@code null} if io_uring is not available.
+     */
+    private static IoUringWriteQueue[] createQueues(IgniteLogger log, int pageSize) {
+        IoUringWriteQueue[] queues = new IoUringWriteQueue[RINGS];
+
+        try {
+            for (int i = 0; i < queues.length; i++)
+                queues[i] = new IoUringWriteQueue(new IoUring(QUEUE_DEPTH), i, QUEUE_DEPTH, pageSize);
+
+            return queues;
+        }
+        catch (IOException | LinkageError e) {
+            U.warn(log, "io_uring is not available on current operating system [" +
+                System.getProperty("os.version") + "]: " + e.getMessage());
+
+            for (IoUringWriteQueue queue : queues) {
+                if (queue != null)
+                    queue.close();
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * @return {@code True} if io_uring is available and will be used for files.
+     */
+    public boolean isIoUringAvailable() {
+        return queues != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+        if (queues == null)
+            return backupFactory.create(file, modes);
+
+        IoUringWriteQueue queue = queues[Math.floorMod(nextQueue.getAndIncrement(), queues.length)];
+
+        return new IoUringFileIO(queue, file, modes, tlbPage, threadBatch, backupFactory, log);
+    }
+
+    /** {@inheritDoc} */
+    @Override public WriteBatch startWriteBatch() {
+        if (queues == null) {
+            return () -> {
+                // No-op.
+            };
+        }
+
+        assert threadBatch.get() == null : "Write batch is already started by the thread.";
+
+        IoUringWriteBatch batch = new IoUringWriteBatch(queues, threadBatch);
+
+        threadBatch.set(batch);
+
+        return batch;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (queues != null) {
+            for (IoUringWriteQueue queue : queues)
+                queue.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes of a thread submitted to the io_uring write queues without waiting for their completion.
+ */
+class IoUringWriteBatch implements WriteBatchFileIOFactory.WriteBatch {
+    /** Write queues. */
+    private final IoUringWriteQueue[] queues;
+
+    /** Batches of the threads. */
+    private final ThreadLocal<IoUringWriteBatch> threadBatch;
+
+    /** Number of the batch writes in flight per queue, guarded by the lock of the queue. */
+    final int[] pending;
+
+    /** First error of the batch writes. */
+    private final AtomicReference<IOException> err = new AtomicReference<>();
+
+    /**
+     * @param queues Write queues.
+     * @param threadBatch Batches of the threads.
+     */
+    IoUringWriteBatch(IoUringWriteQueue[] queues, ThreadLocal<IoUringWriteBatch> threadBatch) {
+        this.queues = queues;
+        this.threadBatch = threadBatch;
+
+        pending = new int[queues.length];
+    }
+
+    /**
+     * @param e Error of a batch write.
+     */
+    void onError(IOException e) {
+        err.compareAndSet(null, e);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        threadBatch.remove();
+
+        IOException e = null;
+
+        for (IoUringWriteQueue queue : queues) {
+            try {
+                queue.awaitBatch(this);
+            }
+            catch (IOException e0) {
+                if (e == null)
+                    e = e0;
+                else
+                    e.addSuppressed(e0);
+            }
+        }
+
+        IOException writeErr = err.get();
+
+        if (writeErr != null) {
+            if (e != null)
+                writeErr.addSuppressed(e);
+
+            throw writeErr;
+        }
+
+        if (e != null)
+            throw e;
+    }
+}
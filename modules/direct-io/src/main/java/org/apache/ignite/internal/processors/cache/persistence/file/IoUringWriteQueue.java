@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Queue of file writes submitted to a single io_uring instance. Files of {@link IoUringFileIOFactory} are distributed
+ * among several queues, each of them has its own lock and ring.
+ *
+ * Each write in flight occupies a slot with a buffer owned by the queue: the data is copied to the slot buffer and the
+ * write is prepared in the io_uring submission queue from it. So the caller's buffer may be reused at once, and the
+ * kernel never accesses memory the queue doesn't own. Slot buffers are released only after completion of their writes,
+ * and never freed if the state of the ring becomes unknown with writes in flight.
+ *
+ * A write is either synchronous, the caller waits for its completion and gets its result, or belongs to a
+ * {@link IoUringWriteBatch}, the caller continues right after the write is prepared and the batch collects errors.
+ * Prepared writes are submitted by a single system call, either by a thread waiting for completions or as soon as
+ * {@link #SUBMIT_BATCH} writes are prepared. io_uring doesn't order independent operations, so a write overlapping a
+ * write of the same file in flight is prepared only after completion of the latter, and reads of the queue files wait
+ * for completion of the overlapping writes, see {@link #awaitWritten(int, long, long)}.
+ */
+class IoUringWriteQueue implements AutoCloseable {
+    /** Number of prepared writes submitted without waiting for completions. */
+    static final int SUBMIT_BATCH = 16;
+
+    /** Lock. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when completions are reaped or a slot is released. */
+    private final Condition completed = lock.newCondition();
+
+    /** Ring. */
+    private final IoUring ring;
+
+    /** Index of the queue among the queues of the factory. */
+    private final int idx;
+
+    /** Size of a slot buffer. */
+    private final int slotSize;
+
+    /** Address of the slot buffers. */
+    private final long bufs;
+
+    /** Files of the slot writes, used for error messages. */
+    private final File[] files;
+
+    /** File descriptors of the slot writes, {@code -1} for free slots. */
+    private final int[] fds;
+
+    /** File offsets of the slot writes. */
+    private final long[] offs;
+
+    /** Lengths of the slot writes. */
+    private final int[] lens;
+
+    /** Number of bytes written by the slot writes, a short write is continued by another one. */
+    private final int[] written;
+
+    /** Results of the completed synchronous slot writes. */
+    private final int[] results;
+
+    /** Completion flags of the synchronous slot writes. */
+    private final boolean[] done;
+
+    /** Batches of the slot writes, {@code null} for synchronous writes. */
+    private final IoUringWriteBatch[] batches;
+
+    /** Stack of free slots. */
+    private final int[] free;
+
+    /** Number of free slots. */
+    private int freeCnt;
+
+    /** Number of prepared but not completed writes. */
+    private int inFlight;
+
+    /** Number of prepared but not submitted writes. */
+    private int unsubmitted;
+
+    /** Whether a thread waits for completions in the kernel. */
+    private boolean reaping;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /** Broken flag, set if the state of the ring is unknown after a failure. */
+    private boolean broken;
+
+    /** Completion handler. */
+    private final IoUring.CompletionHandler onComplete = this::onComplete;
+
+    /**
+     * @param ring Ring, its submission queue should be not less than {@code depth}.
+     * @param idx Index of the queue among the queues of the factory.
+     * @param depth Maximal number of writes in flight.
+     * @param slotSize Maximal length of a write done through the ring.
+     */
+    IoUringWriteQueue(IoUring ring, int idx, int depth, int slotSize) {
+        this.ring = ring;
+        this.idx = idx;
+        this.slotSize = slotSize;
+
+        bufs = GridUnsafe.allocateMemory((long)depth * slotSize);
+
+        files = new File[depth];
+        fds = new int[depth];
+        offs = new long[depth];
+        lens = new int[depth];
+        written = new int[depth];
+        results = new int[depth];
+        done = new boolean[depth];
+        batches = new IoUringWriteBatch[depth];
+        free = new int[depth];
+
+        Arrays.fill(fds, -1);
+
+        for (int i = 0; i < depth; i++)
+            free[freeCnt++] = i;
+    }
+
+    /**
+     * @return Index of the queue among the queues of the factory.
+     */
+    int index() {
+        return idx;
+    }
+
+    /**
+     * @return Maximal length of a write done through the ring.
+     */
+    int slotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Writes data and waits for completion of the write.
+     *
+     * @param file File.
+     * @param fd File descriptor.
+     * @param src Data, not longer than {@link #slotSize()}. Buffer position isn't changed.
+     * @param off File offset.
+     * @return Number of written bytes or negated errno.
+     * @throws IOException If failed to submit the write.
+     */
+    int write(File file, int fd, ByteBuffer src, long off) throws IOException {
+        lock.lock();
+
+        try {
+            int slot = prepare(file, fd, src, off, null);
+
+            while (!done[slot]) {
+                // The slot isn't released, so its buffer stays valid for the kernel.
+                checkBroken();
+
+                awaitCompletions();
+            }
+
+            int res = results[slot];
+
+            release(slot);
+
+            return res;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prepares a write of the batch and returns without waiting for its completion.
+     *
+     * @param batch Batch.
+     * @param file File.
+     * @param fd File descriptor.
+     * @param src Data, not longer than {@link #slotSize()}. Buffer position isn't changed.
+     * @param off File offset.
+     * @throws IOException If failed to submit the write.
+     */
+    void writeAsync(IoUringWriteBatch batch, File file, int fd, ByteBuffer src, long off) throws IOException {
+        lock.lock();
+
+        try {
+            prepare(file, fd, src, off, batch);
+
+            batch.pending[idx]++;
+
+            if (!reaping && unsubmitted >= SUBMIT_BATCH)
+                submit();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for completion of the writes of the batch submitted to this queue.
+     *
+     * @param batch Batch.
+     * @throws IOException If the queue is broken.
+     */
+    void awaitBatch(IoUringWriteBatch batch) throws IOException {
+        lock.lock();
+
+        try {
+            while (batch.pending[idx] > 0) {
+                checkBroken();
+
+                awaitCompletions();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for completion of the writes of the file range.
+     *
+     * @param fd File descriptor.
+     * @param off File offset.
+     * @param len Length of the range.
+     * @throws IOException If the queue is broken.
+     */
+    void awaitWritten(int fd, long off, long len) throws IOException {
+        lock.lock();
+
+        try {
+            while (overlapsInFlight(fd, off, len)) {
+                checkBroken();
+
+                awaitCompletions();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for completion of all the writes of the file.
+     *
+     * @param fd File descriptor.
+     * @throws IOException If the queue is broken.
+     */
+    void awaitWritten(int fd) throws IOException {
+        awaitWritten(fd, 0, Long.MAX_VALUE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        lock.lock();
+
+        try {
+            if (closed)
+                return;
+
+            closed = true;
+
+            try {
+                while (inFlight > 0 && !broken)
+                    awaitCompletions();
+            }
+            catch (IOException ignored) {
+                // Writers get the error.
+            }
+
+            ring.close();
+
+            // The kernel may still access slot buffers of the writes in flight of a broken ring, they are never freed.
+            if (inFlight == 0)
+                GridUnsafe.freeMemory(bufs);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the data to a free slot buffer and prepares the write of the slot.
+     *
+     * @param file File.
+     * @param fd File descriptor.
+     * @param src Data.
+     * @param off File offset.
+     * @param batch Batch of the write, {@code null} for a synchronous write.
+     * @return Slot.
+     * @throws IOException If the queue is closed or broken.
+     */
+    private int prepare(
+        File file,
+        int fd,
+        ByteBuffer src,
+        long off,
+        @Nullable IoUringWriteBatch batch
+    ) throws IOException {
+        assert lock.isHeldByCurrentThread();
+
+        int len = src.remaining();
+
+        assert len > 0 && len <= slotSize : len;
+
+        checkClosed();
+
+        while (freeCnt == 0 || overlapsInFlight(fd, off, len)) {
+            awaitCompletions();
+
+            checkClosed();
+        }
+
+        int slot = free[--freeCnt];
+
+        long addr = slotAddress(slot);
+
+        if (src.isDirect())
+            GridUnsafe.copyMemory(GridUnsafe.bufferAddress(src) + src.position(), addr, len);
+        else if (src.hasArray()) {
+            GridUnsafe.copyHeapOffheap(src.array(), GridUnsafe.BYTE_ARR_OFF + src.arrayOffset() + src.position(),
+                addr, len);
+        }
+        else
+            GridUnsafe.wrapPointer(addr, len).put(src.duplicate());
+
+        files[slot] = file;
+        fds[slot] = fd;
+        offs[slot] = off;
+        lens[slot] = len;
+        written[slot] = 0;
+        done[slot] = false;
+        batches[slot] = batch;
+
+        ring.prepare(IoUring.OP_WRITE, fd, addr, len, off, slot);
+
+        inFlight++;
+        unsubmitted++;
+
+        return slot;
+    }
+
+    /**
+     * @param slot Slot to release.
+     */
+    private void release(int slot) {
+        files[slot] = null;
+        fds[slot] = -1;
+        batches[slot] = null;
+        free[freeCnt++] = slot;
+
+        completed.signalAll();
+    }
+
+    /**
+     * @param slot Slot.
+     * @return Address of the slot buffer.
+     */
+    private long slotAddress(int slot) {
+        return bufs + (long)slot * slotSize;
+    }
+
+    /**
+     * @param fd File descriptor.
+     * @param off File offset.
+     * @param len Length.
+     * @return {@code True} if a write of the file range is in flight.
+     */
+    private boolean overlapsInFlight(int fd, long off, long len) {
+        long end = off + len < 0 ? Long.MAX_VALUE : off + len;
+
+        for (int i = 0; i < fds.length; i++) {
+            if (fds[i] == fd && !done[i] && offs[i] < end && off < offs[i] + lens[i])
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Submits prepared writes without waiting for completions.
+     *
+     * @throws IOException If failed.
+     */
+    private void submit() throws IOException {
+        assert lock.isHeldByCurrentThread() && !reaping;
+
+        try {
+            unsubmitted -= ring.enter(unsubmitted, 0);
+        }
+        catch (IOException e) {
+            // State of the ring is unknown after a failure, writes in flight and following writes fail.
+            broken = true;
+
+            completed.signalAll();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Submits prepared writes and waits for at least one completion, or waits for another thread doing this.
+     *
+     * @throws IOException If failed.
+     */
+    private void awaitCompletions() throws IOException {
+        assert lock.isHeldByCurrentThread();
+
+        // Another thread waits in the kernel or all the slots are completed and wait for release by their writers.
+        if (reaping || inFlight == 0) {
+            completed.awaitUninterruptibly();
+
+            return;
+        }
+
+        reaping = true;
+
+        int toSubmit = unsubmitted;
+        int submitted = 0;
+        boolean failed = true;
+
+        // Other threads prepare their writes while this one waits, the writes are submitted by the next call.
+        lock.unlock();
+
+        try {
+            submitted = ring.enter(toSubmit, 1);
+
+            failed = false;
+        }
+        finally {
+            lock.lock();
+
+            try {
+                // State of the ring is unknown after a failure, writes in flight and following writes fail.
+                if (failed)
+                    broken = true;
+                else {
+                    unsubmitted -= submitted;
+
+                    try {
+                        ring.reap(onComplete);
+                    }
+                    catch (IOException e) {
+                        broken = true;
+
+                        throw e;
+                    }
+                }
+            }
+            finally {
+                reaping = false;
+
+                completed.signalAll();
+            }
+        }
+    }
+
+    /**
+     * Handles completion of a slot write.
+     *
+     * @param userData Slot index.
+     * @param res Number of written bytes or negated errno.
+     */
+    private void onComplete(long userData, int res) {
+        int slot = (int)userData;
+
+        int rest = lens[slot] - written[slot];
+
+        if (res > 0 && res < rest) {
+            // Short write, the rest is written by the next submission.
+            written[slot] += res;
+
+            ring.prepare(IoUring.OP_WRITE, fds[slot], slotAddress(slot) + written[slot], rest - res,
+                offs[slot] + written[slot], slot);
+
+            unsubmitted++;
+
+            return;
+        }
+
+        inFlight--;
+
+        int total = res < 0 ? res : written[slot] + res;
+
+        IoUringWriteBatch batch = batches[slot];
+
+        if (batch == null) {
+            results[slot] = total;
+            done[slot] = true;
+
+            return;
+        }
+
+        if (total != lens[slot]) {
+            batch.onError(new IOException("Error writing file [" + files[slot] + "] to position [" + offs[slot] +
+                "]: " + (total < 0 ? IgniteNativeIoLib.strerror(-total) : "no bytes written")));
+        }
+
+        batch.pending[idx]--;
+
+        release(slot);
+    }
+
+    /**
+     * @throws IOException If the queue is closed or broken.
+     */
+    private void checkClosed() throws IOException {
+        checkBroken();
+
+        if (closed)
+            throw new IOException("io_uring write queue is closed.");
+    }
+
+    /**
+     * @throws IOException If the queue is broken.
+     */
+    private void checkBroken() throws IOException {
+        if (broken)
+            throw new IOException("io_uring write queue is broken by a previous failure.");
+    }
+}
@@ -26,6 +26,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
@@ -54,6 +55,9 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
     /** Logger. */
     private IgniteLogger log;
 
+    /** io_uring IO factory, {@code null} if io_uring isn't used. */
+    @Nullable private IoUringFileIOFactory ioUringFactory;
+
     /** {@inheritDoc} */
     @Override public String name() {
         return "Ignite Native I/O Plugin [Direct I/O]";
@@ -90,6 +94,12 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
     /** {@inheritDoc} */
     @Override public void stop(boolean cancel) {
         freeDirectBuffers();
+
+        if (ioUringFactory != null) {
+            ioUringFactory.close();
+
+            ioUringFactory = null;
+        }
     }
 
     /**
@@ -173,12 +183,6 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
         final FilePageStoreManager pageStore = (FilePageStoreManager)ignitePageStoreMgr;
         FileIOFactory backupIoFactory = pageStore.getPageStoreFileIoFactory();
 
-        final AlignedBuffersDirectFileIOFactory factory = new AlignedBuffersDirectFileIOFactory(
-            ignite.log(),
-            pageStore.workDir(),
-            pageStore.pageSize(),
-            backupIoFactory);
-
         final IgniteWriteAheadLogManager walMgr = cacheCtx.wal();
 
         if (walMgr != null && walMgr instanceof FileWriteAheadLogManager && IgniteNativeIoLib.isJnaAvailable()) {
@@ -189,6 +193,26 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
             });
         }
 
+        if (IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_IO_URING_ENABLED)
+            && IgniteNativeIoLib.isJnaAvailable()) {
+            IoUringFileIOFactory uringFactory = new IoUringFileIOFactory(ignite.log(), pageStore.pageSize(),
+                backupIoFactory);
+
+            if (uringFactory.isIoUringAvailable()) {
+                ioUringFactory = uringFactory;
+
+                pageStore.setPageStoreFileIOFactories(uringFactory, backupIoFactory);
+
+                return null;
+            }
+        }
+
+        final AlignedBuffersDirectFileIOFactory factory = new AlignedBuffersDirectFileIOFactory(
+            ignite.log(),
+            pageStore.workDir(),
+            pageStore.pageSize(),
+            backupIoFactory);
+
         if (!factory.isDirectIoAvailable())
             return null;
 
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_IO_URING_ENABLED;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks checkpoints writing pages by io_uring write batches.
+ */
+@WithSystemProperty(key = IGNITE_IO_URING_ENABLED, value = "true")
+public class IoUringCheckpointTest extends GridCommonAbstractTest {
+    /** Keys count, enough for many pages of each partition. */
+    private static final int KEYS = 20_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointThreads(2)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(256L * 1024 * 1024)
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCheckpointPagesSurviveRestart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        FileIOFactory ioFactory =
+            ((FilePageStoreManager)ignite.context().cache().context().pageStore()).getPageStoreFileIoFactory();
+
+        assumeTrue("io_uring is not available", ioFactory instanceof IoUringFileIOFactory);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, String> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < KEYS; i++)
+                cache.put(i, value(i, round));
+
+            forceCheckpoint();
+        }
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(value(i, 2), cache.get(i));
+    }
+
+    /**
+     * @param key Key.
+     * @param round Update round.
+     * @return Value.
+     */
+    private static String value(int key, int round) {
+        return key + "-" + round;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * io_uring file IO tests.
+ */
+public class IoUringFileIOTest {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Pages count, bigger than the queue depth. */
+    private static final int PAGES = IoUringFileIOFactory.QUEUE_DEPTH * 4 + 3;
+
+    /**
+     * Checks that pages written through the write queue are read back in any order.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteRead() throws Exception {
+        File file = File.createTempFile("io-uring", ".bin");
+
+        try (IoUringFileIOFactory factory = new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE,
+            new RandomAccessFileIOFactory())) {
+            assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+            byte[][] pages = new byte[PAGES][PAGE_SIZE];
+
+            try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+                // Write pages in reverse order to check that the file grows correctly.
+                for (int i = PAGES - 1; i >= 0; i--) {
+                    ThreadLocalRandom.current().nextBytes(pages[i]);
+
+                    buf.clear();
+                    buf.put(pages[i]).flip();
+
+                    io.writeFully(buf, (long)i * PAGE_SIZE);
+
+                    assertEquals(0, buf.remaining());
+                }
+
+                // Heap buffer bigger than the thread local direct buffer.
+                byte[] tail = new byte[PAGE_SIZE * 2];
+
+                ThreadLocalRandom.current().nextBytes(tail);
+
+                io.writeFully(ByteBuffer.wrap(tail), (long)PAGES * PAGE_SIZE);
+
+                assertEquals((long)(PAGES + 2) * PAGE_SIZE, io.size());
+
+                for (int i = 0; i < PAGES; i++) {
+                    buf.clear();
+
+                    io.readFully(buf, (long)i * PAGE_SIZE);
+
+                    buf.flip();
+
+                    byte[] read = new byte[PAGE_SIZE];
+
+                    buf.get(read);
+
+                    assertEquals("Page " + i, ByteBuffer.wrap(pages[i]), ByteBuffer.wrap(read));
+                }
+
+                ByteBuffer tailBuf = ByteBuffer.allocate(tail.length);
+
+                io.readFully(tailBuf, (long)PAGES * PAGE_SIZE);
+
+                assertEquals(ByteBuffer.wrap(tail), tailBuf.flip());
+
+                io.force();
+            }
+
+            assertEquals((long)(PAGES + 2) * PAGE_SIZE, file.length());
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Checks that overlapping writes of a page done by several threads don't reorder writes of a thread.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentOverlappingWrites() throws Exception {
+        File file = File.createTempFile("io-uring", ".bin");
+
+        int threads = 8;
+        int iters = 1000;
+
+        try (IoUringFileIOFactory factory = new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE,
+            new RandomAccessFileIOFactory())) {
+            assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+            try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+                AtomicInteger idx = new AtomicInteger();
+
+                GridTestUtils.runMultiThreaded(() -> {
+                    int thread = idx.getAndIncrement();
+
+                    ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+                    try {
+                        for (int i = 0; i < iters; i++) {
+                            // Own page of the thread, the last write should win.
+                            buf.clear();
+                            buf.putInt(0, i);
+
+                            io.writeFully(buf, (long)thread * PAGE_SIZE);
+
+                            // Page shared by all the threads, written by halves.
+                            buf.clear();
+                            buf.limit(PAGE_SIZE / 2);
+
+                            io.writeFully(buf, (long)threads * PAGE_SIZE + PAGE_SIZE / 4);
+                        }
+                    }
+                    catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }, threads, "io-uring-writer");
+
+                ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+                for (int i = 0; i < threads; i++) {
+                    buf.clear();
+
+                    io.readFully(buf, (long)i * PAGE_SIZE);
+
+                    assertEquals("Page " + i, iters - 1, buf.getInt(0));
+                }
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Checks that an error of a write is reported to the writer.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteError() throws Exception {
+        File file = File.createTempFile("io-uring", ".bin");
+
+        try (IoUringFileIOFactory factory = new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE,
+            new RandomAccessFileIOFactory())) {
+            assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+            try (FileIO io = factory.create(file, READ)) {
+                io.write(ByteBuffer.allocateDirect(PAGE_SIZE), 0);
+
+                fail("Write of a file opened for reading should fail.");
+            }
+            catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Error writing file"));
+            }
+
+            // The queue is usable after the error.
+            try (FileIO io = factory.create(file, READ, WRITE)) {
+                io.writeFully(ByteBuffer.allocate(PAGE_SIZE), 0);
+
+                assertEquals(PAGE_SIZE, io.size());
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Checks that writes of a batch don't wait for completion, don't keep the caller's buffer, are visible to reads
+     * before the batch is closed and are all completed when it is closed.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteBatch() throws Exception {
+        File file = File.createTempFile("io-uring", ".bin");
+
+        try (IoUringFileIOFactory factory = new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE,
+            new RandomAccessFileIOFactory())) {
+            assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+            try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+                try (WriteBatchFileIOFactory.WriteBatch ignored = factory.startWriteBatch()) {
+                    for (int i = 0; i < PAGES; i++) {
+                        // The buffer is reused right after the write returns.
+                        buf.clear();
+                        buf.putInt(0, i);
+
+                        assertEquals(PAGE_SIZE, io.write(buf, (long)i * PAGE_SIZE));
+                        assertEquals(0, buf.remaining());
+                    }
+
+                    // Read of a page waits for the write of the page in flight.
+                    buf.clear();
+
+                    io.readFully(buf, (long)(PAGES - 1) * PAGE_SIZE);
+
+                    assertEquals(PAGES - 1, buf.getInt(0));
+
+                    // Later write of a page in flight wins.
+                    buf.clear();
+                    buf.putInt(0, -1);
+
+                    io.writeFully(buf, 0);
+                }
+
+                assertEquals((long)PAGES * PAGE_SIZE, io.size());
+
+                for (int i = 0; i < PAGES; i++) {
+                    buf.clear();
+
+                    io.readFully(buf, (long)i * PAGE_SIZE);
+
+                    assertEquals("Page " + i, i == 0 ? -1 : i, buf.getInt(0));
+                }
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Checks that an error of a batch write is reported by the batch.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteBatchError() throws Exception {
+        File file = File.createTempFile("io-uring", ".bin");
+
+        try (IoUringFileIOFactory factory = new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE,
+            new RandomAccessFileIOFactory())) {
+            assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+            try (FileIO io = factory.create(file, READ)) {
+                WriteBatchFileIOFactory.WriteBatch batch = factory.startWriteBatch();
+
+                // The write is only submitted, its error is not known yet.
+                assertEquals(PAGE_SIZE, io.write(ByteBuffer.allocateDirect(PAGE_SIZE), 0));
+
+                try {
+                    batch.close();
+
+                    fail("Write of a file opened for reading should fail.");
+                }
+                catch (IOException e) {
+                    assertTrue(e.getMessage(), e.getMessage().startsWith("Error writing file"));
+                }
+            }
+
+            // The thread has no batch after the failure and the queue is usable.
+            try (FileIO io = factory.create(file, READ, WRITE)) {
+                io.writeFully(ByteBuffer.allocate(PAGE_SIZE), 0);
+
+                assertEquals(PAGE_SIZE, io.size());
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Checks that memory mapping is delegated to the backup file IO and sees the writes.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMap() throws Exception {
+        File file = File.createTempFile("io-uring", ".bin");
+
+        try (IoUringFileIOFactory factory = new IoUringFileIOFactory(new NullLogger(), PAGE_SIZE,
+            new RandomAccessFileIOFactory())) {
+            assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+            try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+                ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+                buf.putLong(0, 42L);
+
+                io.writeFully(buf, 0);
+
+                MappedByteBuffer mapped = io.map(PAGE_SIZE);
+
+                assertEquals(42L, mapped.order(ByteOrder.nativeOrder()).getLong(0));
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+}
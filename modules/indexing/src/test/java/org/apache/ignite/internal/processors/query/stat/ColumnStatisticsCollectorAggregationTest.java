@@ -99,6 +99,44 @@ public class ColumnStatisticsCollectorAggregationTest extends GridCommonAbstract
         assertNotNull(res.raw());
     }
 
+    /**
+     * Collect statistics with histograms by skewed data in two partitions and aggregate them.
+     * Check that aggregated histogram reflects values distribution.
+     */
+    @Test
+    public void aggregateHistogramTest() throws Exception {
+        ColumnStatisticsCollector part1 = new ColumnStatisticsCollector(0, "col", Integer.class);
+        ColumnStatisticsCollector part2 = new ColumnStatisticsCollector(0, "col", Integer.class);
+
+        // Half of values are 0, the rest are distributed uniformly in range [1, 1000].
+        for (int i = 0; i < 10_000; i++) {
+            ColumnStatisticsCollector part = (i % 2 == 0) ? part1 : part2;
+
+            part.add(i % 2 == 0 ? 0 : (i % 1000) + 1);
+        }
+
+        List<ColumnStatistics> statistics = new ArrayList<>();
+
+        statistics.add(part1.finish());
+        statistics.add(part2.finish());
+
+        ColumnStatistics res = ColumnStatisticsCollector.aggregate(statistics, null);
+
+        BigDecimal[] hist = res.histogram();
+
+        assertNotNull(hist);
+        assertEquals(EquiDepthHistogram.BUCKETS + 1, hist.length);
+        assertEquals(BigDecimal.ZERO, hist[0]);
+        assertEquals(BigDecimal.valueOf(1000), hist[hist.length - 1]);
+
+        assertEquals(0.5, EquiDepthHistogram.frequency(hist, BigDecimal.ZERO), 0.1);
+        assertEquals(0., EquiDepthHistogram.frequency(hist, BigDecimal.TEN), 0.);
+
+        assertEquals(0.5, EquiDepthHistogram.lessThan(hist, BigDecimal.ZERO, true), 0.1);
+        assertEquals(0.75, EquiDepthHistogram.lessThan(hist, BigDecimal.valueOf(500), false), 0.1);
+        assertEquals(1., EquiDepthHistogram.lessThan(hist, BigDecimal.valueOf(2000), false), 0.);
+    }
+
     /**
      * Generate HLL with specified number of unique values.
      *